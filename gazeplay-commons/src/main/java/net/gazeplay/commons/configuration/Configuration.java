@@ -45,6 +45,25 @@ public class Configuration implements Cloneable {
     private static final String PROPERTY_NAME_USER_PICTURE = "USER_PICTURE";
     private static final String PROPERTY_NAME_QUIT_KEY = "QUIT_KEY";
     private static final String PROPERTY_NAME_VIDEO_FOLDER = "VIDEO_FOLDER";
+    private static final String PROPERTY_NAME_GAZE_EVENT_DISPATCH = "GAZE_EVENT_DISPATCH";
+    private static final String PROPERTY_NAME_GAZE_EVENT_COLLAPSE_MOVED = "GAZE_EVENT_COLLAPSE_MOVED";
+    private static final String PROPERTY_NAME_GAZE_SAMPLING_RATE = "GAZE_SAMPLING_RATE";
+    private static final String PROPERTY_NAME_GAZE_SAMPLING_IDLE_BACKOFF = "GAZE_SAMPLING_IDLE_BACKOFF";
+    private static final String PROPERTY_NAME_GAZE_MOUSE_SMOOTHING = "GAZE_MOUSE_SMOOTHING";
+    private static final String PROPERTY_NAME_GAZE_MOUSE_MOVE_THRESHOLD = "GAZE_MOUSE_MOVE_THRESHOLD";
+    private static final String PROPERTY_NAME_HEATMAP_KERNEL = "HEATMAP_KERNEL";
+    private static final String PROPERTY_NAME_HEATMAP_KERNEL_RADIUS = "HEATMAP_KERNEL_RADIUS";
+    private static final String PROPERTY_NAME_HEATMAP_BACKGROUND_ACCUMULATION = "HEATMAP_BACKGROUND_ACCUMULATION";
+    private static final String PROPERTY_NAME_SESSION_RECORDING_ENABLED = "SESSION_RECORDING_ENABLED";
+    private static final String PROPERTY_NAME_SESSION_RECORDING_COMPRESSED = "SESSION_RECORDING_COMPRESSED";
+    private static final String PROPERTY_NAME_ASSET_CACHE_SIZE = "ASSET_CACHE_SIZE";
+    private static final String PROPERTY_NAME_VIDEO_GRID_MAX_PLAYERS = "VIDEO_GRID_MAX_PLAYERS";
+    private static final String PROPERTY_NAME_IMAGE_LIBRARY_CACHE_SIZE = "IMAGE_LIBRARY_CACHE_SIZE";
+    private static final String PROPERTY_NAME_FIXATION_DETECTION = "FIXATION_DETECTION";
+    private static final String PROPERTY_NAME_FIXATION_MAX_DISPERSION = "FIXATION_MAX_DISPERSION";
+    private static final String PROPERTY_NAME_FIXATION_MAX_VELOCITY = "FIXATION_MAX_VELOCITY";
+    private static final String PROPERTY_NAME_FIXATION_MIN_DURATION = "FIXATION_MIN_DURATION";
+    private static final String PROPERTY_NAME_VIDEO_RECORDING_FRAME_RATE = "VIDEO_RECORDING_FRAME_RATE";
     /**
      * Game Categories Properties
      */
@@ -152,6 +171,29 @@ public class Configuration implements Cloneable {
     private static final String DEFAULT_VALUE_USER_NAME = "";
     public static final String DEFAULT_VALUE_USER_PICTURE = "";
     public static final String DEFAULT_VALUE_VIDEO_FOLDER = getFileDirectoryDefaultValue() + "/videos";
+    public static final String DEFAULT_VALUE_GAZE_EVENT_DISPATCH = "PER_PULSE";
+    public static final boolean DEFAULT_VALUE_GAZE_EVENT_COLLAPSE_MOVED = true;
+    public static final int DEFAULT_VALUE_GAZE_SAMPLING_RATE = 100;
+    /**
+     * the sampling scheduler needs a positive rate, halved with the gaze menu, 0.5 Hz at least
+     */
+    public static final int MIN_VALUE_GAZE_SAMPLING_RATE = 1;
+    public static final boolean DEFAULT_VALUE_GAZE_SAMPLING_IDLE_BACKOFF = true;
+    public static final String DEFAULT_VALUE_GAZE_MOUSE_SMOOTHING = "NONE";
+    public static final int DEFAULT_VALUE_GAZE_MOUSE_MOVE_THRESHOLD = 2;
+    public static final String DEFAULT_VALUE_HEATMAP_KERNEL = "FLAT";
+    public static final int DEFAULT_VALUE_HEATMAP_KERNEL_RADIUS = 10;
+    public static final boolean DEFAULT_VALUE_HEATMAP_BACKGROUND_ACCUMULATION = false;
+    public static final boolean DEFAULT_VALUE_SESSION_RECORDING_ENABLED = true;
+    public static final boolean DEFAULT_VALUE_SESSION_RECORDING_COMPRESSED = true;
+    public static final int DEFAULT_VALUE_ASSET_CACHE_SIZE = 256;
+    public static final int DEFAULT_VALUE_VIDEO_GRID_MAX_PLAYERS = 4;
+    public static final int DEFAULT_VALUE_IMAGE_LIBRARY_CACHE_SIZE = 128;
+    public static final String DEFAULT_VALUE_FIXATION_DETECTION = "DISPERSION";
+    public static final int DEFAULT_VALUE_FIXATION_MAX_DISPERSION = 50;
+    public static final double DEFAULT_VALUE_FIXATION_MAX_VELOCITY = 1.0;
+    public static final int DEFAULT_VALUE_FIXATION_MIN_DURATION = 60;
+    public static final int DEFAULT_VALUE_VIDEO_RECORDING_FRAME_RATE = 10;
 
     public static boolean isMouseFree = false;
 
@@ -310,6 +352,82 @@ public class Configuration implements Cloneable {
     protected final StringProperty userPictureProperty = new SimpleStringProperty(this, PROPERTY_NAME_USER_PICTURE,
             DEFAULT_VALUE_USER_PICTURE);
 
+    @Getter
+    protected final StringProperty gazeEventDispatchProperty = new SimpleStringProperty(this,
+            PROPERTY_NAME_GAZE_EVENT_DISPATCH, DEFAULT_VALUE_GAZE_EVENT_DISPATCH);
+
+    @Getter
+    protected final BooleanProperty gazeEventCollapseMovedProperty = new SimpleBooleanProperty(this,
+            PROPERTY_NAME_GAZE_EVENT_COLLAPSE_MOVED, DEFAULT_VALUE_GAZE_EVENT_COLLAPSE_MOVED);
+
+    @Getter
+    protected final IntegerProperty gazeSamplingRateProperty = new SimpleIntegerProperty(this,
+            PROPERTY_NAME_GAZE_SAMPLING_RATE, DEFAULT_VALUE_GAZE_SAMPLING_RATE);
+
+    @Getter
+    protected final BooleanProperty gazeSamplingIdleBackOffProperty = new SimpleBooleanProperty(this,
+            PROPERTY_NAME_GAZE_SAMPLING_IDLE_BACKOFF, DEFAULT_VALUE_GAZE_SAMPLING_IDLE_BACKOFF);
+
+    @Getter
+    protected final StringProperty gazeMouseSmoothingProperty = new SimpleStringProperty(this,
+            PROPERTY_NAME_GAZE_MOUSE_SMOOTHING, DEFAULT_VALUE_GAZE_MOUSE_SMOOTHING);
+
+    @Getter
+    protected final IntegerProperty gazeMouseMoveThresholdProperty = new SimpleIntegerProperty(this,
+            PROPERTY_NAME_GAZE_MOUSE_MOVE_THRESHOLD, DEFAULT_VALUE_GAZE_MOUSE_MOVE_THRESHOLD);
+
+    @Getter
+    protected final StringProperty heatMapKernelProperty = new SimpleStringProperty(this, PROPERTY_NAME_HEATMAP_KERNEL,
+            DEFAULT_VALUE_HEATMAP_KERNEL);
+
+    @Getter
+    protected final IntegerProperty heatMapKernelRadiusProperty = new SimpleIntegerProperty(this,
+            PROPERTY_NAME_HEATMAP_KERNEL_RADIUS, DEFAULT_VALUE_HEATMAP_KERNEL_RADIUS);
+
+    @Getter
+    protected final BooleanProperty heatMapBackgroundAccumulationProperty = new SimpleBooleanProperty(this,
+            PROPERTY_NAME_HEATMAP_BACKGROUND_ACCUMULATION, DEFAULT_VALUE_HEATMAP_BACKGROUND_ACCUMULATION);
+
+    @Getter
+    protected final BooleanProperty sessionRecordingEnabledProperty = new SimpleBooleanProperty(this,
+            PROPERTY_NAME_SESSION_RECORDING_ENABLED, DEFAULT_VALUE_SESSION_RECORDING_ENABLED);
+
+    @Getter
+    protected final BooleanProperty sessionRecordingCompressedProperty = new SimpleBooleanProperty(this,
+            PROPERTY_NAME_SESSION_RECORDING_COMPRESSED, DEFAULT_VALUE_SESSION_RECORDING_COMPRESSED);
+
+    @Getter
+    protected final IntegerProperty assetCacheSizeProperty = new SimpleIntegerProperty(this,
+            PROPERTY_NAME_ASSET_CACHE_SIZE, DEFAULT_VALUE_ASSET_CACHE_SIZE);
+
+    @Getter
+    protected final IntegerProperty videoGridMaxPlayersProperty = new SimpleIntegerProperty(this,
+            PROPERTY_NAME_VIDEO_GRID_MAX_PLAYERS, DEFAULT_VALUE_VIDEO_GRID_MAX_PLAYERS);
+
+    @Getter
+    protected final IntegerProperty imageLibraryCacheSizeProperty = new SimpleIntegerProperty(this,
+            PROPERTY_NAME_IMAGE_LIBRARY_CACHE_SIZE, DEFAULT_VALUE_IMAGE_LIBRARY_CACHE_SIZE);
+
+    @Getter
+    protected final StringProperty fixationDetectionProperty = new SimpleStringProperty(this,
+            PROPERTY_NAME_FIXATION_DETECTION, DEFAULT_VALUE_FIXATION_DETECTION);
+
+    @Getter
+    protected final IntegerProperty fixationMaxDispersionProperty = new SimpleIntegerProperty(this,
+            PROPERTY_NAME_FIXATION_MAX_DISPERSION, DEFAULT_VALUE_FIXATION_MAX_DISPERSION);
+
+    @Getter
+    protected final DoubleProperty fixationMaxVelocityProperty = new SimpleDoubleProperty(this,
+            PROPERTY_NAME_FIXATION_MAX_VELOCITY, DEFAULT_VALUE_FIXATION_MAX_VELOCITY);
+
+    @Getter
+    protected final IntegerProperty fixationMinDurationProperty = new SimpleIntegerProperty(this,
+            PROPERTY_NAME_FIXATION_MIN_DURATION, DEFAULT_VALUE_FIXATION_MIN_DURATION);
+
+    @Getter
+    protected final IntegerProperty videoRecordingFrameRateProperty = new SimpleIntegerProperty(this,
+            PROPERTY_NAME_VIDEO_RECORDING_FRAME_RATE, DEFAULT_VALUE_VIDEO_RECORDING_FRAME_RATE);
+
     @Getter
     protected final BooleanProperty selectionCategoryProperty = new SimpleBooleanProperty(this,
             PROPERTY_NAME_SELECTION_GAMES, DEFAULT_VALUE_SELECTION_GAMES);
@@ -1013,6 +1131,138 @@ public class Configuration implements Cloneable {
         if (buffer != null) {
             soundOfLifeFavProperty.setValue(Boolean.parseBoolean(buffer));
         }
+        buffer = prop.getProperty(PROPERTY_NAME_GAZE_EVENT_DISPATCH);
+        if (buffer != null) {
+            gazeEventDispatchProperty.setValue(buffer);
+        }
+        buffer = prop.getProperty(PROPERTY_NAME_GAZE_EVENT_COLLAPSE_MOVED);
+        if (buffer != null) {
+            gazeEventCollapseMovedProperty.setValue(Boolean.parseBoolean(buffer));
+        }
+        buffer = prop.getProperty(PROPERTY_NAME_GAZE_SAMPLING_RATE);
+        if (buffer != null) {
+            try {
+                final int gazeSamplingRate = Integer.parseInt(buffer);
+                if (gazeSamplingRate < MIN_VALUE_GAZE_SAMPLING_RATE) {
+                    log.warn("Value {} for property {} is not positive, using the default value {}",
+                            gazeSamplingRate, PROPERTY_NAME_GAZE_SAMPLING_RATE, DEFAULT_VALUE_GAZE_SAMPLING_RATE);
+                } else {
+                    gazeSamplingRateProperty.setValue(gazeSamplingRate);
+                }
+            } catch (NumberFormatException e) {
+                log.warn("NumberFormatException while parsing value '{}' for property {}", buffer,
+                        PROPERTY_NAME_GAZE_SAMPLING_RATE);
+            }
+        }
+        buffer = prop.getProperty(PROPERTY_NAME_GAZE_SAMPLING_IDLE_BACKOFF);
+        if (buffer != null) {
+            gazeSamplingIdleBackOffProperty.setValue(Boolean.parseBoolean(buffer));
+        }
+        buffer = prop.getProperty(PROPERTY_NAME_GAZE_MOUSE_SMOOTHING);
+        if (buffer != null) {
+            gazeMouseSmoothingProperty.setValue(buffer);
+        }
+        buffer = prop.getProperty(PROPERTY_NAME_GAZE_MOUSE_MOVE_THRESHOLD);
+        if (buffer != null) {
+            try {
+                gazeMouseMoveThresholdProperty.setValue(Integer.parseInt(buffer));
+            } catch (NumberFormatException e) {
+                log.warn("NumberFormatException while parsing value '{}' for property {}", buffer,
+                        PROPERTY_NAME_GAZE_MOUSE_MOVE_THRESHOLD);
+            }
+        }
+        buffer = prop.getProperty(PROPERTY_NAME_HEATMAP_KERNEL);
+        if (buffer != null) {
+            heatMapKernelProperty.setValue(buffer);
+        }
+        buffer = prop.getProperty(PROPERTY_NAME_HEATMAP_KERNEL_RADIUS);
+        if (buffer != null) {
+            try {
+                heatMapKernelRadiusProperty.setValue(Integer.parseInt(buffer));
+            } catch (NumberFormatException e) {
+                log.warn("NumberFormatException while parsing value '{}' for property {}", buffer,
+                        PROPERTY_NAME_HEATMAP_KERNEL_RADIUS);
+            }
+        }
+        buffer = prop.getProperty(PROPERTY_NAME_HEATMAP_BACKGROUND_ACCUMULATION);
+        if (buffer != null) {
+            heatMapBackgroundAccumulationProperty.setValue(Boolean.parseBoolean(buffer));
+        }
+        buffer = prop.getProperty(PROPERTY_NAME_SESSION_RECORDING_ENABLED);
+        if (buffer != null) {
+            sessionRecordingEnabledProperty.setValue(Boolean.parseBoolean(buffer));
+        }
+        buffer = prop.getProperty(PROPERTY_NAME_SESSION_RECORDING_COMPRESSED);
+        if (buffer != null) {
+            sessionRecordingCompressedProperty.setValue(Boolean.parseBoolean(buffer));
+        }
+        buffer = prop.getProperty(PROPERTY_NAME_ASSET_CACHE_SIZE);
+        if (buffer != null) {
+            try {
+                assetCacheSizeProperty.setValue(Integer.parseInt(buffer));
+            } catch (NumberFormatException e) {
+                log.warn("NumberFormatException while parsing value '{}' for property {}", buffer,
+                        PROPERTY_NAME_ASSET_CACHE_SIZE);
+            }
+        }
+        buffer = prop.getProperty(PROPERTY_NAME_VIDEO_GRID_MAX_PLAYERS);
+        if (buffer != null) {
+            try {
+                videoGridMaxPlayersProperty.setValue(Integer.parseInt(buffer));
+            } catch (NumberFormatException e) {
+                log.warn("NumberFormatException while parsing value '{}' for property {}", buffer,
+                        PROPERTY_NAME_VIDEO_GRID_MAX_PLAYERS);
+            }
+        }
+        buffer = prop.getProperty(PROPERTY_NAME_IMAGE_LIBRARY_CACHE_SIZE);
+        if (buffer != null) {
+            try {
+                imageLibraryCacheSizeProperty.setValue(Integer.parseInt(buffer));
+            } catch (NumberFormatException e) {
+                log.warn("NumberFormatException while parsing value '{}' for property {}", buffer,
+                        PROPERTY_NAME_IMAGE_LIBRARY_CACHE_SIZE);
+            }
+        }
+        buffer = prop.getProperty(PROPERTY_NAME_FIXATION_DETECTION);
+        if (buffer != null) {
+            fixationDetectionProperty.setValue(buffer);
+        }
+        buffer = prop.getProperty(PROPERTY_NAME_FIXATION_MAX_DISPERSION);
+        if (buffer != null) {
+            try {
+                fixationMaxDispersionProperty.setValue(Integer.parseInt(buffer));
+            } catch (NumberFormatException e) {
+                log.warn("NumberFormatException while parsing value '{}' for property {}", buffer,
+                        PROPERTY_NAME_FIXATION_MAX_DISPERSION);
+            }
+        }
+        buffer = prop.getProperty(PROPERTY_NAME_FIXATION_MAX_VELOCITY);
+        if (buffer != null) {
+            try {
+                fixationMaxVelocityProperty.setValue(Double.parseDouble(buffer));
+            } catch (NumberFormatException e) {
+                log.warn("NumberFormatException while parsing value '{}' for property {}", buffer,
+                        PROPERTY_NAME_FIXATION_MAX_VELOCITY);
+            }
+        }
+        buffer = prop.getProperty(PROPERTY_NAME_FIXATION_MIN_DURATION);
+        if (buffer != null) {
+            try {
+                fixationMinDurationProperty.setValue(Integer.parseInt(buffer));
+            } catch (NumberFormatException e) {
+                log.warn("NumberFormatException while parsing value '{}' for property {}", buffer,
+                        PROPERTY_NAME_FIXATION_MIN_DURATION);
+            }
+        }
+        buffer = prop.getProperty(PROPERTY_NAME_VIDEO_RECORDING_FRAME_RATE);
+        if (buffer != null) {
+            try {
+                videoRecordingFrameRateProperty.setValue(Integer.parseInt(buffer));
+            } catch (NumberFormatException e) {
+                log.warn("NumberFormatException while parsing value '{}' for property {}", buffer,
+                        PROPERTY_NAME_VIDEO_RECORDING_FRAME_RATE);
+            }
+        }
     }
 
     public Properties toProperties() {
@@ -1143,6 +1393,40 @@ public class Configuration implements Cloneable {
                 Boolean.toString(horsesSimplifiedFavProperty.getValue()));
         properties.setProperty(PROPERTY_NAME_FAVOURITE_SOUNDOFLIFE,
                 Boolean.toString(soundOfLifeFavProperty.getValue()));
+        properties.setProperty(PROPERTY_NAME_GAZE_EVENT_DISPATCH, this.gazeEventDispatchProperty.getValue());
+        properties.setProperty(PROPERTY_NAME_GAZE_EVENT_COLLAPSE_MOVED,
+                Boolean.toString(this.gazeEventCollapseMovedProperty.getValue()));
+        properties.setProperty(PROPERTY_NAME_GAZE_SAMPLING_RATE,
+                Integer.toString(this.gazeSamplingRateProperty.getValue()));
+        properties.setProperty(PROPERTY_NAME_GAZE_SAMPLING_IDLE_BACKOFF,
+                Boolean.toString(this.gazeSamplingIdleBackOffProperty.getValue()));
+        properties.setProperty(PROPERTY_NAME_GAZE_MOUSE_SMOOTHING, this.gazeMouseSmoothingProperty.getValue());
+        properties.setProperty(PROPERTY_NAME_GAZE_MOUSE_MOVE_THRESHOLD,
+                Integer.toString(this.gazeMouseMoveThresholdProperty.getValue()));
+        properties.setProperty(PROPERTY_NAME_HEATMAP_KERNEL, this.heatMapKernelProperty.getValue());
+        properties.setProperty(PROPERTY_NAME_HEATMAP_KERNEL_RADIUS,
+                Integer.toString(this.heatMapKernelRadiusProperty.getValue()));
+        properties.setProperty(PROPERTY_NAME_HEATMAP_BACKGROUND_ACCUMULATION,
+                Boolean.toString(this.heatMapBackgroundAccumulationProperty.getValue()));
+        properties.setProperty(PROPERTY_NAME_SESSION_RECORDING_ENABLED,
+                Boolean.toString(this.sessionRecordingEnabledProperty.getValue()));
+        properties.setProperty(PROPERTY_NAME_SESSION_RECORDING_COMPRESSED,
+                Boolean.toString(this.sessionRecordingCompressedProperty.getValue()));
+        properties.setProperty(PROPERTY_NAME_ASSET_CACHE_SIZE,
+                Integer.toString(this.assetCacheSizeProperty.getValue()));
+        properties.setProperty(PROPERTY_NAME_VIDEO_GRID_MAX_PLAYERS,
+                Integer.toString(this.videoGridMaxPlayersProperty.getValue()));
+        properties.setProperty(PROPERTY_NAME_IMAGE_LIBRARY_CACHE_SIZE,
+                Integer.toString(this.imageLibraryCacheSizeProperty.getValue()));
+        properties.setProperty(PROPERTY_NAME_FIXATION_DETECTION, this.fixationDetectionProperty.getValue());
+        properties.setProperty(PROPERTY_NAME_FIXATION_MAX_DISPERSION,
+                Integer.toString(this.fixationMaxDispersionProperty.getValue()));
+        properties.setProperty(PROPERTY_NAME_FIXATION_MAX_VELOCITY,
+                Double.toString(this.fixationMaxVelocityProperty.getValue()));
+        properties.setProperty(PROPERTY_NAME_FIXATION_MIN_DURATION,
+                Integer.toString(this.fixationMinDurationProperty.getValue()));
+        properties.setProperty(PROPERTY_NAME_VIDEO_RECORDING_FRAME_RATE,
+                Integer.toString(this.videoRecordingFrameRateProperty.getValue()));
 
         return properties;
     }
@@ -1322,4 +1606,79 @@ public class Configuration implements Cloneable {
         return logicCategoryProperty.getValue();
     }
 
+    public String getGazeEventDispatch() {
+        return gazeEventDispatchProperty.getValue();
+    }
+
+    public Boolean isGazeEventCollapseMoved() {
+        return gazeEventCollapseMovedProperty.getValue();
+    }
+
+    public Integer getGazeSamplingRate() {
+        return gazeSamplingRateProperty.getValue();
+    }
+
+    public Boolean isGazeSamplingIdleBackOff() {
+        return gazeSamplingIdleBackOffProperty.getValue();
+    }
+
+    public String getGazeMouseSmoothing() {
+        return gazeMouseSmoothingProperty.getValue();
+    }
+
+    public Integer getGazeMouseMoveThreshold() {
+        return gazeMouseMoveThresholdProperty.getValue();
+    }
+
+    public String getHeatMapKernel() {
+        return heatMapKernelProperty.getValue();
+    }
+
+    public Integer getHeatMapKernelRadius() {
+        return heatMapKernelRadiusProperty.getValue();
+    }
+
+    public Boolean isHeatMapBackgroundAccumulation() {
+        return heatMapBackgroundAccumulationProperty.getValue();
+    }
+
+    public Boolean isSessionRecordingEnabled() {
+        return sessionRecordingEnabledProperty.getValue();
+    }
+
+    public Boolean isSessionRecordingCompressed() {
+        return sessionRecordingCompressedProperty.getValue();
+    }
+
+    public Integer getAssetCacheSize() {
+        return assetCacheSizeProperty.getValue();
+    }
+
+    public Integer getVideoGridMaxPlayers() {
+        return videoGridMaxPlayersProperty.getValue();
+    }
+
+    public Integer getImageLibraryCacheSize() {
+        return imageLibraryCacheSizeProperty.getValue();
+    }
+
+    public String getFixationDetection() {
+        return fixationDetectionProperty.getValue();
+    }
+
+    public Integer getFixationMaxDispersion() {
+        return fixationMaxDispersionProperty.getValue();
+    }
+
+    public Double getFixationMaxVelocity() {
+        return fixationMaxVelocityProperty.getValue();
+    }
+
+    public Integer getFixationMinDuration() {
+        return fixationMinDurationProperty.getValue();
+    }
+
+    public Integer getVideoRecordingFrameRate() {
+        return videoRecordingFrameRateProperty.getValue();
+    }
 }
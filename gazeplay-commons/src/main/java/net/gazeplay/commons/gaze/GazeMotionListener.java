@@ -6,4 +6,11 @@ public interface GazeMotionListener {
 
     void gazeMoved(Point2D position);
 
+    /**
+     * Called by the gaze device manager for each gaze sample, override it to avoid allocating a Point2D per sample.
+     */
+    default void gazeMoved(double positionX, double positionY) {
+        gazeMoved(new Point2D(positionX, positionY));
+    }
+
 }
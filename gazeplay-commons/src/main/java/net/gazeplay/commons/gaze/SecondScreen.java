@@ -86,8 +86,12 @@ public class SecondScreen implements GazeMotionListener {
     }
 
     public void light(javafx.geometry.Point2D rawCoordinates) {
-        int x = (int) (rawCoordinates.getX() / pixelWidth);
-        int y = (int) (rawCoordinates.getY() / pixelWidth);
+        light(rawCoordinates.getX(), rawCoordinates.getY());
+    }
+
+    private void light(double positionX, double positionY) {
+        int x = (int) (positionX / pixelWidth);
+        int y = (int) (positionY / pixelWidth);
         if (x < 0 || x >= lightings.length) {
             return;
         }
@@ -101,4 +105,9 @@ public class SecondScreen implements GazeMotionListener {
     public void gazeMoved(javafx.geometry.Point2D position) {
         light(position);
     }
+
+    @Override
+    public void gazeMoved(double positionX, double positionY) {
+        light(positionX, positionY);
+    }
 }
@@ -6,10 +6,12 @@ import javafx.scene.Node;
 import javafx.scene.layout.Pane;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.commons.configuration.Configuration;
 import net.gazeplay.commons.gaze.GazeMotionListener;
 
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Created by schwab on 04/10/2017.
@@ -17,7 +19,17 @@ import java.util.concurrent.CopyOnWriteArrayList;
 @Slf4j
 public abstract class AbstractGazeDeviceManager implements GazeDeviceManager {
 
-    private final List<GazeMotionListener> gazeMotionListeners = new CopyOnWriteArrayList<>();
+    private final List<GazeMotionListenerCursor> gazeMotionListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Samples written by the tracker thread, read by the hit-testing and by each GazeMotionListener
+     */
+    @Getter
+    private final GazeSampleRingBuffer sampleBuffer = new GazeSampleRingBuffer();
+
+    private final GazeSampleRingBuffer.Consumer hitTestingConsumer = sampleBuffer.newConsumer("hit-testing");
+
+    private final AtomicBoolean samplesDrainScheduled = new AtomicBoolean(false);
 
     @Getter
     private final Map<IdentityKey<Node>, GazeInfos> shapesEventFilter = Collections
@@ -27,9 +39,27 @@ public abstract class AbstractGazeDeviceManager implements GazeDeviceManager {
     private final Map<IdentityKey<Node>, GazeInfos> shapesEventHandler = Collections
             .synchronizedMap(new HashMap<IdentityKey<Node>, GazeInfos>());
 
+    private final GazeHitIndex hitIndex = new GazeHitIndex();
+
+    @Getter
+    private final GazeEventDispatcher eventDispatcher = GazeEventDispatcher
+            .createFromConfiguration(Configuration.getInstance());
+
     private final List<Node> toRemove = new LinkedList<Node>();
     private final List<Node> toAdd = new LinkedList<Node>();
 
+    private static final class GazeMotionListenerCursor {
+
+        private final GazeMotionListener listener;
+
+        private final GazeSampleRingBuffer.Consumer consumer;
+
+        private GazeMotionListenerCursor(GazeMotionListener listener, GazeSampleRingBuffer.Consumer consumer) {
+            this.listener = listener;
+            this.consumer = consumer;
+        }
+    }
+
     public AbstractGazeDeviceManager() {
 
     }
@@ -42,20 +72,58 @@ public abstract class AbstractGazeDeviceManager implements GazeDeviceManager {
 
     @Override
     public void addGazeMotionListener(GazeMotionListener listener) {
-        this.gazeMotionListeners.add(listener);
+        GazeSampleRingBuffer.Consumer consumer = sampleBuffer.newConsumer(listener.getClass().getSimpleName());
+        this.gazeMotionListeners.add(new GazeMotionListenerCursor(listener, consumer));
     }
 
     @Override
     public void removeGazeMotionListener(GazeMotionListener listener) {
-        this.gazeMotionListeners.remove(listener);
+        for (GazeMotionListenerCursor cursor : this.gazeMotionListeners) {
+            if (cursor.listener == listener) {
+                this.gazeMotionListeners.remove(cursor);
+                sampleBuffer.removeConsumer(cursor.consumer);
+            }
+        }
     }
 
-    private void notifyAllGazeMotionListeners(Point2D position) {
-        for (GazeMotionListener l : this.gazeMotionListeners) {
-            l.gazeMoved(position);
+    private void notifyAllGazeMotionListeners() {
+        for (GazeMotionListenerCursor cursor : this.gazeMotionListeners) {
+            final GazeSampleRingBuffer.Consumer consumer = cursor.consumer;
+            while (consumer.poll()) {
+                if (consumer.isValid()) {
+                    cursor.listener.gazeMoved(consumer.getX(), consumer.getY());
+                }
+            }
         }
     }
 
+    /**
+     * Called from the tracker thread for each new sample. The sample is written to the ring buffer, and read on the FX
+     * thread by the hit-testing and the GazeMotionListeners.
+     */
+    protected void publishGazeSample(double positionX, double positionY) {
+        final boolean valid = !Double.isNaN(positionX) && !Double.isNaN(positionY);
+        sampleBuffer.publish(System.currentTimeMillis(), positionX, positionY, valid);
+
+        // in PER_PULSE mode a single runnable reads all the samples received since the last FX pulse
+        if (eventDispatcher.getMode() != GazeEventDispatcher.Mode.PER_PULSE
+                || samplesDrainScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::drainSamples);
+        }
+    }
+
+    private void drainSamples() {
+        samplesDrainScheduled.set(false);
+
+        while (hitTestingConsumer.poll()) {
+            if (hitTestingConsumer.isValid()) {
+                onGazeUpdate(hitTestingConsumer.getX(), hitTestingConsumer.getY());
+            }
+        }
+
+        notifyAllGazeMotionListeners();
+    }
+
     @Override
     public void addEventFilter(Node gs) {
         toAdd.add(gs);
@@ -66,7 +134,9 @@ public abstract class AbstractGazeDeviceManager implements GazeDeviceManager {
             List<Node> temp = new LinkedList<Node>();
             temp.addAll(toAdd);
             for (Node node : temp) {
-                shapesEventFilter.put(new IdentityKey<>(node), new GazeInfos(node));
+                GazeInfos gazeInfos = new GazeInfos(node);
+                shapesEventFilter.put(new IdentityKey<>(node), gazeInfos);
+                hitIndex.add(gazeInfos);
                 toAdd.remove(node);
             }
         }
@@ -95,12 +165,13 @@ public abstract class AbstractGazeDeviceManager implements GazeDeviceManager {
             temp.addAll(toRemove);
             for (Node node : temp) {
                 GazeInfos removed = shapesEventFilter.remove(new IdentityKey<>(node));
+                hitIndex.remove(node);
                 if (removed == null) {
                     log.warn("EventFilter to remove not found");
                 } else {
                     if (removed.isOn()) {
-                        Platform.runLater(() -> removed.getNode()
-                                .fireEvent(new GazeEvent(GazeEvent.GAZE_EXITED, System.currentTimeMillis(), 0, 0)));
+                        eventDispatcher.fire(removed.getNode(), GazeEvent.GAZE_EXITED, System.currentTimeMillis(), 0,
+                                0);
                     }
                 }
                 toRemove.remove(node);
@@ -126,52 +197,49 @@ public abstract class AbstractGazeDeviceManager implements GazeDeviceManager {
         synchronized (shapesEventFilter) {
             shapesEventFilter.clear();
             shapesEventHandler.clear();
+            hitIndex.clear();
+            for (GazeMotionListenerCursor cursor : gazeMotionListeners) {
+                sampleBuffer.removeConsumer(cursor.consumer);
+            }
             gazeMotionListeners.clear();
         }
+        log.info("Gaze event dispatch : {}", eventDispatcher);
+        log.info("Gaze samples : published = {}, consumers = {}", sampleBuffer.getPublishedCount(),
+                sampleBuffer.getConsumers());
     }
 
-    synchronized void onGazeUpdate(Point2D gazePositionOnScreen) {
-
-        // notifyAllGazeMotionListeners(gazePositionOnScreen);
-        final double positionX = gazePositionOnScreen.getX();
-        final double positionY = gazePositionOnScreen.getY();
+    synchronized void onGazeUpdate(double positionX, double positionY) {
         add();
         delete();
 
-        Collection<GazeInfos> c = shapesEventFilter.values();
-
         synchronized (shapesEventFilter) {
-            Iterator<GazeInfos> i = c.iterator();
-
-            while (i.hasNext()) {
-                GazeInfos gi = i.next();
-
-                final Node node = gi.getNode();
-
-                EventFire(positionX, positionY, gi, node);
-                // log.info("Fire : "+node+" then recursion !");
-                recursiveEventFire(positionX, positionY, node);
-
+            if (hitIndex.pollChildrenChanged()) {
+                for (GazeInfos gi : new ArrayList<>(shapesEventFilter.values())) {
+                    registerChildren(gi.getNode());
+                }
+                add();
             }
+            hitIndex.refresh();
 
+            // only the nodes whose bounds contain the gaze, or that were gazed at, need to be tested
+            for (GazeInfos gi : hitIndex.candidatesAt(positionX, positionY)) {
+                EventFire(positionX, positionY, gi, gi.getNode());
+            }
+            hitIndex.updateGazed();
         }
+        eventDispatcher.endOfSample();
     }
 
-    public void recursiveEventFire(double positionX, double positionY, Node node) {
+    /**
+     * Children of a registered Pane receive gaze events as well, register the ones that are not registered yet.
+     */
+    private void registerChildren(Node node) {
         if (node instanceof Pane) {
             for (Node child : ((Pane) node).getChildren()) {
-                if (!shapesEventFilter.containsKey(new IdentityKey<>(child))) {
-                    // log.info("child : "+child+" added !");
+                if (!shapesEventFilter.containsKey(new IdentityKey<>(child)) && !toAdd.contains(child)) {
                     addEventFilter(child);
                 }
-                ;
-                // log.info("child : "+child+" fired !");
-                GazeInfos gi = shapesEventFilter.get(new IdentityKey<>(child));
-                if (gi != null) {
-                    EventFire(positionX, positionY, gi, child);
-                }
-                recursiveEventFire(positionX, positionY, child);
-
+                registerChildren(child);
             }
         }
     }
@@ -183,14 +251,12 @@ public abstract class AbstractGazeDeviceManager implements GazeDeviceManager {
             Point2D localPosition = node.screenToLocal(positionX, positionY);
             if (localPosition != null && node.contains(localPosition)) {
                 if (gi.isOn()) {
-                    Platform.runLater(() -> node
-                            .fireEvent(new GazeEvent(GazeEvent.GAZE_MOVED, gi.getTime(), positionX, positionY)));
+                    eventDispatcher.fire(node, GazeEvent.GAZE_MOVED, gi.getTime(), positionX, positionY);
                 } else {
 
                     gi.setOn(true);
                     gi.setTime(System.currentTimeMillis());
-                    Platform.runLater(() -> node
-                            .fireEvent(new GazeEvent(GazeEvent.GAZE_ENTERED, gi.getTime(), positionX, positionY)));
+                    eventDispatcher.fire(node, GazeEvent.GAZE_ENTERED, gi.getTime(), positionX, positionY);
                 }
             } else {// gaze is not on the shape
 
@@ -198,8 +264,7 @@ public abstract class AbstractGazeDeviceManager implements GazeDeviceManager {
 
                     gi.setOn(false);
                     gi.setTime(-1);
-                    Platform.runLater(() -> node
-                            .fireEvent(new GazeEvent(GazeEvent.GAZE_EXITED, gi.getTime(), positionX, positionY)));
+                    eventDispatcher.fire(node, GazeEvent.GAZE_EXITED, gi.getTime(), positionX, positionY);
                 } else {// gaze was not on the shape previously
                     // nothing to do
 
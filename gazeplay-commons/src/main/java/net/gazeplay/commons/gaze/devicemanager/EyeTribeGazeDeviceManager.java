@@ -3,7 +3,6 @@ package net.gazeplay.commons.gaze.devicemanager;
 import com.theeyetribe.clientsdk.GazeManager;
 import com.theeyetribe.clientsdk.IGazeListener;
 import com.theeyetribe.clientsdk.data.GazeData;
-import javafx.geometry.Point2D;
 
 /**
  * Created by schwab on 16/08/2016.
@@ -30,7 +29,6 @@ class EyeTribeGazeDeviceManager extends AbstractGazeDeviceManager implements IGa
 
     @Override
     public void onGazeUpdate(GazeData gazeData) {
-        Point2D point = new Point2D(gazeData.rawCoordinates.x, gazeData.rawCoordinates.y);
-        super.onGazeUpdate(point);
+        publishGazeSample(gazeData.rawCoordinates.x, gazeData.rawCoordinates.y);
     }
 }
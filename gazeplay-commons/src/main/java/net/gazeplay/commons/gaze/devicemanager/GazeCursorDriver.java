@@ -0,0 +1,210 @@
+package net.gazeplay.commons.gaze.devicemanager;
+
+import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.commons.configuration.Configuration;
+
+import java.awt.AWTException;
+import java.awt.Robot;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves the mouse cursor to the gaze position when the gaze mouse is enabled.
+ *
+ * A single Robot is used, from a dedicated thread reading the gaze samples through its own ring buffer cursor. The
+ * position can be smoothed, and moves smaller than the configured threshold are skipped. The cursor is removed from
+ * the ring buffer once stopped, a driver cannot be restarted.
+ *
+ * Identical samples are not published while the gaze rests, the smoothed position is then brought to the last sample
+ * by feeding it again to the filter at a fixed rate. The cursor then ends within the move threshold of the sample.
+ */
+@Slf4j
+public class GazeCursorDriver {
+
+    public enum Smoothing {
+        NONE, EXPONENTIAL, ONE_EURO
+    }
+
+    private static final double EXPONENTIAL_ALPHA = 0.5;
+
+    private static final double ONE_EURO_MIN_CUTOFF = 1.0;
+
+    private static final double ONE_EURO_BETA = 0.007;
+
+    private static final long SETTLING_INTERVAL_NANOS = 16_000_000L;
+
+    private final GazeSampleRingBuffer sampleBuffer;
+
+    private final GazeSampleRingBuffer.Consumer consumer;
+
+    private final Configuration config;
+
+    private final Smoothing smoothing;
+
+    private final int moveThreshold;
+
+    private final OneEuroFilter xFilter = new OneEuroFilter(ONE_EURO_MIN_CUTOFF, ONE_EURO_BETA);
+
+    private final OneEuroFilter yFilter = new OneEuroFilter(ONE_EURO_MIN_CUTOFF, ONE_EURO_BETA);
+
+    private double smoothedX = Double.NaN;
+
+    private double smoothedY = Double.NaN;
+
+    private double lastSampleX = Double.NaN;
+
+    private double lastSampleY = Double.NaN;
+
+    private int cursorX = Integer.MIN_VALUE;
+
+    private int cursorY = Integer.MIN_VALUE;
+
+    private volatile boolean stopRequested = false;
+
+    private Thread thread;
+
+    private volatile long moveCount = 0;
+
+    private volatile long skippedMoveCount = 0;
+
+    private volatile long settlingMoveCount = 0;
+
+    private volatile long totalMoveLatencyMillis = 0;
+
+    private volatile long robotNanos = 0;
+
+    public GazeCursorDriver(GazeSampleRingBuffer sampleBuffer, Configuration config) {
+        this.sampleBuffer = sampleBuffer;
+        this.consumer = sampleBuffer.newConsumer("cursor");
+        this.config = config;
+        this.smoothing = parseSmoothing(config.getGazeMouseSmoothing());
+        this.moveThreshold = config.getGazeMouseMoveThreshold();
+    }
+
+    private static Smoothing parseSmoothing(String value) {
+        try {
+            return Smoothing.valueOf(value);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            log.warn("Unknown gaze mouse smoothing : {}", value);
+            return Smoothing.NONE;
+        }
+    }
+
+    public void start() {
+        thread = new Thread(this::run, "gaze-cursor-driver");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        stopRequested = true;
+        sampleBuffer.removeConsumer(consumer);
+        Thread thread = this.thread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+        log.info("Gaze cursor : smoothing = {}, moves = {}, skipped = {}, settling moves = {}, "
+                + "average latency = {} ms, time in Robot = {} ms", smoothing, moveCount, skippedMoveCount,
+                settlingMoveCount, moveCount == 0 ? 0 : totalMoveLatencyMillis / moveCount, robotNanos / 1_000_000);
+    }
+
+    /**
+     * Called by the tracker thread once a sample has been published.
+     */
+    public void wakeUp() {
+        Thread thread = this.thread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void run() {
+        final Robot robot;
+        try {
+            robot = new Robot();
+        } catch (AWTException e) {
+            log.error("Unable to create the Robot, the gaze mouse is disabled", e);
+            return;
+        }
+
+        while (!stopRequested) {
+            boolean received = false;
+            long timestamp = 0;
+            while (consumer.poll()) {
+                if (consumer.isValid()) {
+                    timestamp = consumer.getTimestamp();
+                    lastSampleX = consumer.getX();
+                    lastSampleY = consumer.getY();
+                    smooth(lastSampleX, lastSampleY, timestamp);
+                    received = true;
+                }
+            }
+
+            if (received) {
+                if (config.isGazeMouseEnable() && !Configuration.isMouseFree && moveCursor(robot)) {
+                    totalMoveLatencyMillis += System.currentTimeMillis() - timestamp;
+                    moveCount++;
+                }
+            } else if (!isSettled()) {
+                smooth(lastSampleX, lastSampleY, System.currentTimeMillis());
+                if (config.isGazeMouseEnable() && !Configuration.isMouseFree && moveCursor(robot)) {
+                    settlingMoveCount++;
+                }
+            }
+
+            if (isSettled()) {
+                LockSupport.park(this);
+            } else {
+                LockSupport.parkNanos(this, SETTLING_INTERVAL_NANOS);
+            }
+        }
+    }
+
+    /**
+     * @return true when the smoothed position rounds to the last sample, or when there is none
+     */
+    private boolean isSettled() {
+        return Double.isNaN(lastSampleX)
+                || (Math.abs(smoothedX - lastSampleX) < 0.5 && Math.abs(smoothedY - lastSampleY) < 0.5);
+    }
+
+    private void smooth(double x, double y, long timestamp) {
+        switch (smoothing) {
+        case EXPONENTIAL:
+            if (Double.isNaN(smoothedX)) {
+                smoothedX = x;
+                smoothedY = y;
+            } else {
+                smoothedX += EXPONENTIAL_ALPHA * (x - smoothedX);
+                smoothedY += EXPONENTIAL_ALPHA * (y - smoothedY);
+            }
+            break;
+        case ONE_EURO:
+            smoothedX = xFilter.filter(x, timestamp);
+            smoothedY = yFilter.filter(y, timestamp);
+            break;
+        default:
+            smoothedX = x;
+            smoothedY = y;
+        }
+    }
+
+    /**
+     * @return false when the move is skipped, being smaller than the threshold
+     */
+    private boolean moveCursor(Robot robot) {
+        final int x = (int) Math.round(smoothedX);
+        final int y = (int) Math.round(smoothedY);
+        if (Math.abs(x - cursorX) < moveThreshold && Math.abs(y - cursorY) < moveThreshold) {
+            skippedMoveCount++;
+            return false;
+        }
+        cursorX = x;
+        cursorY = y;
+
+        final long start = System.nanoTime();
+        robot.mouseMove(x, y);
+        robotNanos += System.nanoTime() - start;
+        return true;
+    }
+
+}
@@ -0,0 +1,231 @@
+package net.gazeplay.commons.gaze.devicemanager;
+
+import javafx.application.Platform;
+import javafx.event.EventType;
+import javafx.scene.Node;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.commons.configuration.Configuration;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers the gaze events computed by the device manager on the FX thread.
+ *
+ * Instead of one Platform.runLater per node and per sample, events are queued and a single runnable drains them on the
+ * FX thread. GAZE_MOVED events can be collapsed so that only the latest position is delivered to a node, as long as no
+ * other event for that node was queued in between.
+ */
+@Slf4j
+public class GazeEventDispatcher {
+
+    /**
+     * Events beyond this queue depth are dropped, GAZE_MOVED only : entered and exited events are always delivered.
+     */
+    private static final int MAX_QUEUE_DEPTH = 10_000;
+
+    public enum Mode {
+        /**
+         * one Platform.runLater per event (legacy behaviour)
+         */
+        IMMEDIATE,
+        /**
+         * one Platform.runLater per gaze sample
+         */
+        PER_SAMPLE,
+        /**
+         * at most one pending Platform.runLater, events of all the samples received since the last drain are grouped
+         */
+        PER_PULSE
+    }
+
+    private static final class PendingEvent {
+
+        private final Node node;
+
+        private final EventType<GazeEvent> eventType;
+
+        private long time;
+
+        private double x;
+
+        private double y;
+
+        private PendingEvent(Node node, EventType<GazeEvent> eventType, long time, double x, double y) {
+            this.node = node;
+            this.eventType = eventType;
+            this.time = time;
+            this.x = x;
+            this.y = y;
+        }
+
+        private void fire() {
+            node.fireEvent(new GazeEvent(eventType, time, x, y));
+        }
+    }
+
+    @Getter
+    private final Mode mode;
+
+    @Getter
+    private final boolean collapseMoved;
+
+    private final Object lock = new Object();
+
+    private ArrayDeque<PendingEvent> pending = new ArrayDeque<>();
+
+    private ArrayDeque<PendingEvent> draining = new ArrayDeque<>();
+
+    private final Map<Node, PendingEvent> pendingMoved = new IdentityHashMap<>();
+
+    private boolean drainScheduled = false;
+
+    private int maxQueueDepth = 0;
+
+    private final AtomicLong dispatchedCount = new AtomicLong();
+
+    private final AtomicLong collapsedCount = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final AtomicLong drainCount = new AtomicLong();
+
+    public GazeEventDispatcher(Mode mode, boolean collapseMoved) {
+        this.mode = mode;
+        this.collapseMoved = collapseMoved;
+    }
+
+    public static GazeEventDispatcher createFromConfiguration(Configuration config) {
+        Mode mode;
+        try {
+            mode = Mode.valueOf(config.getGazeEventDispatch());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            log.warn("Unknown gaze event dispatch mode : {}", config.getGazeEventDispatch());
+            mode = Mode.PER_PULSE;
+        }
+        return new GazeEventDispatcher(mode, config.isGazeEventCollapseMoved());
+    }
+
+    public void fire(Node node, EventType<GazeEvent> eventType, long time, double x, double y) {
+        if (mode == Mode.IMMEDIATE) {
+            dispatchedCount.incrementAndGet();
+            Platform.runLater(() -> node.fireEvent(new GazeEvent(eventType, time, x, y)));
+            return;
+        }
+
+        synchronized (lock) {
+            if (eventType == GazeEvent.GAZE_MOVED) {
+                if (collapseMoved) {
+                    PendingEvent previous = pendingMoved.get(node);
+                    if (previous != null) {
+                        previous.time = time;
+                        previous.x = x;
+                        previous.y = y;
+                        collapsedCount.incrementAndGet();
+                        return;
+                    }
+                }
+                if (pending.size() >= MAX_QUEUE_DEPTH) {
+                    droppedCount.incrementAndGet();
+                    return;
+                }
+            }
+
+            PendingEvent event = new PendingEvent(node, eventType, time, x, y);
+            pending.add(event);
+            if (eventType == GazeEvent.GAZE_MOVED) {
+                pendingMoved.put(node, event);
+            } else {
+                // a later GAZE_MOVED must not be merged into one queued before this event
+                pendingMoved.remove(node);
+            }
+            maxQueueDepth = Math.max(maxQueueDepth, pending.size());
+
+            if (mode == Mode.PER_PULSE) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    /**
+     * Called by the device manager once all the events of a gaze sample have been fired.
+     */
+    public void endOfSample() {
+        if (mode != Mode.PER_SAMPLE) {
+            return;
+        }
+        synchronized (lock) {
+            if (!pending.isEmpty()) {
+                drainScheduled = true;
+                Platform.runLater(this::drain);
+            }
+        }
+    }
+
+    private void scheduleDrain() {
+        if (!drainScheduled) {
+            drainScheduled = true;
+            Platform.runLater(this::drain);
+        }
+    }
+
+    private void drain() {
+        final ArrayDeque<PendingEvent> batch;
+        synchronized (lock) {
+            drainScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = draining;
+            draining = batch;
+            pendingMoved.clear();
+        }
+
+        drainCount.incrementAndGet();
+        PendingEvent event;
+        while ((event = batch.poll()) != null) {
+            dispatchedCount.incrementAndGet();
+            event.fire();
+        }
+    }
+
+    public int getQueueDepth() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    public int getMaxQueueDepth() {
+        synchronized (lock) {
+            return maxQueueDepth;
+        }
+    }
+
+    public long getDispatchedCount() {
+        return dispatchedCount.get();
+    }
+
+    public long getCollapsedCount() {
+        return collapsedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getDrainCount() {
+        return drainCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "GazeEventDispatcher{mode=" + mode + ", queueDepth=" + getQueueDepth() + ", maxQueueDepth="
+                + getMaxQueueDepth() + ", dispatched=" + getDispatchedCount() + ", collapsed=" + getCollapsedCount()
+                + ", dropped=" + getDroppedCount() + ", drains=" + getDrainCount() + "}";
+    }
+
+}
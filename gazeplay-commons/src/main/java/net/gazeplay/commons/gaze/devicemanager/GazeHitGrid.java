@@ -0,0 +1,183 @@
+package net.gazeplay.commons.gaze.devicemanager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform grid of axis-aligned bounding boxes, used to find the few items that may lie under a gaze point without
+ * walking every registered item.
+ *
+ * Items spanning too many cells (typically full screen panes) are kept in a separate list that every query returns,
+ * so that a single huge node does not fill hundreds of cells.
+ *
+ * This class is not thread-safe, callers must synchronize.
+ */
+final class GazeHitGrid<T> {
+
+    static final double DEFAULT_CELL_SIZE = 64;
+
+    private static final int MAX_CELLS_PER_ITEM = 256;
+
+    private final double cellSize;
+
+    private final Map<Long, List<Slot<T>>> cells = new HashMap<>();
+
+    private final List<Slot<T>> oversized = new ArrayList<>();
+
+    private final Map<T, Slot<T>> slots = new IdentityHashMap<>();
+
+    private int queryStamp = 0;
+
+    GazeHitGrid() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    GazeHitGrid(double cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    private static final class Slot<T> {
+
+        private final T item;
+
+        private int minCellX;
+        private int minCellY;
+        private int maxCellX;
+        private int maxCellY;
+
+        private boolean indexed;
+        private boolean large;
+
+        private int stamp;
+
+        private Slot(T item) {
+            this.item = item;
+        }
+    }
+
+    int size() {
+        return slots.size();
+    }
+
+    /**
+     * Inserts the item or moves it to its new bounds. Empty or non finite bounds leave the item registered but not
+     * reachable by {@link #query(double, double, List)}.
+     */
+    void put(T item, double minX, double minY, double maxX, double maxY) {
+        Slot<T> slot = slots.get(item);
+        if (slot == null) {
+            slot = new Slot<>(item);
+            slots.put(item, slot);
+        }
+
+        if (!(minX <= maxX && minY <= maxY) || Double.isInfinite(minX) || Double.isInfinite(minY)
+                || Double.isInfinite(maxX) || Double.isInfinite(maxY)) {
+            unlink(slot);
+            return;
+        }
+
+        final int minCellX = toCell(minX);
+        final int minCellY = toCell(minY);
+        final int maxCellX = toCell(maxX);
+        final int maxCellY = toCell(maxY);
+
+        if (slot.indexed && slot.minCellX == minCellX && slot.minCellY == minCellY && slot.maxCellX == maxCellX
+                && slot.maxCellY == maxCellY) {
+            return;
+        }
+
+        unlink(slot);
+
+        slot.minCellX = minCellX;
+        slot.minCellY = minCellY;
+        slot.maxCellX = maxCellX;
+        slot.maxCellY = maxCellY;
+        slot.indexed = true;
+
+        final long cellCount = ((long) maxCellX - minCellX + 1) * ((long) maxCellY - minCellY + 1);
+        slot.large = cellCount > MAX_CELLS_PER_ITEM;
+        if (slot.large) {
+            oversized.add(slot);
+            return;
+        }
+
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cy = minCellY; cy <= maxCellY; cy++) {
+                cells.computeIfAbsent(key(cx, cy), k -> new ArrayList<>(4)).add(slot);
+            }
+        }
+    }
+
+    void remove(T item) {
+        Slot<T> slot = slots.remove(item);
+        if (slot != null) {
+            unlink(slot);
+        }
+    }
+
+    void clear() {
+        cells.clear();
+        oversized.clear();
+        slots.clear();
+    }
+
+    /**
+     * Appends to {@code result} every item whose bounds may contain the given point. Each item is appended at most
+     * once. The result is conservative : callers still have to run the exact hit test.
+     */
+    void query(double x, double y, List<T> result) {
+        final int stamp = ++queryStamp;
+
+        for (Slot<T> slot : oversized) {
+            slot.stamp = stamp;
+            result.add(slot.item);
+        }
+
+        List<Slot<T>> cell = cells.get(key(toCell(x), toCell(y)));
+        if (cell == null) {
+            return;
+        }
+        for (int i = 0; i < cell.size(); i++) {
+            Slot<T> slot = cell.get(i);
+            if (slot.stamp != stamp) {
+                slot.stamp = stamp;
+                result.add(slot.item);
+            }
+        }
+    }
+
+    private void unlink(Slot<T> slot) {
+        if (!slot.indexed) {
+            return;
+        }
+        slot.indexed = false;
+        if (slot.large) {
+            oversized.remove(slot);
+            return;
+        }
+        for (int cx = slot.minCellX; cx <= slot.maxCellX; cx++) {
+            for (int cy = slot.minCellY; cy <= slot.maxCellY; cy++) {
+                Long key = key(cx, cy);
+                List<Slot<T>> cell = cells.get(key);
+                if (cell != null) {
+                    cell.remove(slot);
+                    if (cell.isEmpty()) {
+                        cells.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    private int toCell(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static Long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+}
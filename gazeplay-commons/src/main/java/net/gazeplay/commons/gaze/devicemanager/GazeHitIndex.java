@@ -0,0 +1,228 @@
+package net.gazeplay.commons.gaze.devicemanager;
+
+import javafx.beans.InvalidationListener;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.stage.Window;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Scene space index of the nodes registered in the gaze device manager.
+ *
+ * Bounds are kept in scene coordinates so that moving the window does not invalidate anything. Each node is only
+ * re-indexed when its bounds, its transform or its scene are invalidated, so a gaze sample only has to test the nodes
+ * of one grid cell, plus the nodes the gaze is currently on (they need their GAZE_EXITED).
+ *
+ * Not thread-safe, all calls must be made while holding the shapesEventFilter lock of the device manager.
+ */
+class GazeHitIndex {
+
+    private final Map<Node, Entry> entries = new IdentityHashMap<>();
+
+    private final Map<Scene, GazeHitGrid<Entry>> grids = new HashMap<>();
+
+    private final ConcurrentLinkedQueue<Entry> dirtyEntries = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean childrenChanged = false;
+
+    private final List<Entry> queryResult = new ArrayList<>();
+
+    private final List<Entry> gazedEntries = new ArrayList<>();
+
+    private final List<GazeInfos> candidates = new ArrayList<>();
+
+    private int queryStamp = 0;
+
+    private final class Entry {
+
+        private final GazeInfos gazeInfos;
+
+        private final InvalidationListener boundsListener;
+
+        private final InvalidationListener childrenListener;
+
+        private Scene scene;
+
+        private int stamp;
+
+        private volatile boolean dirty = true;
+
+        private Entry(GazeInfos gazeInfos) {
+            this.gazeInfos = gazeInfos;
+            this.boundsListener = observable -> markDirty();
+            this.childrenListener = observable -> childrenChanged = true;
+        }
+
+        private void markDirty() {
+            if (!dirty) {
+                dirty = true;
+                dirtyEntries.add(this);
+            }
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void add(GazeInfos gazeInfos) {
+        final Node node = gazeInfos.getNode();
+        if (entries.containsKey(node)) {
+            remove(node);
+        }
+        Entry entry = new Entry(gazeInfos);
+        entries.put(node, entry);
+
+        node.boundsInLocalProperty().addListener(entry.boundsListener);
+        node.localToSceneTransformProperty().addListener(entry.boundsListener);
+        node.sceneProperty().addListener(entry.boundsListener);
+        if (node instanceof Pane) {
+            ((Pane) node).getChildren().addListener(entry.childrenListener);
+            childrenChanged = true;
+        }
+
+        dirtyEntries.add(entry);
+    }
+
+    void remove(Node node) {
+        Entry entry = entries.remove(node);
+        if (entry == null) {
+            return;
+        }
+        node.boundsInLocalProperty().removeListener(entry.boundsListener);
+        node.localToSceneTransformProperty().removeListener(entry.boundsListener);
+        node.sceneProperty().removeListener(entry.boundsListener);
+        if (node instanceof Pane) {
+            ((Pane) node).getChildren().removeListener(entry.childrenListener);
+        }
+        unindex(entry);
+    }
+
+    void clear() {
+        for (Node node : new ArrayList<>(entries.keySet())) {
+            remove(node);
+        }
+        grids.clear();
+        dirtyEntries.clear();
+        gazedEntries.clear();
+    }
+
+    /**
+     * @return true once after a registered Pane had its children list modified, so that the caller can register the
+     *         new children
+     */
+    boolean pollChildrenChanged() {
+        if (!childrenChanged) {
+            return false;
+        }
+        childrenChanged = false;
+        return true;
+    }
+
+    /**
+     * Re-index the nodes whose layout was invalidated since the last call.
+     */
+    void refresh() {
+        Entry entry;
+        while ((entry = dirtyEntries.poll()) != null) {
+            if (entries.get(entry.gazeInfos.getNode()) != entry) {
+                // removed in the meantime
+                continue;
+            }
+            entry.dirty = false;
+            reindex(entry);
+        }
+    }
+
+    /**
+     * @return the nodes that may be under the given screen position, and the nodes currently gazed at. The returned
+     *         list is reused by the next call.
+     */
+    List<GazeInfos> candidatesAt(double screenX, double screenY) {
+        final int stamp = ++queryStamp;
+        candidates.clear();
+        queryResult.clear();
+
+        for (Map.Entry<Scene, GazeHitGrid<Entry>> sceneGrid : grids.entrySet()) {
+            final Scene scene = sceneGrid.getKey();
+            final Window window = scene.getWindow();
+            if (window == null) {
+                continue;
+            }
+            final double sceneX = screenX - window.getX() - scene.getX();
+            final double sceneY = screenY - window.getY() - scene.getY();
+            sceneGrid.getValue().query(sceneX, sceneY, queryResult);
+        }
+
+        for (Entry entry : queryResult) {
+            entry.stamp = stamp;
+            candidates.add(entry.gazeInfos);
+        }
+
+        // the gaze may just have left those, they need to be tested to fire GAZE_EXITED
+        for (Entry entry : gazedEntries) {
+            if (entry.stamp != stamp && entries.get(entry.gazeInfos.getNode()) == entry) {
+                entry.stamp = stamp;
+                queryResult.add(entry);
+                candidates.add(entry.gazeInfos);
+            }
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Remember which of the last candidates are gazed at. Only candidates can change state during a sample, so this
+     * keeps track of every gazed node without scanning all of them.
+     */
+    void updateGazed() {
+        gazedEntries.clear();
+        for (Entry entry : queryResult) {
+            if (entry.gazeInfos.isOn()) {
+                gazedEntries.add(entry);
+            }
+        }
+    }
+
+    private void reindex(Entry entry) {
+        final Node node = entry.gazeInfos.getNode();
+        final Scene scene = node.getScene();
+
+        if (entry.scene != scene) {
+            unindex(entry);
+            entry.scene = scene;
+        }
+        if (scene == null) {
+            return;
+        }
+
+        // reading both properties validates them, so that the next invalidation notifies the listener again
+        final Bounds boundsInScene = node.getLocalToSceneTransform().transform(node.getBoundsInLocal());
+
+        grids.computeIfAbsent(scene, s -> new GazeHitGrid<>()).put(entry, boundsInScene.getMinX(),
+                boundsInScene.getMinY(), boundsInScene.getMaxX(), boundsInScene.getMaxY());
+    }
+
+    private void unindex(Entry entry) {
+        if (entry.scene == null) {
+            return;
+        }
+        GazeHitGrid<Entry> grid = grids.get(entry.scene);
+        if (grid != null) {
+            grid.remove(entry);
+            if (grid.size() == 0) {
+                grids.remove(entry.scene);
+            }
+        }
+        entry.scene = null;
+    }
+
+}
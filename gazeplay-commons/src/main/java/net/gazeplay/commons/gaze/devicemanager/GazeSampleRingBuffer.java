@@ -0,0 +1,198 @@
+package net.gazeplay.commons.gaze.devicemanager;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Single producer, multiple consumers ring buffer of gaze samples.
+ *
+ * The tracker thread publishes primitive (timestamp, x, y, validity) samples, each consumer reads them through its own
+ * {@link Consumer} cursor, at its own pace, without allocation nor lock. A consumer that falls more than the capacity
+ * behind loses the oldest samples : they are counted as overruns.
+ *
+ * Each slot is guarded by a stamp (sequence number and validity bit) written before and after the sample, a reader
+ * checks the stamp did not change while reading the slot.
+ */
+public class GazeSampleRingBuffer {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int SLOT_SIZE = 4;
+
+    private static final int STAMP = 0;
+    private static final int TIMESTAMP = 1;
+    private static final int X = 2;
+    private static final int Y = 3;
+
+    private static final long WRITING = -1;
+
+    @Getter
+    private final int capacity;
+
+    private final int mask;
+
+    private final AtomicLongArray slots;
+
+    /**
+     * number of samples published so far, i.e. the sequence number of the next sample
+     */
+    private final AtomicLong published = new AtomicLong(0);
+
+    private final List<Consumer> consumers = new CopyOnWriteArrayList<>();
+
+    public GazeSampleRingBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public GazeSampleRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of 2 : " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.slots = new AtomicLongArray(capacity * SLOT_SIZE);
+    }
+
+    /**
+     * Must only be called by the single producer thread.
+     */
+    public void publish(long timestamp, double x, double y, boolean valid) {
+        final long sequence = published.get();
+        final int base = (int) (sequence & mask) * SLOT_SIZE;
+
+        slots.set(base + STAMP, WRITING);
+        slots.lazySet(base + TIMESTAMP, timestamp);
+        slots.lazySet(base + X, Double.doubleToRawLongBits(x));
+        slots.lazySet(base + Y, Double.doubleToRawLongBits(y));
+        slots.set(base + STAMP, stamp(sequence, valid));
+
+        published.set(sequence + 1);
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    /**
+     * @return a new cursor, positioned after the last published sample
+     */
+    public Consumer newConsumer(String name) {
+        Consumer consumer = new Consumer(name, published.get());
+        consumers.add(consumer);
+        return consumer;
+    }
+
+    public void removeConsumer(Consumer consumer) {
+        consumers.remove(consumer);
+    }
+
+    public List<Consumer> getConsumers() {
+        return consumers;
+    }
+
+    private static long stamp(long sequence, boolean valid) {
+        return (sequence << 1) | (valid ? 1 : 0);
+    }
+
+    /**
+     * Read cursor of one consumer. Not thread-safe : a consumer must always be polled from the same thread.
+     */
+    public class Consumer {
+
+        @Getter
+        private final String name;
+
+        private long next;
+
+        @Getter
+        private long timestamp;
+
+        @Getter
+        private double x;
+
+        @Getter
+        private double y;
+
+        @Getter
+        private boolean valid;
+
+        private final AtomicLong overrunCount = new AtomicLong();
+
+        private final AtomicLong readCount = new AtomicLong();
+
+        private Consumer(String name, long next) {
+            this.name = name;
+            this.next = next;
+        }
+
+        /**
+         * Moves to the next available sample, its values are then available through the getters.
+         *
+         * @return false if no sample is available
+         */
+        public boolean poll() {
+            while (true) {
+                final long available = published.get();
+                if (next >= available) {
+                    return false;
+                }
+                if (available - next > capacity) {
+                    // the producer lapped this consumer
+                    overrunCount.addAndGet(available - capacity - next);
+                    next = available - capacity;
+                }
+
+                final long sequence = next++;
+                final int base = (int) (sequence & mask) * SLOT_SIZE;
+
+                final long stampBefore = slots.get(base + STAMP);
+                if (stampBefore == WRITING || (stampBefore >>> 1) != sequence) {
+                    overrunCount.incrementAndGet();
+                    continue;
+                }
+
+                final long readTimestamp = slots.get(base + TIMESTAMP);
+                final long readX = slots.get(base + X);
+                final long readY = slots.get(base + Y);
+
+                if (slots.get(base + STAMP) != stampBefore) {
+                    // overwritten while reading
+                    overrunCount.incrementAndGet();
+                    continue;
+                }
+
+                this.timestamp = readTimestamp;
+                this.x = Double.longBitsToDouble(readX);
+                this.y = Double.longBitsToDouble(readY);
+                this.valid = (stampBefore & 1) == 1;
+                readCount.incrementAndGet();
+                return true;
+            }
+        }
+
+        /**
+         * @return the number of published samples this consumer has not read yet
+         */
+        public long getLag() {
+            return Math.max(0, published.get() - next);
+        }
+
+        public long getOverrunCount() {
+            return overrunCount.get();
+        }
+
+        public long getReadCount() {
+            return readCount.get();
+        }
+
+        @Override
+        public String toString() {
+            return name + "{read=" + getReadCount() + ", lag=" + getLag() + ", overruns=" + getOverrunCount() + "}";
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+package net.gazeplay.commons.gaze.devicemanager;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces the polling of an eye-tracker that has to be polled, like the Tobii one.
+ *
+ * Polls are scheduled at a fixed rate (deadlines, not a fixed sleep after each poll), samples identical to the
+ * previous one are suppressed, and while the gaze point does not change the polling interval is doubled up to
+ * {@link #MAX_IDLE_INTERVAL_MILLIS}. The measured sample rate and the scheduling jitter are available to monitor the
+ * device.
+ *
+ * Not thread-safe : {@link #accept(double, double)} and {@link #awaitNextPoll()} must be called by the polling thread.
+ * The metrics getters can be called from any thread.
+ */
+public class GazeSamplingScheduler {
+
+    static final long MAX_IDLE_INTERVAL_MILLIS = 50;
+
+    private static final long MAX_IDLE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(MAX_IDLE_INTERVAL_MILLIS);
+
+    @Getter
+    private final double targetRate;
+
+    @Getter
+    private final boolean idleBackOff;
+
+    private final long targetIntervalNanos;
+
+    private long currentIntervalNanos;
+
+    private long nextDeadlineNanos;
+
+    private long scheduledIntervalNanos;
+
+    private long lastPollNanos = -1;
+
+    private double lastX = Double.NaN;
+
+    private double lastY = Double.NaN;
+
+    private long firstPollNanos = -1;
+
+    private volatile long elapsedNanos = 0;
+
+    private volatile long pollCount = 0;
+
+    private volatile long sampleCount = 0;
+
+    private volatile long duplicateCount = 0;
+
+    /*
+     * running mean and variance (Welford) of the difference between the actual and the scheduled poll intervals
+     */
+    private volatile long jitterCount = 0;
+
+    private double jitterMeanNanos = 0;
+
+    private volatile double jitterM2 = 0;
+
+    public GazeSamplingScheduler(double targetRate, boolean idleBackOff) {
+        if (targetRate <= 0) {
+            throw new IllegalArgumentException("targetRate must be positive : " + targetRate);
+        }
+        this.targetRate = targetRate;
+        this.idleBackOff = idleBackOff;
+        this.targetIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / targetRate);
+        this.currentIntervalNanos = targetIntervalNanos;
+        this.scheduledIntervalNanos = targetIntervalNanos;
+    }
+
+    /**
+     * To be called right after each poll of the device.
+     *
+     * @return true if the sample is new and should be published, false if it is identical to the previous one
+     */
+    public boolean accept(double x, double y) {
+        final long now = System.nanoTime();
+        if (firstPollNanos < 0) {
+            firstPollNanos = now;
+            nextDeadlineNanos = now;
+        } else {
+            recordJitter(now - lastPollNanos - scheduledIntervalNanos);
+            elapsedNanos = now - firstPollNanos;
+        }
+        lastPollNanos = now;
+        pollCount++;
+
+        if (x == lastX && y == lastY) {
+            duplicateCount++;
+            if (idleBackOff) {
+                currentIntervalNanos = Math.min(currentIntervalNanos * 2,
+                        Math.max(MAX_IDLE_INTERVAL_NANOS, targetIntervalNanos));
+            }
+            return false;
+        }
+
+        lastX = x;
+        lastY = y;
+        currentIntervalNanos = targetIntervalNanos;
+        sampleCount++;
+        return true;
+    }
+
+    /**
+     * Waits until the next poll is due. When the poll loop falls behind, the schedule is reset instead of polling in
+     * bursts to catch up.
+     */
+    public void awaitNextPoll() throws InterruptedException {
+        nextDeadlineNanos += currentIntervalNanos;
+        long now = System.nanoTime();
+        if (nextDeadlineNanos < now) {
+            nextDeadlineNanos = now;
+        }
+        scheduledIntervalNanos = nextDeadlineNanos - lastPollNanos;
+
+        long remaining;
+        while ((remaining = nextDeadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private void recordJitter(long deviationNanos) {
+        jitterCount++;
+        double delta = deviationNanos - jitterMeanNanos;
+        jitterMeanNanos += delta / jitterCount;
+        jitterM2 += delta * (deviationNanos - jitterMeanNanos);
+    }
+
+    /**
+     * @return the number of distinct samples per second since the first poll
+     */
+    public double getEffectiveSampleRate() {
+        final long elapsed = elapsedNanos;
+        return elapsed == 0 ? 0 : sampleCount * 1e9 / elapsed;
+    }
+
+    /**
+     * @return the number of polls per second since the first poll
+     */
+    public double getPollRate() {
+        final long elapsed = elapsedNanos;
+        return elapsed == 0 ? 0 : pollCount * 1e9 / elapsed;
+    }
+
+    /**
+     * @return the standard deviation, in milliseconds, of the actual poll interval around the scheduled one
+     */
+    public double getJitterMillis() {
+        final long count = jitterCount;
+        return count == 0 ? 0 : Math.sqrt(jitterM2 / count) / 1e6;
+    }
+
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    public long getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("target rate = %.1f Hz, effective sample rate = %.1f Hz, poll rate = %.1f Hz, "
+                + "jitter = %.2f ms, samples = %d, duplicates = %d", targetRate, getEffectiveSampleRate(),
+                getPollRate(), getJitterMillis(), getSampleCount(), getDuplicateCount());
+    }
+
+}
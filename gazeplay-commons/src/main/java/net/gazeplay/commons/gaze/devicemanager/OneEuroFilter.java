@@ -0,0 +1,79 @@
+package net.gazeplay.commons.gaze.devicemanager;
+
+/**
+ * One Euro filter (Casiez, Roussel and Vogel, CHI 2012) : a low-pass filter whose cutoff frequency grows with the
+ * speed of the signal, so that fixations are stabilised while saccades are followed with little lag.
+ *
+ * One instance filters one coordinate.
+ */
+class OneEuroFilter {
+
+    private final double minCutoff;
+
+    private final double beta;
+
+    private final double derivateCutoff;
+
+    private boolean initialized = false;
+
+    private double previousValue;
+
+    private double previousDerivate;
+
+    private long previousTimestamp;
+
+    /**
+     * @param minCutoff
+     *            the cutoff frequency, in Hz, when the signal does not move
+     * @param beta
+     *            how fast the cutoff frequency grows with the speed of the signal
+     */
+    OneEuroFilter(double minCutoff, double beta) {
+        this(minCutoff, beta, 1.0);
+    }
+
+    OneEuroFilter(double minCutoff, double beta, double derivateCutoff) {
+        this.minCutoff = minCutoff;
+        this.beta = beta;
+        this.derivateCutoff = derivateCutoff;
+    }
+
+    /**
+     * @param timestamp
+     *            the time of the sample, in milliseconds
+     */
+    double filter(double value, long timestamp) {
+        if (!initialized) {
+            initialized = true;
+            previousValue = value;
+            previousDerivate = 0;
+            previousTimestamp = timestamp;
+            return value;
+        }
+
+        // samples with the same timestamp are considered 1 ms apart
+        final double elapsedSeconds = Math.max(1, timestamp - previousTimestamp) / 1000.0;
+        previousTimestamp = timestamp;
+
+        final double derivate = (value - previousValue) / elapsedSeconds;
+        previousDerivate = smooth(derivate, previousDerivate, alpha(derivateCutoff, elapsedSeconds));
+
+        final double cutoff = minCutoff + beta * Math.abs(previousDerivate);
+        previousValue = smooth(value, previousValue, alpha(cutoff, elapsedSeconds));
+        return previousValue;
+    }
+
+    void reset() {
+        initialized = false;
+    }
+
+    private static double alpha(double cutoff, double elapsedSeconds) {
+        final double tau = 1.0 / (2 * Math.PI * cutoff);
+        return 1.0 / (1.0 + tau / elapsedSeconds);
+    }
+
+    private static double smooth(double value, double previous, double alpha) {
+        return previous + alpha * (value - previous);
+    }
+
+}
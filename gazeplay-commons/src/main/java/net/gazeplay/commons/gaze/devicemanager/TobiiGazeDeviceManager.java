@@ -1,16 +1,13 @@
 package net.gazeplay.commons.gaze.devicemanager;
 
 import com.sun.glass.ui.Screen;
-import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
 import javafx.concurrent.Service;
 import javafx.concurrent.Task;
-import javafx.geometry.Point2D;
 import lombok.extern.slf4j.Slf4j;
 import net.gazeplay.commons.configuration.Configuration;
 import tobii.Tobii;
 
-import java.awt.*;
-
 @Slf4j
 public class TobiiGazeDeviceManager extends AbstractGazeDeviceManager {
 
@@ -19,6 +16,21 @@ public class TobiiGazeDeviceManager extends AbstractGazeDeviceManager {
     private transient boolean stopRequested = false;
     private Configuration config;
 
+    private GazeSamplingScheduler samplingScheduler;
+
+    /**
+     * only while the gaze mouse is enabled
+     */
+    private volatile GazeCursorDriver cursorDriver;
+
+    private final ChangeListener<Boolean> gazeMouseListener = (observable, oldValue, enabled) -> {
+        if (enabled) {
+            startCursorDriver();
+        } else {
+            stopCursorDriver();
+        }
+    };
+
     public TobiiGazeDeviceManager() {
         super();
         config = Configuration.getInstance();
@@ -32,6 +44,19 @@ public class TobiiGazeDeviceManager extends AbstractGazeDeviceManager {
         final int screenWidth = mainScreen.getWidth();
         final int screenHeight = mainScreen.getHeight();
 
+        // the gaze menu used to be polled at half the rate
+        final double samplingRate = config.isGazeMenuEnable() ? config.getGazeSamplingRate() / 2.0
+                : config.getGazeSamplingRate();
+        final GazeSamplingScheduler samplingScheduler = new GazeSamplingScheduler(samplingRate,
+                config.isGazeSamplingIdleBackOff());
+        this.samplingScheduler = samplingScheduler;
+        log.info("Tobii sampling rate = {} Hz, idle back-off = {}", samplingRate, samplingScheduler.isIdleBackOff());
+
+        config.getGazeMouseProperty().addListener(gazeMouseListener);
+        if (config.isGazeMouseEnable()) {
+            startCursorDriver();
+        }
+
         calculateService = new Service<Void>() {
 
             @Override
@@ -49,30 +74,22 @@ public class TobiiGazeDeviceManager extends AbstractGazeDeviceManager {
                             final double positionX = xRatio * screenWidth;
                             final double positionY = yRatio * screenHeight;
 
-                            if (config.isGazeMouseEnable() && !config.isMouseFree) {
-                                Platform.runLater(() -> {
-                                    try {
-                                        Robot robot = new Robot();
-                                        robot.mouseMove((int) positionX, (int) positionY);
-                                    } catch (AWTException e) {
-                                        // TODO Auto-generated catch block
-                                        e.printStackTrace();
-                                    }
-                                });
+                            if (samplingScheduler.accept(positionX, positionY)) {
+                                publishGazeSample(positionX, positionY);
+                                final GazeCursorDriver cursorDriver = TobiiGazeDeviceManager.this.cursorDriver;
+                                if (cursorDriver != null) {
+                                    cursorDriver.wakeUp();
+                                }
                             }
 
-                            Point2D point = new Point2D(positionX, positionY);
-                            Platform.runLater(() -> onGazeUpdate(point));
-
-                            // sleep is mandatory to avoid too much calls to gazePosition()
+                            // pacing is mandatory to avoid too much calls to gazePosition()
                             try {
-                                Thread.sleep(10);
-                                if (config.isGazeMenuEnable()) {
-                                    Thread.sleep(10);
-                                }
+                                samplingScheduler.awaitNextPoll();
                             } catch (InterruptedException e) {
-                                // TODO Auto-generated catch block
-                                e.printStackTrace();
+                                if (stopRequested) {
+                                    break;
+                                }
+                                log.warn("Tobii polling interrupted", e);
                             }
 
                         }
@@ -85,9 +102,29 @@ public class TobiiGazeDeviceManager extends AbstractGazeDeviceManager {
         calculateService.start();
     }
 
+    private synchronized void startCursorDriver() {
+        if (cursorDriver == null && !stopRequested) {
+            final GazeCursorDriver cursorDriver = new GazeCursorDriver(getSampleBuffer(), config);
+            cursorDriver.start();
+            this.cursorDriver = cursorDriver;
+        }
+    }
+
+    private synchronized void stopCursorDriver() {
+        if (cursorDriver != null) {
+            cursorDriver.stop();
+            cursorDriver = null;
+        }
+    }
+
     @Override
     public void destroy() {
         stopRequested = true;
+        if (samplingScheduler != null) {
+            log.info("Tobii sampling : {}", samplingScheduler);
+        }
+        config.getGazeMouseProperty().removeListener(gazeMouseListener);
+        stopCursorDriver();
         Service<Void> calculateService = this.calculateService;
         if (calculateService != null) {
             while (!calculateService.cancel())
@@ -0,0 +1,50 @@
+package net.gazeplay.commons.threads;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the executors of the work done away from the FX thread, so that they all name their threads and release them
+ * the same way.
+ */
+public final class BackgroundExecutors {
+
+    private BackgroundExecutors() {
+    }
+
+    /**
+     * @return an executor of a fixed number of threads, named and grouped after the given name, with an unbounded
+     *         queue. The threads end after a minute without task, so that an idle executor holds no thread.
+     */
+    public static ExecutorService newBackgroundExecutor(String name, int threads) {
+        ThreadPoolExecutor result = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(), newThreadFactory(name));
+        result.allowCoreThreadTimeOut(true);
+        return result;
+    }
+
+    /**
+     * @return a scheduled executor of a single thread, named and grouped after the given name, which ends after a
+     *         minute without task.
+     */
+    public static ScheduledExecutorService newScheduledBackgroundExecutor(String name) {
+        ScheduledThreadPoolExecutor result = new ScheduledThreadPoolExecutor(1, newThreadFactory(name));
+        result.setKeepAliveTime(1, TimeUnit.MINUTES);
+        result.allowCoreThreadTimeOut(true);
+        return result;
+    }
+
+    /**
+     * @return a factory of threads named and grouped after the given name, for the tasks which need a thread of their
+     *         own
+     */
+    public static ThreadFactory newThreadFactory(String name) {
+        return new CustomThreadFactory(name, new GroupingThreadFactory(name));
+    }
+
+}
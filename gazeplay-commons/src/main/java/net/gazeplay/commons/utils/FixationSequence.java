@@ -1,170 +1,129 @@
 package net.gazeplay.commons.utils;
 
-import javafx.geometry.VPos;
-import javafx.scene.SnapshotParameters;
-import javafx.scene.effect.GaussianBlur;
-import javafx.scene.text.TextAlignment;
-import javafx.embed.swing.SwingFXUtils;
-import javafx.scene.image.PixelWriter;
-import javafx.scene.image.WritableImage;
-import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
-import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
-import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.awt.image.DataBufferInt;
 import java.lang.Math;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import sun.awt.image.ImageWatched;
+import net.gazeplay.commons.utils.stats.GazeRecording;
 
+/**
+ * Scanpath of a session : the fixations detected during the session, and its rendering.
+ *
+ * The rendering only uses Java2D, so it can run on any thread.
+ */
 @Slf4j
 public class FixationSequence {
 
     /**
-     * Writable image used to create the fixation Sequence image
+     * blur of the line of the sequence, close to a JavaFX GaussianBlur of radius 2.5
      */
-    @Getter
-    private WritableImage image;
-    @Getter
-    private LinkedList<FixationPoint> sequence;
-
-    private static Font sanSerifFont = new Font("SanSerif", 10);
-
-    public FixationSequence(int width, int height, LinkedList<FixationPoint> fixSeq) {
-        sequence = new LinkedList<FixationPoint>();
-        this.image = new WritableImage(width, height);
-        Canvas canvas = new Canvas(width, height);
-
-        GraphicsContext gc = canvas.getGraphicsContext2D();
+    private static final int[] LINE_BLUR_WEIGHTS = { 1, 4, 6, 4, 1 };
 
-        // draw the line of the sequence
-        GaussianBlur gaussianBlur = new GaussianBlur();
-        gaussianBlur.setRadius(2.5);
-        gc.setEffect(gaussianBlur);
-        gc.setStroke(Color.rgb(255, 157, 6, 1));
-        gc.setLineWidth(4);
+    private static final Color LINE_COLOR = new Color(255, 157, 6);
 
-        fixSeq = vertexReduction(fixSeq, 15);
-
-        for (int i = 0; i < fixSeq.size() - 1; i++) {
-            gc.strokeLine(fixSeq.get(i).getY(), fixSeq.get(i).getX(), fixSeq.get(i + 1).getY(),
-                    fixSeq.get(i + 1).getX());
-            // log.info("Point nb :" + i + ", firstGaze = " + fixSeq.get(i).getFirstGaze() + ", gazeDuration = "
-            // + fixSeq.get(i).getGazeDuration() + ", x = " + fixSeq.get(i).getY() + " , y = "
-            // + fixSeq.get(i).getX());
-        }
-        gc.setEffect(null);
-        gc.setFont(sanSerifFont);
-        gc.setTextAlign(TextAlignment.CENTER);
-        gc.setTextBaseline(VPos.CENTER);
-
-        // draw the circles with the labels on top
-        gc.setStroke(Color.RED);
-        gc.setLineWidth(1);
+    private static final Color FIXATION_FILL_COLOR = new Color(255, 255, 0, 128);// yellow 50% transparency
 
-        int label_count = 1;// for the labels of the fixation sequence
+    private static final Font LABEL_FONT = new Font("Verdana", Font.PLAIN, 25);
 
-        gc.setStroke(Color.RED);
-        int x = fixSeq.get(0).getY();
-        int y = fixSeq.get(0).getX();
-
-        int radius = 45; // central fixation bias . Read more about it at
-        // https://imotions.com/blog/7-terms-metrics-eye-tracking/
+    /**
+     * the fixations, as drawn
+     */
+    private final GazeRecording reducedSequence;
 
-        gc.strokeOval(x - radius / 2, y - radius / 2, radius, radius);
-        gc.setFill(Color.rgb(255, 255, 0, 0.5));// yellow 50% transparency
-        gc.fillOval(x - radius / 2, y - radius / 2, radius, radius);
-        gc.setFill(Color.BLACK);
-        gc.setFont(Font.font("Verdana", 25));
-        gc.fillText(Integer.toString(label_count), x, y, 90);
-
-        double duration;
-
-        for (int j = 1; j < fixSeq.size() - 1; j++) {
-
-            gc.setStroke(Color.RED);
-            x = fixSeq.get(j).getY();
-            y = fixSeq.get(j).getX();
-            duration = fixSeq.get(j).getGazeDuration();
-
-            if (duration > 20) {
-                label_count++;
-                radius = 45 + (int) duration / 100;
-                gc.strokeOval(x - radius / 2, y - radius / 2, radius, radius);
-                gc.setFill(Color.rgb(255, 255, 0, 0.5));// yellow 50% transparency
-                gc.fillOval(x - radius / 2, y - radius / 2, radius, radius);
-                gc.setFill(Color.BLACK);
-                gc.fillText(Integer.toString(label_count), x, y, 80);
-
-            } else {
-                fixSeq.get(j).setGazeDuration(-1);
-            }
-        }
+    /**
+     * the fixations without the too short ones
+     */
+    @Getter
+    private final GazeRecording sequence;
 
-        SnapshotParameters params = new SnapshotParameters();
-        params.setFill(Color.TRANSPARENT);
-        canvas.snapshot(params, image);
+    /**
+     * @param fixations
+     *            the fixations detected during the session, with the coordinates swapped
+     */
+    public FixationSequence(GazeRecording fixations) {
+        reducedSequence = fixations;
 
-        Iterator<FixationPoint> it = fixSeq.iterator();
-        while (it.hasNext()) {
-            if (it.next().getGazeDuration() == -1)
-                it.remove();
+        sequence = new GazeRecording();
+        for (int i = 0; i < reducedSequence.size(); i++) {
+            if (isKept(i))
+                sequence.addFrom(reducedSequence, i);
         }
-        sequence = fixSeq;
     }
 
     /**
-     * Saves the fixation Sequence to a PNG file
-     *
-     * @param outputFile
-     *            The output file (Must be open and writable)
+     * the first and last points, and the points with a gaze duration above 20 ms, are kept
      */
-    // creates a clear background image
-    public void saveToFile(File outputFile) {
-        BufferedImage bImage = SwingFXUtils.fromFXImage(image, null);
-        try {
-            ImageIO.write(bImage, "png", outputFile);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+    private boolean isKept(int index) {
+        return index == 0 || index == reducedSequence.size() - 1 || reducedSequence.getDuration(index) > 20;
     }
 
-    // Vertex Cluster Reduction -- successive vertices that are clustered too closely are reduced to a single vertex
-    // public static LinkedList<FixationPoint> getFixationSequence() {
-    // return sequence;
-    // }
-
-    public static LinkedList<FixationPoint> vertexReduction(LinkedList<FixationPoint> allPoints, double tolerance) {
-
-        int accepted = 0;
-        double distance = 0.0;
-        FixationPoint pivotVertex = allPoints.get(accepted);
-
-        LinkedList<FixationPoint> reducedPolyline = new LinkedList<FixationPoint>();
-        reducedPolyline.add(pivotVertex);
-
-        for (int i = 1; i < allPoints.size() - 1; i++) {
-            distance = Math.sqrt(Math.pow(pivotVertex.getY() - allPoints.get(i).getY(), 2)
-                    + Math.pow(pivotVertex.getX() - allPoints.get(i).getX(), 2));
+    /**
+     * Draws the fixation sequence on a transparent image
+     */
+    public BufferedImage render(int width, int height) {
+        final GazeRecording fixSeq = reducedSequence;
+
+        // draw the line of the sequence on its own layer, to blur it
+        BufferedImage lineLayer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D lineGraphics = lineLayer.createGraphics();
+        lineGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        lineGraphics.setColor(LINE_COLOR);
+        lineGraphics.setStroke(new BasicStroke(4));
+        for (int i = 0; i < fixSeq.size() - 1; i++) {
+            lineGraphics.drawLine(fixSeq.getY(i), fixSeq.getX(i), fixSeq.getY(i + 1), fixSeq.getX(i + 1));
+        }
+        lineGraphics.dispose();
+        int[] linePixels = ((DataBufferInt) lineLayer.getRaster().getDataBuffer()).getData();
+        RasterOperations.convolve(linePixels, width, height, LINE_BLUR_WEIGHTS, true);
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D gc = image.createGraphics();
+        gc.drawImage(lineLayer, 0, 0, null);
+        gc.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        gc.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        gc.setFont(LABEL_FONT);
+        gc.setStroke(new BasicStroke(1));
 
-            if (distance <= tolerance) {
-                // add to the accepted vertex the duration of the reduced vertices -- to adapt the radius
-                pivotVertex.setGazeDuration(pivotVertex.getGazeDuration() + allPoints.get(i).getGazeDuration());
-                // continue;
-            } else {
-                reducedPolyline.add(allPoints.get(i));
+        // draw the circles with the labels on top
+        int label_count = 0;// for the labels of the fixation sequence
 
-                accepted = i;
+        int radius = 45; // central fixation bias . Read more about it at
+        // https://imotions.com/blog/7-terms-metrics-eye-tracking/
 
-                pivotVertex = allPoints.get(accepted);
+        // the last point is not drawn, unless it is the only one
+        for (int j = 0; j < Math.min(fixSeq.size(), Math.max(1, fixSeq.size() - 1)); j++) {
+            if (!isKept(j)) {
+                continue;
             }
+            int x = fixSeq.getY(j);
+            int y = fixSeq.getX(j);
+            if (j > 0) {
+                radius = 45 + (int) fixSeq.getDuration(j) / 100;
+            }
+            label_count++;
+
+            gc.setColor(Color.RED);
+            gc.drawOval(x - radius / 2, y - radius / 2, radius, radius);
+            gc.setColor(FIXATION_FILL_COLOR);
+            gc.fillOval(x - radius / 2, y - radius / 2, radius, radius);
+            gc.setColor(Color.BLACK);
+            drawCenteredText(gc, Integer.toString(label_count), x, y);
         }
-        return reducedPolyline;
+        gc.dispose();
+
+        return image;
+    }
+
+    private static void drawCenteredText(Graphics2D gc, String text, int x, int y) {
+        FontMetrics metrics = gc.getFontMetrics();
+        gc.drawString(text, x - metrics.stringWidth(text) / 2, y + (metrics.getAscent() - metrics.getDescent()) / 2);
     }
 }
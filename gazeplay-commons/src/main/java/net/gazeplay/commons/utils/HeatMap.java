@@ -1,12 +1,10 @@
 package net.gazeplay.commons.utils;
 
-import javafx.animation.Interpolator;
-import javafx.embed.swing.SwingFXUtils;
 import javafx.geometry.VPos;
 import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.PixelWriter;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.CycleMethod;
@@ -16,35 +14,42 @@ import javafx.scene.text.Font;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Creates a heatmap image from a given 2D array
+ *
+ * The colors are taken from a lookup table of {@link #LOOKUP_TABLE_SIZE} ARGB values, interpolated once between the
+ * given colors, so that the colorization does not create a Color per value. The ARGB raster is also available, for the
+ * consumers which do not use JavaFX images.
  */
 @Slf4j
 public class HeatMap {
 
     /**
-     * Writable image used to create the heatmap image
+     * Number of entries of the color lookup table, between the minimum and the maximum value
+     */
+    private static final int LOOKUP_TABLE_SIZE = 1024;
+
+    /**
+     * Writable image used to create the heatmap image, created on the first call of {@link #getImage()}
      */
-    @Getter
     private WritableImage image;
     /**
      * Array of the different colors used to interpolate
      */
-    private ArrayList<Color> colors;
+    private List<Color> colors;
     /**
      * Maximum value of the data
      */
+    @Getter
     private double maxValue;
     /**
-     * Minimum value of the data
+     * Minimum value of the data, without the zeros
      */
+    @Getter
     private double minValue;
     /**
      * Value interval between each color
@@ -56,6 +61,23 @@ public class HeatMap {
      */
     private double opacity;
 
+    /**
+     * Width of the heatmap, the number of columns of the data
+     */
+    @Getter
+    private final int width;
+
+    /**
+     * Height of the heatmap, the number of rows of the data
+     */
+    @Getter
+    private final int height;
+
+    /**
+     * Colors of the pixels, row-major, non premultiplied ARGB
+     */
+    private final int[] argbRaster;
+
     /**
      * Custom colors constructor, builds a heatmap from the given data, by interpolating the values through the given
      * colors.
@@ -65,11 +87,12 @@ public class HeatMap {
      * @param colors
      *            custom colors for the heatmap, must be on order from minimum to maximum.
      */
-    public HeatMap(double[][] data, double opacity, ArrayList<Color> colors) {
+    public HeatMap(double[][] data, double opacity, List<Color> colors) {
 
-        this.image = new WritableImage(data[0].length, data.length);
         this.colors = colors;
         this.opacity = opacity;
+        this.height = data.length;
+        this.width = data[0].length;
 
         // Computing max and min values
         minValue = Double.MAX_VALUE;
@@ -86,41 +109,59 @@ public class HeatMap {
         }
         subdivisionValue = (maxValue - minValue) / (this.colors.size() - 1);
 
-        // Create heatmap pixel per pixel
-        PixelWriter pxWriter = image.getPixelWriter();
-        for (int x = 0; x < data.length; x++) {
-            for (int y = 0; y < data[x].length; y++) {
-                pxWriter.setColor(y, x, getColor(data[x][y]));
+        final int[] lookupTable = createLookupTable();
+        final double scale = maxValue > minValue ? (LOOKUP_TABLE_SIZE - 1) / (maxValue - minValue) : 0;
+
+        // Create heatmap pixel per pixel, the rows being split over the cores
+        argbRaster = new int[width * height];
+        RasterOperations.forEachRows(height, (fromRow, toRow) -> {
+            for (int x = fromRow; x < toRow; x++) {
+                final int rowOffset = x * width;
+                for (int y = 0; y < width; y++) {
+                    final double value = data[x][y];
+                    argbRaster[rowOffset + y] = value == 0 ? 0
+                            : lookupTable[(int) ((value - minValue) * scale + 0.5)];
+                }
             }
+        });
+    }
+
+    /**
+     * Interpolates the colors between the 2 colors of each subdivision, from the minimum to the maximum value.
+     */
+    private int[] createLookupTable() {
+        final int alpha = (int) Math.round(opacity * 255) << 24;
+        final int lastColor = colors.size() - 1;
+        final int[] lookupTable = new int[LOOKUP_TABLE_SIZE];
+        for (int k = 0; k < LOOKUP_TABLE_SIZE; k++) {
+            final double position = (double) k / (LOOKUP_TABLE_SIZE - 1) * lastColor;
+            final int i = Math.min((int) position, lastColor - 1); // the starting color of the interpolation
+            final double t = position - i;
+            final Color from = colors.get(i);
+            final Color to = colors.get(i + 1);
+            final int red = (int) Math.round((from.getRed() + (to.getRed() - from.getRed()) * t) * 255);
+            final int green = (int) Math.round((from.getGreen() + (to.getGreen() - from.getGreen()) * t) * 255);
+            final int blue = (int) Math.round((from.getBlue() + (to.getBlue() - from.getBlue()) * t) * 255);
+            lookupTable[k] = alpha | red << 16 | green << 8 | blue;
         }
+        return lookupTable;
     }
 
     /**
-     * Computes the correct color of the value, by interpolating between the 2 colors in the right subdivision.
-     * 
-     * @param value
-     *            the value of the pixel (in data).
-     * @return the resulting color after interpolation.
+     * @return the colors of the pixels, row-major with {@link #getWidth()} pixels per row, non premultiplied ARGB. The
+     *         array is shared, not copied.
      */
-    private Color getColor(double value) {
-        if (value == 0) {
-            return Color.TRANSPARENT;
-        } else {
-            double compValue = minValue + subdivisionValue;
-            int i = 0; // Once out of the loop, will be the index of the starting color of the interpolation
-            while (i < colors.size() - 2 && value >= compValue) { // Finding the right subdivision, in order to get the
-                // colors between which the values is located
-                i++;
-                compValue += subdivisionValue;
-            }
-            double red = Interpolator.LINEAR.interpolate(colors.get(i).getRed(), colors.get(i + 1).getRed(),
-                    (value % subdivisionValue) / subdivisionValue);
-            double green = Interpolator.LINEAR.interpolate(colors.get(i).getGreen(), colors.get(i + 1).getGreen(),
-                    (value % subdivisionValue) / subdivisionValue);
-            double blue = Interpolator.LINEAR.interpolate(colors.get(i).getBlue(), colors.get(i + 1).getBlue(),
-                    (value % subdivisionValue) / subdivisionValue);
-            return Color.color(red, green, blue, opacity);
+    public int[] getArgbRaster() {
+        return argbRaster;
+    }
+
+    public synchronized WritableImage getImage() {
+        if (image == null) {
+            image = new WritableImage(width, height);
+            image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), argbRaster, 0,
+                    width);
         }
+        return image;
     }
 
     public WritableImage getColorKey(int width, int height) {
@@ -0,0 +1,167 @@
+package net.gazeplay.commons.utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Operations on ARGB int rasters (row-major, non premultiplied), split by ranges of rows over the fork/join common
+ * pool. They do not depend on JavaFX and can be called from any thread.
+ */
+public final class RasterOperations {
+
+    /**
+     * below this number of rows, a range is processed by the current task instead of being split
+     */
+    private static final int ROWS_PER_TASK = 32;
+
+    @FunctionalInterface
+    public interface RowsAction {
+        void apply(int fromRow, int toRow);
+    }
+
+    private static final class RowsTask extends RecursiveAction {
+
+        private final RowsAction action;
+
+        private final int fromRow;
+
+        private final int toRow;
+
+        private RowsTask(RowsAction action, int fromRow, int toRow) {
+            this.action = action;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow <= ROWS_PER_TASK) {
+                action.apply(fromRow, toRow);
+            } else {
+                final int middle = (fromRow + toRow) >>> 1;
+                invokeAll(new RowsTask(action, fromRow, middle), new RowsTask(action, middle, toRow));
+            }
+        }
+    }
+
+    private RasterOperations() {
+    }
+
+    /**
+     * Applies the action to all the rows, the ranges of rows being processed in parallel.
+     */
+    public static void forEachRows(int rowCount, RowsAction action) {
+        if (rowCount <= ROWS_PER_TASK) {
+            action.apply(0, rowCount);
+        } else {
+            ForkJoinPool.commonPool().invoke(new RowsTask(action, 0, rowCount));
+        }
+    }
+
+    /**
+     * Convolves the raster, in place, with the separable kernel whose rows and columns are both the given weights. Like
+     * {@link java.awt.image.ConvolveOp} with EDGE_ZERO_FILL, the pixels closer to the border than half the kernel are
+     * set to zero.
+     *
+     * @param weights
+     *            odd number of weights, normalised by their sum
+     * @param premultiplied
+     *            whether the colors are premultiplied by the alpha while convolving, so that transparent pixels do not
+     *            darken the edges. ConvolveOp on a TYPE_INT_ARGB image convolves each channel independently.
+     */
+    public static void convolve(int[] argb, int width, int height, int[] weights, boolean premultiplied) {
+        final int half = weights.length / 2;
+        int sum = 0;
+        for (int weight : weights) {
+            sum += weight;
+        }
+        final int total = sum;
+
+        final int[] source;
+        if (premultiplied) {
+            source = new int[argb.length];
+            forEachRows(height, (fromRow, toRow) -> {
+                for (int i = fromRow * width; i < toRow * width; i++) {
+                    source[i] = premultiply(argb[i]);
+                }
+            });
+        } else {
+            source = argb;
+        }
+
+        final int[] horizontal = new int[argb.length];
+        forEachRows(height, (fromRow, toRow) -> {
+            for (int row = fromRow; row < toRow; row++) {
+                final int rowOffset = row * width;
+                for (int column = half; column < width - half; column++) {
+                    int a = 0, r = 0, g = 0, b = 0;
+                    for (int k = 0; k < weights.length; k++) {
+                        final int pixel = source[rowOffset + column + k - half];
+                        a += weights[k] * (pixel >>> 24);
+                        r += weights[k] * ((pixel >> 16) & 0xFF);
+                        g += weights[k] * ((pixel >> 8) & 0xFF);
+                        b += weights[k] * (pixel & 0xFF);
+                    }
+                    horizontal[rowOffset + column] = pack(a, r, g, b, total);
+                }
+            }
+        });
+
+        forEachRows(height, (fromRow, toRow) -> {
+            for (int row = fromRow; row < toRow; row++) {
+                final int rowOffset = row * width;
+                if (row < half || row >= height - half) {
+                    for (int column = 0; column < width; column++) {
+                        argb[rowOffset + column] = 0;
+                    }
+                    continue;
+                }
+                for (int column = 0; column < width; column++) {
+                    int a = 0, r = 0, g = 0, b = 0;
+                    for (int k = 0; k < weights.length; k++) {
+                        final int pixel = horizontal[rowOffset + (k - half) * width + column];
+                        a += weights[k] * (pixel >>> 24);
+                        r += weights[k] * ((pixel >> 16) & 0xFF);
+                        g += weights[k] * ((pixel >> 8) & 0xFF);
+                        b += weights[k] * (pixel & 0xFF);
+                    }
+                    final int pixel = pack(a, r, g, b, total);
+                    argb[rowOffset + column] = premultiplied ? unpremultiply(pixel) : pixel;
+                }
+            }
+        });
+    }
+
+    /**
+     * the sums are truncated, as ConvolveOp does
+     */
+    private static int pack(int a, int r, int g, int b, int total) {
+        return (a / total) << 24 | (r / total) << 16 | (g / total) << 8 | (b / total);
+    }
+
+    private static int premultiply(int pixel) {
+        final int a = pixel >>> 24;
+        if (a == 0xFF) {
+            return pixel;
+        }
+        final int r = (((pixel >> 16) & 0xFF) * a + 127) / 255;
+        final int g = (((pixel >> 8) & 0xFF) * a + 127) / 255;
+        final int b = ((pixel & 0xFF) * a + 127) / 255;
+        return a << 24 | r << 16 | g << 8 | b;
+    }
+
+    private static int unpremultiply(int pixel) {
+        final int a = pixel >>> 24;
+        if (a == 0) {
+            return 0;
+        }
+        if (a == 0xFF) {
+            return pixel;
+        }
+        final int r = Math.min(255, (((pixel >> 16) & 0xFF) * 255 + a / 2) / a);
+        final int g = Math.min(255, (((pixel >> 8) & 0xFF) * 255 + a / 2) / a);
+        final int b = Math.min(255, ((pixel & 0xFF) * 255 + a / 2) / a);
+        return a << 24 | r << 16 | g << 8 | b;
+    }
+
+}
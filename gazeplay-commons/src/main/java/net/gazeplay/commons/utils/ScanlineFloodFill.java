@@ -0,0 +1,301 @@
+package net.gazeplay.commons.utils;
+
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Flood fill of an ARGB int raster (row-major, non premultiplied), filling whole horizontal spans at once with the
+ * seed fill of Heckbert (Graphics Gems, 1990). A pixel belongs to the zone when the squared distance between its RGB
+ * channels and the ones of the seed is within the tolerance, the alpha is ignored. Filling does not allocate, apart
+ * from the growth of the span stack and the undo regions.
+ *
+ * After each fill, the rectangle of the modified pixels is given by {@link #getDirtyRegion()}, so that only this
+ * rectangle is copied back to the displayed image, and its previous pixels are kept to undo the fill. It does not
+ * depend on JavaFX, fills are meant to run on a background thread, one at a time.
+ */
+public class ScanlineFloodFill {
+
+    /**
+     * Rectangle of pixels, copied out of the raster.
+     */
+    @Getter
+    public static class Region {
+
+        private final int x;
+
+        private final int y;
+
+        private final int width;
+
+        private final int height;
+
+        /**
+         * row-major, width pixels per row
+         */
+        private final int[] pixels;
+
+        private Region(int[] source, int sourceWidth, int x, int y, int width, int height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.pixels = new int[width * height];
+            for (int row = 0; row < height; row++) {
+                System.arraycopy(source, (y + row) * sourceWidth + x, pixels, row * width, width);
+            }
+        }
+
+        private void copyTo(int[] target, int targetWidth) {
+            for (int row = 0; row < height; row++) {
+                System.arraycopy(pixels, row * width, target, (y + row) * targetWidth + x, width);
+            }
+        }
+    }
+
+    /**
+     * ints per span on the stack : y, left x, right x, direction of the next row
+     */
+    private static final int SPAN_SIZE = 4;
+
+    @Getter
+    private final int width;
+
+    @Getter
+    private final int height;
+
+    /**
+     * the current pixels
+     */
+    @Getter
+    private final int[] pixels;
+
+    /**
+     * the pixels before the last fill, only the dirty region is copied after each fill
+     */
+    private final int[] committed;
+
+    private final int maxUndoLevels;
+
+    private final Deque<Region> undoRegions = new ArrayDeque<>();
+
+    private int[] stack = new int[SPAN_SIZE * 256];
+
+    private int stackSize;
+
+    private int seedRed;
+    private int seedGreen;
+    private int seedBlue;
+    private int squaredTolerance;
+
+    private int dirtyMinX;
+    private int dirtyMinY;
+    private int dirtyMaxX;
+    private int dirtyMaxY;
+
+    /**
+     * @param pixels
+     *            the raster, filled in place
+     * @param maxUndoLevels
+     *            number of fills that can be undone, the oldest ones are forgotten
+     */
+    public ScanlineFloodFill(int[] pixels, int width, int height, int maxUndoLevels) {
+        if (pixels.length < width * height) {
+            throw new IllegalArgumentException("The raster has " + pixels.length + " pixels, " + width + " x "
+                    + height + " expected");
+        }
+        this.pixels = pixels;
+        this.width = width;
+        this.height = height;
+        this.committed = pixels.clone();
+        this.maxUndoLevels = maxUndoLevels;
+    }
+
+    /**
+     * @return the squared distance between the RGB channels of the two colors, between 0 and 3 x 255 x 255
+     */
+    public static int squaredDistance(int argb1, int argb2) {
+        final int red = ((argb1 >> 16) & 0xFF) - ((argb2 >> 16) & 0xFF);
+        final int green = ((argb1 >> 8) & 0xFF) - ((argb2 >> 8) & 0xFF);
+        final int blue = (argb1 & 0xFF) - (argb2 & 0xFF);
+        return red * red + green * green + blue * blue;
+    }
+
+    public int getPixel(int x, int y) {
+        return pixels[y * width + x];
+    }
+
+    /**
+     * Fills the zone of the seed with the new color.
+     *
+     * @param tolerance
+     *            maximum distance between the RGB channels, from 0 to 255, of a pixel and of the seed for the pixel to
+     *            belong to the zone
+     * @return the number of pixels filled, 0 when the seed is outside the raster or already of the new color within
+     *         the tolerance
+     */
+    public int fill(int seedX, int seedY, int newColor, int tolerance) {
+        if (seedX < 0 || seedX >= width || seedY < 0 || seedY >= height) {
+            return 0;
+        }
+        final int seedColor = pixels[seedY * width + seedX];
+        squaredTolerance = tolerance * tolerance;
+        // the filled pixels would still match, and be filled again forever
+        if (squaredDistance(seedColor, newColor) <= squaredTolerance) {
+            return 0;
+        }
+        seedRed = (seedColor >> 16) & 0xFF;
+        seedGreen = (seedColor >> 8) & 0xFF;
+        seedBlue = seedColor & 0xFF;
+
+        dirtyMinX = seedX;
+        dirtyMaxX = seedX;
+        dirtyMinY = seedY;
+        dirtyMaxY = seedY;
+
+        int filled = 0;
+        stackSize = 0;
+        push(seedY, seedX, seedX, 1);
+        push(seedY + 1, seedX, seedX, -1);
+
+        while (stackSize > 0) {
+            stackSize -= SPAN_SIZE;
+            final int dy = stack[stackSize + 3];
+            final int y = stack[stackSize] + dy;
+            final int x1 = stack[stackSize + 1];
+            final int x2 = stack[stackSize + 2];
+            final int row = y * width;
+
+            // the span of the previous row is extended to the left on this row
+            int x = x1;
+            while (x >= 0 && matches(pixels[row + x])) {
+                pixels[row + x] = newColor;
+                x--;
+            }
+            int left;
+            if (x < x1) {
+                left = x + 1;
+                // the zone goes around a border, back to the previous row
+                if (left < x1) {
+                    push(y, left, x1 - 1, -dy);
+                }
+                x = x1 + 1;
+            } else {
+                x = x1 + 1;
+                while (x <= x2 && !matches(pixels[row + x])) {
+                    x++;
+                }
+                if (x > x2) {
+                    continue;
+                }
+                left = x;
+            }
+            final int spanLeft = left;
+
+            // then the spans are filled to the right, up to the end of the span of the previous row
+            while (true) {
+                while (x < width && matches(pixels[row + x])) {
+                    pixels[row + x] = newColor;
+                    x++;
+                }
+                filled += x - left;
+                dirtyMaxX = Math.max(dirtyMaxX, x - 1);
+                push(y, left, x - 1, dy);
+                if (x > x2 + 1) {
+                    push(y, x2 + 1, x - 1, -dy);
+                }
+                x++;
+                while (x <= x2 && !matches(pixels[row + x])) {
+                    x++;
+                }
+                if (x > x2) {
+                    break;
+                }
+                left = x;
+            }
+
+            dirtyMinX = Math.min(dirtyMinX, spanLeft);
+            dirtyMinY = Math.min(dirtyMinY, y);
+            dirtyMaxY = Math.max(dirtyMaxY, y);
+        }
+
+        final Region previous = new Region(committed, width, dirtyMinX, dirtyMinY, dirtyMaxX - dirtyMinX + 1,
+                dirtyMaxY - dirtyMinY + 1);
+        commit(previous);
+        if (maxUndoLevels > 0) {
+            if (undoRegions.size() == maxUndoLevels) {
+                undoRegions.removeLast();
+            }
+            undoRegions.push(previous);
+        }
+        return filled;
+    }
+
+    /**
+     * @return a copy of the pixels modified by the last fill or undo
+     */
+    public Region getDirtyRegion() {
+        return new Region(pixels, width, dirtyMinX, dirtyMinY, dirtyMaxX - dirtyMinX + 1, dirtyMaxY - dirtyMinY + 1);
+    }
+
+    public boolean canUndo() {
+        return !undoRegions.isEmpty();
+    }
+
+    /**
+     * Restores the pixels as they were before the last fill.
+     *
+     * @return false when there is nothing to undo
+     */
+    public boolean undo() {
+        final Region previous = undoRegions.poll();
+        if (previous == null) {
+            return false;
+        }
+        previous.copyTo(pixels, width);
+        commit(previous);
+        dirtyMinX = previous.x;
+        dirtyMinY = previous.y;
+        dirtyMaxX = previous.x + previous.width - 1;
+        dirtyMaxY = previous.y + previous.height - 1;
+        return true;
+    }
+
+    /**
+     * Copies the current pixels of the region to the committed ones.
+     */
+    private void commit(Region region) {
+        for (int row = region.y; row < region.y + region.height; row++) {
+            System.arraycopy(pixels, row * width + region.x, committed, row * width + region.x, region.width);
+        }
+    }
+
+    private boolean matches(int argb) {
+        final int red = ((argb >> 16) & 0xFF) - seedRed;
+        final int green = ((argb >> 8) & 0xFF) - seedGreen;
+        final int blue = (argb & 0xFF) - seedBlue;
+        return red * red + green * green + blue * blue <= squaredTolerance;
+    }
+
+    /**
+     * Pushes a span whose next row is inside the raster.
+     */
+    private void push(int y, int x1, int x2, int dy) {
+        final int nextY = y + dy;
+        if (nextY < 0 || nextY >= height) {
+            return;
+        }
+        if (stackSize + SPAN_SIZE > stack.length) {
+            final int[] grown = new int[stack.length * 2];
+            System.arraycopy(stack, 0, grown, 0, stackSize);
+            stack = grown;
+        }
+        stack[stackSize] = y;
+        stack[stackSize + 1] = x1;
+        stack[stackSize + 2] = x2;
+        stack[stackSize + 3] = dy;
+        stackSize += SPAN_SIZE;
+    }
+
+}
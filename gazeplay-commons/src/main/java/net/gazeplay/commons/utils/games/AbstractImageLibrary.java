@@ -5,10 +5,13 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 @Slf4j
 public abstract class AbstractImageLibrary implements ImageLibrary {
@@ -19,10 +22,22 @@ public abstract class AbstractImageLibrary implements ImageLibrary {
 
     private final Random random = new Random();
 
+    /**
+     * random indexes drawn in advance, so that the images of the next pick can be prefetched
+     */
+    private final Deque<Integer> upcomingIndexes = new ArrayDeque<>();
+
     public abstract int getImagesCount();
 
     protected abstract Image loadImageAtIndex(int index);
 
+    /**
+     * Called with the indexes of the images likely to be picked next, the libraries decoding their images on demand
+     * can start decoding them in background.
+     */
+    protected void prefetchImageAtIndex(int index) {
+    }
+
     @Override
     public Image pickRandomImage() {
         return pickMultipleRandomDistinctImages(1).iterator().next();
@@ -51,9 +66,34 @@ public abstract class AbstractImageLibrary implements ImageLibrary {
     }
 
     private Set<Image> collectRandom(int limit, int distinctImagesCount) {
-        return IntStream.generate(() -> random.nextInt(distinctImagesCount)).distinct().limit(limit).boxed()
-                .peek(i -> log.debug("Picking Image at random index {} in ImageLibrary", i)).map(this::loadImageAtIndex)
-                .collect(Collectors.toSet());
+        final Set<Integer> indexes;
+        synchronized (upcomingIndexes) {
+            // the same random sequence as when drawing the indexes on demand
+            indexes = new LinkedHashSet<>();
+            while (indexes.size() < limit) {
+                final Integer index = upcomingIndexes.isEmpty() ? random.nextInt(distinctImagesCount)
+                        : upcomingIndexes.poll();
+                indexes.add(index);
+            }
+            drawUpcomingIndexes(limit, distinctImagesCount);
+        }
+        return indexes.stream().peek(i -> log.debug("Picking Image at random index {} in ImageLibrary", i))
+                .map(this::loadImageAtIndex).collect(Collectors.toSet());
+    }
+
+    /**
+     * Draws enough indexes for a pick of the same count as the last one, and prefetches their images.
+     */
+    private void drawUpcomingIndexes(int limit, int distinctImagesCount) {
+        final Set<Integer> distinctIndexes = new HashSet<>(upcomingIndexes);
+        while (distinctIndexes.size() < limit) {
+            final int index = random.nextInt(distinctImagesCount);
+            upcomingIndexes.add(index);
+            distinctIndexes.add(index);
+        }
+        for (Integer index : distinctIndexes) {
+            prefetchImageAtIndex(index);
+        }
     }
 
 }
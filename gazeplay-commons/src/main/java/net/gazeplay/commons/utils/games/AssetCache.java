@@ -0,0 +1,177 @@
+package net.gazeplay.commons.utils.games;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import javafx.scene.image.Image;
+import javafx.scene.paint.ImagePattern;
+import lombok.Data;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.commons.configuration.Configuration;
+
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Application-wide cache of the decoded images of the games and menus, so that an image used by many sprites or
+ * cards, or by each round of a game, is read and decoded once.
+ *
+ * The images are keyed by their URL or resource path and by the requested size. The memory is bounded by the bytes of
+ * the decoded pixels, 4 per pixel, up to {@link Configuration#getAssetCacheSize()} megabytes, the least recently used
+ * images are evicted first. The images and the patterns are immutable, so they are shared by all their users. The
+ * images which failed to load are not kept, the next request loads them again.
+ *
+ * The files written by the application, such as the stats images, must not go through the cache since they change.
+ */
+@Slf4j
+public class AssetCache {
+
+    @Getter
+    private static final AssetCache instance = new AssetCache(ImageCaches.maxPixelBytes("ASSET_CACHE_SIZE",
+            Configuration.getInstance().getAssetCacheSize(), Configuration.DEFAULT_VALUE_ASSET_CACHE_SIZE));
+
+    @Data
+    private static class Key {
+
+        private final String url;
+
+        private final double requestedWidth;
+
+        private final double requestedHeight;
+
+        private final boolean preserveRatio;
+
+        private final boolean smooth;
+    }
+
+    private static class Entry {
+
+        private final Image image;
+
+        private final int pixelBytes;
+
+        /**
+         * created on first use
+         */
+        private volatile ImagePattern pattern;
+
+        private Entry(Image image) {
+            this.image = image;
+            this.pixelBytes = ImageCaches.pixelBytes(image);
+        }
+    }
+
+    private final Cache<Key, Entry> cache;
+
+    /**
+     * @param maxPixelBytes
+     *            maximum bytes of decoded pixels kept in the cache
+     */
+    public AssetCache(long maxPixelBytes) {
+        this.cache = ImageCaches.newCache(maxPixelBytes, (Entry entry) -> entry.image);
+    }
+
+    /**
+     * @return the same image as new Image(url)
+     */
+    public Image getImage(String url) {
+        return getEntry(new Key(url, 0, 0, false, false)).image;
+    }
+
+    /**
+     * @return the same image as new Image(url, requestedWidth, requestedHeight, preserveRatio, smooth)
+     */
+    public Image getImage(String url, double requestedWidth, double requestedHeight, boolean preserveRatio,
+            boolean smooth) {
+        return getEntry(new Key(url, requestedWidth, requestedHeight, preserveRatio, smooth)).image;
+    }
+
+    /**
+     * @return the cached image, or else the same image as new Image(url, requestedWidth, requestedHeight,
+     *         preserveRatio, smooth, true), decoded in background and cached once loaded
+     */
+    public Image getImageInBackground(String url, double requestedWidth, double requestedHeight,
+            boolean preserveRatio, boolean smooth) {
+        final Key key = new Key(url, requestedWidth, requestedHeight, preserveRatio, smooth);
+        final Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            return entry.image;
+        }
+        final Image image = new Image(url, requestedWidth, requestedHeight, preserveRatio, smooth, true);
+        image.progressProperty().addListener((observable, oldValue, newValue) -> {
+            if (newValue.doubleValue() >= 1) {
+                if (image.isError()) {
+                    log.warn("Failed to load image {}", url, image.getException());
+                } else {
+                    cache.asMap().putIfAbsent(key, new Entry(image));
+                }
+            }
+        });
+        return image;
+    }
+
+    /**
+     * @return the same pattern as new ImagePattern(new Image(url)), shared by all the users of the image
+     */
+    public ImagePattern getImagePattern(String url) {
+        final Entry entry = getEntry(new Key(url, 0, 0, false, false));
+        ImagePattern pattern = entry.pattern;
+        if (pattern == null) {
+            // two threads may create a pattern at the same time, they are equivalent
+            pattern = new ImagePattern(entry.image);
+            entry.pattern = pattern;
+        }
+        return pattern;
+    }
+
+    /**
+     * @return the hits, misses and evictions since the start of the application
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public long getPixelBytes() {
+        long pixelBytes = 0;
+        for (Entry entry : cache.asMap().values()) {
+            pixelBytes += entry.pixelBytes;
+        }
+        return pixelBytes;
+    }
+
+    public void logStats() {
+        final CacheStats stats = cache.stats();
+        log.info("{} images ({} KB decoded), {} hits, {} misses, {} evictions", cache.size(), getPixelBytes() / 1024,
+                stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private Entry getEntry(Key key) {
+        try {
+            final Entry entry = cache.get(key, () -> load(key));
+            if (entry.image.isError()) {
+                cache.asMap().remove(key, entry);
+            }
+            return entry;
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            // the same exception as the constructor of Image, for instance for an invalid URL
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalArgumentException(e.getCause());
+        }
+    }
+
+    private static Entry load(Key key) {
+        final Image image = new Image(key.getUrl(), key.getRequestedWidth(), key.getRequestedHeight(),
+                key.isPreserveRatio(), key.isSmooth());
+        if (image.isError()) {
+            log.warn("Failed to load image {}", key.getUrl(), image.getException());
+        }
+        return new Entry(image);
+    }
+
+}
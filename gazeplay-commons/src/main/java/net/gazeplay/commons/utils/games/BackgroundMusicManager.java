@@ -133,20 +133,21 @@ public class BackgroundMusicManager {
 
     private void addFolderRecursively(final File folder) {
 
-        for (File file : folder.listFiles((File dir, String name) -> {
+        final File[] files = ThumbnailCache.getInstance().listFiles(folder);
+        if (files == null) {
+            return;
+        }
+
+        for (File file : files) {
             for (String ext : SUPPORTED_FILE_EXTENSIONS) {
-                if (name.endsWith(ext)) {
-                    return true;
+                if (file.getName().endsWith(ext)) {
+                    playlist.add(createMediaPlayer(file.toURI().toString()));
+                    break;
                 }
             }
-
-            return false;
-        })) {
-
-            playlist.add(createMediaPlayer(file.toURI().toString()));
         }
 
-        for (File file : folder.listFiles()) {
+        for (File file : files) {
 
             if (file.isDirectory()) {
                 addFolderRecursively(file);
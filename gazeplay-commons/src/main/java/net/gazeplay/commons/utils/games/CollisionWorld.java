@@ -0,0 +1,284 @@
+package net.gazeplay.commons.utils.games;
+
+import javafx.geometry.Bounds;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Collision detection between the moving items of a game, updated once per tick of the game loop.
+ *
+ * Each item has an axis-aligned bounding box and a layer. Listeners are registered for pairs of layers, for instance
+ * the bullets of the player and the enemies. On {@link #update()}, the boxes are refreshed, sorted by their left
+ * side, and swept (sweep and prune) : only the items whose horizontal extents overlap are compared. Since the items
+ * move a little between two ticks, the insertion sort of the boxes is close to linear.
+ *
+ * The listeners are called for every pair that overlaps at the time of the update, on every update until one of the
+ * items is moved away or removed. Items may be added or removed from the listeners. The update does not allocate once
+ * the arrays are large enough.
+ *
+ * This class is not thread-safe, it is meant to be used from the game loop only.
+ */
+public class CollisionWorld<T> {
+
+    public static final int MAX_LAYERS = 32;
+
+    @FunctionalInterface
+    public interface Listener<T> {
+
+        /**
+         * @param first
+         *            the item of the first layer of the registration
+         * @param second
+         *            the item of the second layer of the registration
+         */
+        void collided(T first, T second);
+    }
+
+    private static final class Body<T> {
+
+        private final T item;
+
+        private final int layer;
+
+        private double minX;
+        private double minY;
+        private double maxX;
+        private double maxY;
+
+        private boolean empty = true;
+
+        private boolean removed = false;
+
+        private Body(T item, int layer) {
+            this.item = item;
+            this.layer = layer;
+        }
+    }
+
+    /**
+     * gives the bounds of an item on each update, or null if the bounds are set through
+     * {@link #setBounds(Object, double, double, double, double)}
+     */
+    private final Function<T, Bounds> boundsProvider;
+
+    private final Map<T, Body<T>> bodiesByItem = new IdentityHashMap<>();
+
+    /**
+     * sorted by minX after an update
+     */
+    @SuppressWarnings("unchecked")
+    private Body<T>[] bodies = new Body[16];
+
+    private int bodyCount = 0;
+
+    /**
+     * for each layer, the bit set of the layers it has a listener with
+     */
+    private final int[] layerPairs = new int[MAX_LAYERS];
+
+    /**
+     * listeners[layer * MAX_LAYERS + otherLayer], called with the item of layer first
+     */
+    private final List<List<Listener<T>>> listeners = new ArrayList<>(MAX_LAYERS * MAX_LAYERS);
+
+    /**
+     * the colliding pairs of the current update, two consecutive entries per pair
+     */
+    @SuppressWarnings("unchecked")
+    private Body<T>[] pairs = new Body[32];
+
+    private int pairCount = 0;
+
+    /**
+     * @param boundsProvider
+     *            gives the bounds of an item on each update, for instance Node::getBoundsInParent, or null if the
+     *            bounds are set by the caller
+     */
+    public CollisionWorld(Function<T, Bounds> boundsProvider) {
+        this.boundsProvider = boundsProvider;
+        for (int i = 0; i < MAX_LAYERS * MAX_LAYERS; i++) {
+            listeners.add(null);
+        }
+    }
+
+    /**
+     * Registers a listener called when an item of the first layer overlaps an item of the second layer.
+     */
+    public void addListener(int firstLayer, int secondLayer, Listener<T> listener) {
+        checkLayer(firstLayer);
+        checkLayer(secondLayer);
+        final int index = firstLayer * MAX_LAYERS + secondLayer;
+        if (listeners.get(index) == null) {
+            listeners.set(index, new ArrayList<>());
+        }
+        listeners.get(index).add(listener);
+        layerPairs[firstLayer] |= 1 << secondLayer;
+        layerPairs[secondLayer] |= 1 << firstLayer;
+    }
+
+    /**
+     * Adds an item, or moves it to the given layer if it is already in the world.
+     */
+    public void add(T item, int layer) {
+        checkLayer(layer);
+        Body<T> previous = bodiesByItem.get(item);
+        if (previous != null) {
+            if (previous.layer == layer) {
+                return;
+            }
+            remove(item);
+        }
+        Body<T> body = new Body<>(item, layer);
+        bodiesByItem.put(item, body);
+        if (bodyCount == bodies.length) {
+            bodies = Arrays.copyOf(bodies, bodies.length * 2);
+        }
+        bodies[bodyCount++] = body;
+    }
+
+    public void remove(T item) {
+        Body<T> body = bodiesByItem.remove(item);
+        if (body == null) {
+            return;
+        }
+        body.removed = true;
+        for (int i = 0; i < bodyCount; i++) {
+            if (bodies[i] == body) {
+                System.arraycopy(bodies, i + 1, bodies, i, bodyCount - i - 1);
+                bodies[--bodyCount] = null;
+                break;
+            }
+        }
+    }
+
+    public boolean contains(T item) {
+        return bodiesByItem.containsKey(item);
+    }
+
+    public int size() {
+        return bodyCount;
+    }
+
+    /**
+     * Removes all the items, the listeners are kept.
+     */
+    public void clear() {
+        for (int i = 0; i < bodyCount; i++) {
+            bodies[i].removed = true;
+            bodies[i] = null;
+        }
+        bodyCount = 0;
+        bodiesByItem.clear();
+    }
+
+    /**
+     * Sets the bounds of an item, when the world has no bounds provider.
+     */
+    public void setBounds(T item, double minX, double minY, double maxX, double maxY) {
+        Body<T> body = bodiesByItem.get(item);
+        if (body != null) {
+            setBounds(body, minX, minY, maxX, maxY);
+        }
+    }
+
+    private static void setBounds(Body<?> body, double minX, double minY, double maxX, double maxY) {
+        body.minX = minX;
+        body.minY = minY;
+        body.maxX = maxX;
+        body.maxY = maxY;
+        body.empty = !(minX <= maxX && minY <= maxY);
+    }
+
+    /**
+     * Refreshes the bounds, finds the overlapping pairs and calls their listeners.
+     */
+    public void update() {
+        if (boundsProvider != null) {
+            for (int i = 0; i < bodyCount; i++) {
+                final Bounds bounds = boundsProvider.apply(bodies[i].item);
+                if (bounds == null || bounds.isEmpty()) {
+                    bodies[i].empty = true;
+                } else {
+                    setBounds(bodies[i], bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY());
+                }
+            }
+        }
+
+        sortByMinX();
+        findPairs();
+
+        for (int i = 0; i < pairCount; i += 2) {
+            final Body<T> first = pairs[i];
+            final Body<T> second = pairs[i + 1];
+            dispatch(first, second);
+            if (first.layer != second.layer) {
+                dispatch(second, first);
+            }
+        }
+        Arrays.fill(pairs, 0, pairCount, null);
+        pairCount = 0;
+    }
+
+    private void dispatch(Body<T> first, Body<T> second) {
+        final List<Listener<T>> pairListeners = listeners.get(first.layer * MAX_LAYERS + second.layer);
+        if (pairListeners == null) {
+            return;
+        }
+        for (int i = 0; i < pairListeners.size(); i++) {
+            // a previous listener may have removed one of the items
+            if (first.removed || second.removed) {
+                return;
+            }
+            pairListeners.get(i).collided(first.item, second.item);
+        }
+    }
+
+    private void sortByMinX() {
+        for (int i = 1; i < bodyCount; i++) {
+            final Body<T> body = bodies[i];
+            int j = i - 1;
+            while (j >= 0 && bodies[j].minX > body.minX) {
+                bodies[j + 1] = bodies[j];
+                j--;
+            }
+            bodies[j + 1] = body;
+        }
+    }
+
+    private void findPairs() {
+        for (int i = 0; i < bodyCount; i++) {
+            final Body<T> body = bodies[i];
+            final int interests = layerPairs[body.layer];
+            if (body.empty || interests == 0) {
+                continue;
+            }
+            for (int j = i + 1; j < bodyCount && bodies[j].minX <= body.maxX; j++) {
+                final Body<T> other = bodies[j];
+                if (!other.empty && (interests & (1 << other.layer)) != 0 && other.minY <= body.maxY
+                        && body.minY <= other.maxY) {
+                    addPair(body, other);
+                }
+            }
+        }
+    }
+
+    private void addPair(Body<T> first, Body<T> second) {
+        if (pairCount + 2 > pairs.length) {
+            pairs = Arrays.copyOf(pairs, pairs.length * 2);
+        }
+        pairs[pairCount++] = first;
+        pairs[pairCount++] = second;
+    }
+
+    private static void checkLayer(int layer) {
+        if (layer < 0 || layer >= MAX_LAYERS) {
+            throw new IllegalArgumentException("layer must be between 0 and " + (MAX_LAYERS - 1) + " : " + layer);
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package net.gazeplay.commons.utils.games;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Frame time instrumentation of a game loop : a histogram of the time between two frames, with a resolution of 0.1
+ * ms up to 100 ms, and the number of dropped frames.
+ *
+ * A frame is counted as dropped each time the interval between two frames spans one more frame period than expected,
+ * for instance an interval of 50 ms at 60 frames per second counts as 2 dropped frames. Recording does not allocate.
+ */
+public class FrameTimeStats {
+
+    private static final long BUCKET_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private static final int BUCKET_COUNT = 1000;
+
+    private final long framePeriodNanos;
+
+    /**
+     * the last bucket counts all the frames longer than 100 ms
+     */
+    private final long[] buckets = new long[BUCKET_COUNT + 1];
+
+    @Getter
+    private long frameCount = 0;
+
+    @Getter
+    private long droppedFrames = 0;
+
+    @Getter
+    private long maxFrameNanos = 0;
+
+    /**
+     * @param framePeriodNanos
+     *            expected time between two frames
+     */
+    public FrameTimeStats(long framePeriodNanos) {
+        this.framePeriodNanos = framePeriodNanos;
+    }
+
+    public void record(long frameNanos) {
+        frameCount++;
+        buckets[(int) Math.min(frameNanos / BUCKET_NANOS, BUCKET_COUNT)]++;
+        maxFrameNanos = Math.max(maxFrameNanos, frameNanos);
+        // half a period of margin for the jitter of the pulses
+        final long periods = (frameNanos + framePeriodNanos / 2) / framePeriodNanos;
+        if (periods > 1) {
+            droppedFrames += periods - 1;
+        }
+    }
+
+    /**
+     * @param percentile
+     *            between 0 and 100
+     * @return the frame time below which the given percentage of the frames are, in milliseconds, rounded up to the
+     *         resolution of the histogram
+     */
+    public double getPercentileMillis(double percentile) {
+        if (frameCount == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(frameCount * percentile / 100));
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += buckets[i];
+            if (count >= rank) {
+                return (i + 1) * BUCKET_NANOS / 1e6;
+            }
+        }
+        return maxFrameNanos / 1e6;
+    }
+
+    public void reset() {
+        Arrays.fill(buckets, 0);
+        frameCount = 0;
+        droppedFrames = 0;
+        maxFrameNanos = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d frames, p50 %.1f ms, p99 %.1f ms, max %.1f ms, %d dropped frames", frameCount,
+                getPercentileMillis(50), getPercentileMillis(99), maxFrameNanos / 1e6, droppedFrames);
+    }
+
+}
@@ -0,0 +1,52 @@
+package net.gazeplay.commons.utils.games;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import javafx.scene.image.Image;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.Function;
+
+/**
+ * Builds the caches of decoded images of {@link AssetCache} and {@link LazyImageLibrary}, bounded by the bytes of the
+ * decoded pixels, 4 per pixel.
+ */
+@Slf4j
+final class ImageCaches {
+
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private ImageCaches() {
+    }
+
+    /**
+     * @return the bytes of the given size in megabytes, or of the default size when the given one is not positive
+     */
+    static long maxPixelBytes(String propertyName, int megabytes, int defaultMegabytes) {
+        if (megabytes <= 0) {
+            log.warn("Value {} for property {} is not positive, using the default value {}", megabytes, propertyName,
+                    defaultMegabytes);
+            megabytes = defaultMegabytes;
+        }
+        return megabytes * 1024L * 1024L;
+    }
+
+    /**
+     * The cache has a single segment, the whole budget then goes to the least recently used order of all the images,
+     * instead of being split between segments which would each evict on their own, and reject the images larger than
+     * their share.
+     *
+     * @param image
+     *            the image of a value of the cache
+     */
+    static <K, V> Cache<K, V> newCache(long maxPixelBytes, Function<? super V, Image> image) {
+        return CacheBuilder.newBuilder().concurrencyLevel(1).maximumWeight(maxPixelBytes)
+                .weigher((K key, V value) -> pixelBytes(image.apply(value))).recordStats().build();
+    }
+
+    static int pixelBytes(Image image) {
+        return (int) Math.min(Integer.MAX_VALUE,
+                Math.max(1, (long) image.getWidth() * (long) image.getHeight() * BYTES_PER_PIXEL));
+    }
+
+}
@@ -2,6 +2,7 @@ package net.gazeplay.commons.utils.games;
 
 import com.google.common.collect.Sets;
 import javafx.scene.image.Image;
+import javafx.scene.paint.ImagePattern;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
@@ -84,6 +85,34 @@ public class ImageUtils {
         return new Image(file.toURI().toString());
     }
 
+    /**
+     * Loads an image of the resources, or of an URL, through the {@link AssetCache}
+     */
+    public static Image loadImage(String url) {
+        return AssetCache.getInstance().getImage(url);
+    }
+
+    public static Image loadImage(String url, double requestedWidth, double requestedHeight, boolean preserveRatio,
+            boolean smooth) {
+        return AssetCache.getInstance().getImage(url, requestedWidth, requestedHeight, preserveRatio, smooth);
+    }
+
+    /**
+     * @return the image from the {@link AssetCache}, or an image decoded in background when it is not cached yet
+     */
+    public static Image loadImageInBackground(String url, double requestedWidth, double requestedHeight,
+            boolean preserveRatio, boolean smooth) {
+        return AssetCache.getInstance().getImageInBackground(url, requestedWidth, requestedHeight, preserveRatio,
+                smooth);
+    }
+
+    /**
+     * @return a pattern filling a shape with an image of the resources, shared through the {@link AssetCache}
+     */
+    public static ImagePattern loadImagePattern(String url) {
+        return AssetCache.getInstance().getImagePattern(url);
+    }
+
     private static boolean isImage(File file) {
         if (file.isDirectory()) {
             return false;
@@ -1,20 +1,54 @@
 package net.gazeplay.commons.utils.games;
 
 import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.image.Image;
+import javafx.stage.Screen;
+import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.commons.configuration.Configuration;
+import net.gazeplay.commons.threads.BackgroundExecutors;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
+/**
+ * Decodes the images when they are picked, and keeps them in a cache shared by all the libraries. The memory is
+ * bounded by the bytes of the decoded pixels, 4 per pixel, up to {@link Configuration#getImageLibraryCacheSize()}
+ * megabytes, the least recently used images are evicted first. The images larger than the screen are decoded at the
+ * size of the screen. The images which failed to load are not kept, the next pick decodes them again.
+ *
+ * The images of the next pick are drawn in advance and decoded in background, so that a pick returns without decoding
+ * when they are ready.
+ */
+@Slf4j
 public class LazyImageLibrary extends AbstractImageLibrary {
 
-    private final Cache<Integer, Image> imageCache = CacheBuilder.newBuilder().maximumSize(10).weakValues().build();
+    private static final Cache<File, Image> imageCache = ImageCaches.newCache(
+            ImageCaches.maxPixelBytes("IMAGE_LIBRARY_CACHE_SIZE",
+                    Configuration.getInstance().getImageLibraryCacheSize(),
+                    Configuration.DEFAULT_VALUE_IMAGE_LIBRARY_CACHE_SIZE),
+            Function.identity());
+
+    private static final ExecutorService prefetchExecutor = BackgroundExecutors
+            .newBackgroundExecutor("ImageLibrary", 1);
 
     private final List<File> allFiles;
 
+    private final double maxWidth;
+
+    private final double maxHeight;
+
     public LazyImageLibrary(File directoryFile) {
         this(ImageUtils.listImageFiles(directoryFile), null);
     }
@@ -24,13 +58,15 @@ public class LazyImageLibrary extends AbstractImageLibrary {
     }
 
     public LazyImageLibrary(List<File> allFiles) {
-        this.allFiles = allFiles;
-        setFallbackImageLibrary(null);
+        this(allFiles, null);
     }
 
     public LazyImageLibrary(List<File> allFiles, ImageLibrary defaultImageLibrary) {
         this.allFiles = allFiles;
         setFallbackImageLibrary(defaultImageLibrary);
+        final Rectangle2D screenBounds = Screen.getPrimary().getBounds();
+        this.maxWidth = screenBounds.getWidth();
+        this.maxHeight = screenBounds.getHeight();
     }
 
     @Override
@@ -40,16 +76,97 @@ public class LazyImageLibrary extends AbstractImageLibrary {
 
     @Override
     protected Image loadImageAtIndex(int index) {
+        final File file = allFiles.get(index);
         try {
-            return imageCache.get(index, new Callable<Image>() {
-                @Override
-                public Image call() throws Exception {
-                    File file = allFiles.get(index);
-                    return ImageUtils.loadImage(file);
-                }
-            });
-        } catch (ExecutionException e) {
-            throw new RuntimeException(e);
+            // waits for the prefetch of the image if it is being decoded
+            return forgetError(file, imageCache.get(file, () -> decode(file)));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @Override
+    protected void prefetchImageAtIndex(int index) {
+        final File file = allFiles.get(index);
+        if (imageCache.asMap().containsKey(file)) {
+            return;
+        }
+        prefetchExecutor.execute(() -> {
+            if (imageCache.asMap().containsKey(file)) {
+                return;
+            }
+            try {
+                forgetError(file, imageCache.get(file, () -> decode(file)));
+            } catch (ExecutionException | UncheckedExecutionException e) {
+                log.warn("Failed to prefetch image {}", file, e.getCause());
+            }
+        });
+    }
+
+    private Image decode(File file) {
+        final String url = file.toURI().toString();
+        final Image image;
+        if (isLargerThanScreen(file)) {
+            image = new Image(url, maxWidth, maxHeight, true, true);
+        } else {
+            image = new Image(url);
+        }
+        if (image.isError()) {
+            log.warn("Failed to load image {}", file, image.getException());
         }
+        return image;
     }
+
+    /**
+     * Reads the size of the image from the header of the file, without decoding it. The size of the formats which are
+     * not known to ImageIO is not checked.
+     */
+    private boolean isLargerThanScreen(File file) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file)) {
+            if (input == null) {
+                return false;
+            }
+            final Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return false;
+            }
+            final ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return reader.getWidth(0) > maxWidth || reader.getHeight(0) > maxHeight;
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            log.debug("Failed to read the size of image {}", file, e);
+            return false;
+        }
+    }
+
+    private static Image forgetError(File file, Image image) {
+        if (image.isError()) {
+            imageCache.asMap().remove(file, image);
+        }
+        return image;
+    }
+
+    /**
+     * @return the hits, misses, evictions and decoding times of all the libraries since the start of the application,
+     *         the prefetched images count as misses when they are decoded, then as hits when they are picked
+     */
+    public static CacheStats getStats() {
+        return imageCache.stats();
+    }
+
+    public static void logStats() {
+        final CacheStats stats = imageCache.stats();
+        long pixelBytes = 0;
+        for (Image image : imageCache.asMap().values()) {
+            pixelBytes += ImageCaches.pixelBytes(image);
+        }
+        log.info("{} images ({} KB decoded), {} hits, {} misses, {} evictions, {} ms per decoding",
+                imageCache.size(), pixelBytes / 1024, stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                TimeUnit.NANOSECONDS.toMillis((long) stats.averageLoadPenalty()));
+    }
+
 }
@@ -0,0 +1,65 @@
+package net.gazeplay.commons.utils.games;
+
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/**
+ * Pool of reusable game objects, such as sprites and projectiles, so that a game which keeps spawning and removing
+ * objects does not allocate once the pool has grown to the number of objects alive at the same time.
+ *
+ * The pool does not reset the objects, the caller sets them up after {@link #acquire()}. It is not thread-safe, it is
+ * meant to be used from the game loop only.
+ */
+public class ObjectPool<T> {
+
+    private final Supplier<T> factory;
+
+    private final ArrayDeque<T> free;
+
+    /**
+     * number of objects created by the pool since it exists
+     */
+    @Getter
+    private int createdCount = 0;
+
+    /**
+     * @param factory
+     *            creates a new object when the pool is empty
+     * @param initialSize
+     *            number of objects created up front
+     */
+    public ObjectPool(Supplier<T> factory, int initialSize) {
+        this.factory = factory;
+        this.free = new ArrayDeque<>(Math.max(initialSize, 16));
+        for (int i = 0; i < initialSize; i++) {
+            free.push(create());
+        }
+    }
+
+    /**
+     * @return a free object, or a new one if the pool is empty
+     */
+    public T acquire() {
+        final T item = free.poll();
+        return item != null ? item : create();
+    }
+
+    /**
+     * Gives an object back to the pool, it must not be used by the caller anymore.
+     */
+    public void release(T item) {
+        free.push(item);
+    }
+
+    public int getFreeCount() {
+        return free.size();
+    }
+
+    private T create() {
+        createdCount++;
+        return factory.get();
+    }
+
+}
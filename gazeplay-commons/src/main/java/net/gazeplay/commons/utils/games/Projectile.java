@@ -0,0 +1,71 @@
+package net.gazeplay.commons.utils.games;
+
+import javafx.scene.shape.Rectangle;
+import lombok.Getter;
+
+/**
+ * Rectangle moving in a straight line, moved by the fixed steps of a game loop and drawn between its last two
+ * positions, so that its movement stays smooth when the display does not run at the rate of the steps.
+ *
+ * After {@link #step(double)} the rectangle is at the simulated position, so collisions are tested on the exact
+ * position, then {@link #render(double)} moves it to the interpolated position. Projectiles are meant to be reused
+ * through an {@link ObjectPool}.
+ */
+public class Projectile extends Rectangle {
+
+    private double previousX;
+    private double previousY;
+
+    @Getter
+    private double simulatedX;
+    @Getter
+    private double simulatedY;
+
+    /**
+     * speed in pixels per millisecond
+     */
+    private double speedX;
+    private double speedY;
+
+    public Projectile(double width, double height) {
+        super(width, height);
+    }
+
+    /**
+     * Places the projectile at its starting position.
+     *
+     * @param speedX
+     *            horizontal speed in pixels per millisecond
+     * @param speedY
+     *            vertical speed in pixels per millisecond
+     */
+    public void fire(double x, double y, double speedX, double speedY) {
+        this.previousX = x;
+        this.previousY = y;
+        this.simulatedX = x;
+        this.simulatedY = y;
+        this.speedX = speedX;
+        this.speedY = speedY;
+        setX(x);
+        setY(y);
+    }
+
+    public void step(double stepMillis) {
+        previousX = simulatedX;
+        previousY = simulatedY;
+        simulatedX += speedX * stepMillis;
+        simulatedY += speedY * stepMillis;
+        setX(simulatedX);
+        setY(simulatedY);
+    }
+
+    /**
+     * @param alpha
+     *            fraction of a step elapsed since the last step, between 0 and 1
+     */
+    public void render(double alpha) {
+        setX(previousX + (simulatedX - previousX) * alpha);
+        setY(previousY + (simulatedY - previousY) * alpha);
+    }
+
+}
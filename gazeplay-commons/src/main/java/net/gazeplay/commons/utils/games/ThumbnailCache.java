@@ -0,0 +1,355 @@
+package net.gazeplay.commons.utils.games;
+
+import com.google.common.hash.Hashing;
+import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.image.Image;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.commons.threads.BackgroundExecutors;
+
+import javax.imageio.ImageIO;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Thumbnails of the pictures and poster frames of the videos chosen by the user, kept on disk in the thumbnails folder
+ * of GazePlay, so that the folders of the user are decoded at full size once, and not on each launch.
+ *
+ * A thumbnail is named after the path, the modification date and the length of its source file, a modified file gets
+ * a new thumbnail. The pictures have thumbnails of several sizes, the smallest one covering the display is used. The
+ * thumbnails are written in background.
+ *
+ * The thumbnails take up to {@link #MAX_THUMBNAIL_BYTES}, the least recently used ones are deleted beyond. A thumbnail
+ * is marked as used by its modification date.
+ *
+ * The listings of the folders are kept in an index file as well, they are read again when the modification date of
+ * the folder changes. The listings of the folders which are gone are dropped.
+ */
+@Slf4j
+public class ThumbnailCache {
+
+    /**
+     * sides of the thumbnails, the larger images are decoded from their source
+     */
+    private static final int[] SIZES = { 128, 256, 512, 1024 };
+
+    private static final String THUMBNAIL_EXTENSION = ".png";
+
+    private static final String INDEX_FILE_NAME = "folders.properties";
+
+    /**
+     * separates the modification date of a folder and the names of its files in the index, no file name contains it
+     */
+    private static final String SEPARATOR = "/";
+
+    static final long MAX_THUMBNAIL_BYTES = 256L * 1024 * 1024;
+
+    /**
+     * the least recently used thumbnails are deleted down to this size, so that they are not deleted on each write
+     */
+    static final long TRIMMED_THUMBNAIL_BYTES = MAX_THUMBNAIL_BYTES * 3 / 4;
+
+    /**
+     * a thumbnail used again within this delay is not marked again
+     */
+    private static final long USE_MARK_PERIOD_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    @Getter
+    private static final ThumbnailCache instance = new ThumbnailCache(
+            new File(Utils.getGazePlayFolder(), "thumbnails"));
+
+    private final File directory;
+
+    private final File indexFile;
+
+    private final Properties folderListings = new Properties();
+
+    private final AtomicBoolean indexSaveScheduled = new AtomicBoolean();
+
+    /**
+     * size of the thumbnails, -1 until they are listed at the first write, only used by the executor
+     */
+    private long thumbnailBytes = -1;
+
+    /**
+     * thumbnails being written
+     */
+    private final Set<File> pendingThumbnails = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService executorService = BackgroundExecutors.newBackgroundExecutor("ThumbnailCache", 1);
+
+    public ThumbnailCache(File directory) {
+        this.directory = directory;
+        this.indexFile = new File(directory, INDEX_FILE_NAME);
+        loadIndex();
+        executorService.execute(this::pruneIndex);
+    }
+
+    /**
+     * @return the picture scaled to cover width x height, keeping its ratio, from its thumbnail when there is one. The
+     *         thumbnail is written in background otherwise.
+     */
+    public Image getThumbnail(File source, double width, double height) {
+        return getThumbnail(source, width, height, false);
+    }
+
+    /**
+     * @param backgroundLoading
+     *            as for the constructor of Image, when the thumbnail has to be created
+     */
+    public Image getThumbnail(File source, double width, double height, boolean backgroundLoading) {
+        final int size = thumbnailSize(width, height);
+        if (size == 0) {
+            return new Image(source.toURI().toString(), width, height, true, true, backgroundLoading);
+        }
+        final File thumbnailFile = new File(directory, thumbnailName(source, Integer.toString(size)));
+        if (thumbnailFile.isFile()) {
+            final Image thumbnail = new Image(thumbnailFile.toURI().toString(), backgroundLoading);
+            if (!thumbnail.isError()) {
+                markUsed(thumbnailFile);
+                return thumbnail;
+            }
+            log.warn("Failed to load thumbnail {} of {}", thumbnailFile, source, thumbnail.getException());
+        }
+        final Image image = new Image(source.toURI().toString(), size, size, true, true, backgroundLoading);
+        if (image.getProgress() >= 1) {
+            writeInBackground(image, thumbnailFile);
+        } else {
+            image.progressProperty().addListener((observable, oldValue, newValue) -> {
+                if (newValue.doubleValue() >= 1) {
+                    writeInBackground(image, thumbnailFile);
+                }
+            });
+        }
+        return image;
+    }
+
+    /**
+     * @return the poster frame of the video at this size, or null when none was stored
+     */
+    public Image getPoster(File video, int width, int height) {
+        final File posterFile = new File(directory, thumbnailName(video, width + "x" + height));
+        if (!posterFile.isFile()) {
+            return null;
+        }
+        final Image poster = new Image(posterFile.toURI().toString());
+        if (poster.isError()) {
+            return null;
+        }
+        markUsed(posterFile);
+        return poster;
+    }
+
+    /**
+     * Stores the poster frame of the video, written in background.
+     */
+    public void putPoster(File video, int width, int height, Image poster) {
+        writeInBackground(poster, new File(directory, thumbnailName(video, width + "x" + height)));
+    }
+
+    /**
+     * @return the files of the folder as File.listFiles, from the index when the folder didn't change
+     */
+    public File[] listFiles(File folder) {
+        final String path = folder.getAbsolutePath();
+        final String lastModified = Long.toString(folder.lastModified());
+        final String listing = folderListings.getProperty(path);
+        if (listing != null && listing.startsWith(lastModified + SEPARATOR)) {
+            final String names = listing.substring(lastModified.length() + SEPARATOR.length());
+            return toFiles(folder, names.isEmpty() ? new String[0] : names.split(SEPARATOR));
+        }
+        final String[] fileNames = folder.list();
+        if (fileNames == null) {
+            if (listing != null) {
+                folderListings.remove(path);
+                scheduleIndexSave();
+            }
+            return null;
+        }
+        folderListings.setProperty(path, lastModified + SEPARATOR + String.join(SEPARATOR, fileNames));
+        scheduleIndexSave();
+        return toFiles(folder, fileNames);
+    }
+
+    private static File[] toFiles(File folder, String[] fileNames) {
+        final File[] files = new File[fileNames.length];
+        for (int i = 0; i < fileNames.length; i++) {
+            files[i] = new File(folder, fileNames[i]);
+        }
+        return files;
+    }
+
+    /**
+     * @return the side of the thumbnail covering width x height, or 0 when it is larger than the thumbnails
+     */
+    static int thumbnailSize(double width, double height) {
+        final double side = Math.max(width, height);
+        for (int size : SIZES) {
+            if (side <= size) {
+                return size;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the name of a thumbnail, from the path, the modification date and the length of its source
+     */
+    static String thumbnailName(File source, String variant) {
+        final String key = source.getAbsolutePath() + "\n" + source.lastModified() + "\n" + source.length();
+        return Hashing.murmur3_128().hashString(key, StandardCharsets.UTF_8) + "-" + variant + THUMBNAIL_EXTENSION;
+    }
+
+    private void writeInBackground(Image image, File thumbnailFile) {
+        if (image.isError() || !pendingThumbnails.add(thumbnailFile)) {
+            return;
+        }
+        executorService.execute(() -> {
+            try {
+                write(image, thumbnailFile);
+                addThumbnailBytes(thumbnailFile.length());
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to write thumbnail {}", thumbnailFile, e);
+            } finally {
+                pendingThumbnails.remove(thumbnailFile);
+            }
+        });
+    }
+
+    private void write(Image image, File thumbnailFile) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Failed to create " + directory);
+        }
+        // written aside then renamed, so that a thumbnail is never read while it is written
+        final File temporaryFile = new File(directory, thumbnailFile.getName() + ".tmp");
+        if (!ImageIO.write(SwingFXUtils.fromFXImage(image, null), "png", temporaryFile)) {
+            throw new IOException("No writer for png");
+        }
+        Files.move(temporaryFile.toPath(), thumbnailFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void markUsed(File thumbnailFile) {
+        final long now = System.currentTimeMillis();
+        if (thumbnailFile.lastModified() < now - USE_MARK_PERIOD_MILLIS) {
+            executorService.execute(() -> thumbnailFile.setLastModified(now));
+        }
+    }
+
+    /**
+     * Counts a written thumbnail, and deletes the least recently used thumbnails when they take more than
+     * {@link #MAX_THUMBNAIL_BYTES}.
+     */
+    private void addThumbnailBytes(long bytes) {
+        if (thumbnailBytes < 0) {
+            thumbnailBytes = 0;
+            for (File file : listThumbnails()) {
+                thumbnailBytes += file.length();
+            }
+        } else {
+            thumbnailBytes += bytes;
+        }
+        if (thumbnailBytes <= MAX_THUMBNAIL_BYTES) {
+            return;
+        }
+        final File[] thumbnails = listThumbnails();
+        final long[] lastModified = new long[thumbnails.length];
+        final Integer[] order = new Integer[thumbnails.length];
+        thumbnailBytes = 0;
+        for (int i = 0; i < thumbnails.length; i++) {
+            lastModified[i] = thumbnails[i].lastModified();
+            order[i] = i;
+            thumbnailBytes += thumbnails[i].length();
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> lastModified[i]));
+        for (int i = 0; i < order.length && thumbnailBytes > TRIMMED_THUMBNAIL_BYTES; i++) {
+            final File thumbnail = thumbnails[order[i]];
+            final long length = thumbnail.length();
+            if (thumbnail.delete()) {
+                thumbnailBytes -= length;
+            } else {
+                log.warn("Failed to delete thumbnail {}", thumbnail);
+            }
+        }
+    }
+
+    private File[] listThumbnails() {
+        final File[] thumbnails = directory.listFiles((folder, name) -> name.endsWith(THUMBNAIL_EXTENSION));
+        return thumbnails == null ? new File[0] : thumbnails;
+    }
+
+    private void loadIndex() {
+        if (!indexFile.isFile()) {
+            return;
+        }
+        try (InputStream inputStream = new FileInputStream(indexFile)) {
+            folderListings.load(inputStream);
+        } catch (IOException e) {
+            log.warn("Failed to read {}", indexFile, e);
+        }
+    }
+
+    /**
+     * Drops the listings of the folders which are gone, in background since it checks every folder.
+     */
+    private void pruneIndex() {
+        boolean pruned = false;
+        for (String path : folderListings.stringPropertyNames()) {
+            if (!new File(path).isDirectory()) {
+                folderListings.remove(path);
+                pruned = true;
+            }
+        }
+        if (pruned) {
+            saveIndex();
+        }
+    }
+
+    /**
+     * Saves the index once the listings of a screen or a round are done.
+     */
+    private void scheduleIndexSave() {
+        if (indexSaveScheduled.compareAndSet(false, true)) {
+            executorService.execute(() -> {
+                indexSaveScheduled.set(false);
+                saveIndex();
+            });
+        }
+    }
+
+    private void saveIndex() {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            log.warn("Failed to create {}", directory);
+            return;
+        }
+        final File temporaryFile = new File(directory, INDEX_FILE_NAME + ".tmp");
+        try (OutputStream outputStream = new FileOutputStream(temporaryFile)) {
+            folderListings.store(outputStream, null);
+        } catch (IOException e) {
+            log.warn("Failed to write {}", indexFile, e);
+            return;
+        }
+        try {
+            Files.move(temporaryFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write {}", indexFile, e);
+        }
+    }
+
+}
@@ -1,28 +1,33 @@
 package net.gazeplay.commons.utils.multilinguism;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.*;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
 
 @Slf4j
 public class I18N {
 
-    @Data
-    @AllArgsConstructor
-    protected static class Entry {
-        public String key;
-        public String language;
-    }
-
-    protected static Map<Entry, String> loadFromFile(String resourceLocation) {
+    /**
+     * Reads the binary form of the translations, generated at build time, when it is among the resources. Parses the
+     * CSV file otherwise.
+     */
+    protected static TranslationTable loadFromFile(String resourceLocation) {
         final ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
         InputStream is;
 
         try {
+            final String binaryLocation = resourceLocation.substring(0, resourceLocation.lastIndexOf('/') + 1)
+                    + TranslationTable.binaryName(resourceLocation.substring(resourceLocation.lastIndexOf('/') + 1));
+            is = systemClassLoader.getResourceAsStream(binaryLocation);
+            if (is != null) {
+                try (DataInputStream input = new DataInputStream(new BufferedInputStream(is))) {
+                    return TranslationTable.readBinary(input);
+                } catch (IOException e) {
+                    log.warn("Failed to read {}, parsing {}", binaryLocation, resourceLocation, e);
+                }
+            }
+
             is = systemClassLoader.getResourceAsStream(resourceLocation);
 
             if (is == null) {
@@ -32,36 +37,8 @@ public class I18N {
                 is = new FileInputStream(F);
             }
 
-            if (is == null) {
-                throw new FileNotFoundException("Resource was not found : " + resourceLocation);
-            }
-
-            try (BufferedReader br = new BufferedReader(new InputStreamReader(is, "UTF-8"))) {
-
-                Map<Entry, String> traductions = new HashMap<>(1000);
-
-                String ligne = null;
-
-                boolean firstline = true;
-
-                String[] languages = null, data = null;
-
-                while ((ligne = br.readLine()) != null) {
-                    if (firstline) {
-                        // Retourner la ligne dans un tableau
-                        languages = ligne.split(",");
-                        firstline = false;
-                    } else {
-                        data = ligne.split(",");
-                        String key = data[0];
-                        for (int i = 1; i < data.length; i++) {
-
-                            // log.info(key + ", " + languages[i] + ", " + data[i]);
-                            traductions.put(new Entry(key, languages[i]), data[i]);
-                        }
-                    }
-                }
-                return traductions;
+            try (Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8)) {
+                return TranslationTable.readCsv(reader);
             }
         } catch (IOException e) {
             log.error("Exception while loading resource {}", resourceLocation, e);
@@ -71,7 +48,7 @@ public class I18N {
 
     private final String resourcePath;
 
-    private final Map<Entry, String> traductions;
+    private final TranslationTable traductions;
 
     public I18N(String resourcePath) {
         this.resourcePath = resourcePath;
@@ -79,7 +56,7 @@ public class I18N {
     }
 
     public String translate(String key, String language) {
-        return traductions.get(new Entry(key, language));
+        return traductions.translate(key, language);
     }
 
 }
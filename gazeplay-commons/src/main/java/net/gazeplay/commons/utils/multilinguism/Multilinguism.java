@@ -3,8 +3,8 @@ package net.gazeplay.commons.utils.multilinguism;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 public class Multilinguism {
@@ -14,15 +14,14 @@ public class Multilinguism {
     @Getter
     private static Multilinguism singleton = new Multilinguism(new I18N(mainFilePath));
 
-    private static Map<String, Multilinguism> byResourceLocation = new HashMap<>();
+    /**
+     * also read by the games preparing their rounds in background
+     */
+    private static Map<String, Multilinguism> byResourceLocation = new ConcurrentHashMap<>();
 
     public static Multilinguism getForResource(String resourceLocation) {
-        Multilinguism result = byResourceLocation.get(resourceLocation);
-        if (result == null) {
-            result = new Multilinguism(new I18N(resourceLocation));
-            byResourceLocation.put(resourceLocation, result);
-        }
-        return result;
+        return byResourceLocation.computeIfAbsent(resourceLocation,
+                location -> new Multilinguism(new I18N(location)));
     }
 
     private final I18N i18n;
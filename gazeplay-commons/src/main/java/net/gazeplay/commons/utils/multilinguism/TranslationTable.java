@@ -0,0 +1,249 @@
+package net.gazeplay.commons.utils.multilinguism;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Translations of a CSV file of the form key,language1,language2,... with one line per key. The keys and the languages
+ * are numbered, and the translations are kept in one array per language, indexed by the number of the key, so that a
+ * translation is found by two lookups and no allocation. The table is not modified once built, it can be read from
+ * any thread.
+ *
+ * The table can also be written in a binary form, read without parsing, which is generated from the CSV file by the
+ * build of gazeplay-data with {@link #main(String[])}.
+ */
+@Slf4j
+public class TranslationTable {
+
+    /**
+     * extension of the binary form, which replaces the .csv extension
+     */
+    public static final String BINARY_EXTENSION = ".bin";
+
+    private static final int MAGIC = 0x47505452;
+
+    private static final int VERSION = 1;
+
+    private final Map<String, Integer> keyIds;
+
+    private final Map<String, Integer> languageIds;
+
+    /**
+     * by language id then by key id, null when there is no translation
+     */
+    private final String[][] translations;
+
+    private TranslationTable(Map<String, Integer> keyIds, Map<String, Integer> languageIds,
+            String[][] translations) {
+        this.keyIds = keyIds;
+        this.languageIds = languageIds;
+        this.translations = translations;
+    }
+
+    /**
+     * @return the translation, or null when there is none
+     */
+    public String translate(String key, String language) {
+        final Integer languageId = languageIds.get(language);
+        if (languageId == null) {
+            return null;
+        }
+        final Integer keyId = keyIds.get(key);
+        if (keyId == null) {
+            return null;
+        }
+        return translations[languageId][keyId];
+    }
+
+    public int getKeysCount() {
+        return keyIds.size();
+    }
+
+    public int getLanguagesCount() {
+        return languageIds.size();
+    }
+
+    /**
+     * Parses the CSV file. A key present on several lines keeps the last translations given for it.
+     */
+    public static TranslationTable readCsv(Reader reader) throws IOException {
+        final BufferedReader br = new BufferedReader(reader);
+        final String header = br.readLine();
+        if (header == null) {
+            return new TranslationTable(new HashMap<>(), new HashMap<>(), new String[0][]);
+        }
+        final String[] languages = split(header);
+
+        final Map<String, Integer> keyIds = new HashMap<>(2048);
+        final List<String[]> rows = new ArrayList<>(2048);
+
+        String line;
+        while ((line = br.readLine()) != null) {
+            final String[] data = split(line);
+            final String key = data[0];
+            Integer keyId = keyIds.get(key);
+            if (keyId == null) {
+                keyId = rows.size();
+                keyIds.put(key, keyId);
+                rows.add(new String[languages.length]);
+            }
+            final String[] row = rows.get(keyId);
+            for (int i = 1; i < data.length && i < languages.length; i++) {
+                row[i] = data[i];
+            }
+        }
+
+        final Map<String, Integer> languageIds = new HashMap<>();
+        final String[][] translations = new String[languages.length - 1][rows.size()];
+        for (int language = 1; language < languages.length; language++) {
+            languageIds.put(languages[language], language - 1);
+            for (int keyId = 0; keyId < rows.size(); keyId++) {
+                translations[language - 1][keyId] = rows.get(keyId)[language];
+            }
+        }
+        return new TranslationTable(keyIds, languageIds, translations);
+    }
+
+    public static TranslationTable readBinary(DataInputStream input) throws IOException {
+        if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+            throw new IOException("Not a translation table of version " + VERSION);
+        }
+        final String[] languages = readStrings(input);
+        final String[] keys = readStrings(input);
+
+        final String[][] translations = new String[languages.length][keys.length];
+        for (String[] languageTranslations : translations) {
+            for (int keyId = 0; keyId < keys.length; keyId++) {
+                if (input.readBoolean()) {
+                    languageTranslations[keyId] = input.readUTF();
+                }
+            }
+        }
+        return new TranslationTable(toIds(keys), toIds(languages), translations);
+    }
+
+    public void writeBinary(DataOutputStream output) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        writeStrings(output, byId(languageIds));
+        writeStrings(output, byId(keyIds));
+        for (String[] languageTranslations : translations) {
+            for (String translation : languageTranslations) {
+                output.writeBoolean(translation != null);
+                if (translation != null) {
+                    output.writeUTF(translation);
+                }
+            }
+        }
+    }
+
+    /**
+     * Same as String.split(","), without a regular expression.
+     */
+    private static String[] split(String line) {
+        final List<String> fields = new ArrayList<>();
+        int start = 0;
+        int end;
+        while ((end = line.indexOf(',', start)) >= 0) {
+            fields.add(line.substring(start, end));
+            start = end + 1;
+        }
+        fields.add(line.substring(start));
+        // trailing empty fields are removed, as by String.split
+        int size = fields.size();
+        while (size > 1 && fields.get(size - 1).isEmpty()) {
+            size--;
+        }
+        return fields.subList(0, size).toArray(new String[size]);
+    }
+
+    private static String[] readStrings(DataInputStream input) throws IOException {
+        final String[] strings = new String[input.readInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = input.readUTF();
+        }
+        return strings;
+    }
+
+    private static void writeStrings(DataOutputStream output, String[] strings) throws IOException {
+        output.writeInt(strings.length);
+        for (String string : strings) {
+            output.writeUTF(string);
+        }
+    }
+
+    private static Map<String, Integer> toIds(String[] strings) {
+        final Map<String, Integer> ids = new HashMap<>(strings.length * 2);
+        for (int i = 0; i < strings.length; i++) {
+            ids.put(strings[i], i);
+        }
+        return ids;
+    }
+
+    private static String[] byId(Map<String, Integer> ids) {
+        final String[] strings = new String[ids.size()];
+        for (Map.Entry<String, Integer> entry : ids.entrySet()) {
+            strings[entry.getValue()] = entry.getKey();
+        }
+        return strings;
+    }
+
+    /**
+     * Writes the binary form of CSV files, next to them or in an output directory.
+     *
+     * Arguments : the CSV files, then optionally -o and the output directory.
+     */
+    public static void main(String[] args) throws IOException {
+        File outputDirectory = null;
+        final List<String> csvPaths = new ArrayList<>(Arrays.asList(args));
+        final int outputOption = csvPaths.indexOf("-o");
+        if (outputOption >= 0) {
+            outputDirectory = new File(csvPaths.get(outputOption + 1));
+            csvPaths.subList(outputOption, outputOption + 2).clear();
+        }
+        for (String csvPath : csvPaths) {
+            final File csvFile = new File(csvPath);
+            final TranslationTable table;
+            try (Reader reader = new InputStreamReader(new FileInputStream(csvFile), StandardCharsets.UTF_8)) {
+                table = readCsv(reader);
+            }
+            final String binaryName = binaryName(csvFile.getName());
+            final File binaryFile = new File(outputDirectory == null ? csvFile.getParentFile() : outputDirectory,
+                    binaryName);
+            if (!binaryFile.getParentFile().isDirectory() && !binaryFile.getParentFile().mkdirs()) {
+                throw new IOException("Failed to create " + binaryFile.getParentFile());
+            }
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(binaryFile)))) {
+                table.writeBinary(output);
+            }
+            log.info("Wrote {} keys in {} languages to {}", table.getKeysCount(), table.getLanguagesCount(),
+                    binaryFile);
+        }
+    }
+
+    /**
+     * @return the name of the binary form of a CSV file
+     */
+    public static String binaryName(String csvName) {
+        final String baseName = csvName.endsWith(".csv") ? csvName.substring(0, csvName.length() - 4) : csvName;
+        return baseName + BINARY_EXTENSION;
+    }
+
+}
@@ -0,0 +1,661 @@
+package net.gazeplay.commons.utils.stats;
+
+import lombok.Getter;
+import net.gazeplay.commons.threads.BackgroundExecutors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Finds the areas of interest of a movement history, and combines the areas which overlap, without JavaFX : the
+ * outlines are arrays of coordinates x0, y0, x1, y1, ... so that the areas of a long session are computed in
+ * background, and only the shapes of the result are built on the JavaFX thread.
+ *
+ * An area is a fixation of at least 3 movements, detected as the movements are recorded by the detector of
+ * {@link #createMovementDetector()}. Its outline is the convex hull of the movements, or their bounding rectangle
+ * widened by {@link #RECTANGLE_MARGIN}.
+ *
+ * Two areas are combined when the bounding box of their intersection covers more than the combination threshold of the
+ * bounding box of one of them. Only the areas whose bounding boxes share a cell of a grid are compared, and the
+ * combined areas are grouped with a union-find, the outlines are computed and compared by a pool of workers.
+ */
+public class AreaOfInterestClustering {
+
+    /**
+     * in pixels per millisecond, 120 pixels between movements recorded at 50 Hz
+     */
+    public static final double MAX_MOVEMENT_VELOCITY = 6;
+
+    public static final double RECTANGLE_MARGIN = 15;
+
+    public static final double DEFAULT_COMBINATION_THRESHOLD = 0.70;
+
+    private static final int MIN_AREA_MOVEMENTS = 3;
+
+    /**
+     * upper bound of the cells of the grid along each axis, the cells are larger when the areas spread further
+     */
+    private static final int MAX_GRID_CELLS = 256;
+
+    private static final int WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    private static final ExecutorService workers = BackgroundExecutors.newBackgroundExecutor("AreaOfInterest", WORKERS);
+
+    private final boolean convexHull;
+
+    private final double combinationThreshold;
+
+    public AreaOfInterestClustering(boolean convexHull) {
+        this(convexHull, DEFAULT_COMBINATION_THRESHOLD);
+    }
+
+    public AreaOfInterestClustering(boolean convexHull, double combinationThreshold) {
+        this.convexHull = convexHull;
+        this.combinationThreshold = combinationThreshold;
+    }
+
+    /**
+     * @return the detector of the fixations of the movements, which are the areas of interest
+     */
+    public static FixationDetector createMovementDetector() {
+        return FixationDetector.velocity(MAX_MOVEMENT_VELOCITY, 0, MIN_AREA_MOVEMENTS);
+    }
+
+    /**
+     * An area of interest, from the movement following {@link #firstMovement} to {@link #lastMovement}.
+     */
+    @Getter
+    public static class Area {
+
+        /**
+         * the movement before the first one of the area, when the area starts during a replay
+         */
+        private final int firstMovement;
+
+        private final int lastMovement;
+
+        private final int fixations;
+
+        private final long startTime;
+
+        private final long endTime;
+
+        private final int centerX;
+
+        private final int centerY;
+
+        /**
+         * x0, y0, x1, y1, ...
+         */
+        private double[] outline;
+
+        private double minX;
+
+        private double minY;
+
+        private double maxX;
+
+        private double maxY;
+
+        private Area(int firstMovement, int lastMovement, int fixations, long startTime, long endTime, int centerX,
+                int centerY) {
+            this.firstMovement = firstMovement;
+            this.lastMovement = lastMovement;
+            this.fixations = fixations;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.centerX = centerX;
+            this.centerY = centerY;
+        }
+
+        public double getBoundsWidth() {
+            return maxX - minX;
+        }
+
+        private void setOutline(double[] outline) {
+            this.outline = outline;
+            minX = Double.POSITIVE_INFINITY;
+            minY = Double.POSITIVE_INFINITY;
+            maxX = Double.NEGATIVE_INFINITY;
+            maxY = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < outline.length; i += 2) {
+                minX = Math.min(minX, outline[i]);
+                maxX = Math.max(maxX, outline[i]);
+                minY = Math.min(minY, outline[i + 1]);
+                maxY = Math.max(maxY, outline[i + 1]);
+            }
+        }
+
+        private double boundsArea() {
+            return (maxX - minX) * (maxY - minY);
+        }
+
+    }
+
+    /**
+     * Areas combined together, or a single area which overlaps no other one.
+     */
+    @Getter
+    public static class CombinedArea {
+
+        /**
+         * indexes of the areas, in ascending order
+         */
+        private final int[] areas;
+
+        /**
+         * x0, y0, x1, y1, ... enclosing the outlines of the areas
+         */
+        private final double[] outline;
+
+        private CombinedArea(int[] areas, double[] outline) {
+            this.areas = areas;
+            this.outline = outline;
+        }
+
+        public boolean isCombined() {
+            return areas.length > 1;
+        }
+
+    }
+
+    @Getter
+    public static class Result {
+
+        private final List<Area> areas;
+
+        /**
+         * in the order of their first area
+         */
+        private final List<CombinedArea> combinedAreas;
+
+        private Result(List<Area> areas, List<CombinedArea> combinedAreas) {
+            this.areas = areas;
+            this.combinedAreas = combinedAreas;
+        }
+
+    }
+
+    /**
+     * Combines the areas of interest, on the workers. To be called in background.
+     *
+     * @param fixations
+     *            the fixations of the movements, from the detector of {@link #createMovementDetector()}
+     */
+    public Result compute(GazeRecording movements, List<FixationDetector.Fixation> fixations) {
+        final List<Area> areas = new ArrayList<>(fixations.size());
+        for (FixationDetector.Fixation fixation : fixations) {
+            areas.add(new Area(fixation.getFirstSample() - 1, fixation.getLastSample(), fixation.getSampleCount(),
+                    fixation.getStartTime(), fixation.getStartTime() + fixation.getDuration(), fixation.getX(),
+                    fixation.getY()));
+        }
+        computeOutlines(movements, areas);
+        return new Result(areas, combine(areas));
+    }
+
+    private void computeOutlines(GazeRecording movements, List<Area> areas) {
+        inChunks(areas.size(), (from, to) -> {
+            for (int a = from; a < to; a++) {
+                final Area area = areas.get(a);
+                final int count = area.getFixations();
+                final int first = area.getLastMovement() - count + 1;
+                final int[] xs = new int[count];
+                final int[] ys = new int[count];
+                for (int i = 0; i < count; i++) {
+                    xs[i] = movements.getX(first + i);
+                    ys[i] = movements.getY(first + i);
+                }
+                area.setOutline(
+                        convexHull ? convexHull(xs, ys, count) : rectangle(xs, ys, count, RECTANGLE_MARGIN));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Groups the areas which overlap enough, directly or through other areas of the group.
+     */
+    private List<CombinedArea> combine(List<Area> areas) {
+        final int count = areas.size();
+        final SpatialGrid grid = new SpatialGrid(areas);
+        final List<int[]> pairsByChunk = inChunks(count, (from, to) -> {
+            // the last area compared to each area, so that an area sharing several cells is compared once
+            final int[] comparedTo = new int[count];
+            Arrays.fill(comparedTo, -1);
+            // the areas already grouped by the pairs of this range are not compared again
+            final UnionFind chunkGroups = new UnionFind(count);
+            int[] pairs = new int[16];
+            int pairCount = 0;
+            for (int a = from; a < to; a++) {
+                final Area area = areas.get(a);
+                for (int column = grid.column(area.minX); column <= grid.column(area.maxX); column++) {
+                    for (int row = grid.row(area.minY); row <= grid.row(area.maxY); row++) {
+                        final int cell = row * grid.columns + column;
+                        for (int c = grid.cellStarts[cell]; c < grid.cellStarts[cell + 1]; c++) {
+                            final int b = grid.cellAreas[c];
+                            if (b <= a || comparedTo[b] == a) {
+                                continue;
+                            }
+                            comparedTo[b] = a;
+                            if (chunkGroups.find(a) != chunkGroups.find(b) && overlaps(area, areas.get(b))) {
+                                chunkGroups.union(a, b);
+                                if (pairCount * 2 == pairs.length) {
+                                    pairs = Arrays.copyOf(pairs, pairs.length * 2);
+                                }
+                                pairs[pairCount * 2] = a;
+                                pairs[pairCount * 2 + 1] = b;
+                                pairCount++;
+                            }
+                        }
+                    }
+                }
+            }
+            return Arrays.copyOf(pairs, pairCount * 2);
+        });
+
+        final UnionFind groups = new UnionFind(count);
+        for (int[] pairs : pairsByChunk) {
+            for (int p = 0; p < pairs.length; p += 2) {
+                groups.union(pairs[p], pairs[p + 1]);
+            }
+        }
+        return combinedAreas(areas, groups);
+    }
+
+    /**
+     * Same as comparing the bounds of the intersection of the outlines to the bounds of each of them, the bounds of
+     * the areas are compared first.
+     */
+    boolean overlaps(Area first, Area second) {
+        final double width = Math.min(first.maxX, second.maxX) - Math.max(first.minX, second.minX);
+        final double height = Math.min(first.maxY, second.maxY) - Math.max(first.minY, second.minY);
+        if (width < 0 || height < 0) {
+            return false;
+        }
+        final double smallestArea = Math.min(first.boundsArea(), second.boundsArea());
+        // the intersection lies in the intersection of the bounds
+        if (smallestArea <= 0 || width * height <= combinationThreshold * smallestArea) {
+            return false;
+        }
+        final double[] intersection = intersectConvex(first.outline, second.outline);
+        if (intersection.length == 0) {
+            return false;
+        }
+        return boundsArea(intersection) > combinationThreshold * smallestArea;
+    }
+
+    private List<CombinedArea> combinedAreas(List<Area> areas, UnionFind groups) {
+        final int count = areas.size();
+        final int[] sizes = new int[count];
+        for (int a = 0; a < count; a++) {
+            sizes[groups.find(a)]++;
+        }
+        final int[][] members = new int[count][];
+        final int[] filled = new int[count];
+        final List<int[]> memberLists = new ArrayList<>();
+        for (int a = 0; a < count; a++) {
+            final int root = groups.find(a);
+            if (members[root] == null) {
+                members[root] = new int[sizes[root]];
+                memberLists.add(members[root]);
+            }
+            members[root][filled[root]++] = a;
+        }
+        final List<CombinedArea> result = new ArrayList<>(memberLists.size());
+        for (int[] group : memberLists) {
+            final double[] outline = group.length == 1 ? areas.get(group[0]).outline : enclosing(areas, group);
+            result.add(new CombinedArea(group, outline));
+        }
+        return result;
+    }
+
+    /**
+     * @return the convex hull of the outlines of the areas, or their bounding rectangle when the outlines are
+     *         rectangles
+     */
+    private double[] enclosing(List<Area> areas, int[] group) {
+        if (!convexHull) {
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (int a : group) {
+                final Area area = areas.get(a);
+                minX = Math.min(minX, area.minX);
+                minY = Math.min(minY, area.minY);
+                maxX = Math.max(maxX, area.maxX);
+                maxY = Math.max(maxY, area.maxY);
+            }
+            return new double[] { minX, maxY, maxX, maxY, maxX, minY, minX, minY };
+        }
+        int pointCount = 0;
+        for (int a : group) {
+            pointCount += areas.get(a).outline.length / 2;
+        }
+        // the vertices of the convex hulls are movements, with integer coordinates
+        final int[] xs = new int[pointCount];
+        final int[] ys = new int[pointCount];
+        int p = 0;
+        for (int a : group) {
+            final double[] outline = areas.get(a).outline;
+            for (int i = 0; i < outline.length; i += 2) {
+                xs[p] = (int) outline[i];
+                ys[p] = (int) outline[i + 1];
+                p++;
+            }
+        }
+        return convexHull(xs, ys, pointCount);
+    }
+
+    /**
+     * Monotone chain convex hull of integer points, sorted as longs.
+     *
+     * @return the vertices of the hull in counter-clockwise order, x0, y0, x1, y1, ...
+     */
+    static double[] convexHull(int[] xs, int[] ys, int count) {
+        final long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            // by x then y, the sign bit of y is flipped so that the low half compares as signed
+            sorted[i] = ((long) xs[i] << 32) | ((ys[i] ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+        }
+        Arrays.sort(sorted);
+        final double[] sortedXs = new double[count];
+        final double[] sortedYs = new double[count];
+        for (int i = 0; i < count; i++) {
+            sortedXs[i] = (int) (sorted[i] >> 32);
+            sortedYs[i] = (int) sorted[i] ^ Integer.MIN_VALUE;
+        }
+        return sortedConvexHull(sortedXs, sortedYs, count);
+    }
+
+    /**
+     * @param xs
+     *            sorted by x then y, as ys
+     */
+    private static double[] sortedConvexHull(double[] xs, double[] ys, int count) {
+        final double[] hull = new double[4 * count + 2];
+        int size = 0;
+        // lower hull, then upper hull
+        for (int i = 0; i < count; i++) {
+            while (size >= 2 && cross(hull, size, xs[i], ys[i]) <= 0) {
+                size--;
+            }
+            hull[2 * size] = xs[i];
+            hull[2 * size + 1] = ys[i];
+            size++;
+        }
+        final int lowerSize = size + 1;
+        for (int i = count - 2; i >= 0; i--) {
+            while (size >= lowerSize && cross(hull, size, xs[i], ys[i]) <= 0) {
+                size--;
+            }
+            hull[2 * size] = xs[i];
+            hull[2 * size + 1] = ys[i];
+            size++;
+        }
+        // the first point closes the upper hull
+        return Arrays.copyOf(hull, 2 * Math.max(1, size - 1));
+    }
+
+    /**
+     * @return the cross product of the last edge of the hull and the edge from its last vertex to x, y
+     */
+    private static double cross(double[] hull, int size, double x, double y) {
+        final double ax = hull[2 * size - 4];
+        final double ay = hull[2 * size - 3];
+        final double bx = hull[2 * size - 2];
+        final double by = hull[2 * size - 1];
+        return (bx - ax) * (y - ay) - (by - ay) * (x - ax);
+    }
+
+    /**
+     * @return the bounding rectangle of the points, widened by the margin, x0, y0, x1, y1, ...
+     */
+    static double[] rectangle(int[] xs, int[] ys, int count, double margin) {
+        double left = xs[0];
+        double right = xs[0];
+        double bottom = ys[0];
+        double top = ys[0];
+        for (int i = 1; i < count; i++) {
+            left = Math.min(left, xs[i]);
+            right = Math.max(right, xs[i]);
+            bottom = Math.min(bottom, ys[i]);
+            top = Math.max(top, ys[i]);
+        }
+        return new double[] { left - margin, top + margin, right + margin, top + margin, right + margin,
+                bottom - margin, left - margin, bottom - margin };
+    }
+
+    /**
+     * Sutherland-Hodgman clipping of a convex polygon by another one.
+     *
+     * @return the intersection of the polygons, empty when they don't intersect
+     */
+    static double[] intersectConvex(double[] subject, double[] clip) {
+        final double orientation = Math.signum(signedArea(clip));
+        if (orientation == 0) {
+            return new double[0];
+        }
+        double[] input = subject;
+        double[] output = new double[subject.length + clip.length * 2];
+        int outputLength = subject.length;
+        System.arraycopy(subject, 0, output, 0, subject.length);
+        for (int e = 0; e < clip.length && outputLength > 0; e += 2) {
+            final double ax = clip[e];
+            final double ay = clip[e + 1];
+            final double bx = clip[(e + 2) % clip.length];
+            final double by = clip[(e + 3) % clip.length];
+            input = Arrays.copyOf(output, outputLength);
+            outputLength = 0;
+            for (int i = 0; i < input.length; i += 2) {
+                final double px = input[i];
+                final double py = input[i + 1];
+                final double qx = input[(i + 2) % input.length];
+                final double qy = input[(i + 3) % input.length];
+                final double p = orientation * ((bx - ax) * (py - ay) - (by - ay) * (px - ax));
+                final double q = orientation * ((bx - ax) * (qy - ay) - (by - ay) * (qx - ax));
+                if (p >= 0) {
+                    output = ensureCapacity(output, outputLength + 2);
+                    output[outputLength++] = px;
+                    output[outputLength++] = py;
+                }
+                if ((p >= 0) != (q >= 0)) {
+                    final double t = p / (p - q);
+                    output = ensureCapacity(output, outputLength + 2);
+                    output[outputLength++] = px + t * (qx - px);
+                    output[outputLength++] = py + t * (qy - py);
+                }
+            }
+        }
+        return Arrays.copyOf(output, outputLength);
+    }
+
+    private static double[] ensureCapacity(double[] array, int length) {
+        return length <= array.length ? array : Arrays.copyOf(array, Math.max(length, array.length * 2));
+    }
+
+    private static double signedArea(double[] polygon) {
+        double area = 0;
+        for (int i = 0; i < polygon.length; i += 2) {
+            final int next = (i + 2) % polygon.length;
+            area += polygon[i] * polygon[next + 1] - polygon[next] * polygon[i + 1];
+        }
+        return area / 2;
+    }
+
+    private static double boundsArea(double[] polygon) {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < polygon.length; i += 2) {
+            minX = Math.min(minX, polygon[i]);
+            maxX = Math.max(maxX, polygon[i]);
+            minY = Math.min(minY, polygon[i + 1]);
+            maxY = Math.max(maxY, polygon[i + 1]);
+        }
+        return (maxX - minX) * (maxY - minY);
+    }
+
+    private interface Chunk<T> {
+        T run(int from, int to);
+    }
+
+    /**
+     * Splits 0 .. count - 1 in ranges run by the workers.
+     *
+     * @return the results of the ranges, in order
+     */
+    private static <T> List<T> inChunks(int count, Chunk<T> chunk) {
+        final int chunkCount = Math.max(1, Math.min(WORKERS * 4, count / 64));
+        final List<Callable<T>> tasks = new ArrayList<>(chunkCount);
+        for (int c = 0; c < chunkCount; c++) {
+            final int from = (int) ((long) count * c / chunkCount);
+            final int to = (int) ((long) count * (c + 1) / chunkCount);
+            tasks.add(() -> chunk.run(from, to));
+        }
+        final List<T> results = new ArrayList<>(chunkCount);
+        if (chunkCount == 1) {
+            results.add(chunk.run(0, count));
+            return results;
+        }
+        try {
+            for (Future<T> future : workers.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * The areas of each cell of a uniform grid covering the bounds of all the areas, an area is in all the cells its
+     * bounds cover.
+     */
+    private static class SpatialGrid {
+
+        private final double minX;
+
+        private final double minY;
+
+        private final double cellSize;
+
+        private final int columns;
+
+        private final int rows;
+
+        /**
+         * the areas of cell c are cellAreas[cellStarts[c]] .. cellAreas[cellStarts[c + 1] - 1]
+         */
+        private final int[] cellStarts;
+
+        private final int[] cellAreas;
+
+        SpatialGrid(List<Area> areas) {
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            double sides = 0;
+            for (Area area : areas) {
+                minX = Math.min(minX, area.minX);
+                minY = Math.min(minY, area.minY);
+                maxX = Math.max(maxX, area.maxX);
+                maxY = Math.max(maxY, area.maxY);
+                sides += Math.max(area.maxX - area.minX, area.maxY - area.minY);
+            }
+            this.minX = areas.isEmpty() ? 0 : minX;
+            this.minY = areas.isEmpty() ? 0 : minY;
+            // about the size of an area, so that an area covers a few cells
+            final double extent = areas.isEmpty() ? 1 : Math.max(maxX - minX, maxY - minY);
+            this.cellSize = Math.max(1, Math.max(areas.isEmpty() ? 1 : sides / areas.size(),
+                    extent / MAX_GRID_CELLS));
+            this.columns = areas.isEmpty() ? 1 : (int) ((maxX - minX) / cellSize) + 1;
+            this.rows = areas.isEmpty() ? 1 : (int) ((maxY - minY) / cellSize) + 1;
+
+            cellStarts = new int[columns * rows + 1];
+            for (Area area : areas) {
+                for (int column = column(area.minX); column <= column(area.maxX); column++) {
+                    for (int row = row(area.minY); row <= row(area.maxY); row++) {
+                        cellStarts[row * columns + column + 1]++;
+                    }
+                }
+            }
+            for (int c = 0; c < columns * rows; c++) {
+                cellStarts[c + 1] += cellStarts[c];
+            }
+            cellAreas = new int[cellStarts[columns * rows]];
+            final int[] filled = Arrays.copyOf(cellStarts, columns * rows);
+            for (int a = 0; a < areas.size(); a++) {
+                final Area area = areas.get(a);
+                for (int column = column(area.minX); column <= column(area.maxX); column++) {
+                    for (int row = row(area.minY); row <= row(area.maxY); row++) {
+                        cellAreas[filled[row * columns + column]++] = a;
+                    }
+                }
+            }
+        }
+
+        int column(double x) {
+            return Math.min(columns - 1, (int) ((x - minX) / cellSize));
+        }
+
+        int row(double y) {
+            return Math.min(rows - 1, (int) ((y - minY) / cellSize));
+        }
+
+    }
+
+    /**
+     * Disjoint sets of areas, with path halving and union by size.
+     */
+    private static class UnionFind {
+
+        private final int[] parents;
+
+        private final int[] sizes;
+
+        UnionFind(int count) {
+            parents = new int[count];
+            sizes = new int[count];
+            for (int i = 0; i < count; i++) {
+                parents[i] = i;
+                sizes[i] = 1;
+            }
+        }
+
+        int find(int i) {
+            while (parents[i] != i) {
+                parents[i] = parents[parents[i]];
+                i = parents[i];
+            }
+            return i;
+        }
+
+        void union(int i, int j) {
+            int first = find(i);
+            int second = find(j);
+            if (first == second) {
+                return;
+            }
+            if (sizes[first] < sizes[second]) {
+                final int swap = first;
+                first = second;
+                second = swap;
+            }
+            parents[second] = first;
+            sizes[first] += sizes[second];
+        }
+
+    }
+
+}
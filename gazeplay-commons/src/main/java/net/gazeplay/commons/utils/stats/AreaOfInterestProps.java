@@ -1,18 +1,10 @@
 package net.gazeplay.commons.utils.stats;
 
-import javafx.geometry.Point2D;
-import javafx.scene.layout.GridPane;
-
-import java.awt.*;
-import java.util.ArrayList;
-
 public class AreaOfInterestProps {
-    private final ArrayList<CoordinatesTracker> listOfPoints;
     private final int fixations;
     private final int centerX;
     private final int centerY;
     private final Double[] convexPoints;
-    private final Point2D[] allPoint2DOfConvex;
     private final int startingIndex;
     private final int endingIndex;
     private final javafx.scene.shape.Polygon areaOfInterest;
@@ -21,15 +13,13 @@ public class AreaOfInterestProps {
     private final long areaStartTime;
     private final long areaEndTime;
 
-    public AreaOfInterestProps(ArrayList<CoordinatesTracker> listOfPoints, int centerX, int centerY,
-            Double[] convexPoints, Point2D[] allPoint2DOfConvex, int startingIndex, int endingIndex,
-            javafx.scene.shape.Polygon areaOfInterest, InfoBoxProps infoBox, long areaStartTime, long areaEndTime) {
-        this.listOfPoints = listOfPoints;
-        this.fixations = listOfPoints.size();
+    public AreaOfInterestProps(int fixations, int centerX, int centerY, Double[] convexPoints, int startingIndex,
+            int endingIndex, javafx.scene.shape.Polygon areaOfInterest, InfoBoxProps infoBox, long areaStartTime,
+            long areaEndTime) {
+        this.fixations = fixations;
         this.centerX = centerX;
         this.centerY = centerY;
         this.convexPoints = convexPoints;
-        this.allPoint2DOfConvex = allPoint2DOfConvex;
         this.startingIndex = startingIndex;
         this.endingIndex = endingIndex;
         this.areaOfInterest = areaOfInterest;
@@ -62,10 +52,6 @@ public class AreaOfInterestProps {
         return this.fixations;
     }
 
-    public Point2D[] getAllPoint2DOfConvex() {
-        return this.allPoint2DOfConvex;
-    }
-
     public int getStartingIndex() {
         return this.startingIndex;
     }
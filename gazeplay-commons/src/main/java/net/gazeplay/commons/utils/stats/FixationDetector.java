@@ -0,0 +1,370 @@
+package net.gazeplay.commons.utils.stats;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.commons.configuration.Configuration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classifies the gaze samples into fixations and saccades as they arrive, and notifies the listeners of each fixation
+ * once it ends. Each sample costs a constant time, amortized in the dispersion mode.
+ *
+ * In the {@link Mode#VELOCITY} mode (I-VT), the samples reached slower than the maximal velocity from the previous one
+ * are fixation samples, and a fixation is a run of them along with the sample they start from.
+ *
+ * In the {@link Mode#DISPERSION} mode (I-DT), a fixation is a window of consecutive samples whose dispersion, the width
+ * plus the height of their bounds, stays under the maximal dispersion. The window grows while it can, and slides by
+ * one sample while it is shorter than a fixation.
+ *
+ * A fixation lasts from its first sample to the sample ending it, and is dropped when it is shorter than the minimal
+ * duration or has less than the minimal number of samples. Its position is the mean of its samples.
+ *
+ * Not thread-safe.
+ */
+@Slf4j
+public class FixationDetector {
+
+    /**
+     * fixations of the scanpath, which need at least 2 samples
+     */
+    private static final int MIN_SCANPATH_SAMPLES = 2;
+
+    public enum Mode {
+        VELOCITY, DISPERSION
+    }
+
+    public interface Listener {
+        void fixationDetected(Fixation fixation);
+    }
+
+    @Getter
+    public static class Fixation {
+
+        /**
+         * index of the first sample, counted from the first sample given to the detector
+         */
+        private final int firstSample;
+
+        private final int lastSample;
+
+        private final long startTime;
+
+        private final long duration;
+
+        private final int x;
+
+        private final int y;
+
+        public Fixation(int firstSample, int lastSample, long startTime, long duration, int x, int y) {
+            this.firstSample = firstSample;
+            this.lastSample = lastSample;
+            this.startTime = startTime;
+            this.duration = duration;
+            this.x = x;
+            this.y = y;
+        }
+
+        public int getSampleCount() {
+            return lastSample - firstSample + 1;
+        }
+
+    }
+
+    private final Mode mode;
+
+    /**
+     * in pixels per millisecond
+     */
+    private final double maxVelocity;
+
+    private final double maxDispersion;
+
+    private final long minDuration;
+
+    private final int minSamples;
+
+    private final List<Listener> listeners = new ArrayList<>();
+
+    /**
+     * number of samples given so far, the index of the next one
+     */
+    @Getter
+    private int sampleCount = 0;
+
+    /**
+     * samples of the current window, or run, from the sample windowStart to sampleCount - 1, at indexes windowStart -
+     * bufferOffset of the buffers
+     */
+    private long[] times = new long[64];
+
+    private int[] xs = new int[64];
+
+    private int[] ys = new int[64];
+
+    private int windowStart = 0;
+
+    private int bufferOffset = 0;
+
+    private long sumX = 0;
+
+    private long sumY = 0;
+
+    private final ExtremumQueue minX = new ExtremumQueue(false);
+
+    private final ExtremumQueue maxX = new ExtremumQueue(true);
+
+    private final ExtremumQueue minY = new ExtremumQueue(false);
+
+    private final ExtremumQueue maxY = new ExtremumQueue(true);
+
+    public FixationDetector(Mode mode, double maxVelocity, double maxDispersion, long minDuration, int minSamples) {
+        this.mode = mode;
+        this.maxVelocity = maxVelocity;
+        this.maxDispersion = maxDispersion;
+        this.minDuration = minDuration;
+        this.minSamples = minSamples;
+    }
+
+    public static FixationDetector velocity(double maxVelocity, long minDuration, int minSamples) {
+        return new FixationDetector(Mode.VELOCITY, maxVelocity, 0, minDuration, minSamples);
+    }
+
+    public static FixationDetector dispersion(double maxDispersion, long minDuration, int minSamples) {
+        return new FixationDetector(Mode.DISPERSION, 0, maxDispersion, minDuration, minSamples);
+    }
+
+    /**
+     * @return the detector of the fixations of the scanpath
+     */
+    static FixationDetector createFromConfiguration(Configuration config) {
+        Mode mode;
+        try {
+            mode = Mode.valueOf(config.getFixationDetection());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            log.warn("Unknown fixation detection : {}", config.getFixationDetection());
+            mode = Mode.DISPERSION;
+        }
+        return new FixationDetector(mode, config.getFixationMaxVelocity(), config.getFixationMaxDispersion(),
+                config.getFixationMinDuration(), MIN_SCANPATH_SAMPLES);
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public void addSample(long time, int x, int y) {
+        if (mode == Mode.VELOCITY) {
+            addVelocitySample(time, x, y);
+        } else {
+            addDispersionSample(time, x, y);
+        }
+    }
+
+    /**
+     * Ends the current fixation at the last sample, at the end of the session.
+     */
+    public void finish() {
+        if (sampleCount > windowStart) {
+            final int last = sampleCount - 1;
+            emitIfFixation(last, times[last - bufferOffset]);
+            clearWindow(sampleCount);
+        }
+    }
+
+    private void addVelocitySample(long time, int x, int y) {
+        if (sampleCount > windowStart) {
+            final int previous = sampleCount - 1 - bufferOffset;
+            final double dx = x - xs[previous];
+            final double dy = y - ys[previous];
+            final long elapsed = time - times[previous];
+            final double distance = Math.sqrt(dx * dx + dy * dy);
+            if (distance > maxVelocity * Math.max(0, elapsed)) {
+                // a saccade ends the run, which started from the previous sample if it is alone
+                emitIfFixation(sampleCount - 1, time);
+                clearWindow(sampleCount);
+            }
+        }
+        append(time, x, y);
+    }
+
+    private void addDispersionSample(long time, int x, int y) {
+        append(time, x, y);
+        if (dispersion() <= maxDispersion) {
+            return;
+        }
+        final int last = sampleCount - 2;
+        if (isFixation(last, time)) {
+            emitIfFixation(last, time);
+            clearWindow(sampleCount - 1);
+            addToBounds(sampleCount - 1);
+            return;
+        }
+        // the window is too short for a fixation, it slides
+        while (dispersion() > maxDispersion) {
+            removeFirst();
+        }
+    }
+
+    private boolean isFixation(int last, long endTime) {
+        return last - windowStart + 1 >= minSamples && endTime - times[windowStart - bufferOffset] >= minDuration;
+    }
+
+    private void emitIfFixation(int last, long endTime) {
+        if (last < windowStart || !isFixation(last, endTime)) {
+            return;
+        }
+        long fixationSumX = sumX;
+        long fixationSumY = sumY;
+        if (last < sampleCount - 1) {
+            // the last sample of the window is not part of the fixation
+            fixationSumX -= xs[sampleCount - 1 - bufferOffset];
+            fixationSumY -= ys[sampleCount - 1 - bufferOffset];
+        }
+        final int count = last - windowStart + 1;
+        final long startTime = times[windowStart - bufferOffset];
+        final Fixation fixation = new Fixation(windowStart, last, startTime, endTime - startTime,
+                (int) (fixationSumX / count), (int) (fixationSumY / count));
+        for (Listener listener : listeners) {
+            listener.fixationDetected(fixation);
+        }
+    }
+
+    private void append(long time, int x, int y) {
+        int index = sampleCount - bufferOffset;
+        if (index == times.length) {
+            compact();
+            index = sampleCount - bufferOffset;
+        }
+        times[index] = time;
+        xs[index] = x;
+        ys[index] = y;
+        sumX += x;
+        sumY += y;
+        sampleCount++;
+        if (mode == Mode.DISPERSION) {
+            addToBounds(sampleCount - 1);
+        }
+    }
+
+    /**
+     * Moves the window to the start of the buffers, which grow when the window fills more than half of them.
+     */
+    private void compact() {
+        final int length = sampleCount - windowStart;
+        final int from = windowStart - bufferOffset;
+        if (length * 2 > times.length) {
+            final int capacity = times.length * 2;
+            times = Arrays.copyOf(times, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+        System.arraycopy(times, from, times, 0, length);
+        System.arraycopy(xs, from, xs, 0, length);
+        System.arraycopy(ys, from, ys, 0, length);
+        bufferOffset = windowStart;
+    }
+
+    /**
+     * Empties the window, which then starts at the given sample, kept in the buffers.
+     */
+    private void clearWindow(int start) {
+        windowStart = start;
+        sumX = 0;
+        sumY = 0;
+        for (int sample = start; sample < sampleCount; sample++) {
+            sumX += xs[sample - bufferOffset];
+            sumY += ys[sample - bufferOffset];
+        }
+        minX.clear();
+        maxX.clear();
+        minY.clear();
+        maxY.clear();
+    }
+
+    private void removeFirst() {
+        sumX -= xs[windowStart - bufferOffset];
+        sumY -= ys[windowStart - bufferOffset];
+        windowStart++;
+        minX.removeBefore(windowStart);
+        maxX.removeBefore(windowStart);
+        minY.removeBefore(windowStart);
+        maxY.removeBefore(windowStart);
+    }
+
+    private void addToBounds(int sample) {
+        final int x = xs[sample - bufferOffset];
+        final int y = ys[sample - bufferOffset];
+        minX.add(sample, x);
+        maxX.add(sample, x);
+        minY.add(sample, y);
+        maxY.add(sample, y);
+    }
+
+    private double dispersion() {
+        return (double) maxX.get() - minX.get() + maxY.get() - minY.get();
+    }
+
+    /**
+     * Minimum or maximum of a sliding window of values : the values which can still become the extremum once the older
+     * ones leave the window, in the order of their samples.
+     */
+    private static class ExtremumQueue {
+
+        private final boolean maximum;
+
+        private int[] samples = new int[16];
+
+        private int[] values = new int[16];
+
+        private int head = 0;
+
+        private int tail = 0;
+
+        ExtremumQueue(boolean maximum) {
+            this.maximum = maximum;
+        }
+
+        void add(int sample, int value) {
+            while (tail > head && (maximum ? values[tail - 1] <= value : values[tail - 1] >= value)) {
+                tail--;
+            }
+            if (tail == samples.length) {
+                if (head * 2 < samples.length) {
+                    samples = Arrays.copyOf(samples, samples.length * 2);
+                    values = Arrays.copyOf(values, values.length * 2);
+                }
+                System.arraycopy(samples, head, samples, 0, tail - head);
+                System.arraycopy(values, head, values, 0, tail - head);
+                tail -= head;
+                head = 0;
+            }
+            samples[tail] = sample;
+            values[tail] = value;
+            tail++;
+        }
+
+        void removeBefore(int sample) {
+            while (head < tail && samples[head] < sample) {
+                head++;
+            }
+        }
+
+        int get() {
+            return values[head];
+        }
+
+        void clear() {
+            head = 0;
+            tail = 0;
+        }
+
+    }
+
+}
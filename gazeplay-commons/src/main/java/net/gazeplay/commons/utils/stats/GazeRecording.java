@@ -0,0 +1,148 @@
+package net.gazeplay.commons.utils.stats;
+
+import java.util.Arrays;
+
+/**
+ * Columnar store of recorded gaze points : each point is a time, a duration and integer coordinates.
+ *
+ * The values are kept in primitive arrays allocated in fixed size chunks, so that recording a point allocates nothing
+ * but a new chunk every {@link #CHUNK_SIZE} points, and growing never copies the points already recorded. This is
+ * used instead of lists of {@link net.gazeplay.commons.utils.FixationPoint} and {@link CoordinatesTracker}, which cost
+ * one object (and one list node) per sample during long sessions.
+ *
+ * The meaning of the time and duration columns is up to the owner : for the fixation sequence they are the first gaze
+ * time and the gaze duration, for the movement history the start time and the interval since the previous point.
+ *
+ * Not thread-safe.
+ */
+public class GazeRecording {
+
+    static final int CHUNK_SHIFT = 12;
+
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private long[][] times = new long[0][];
+
+    private long[][] durations = new long[0][];
+
+    private int[][] xs = new int[0][];
+
+    private int[][] ys = new int[0][];
+
+    private int size = 0;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(long time, long duration, int x, int y) {
+        final int chunk = size >>> CHUNK_SHIFT;
+        if (chunk == times.length) {
+            addChunk();
+        }
+        final int offset = size & CHUNK_MASK;
+        times[chunk][offset] = time;
+        durations[chunk][offset] = duration;
+        xs[chunk][offset] = x;
+        ys[chunk][offset] = y;
+        size++;
+    }
+
+    private void addChunk() {
+        final int chunkCount = times.length + 1;
+        times = Arrays.copyOf(times, chunkCount);
+        durations = Arrays.copyOf(durations, chunkCount);
+        xs = Arrays.copyOf(xs, chunkCount);
+        ys = Arrays.copyOf(ys, chunkCount);
+        times[chunkCount - 1] = new long[CHUNK_SIZE];
+        durations[chunkCount - 1] = new long[CHUNK_SIZE];
+        xs[chunkCount - 1] = new int[CHUNK_SIZE];
+        ys[chunkCount - 1] = new int[CHUNK_SIZE];
+    }
+
+    public long getTime(int index) {
+        checkIndex(index);
+        return times[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    public long getDuration(int index) {
+        checkIndex(index);
+        return durations[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    public void setDuration(int index, long duration) {
+        checkIndex(index);
+        durations[index >>> CHUNK_SHIFT][index & CHUNK_MASK] = duration;
+    }
+
+    public int getX(int index) {
+        checkIndex(index);
+        return xs[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    public int getY(int index) {
+        checkIndex(index);
+        return ys[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    /**
+     * Copies the point at the given index of another recording at the end of this one.
+     */
+    public void addFrom(GazeRecording other, int index) {
+        add(other.getTime(index), other.getDuration(index), other.getX(index), other.getY(index));
+    }
+
+    /**
+     * @return a copy of the points, which the points added to this recording afterwards don't change, so that it can
+     *         be read by another thread
+     */
+    public GazeRecording copy() {
+        final GazeRecording copy = new GazeRecording();
+        final int chunkCount = (size + CHUNK_MASK) >>> CHUNK_SHIFT;
+        copy.times = new long[chunkCount][];
+        copy.durations = new long[chunkCount][];
+        copy.xs = new int[chunkCount][];
+        copy.ys = new int[chunkCount][];
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            copy.times[chunk] = times[chunk].clone();
+            copy.durations[chunk] = durations[chunk].clone();
+            copy.xs[chunk] = xs[chunk].clone();
+            copy.ys[chunk] = ys[chunk].clone();
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Removes all the points, the chunks already allocated are kept for reuse.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return an estimate of the memory used by the chunks, in bytes
+     */
+    public long getAllocatedBytes() {
+        // 2 longs and 2 ints per point, plus the array headers
+        return (long) times.length * (CHUNK_SIZE * (2 * Long.BYTES + 2 * Integer.BYTES) + 4 * 16);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index = " + index + ", size = " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GazeRecording{size=" + size + ", allocatedBytes=" + getAllocatedBytes() + "}";
+    }
+
+}
@@ -0,0 +1,134 @@
+package net.gazeplay.commons.utils.stats;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.commons.gaze.devicemanager.GazeSampleRingBuffer;
+import net.gazeplay.commons.threads.BackgroundExecutors;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Accumulates the gaze points of a session into the heatmap grid.
+ *
+ * The grid is a row-major float array, a row being a line of the screen. Each point adds a {@link HeatMapKernel} stamp.
+ * In background mode, the points are handed over through a ring buffer, and the stamps are applied by a thread shared
+ * by all the accumulators, a little after the first point published, so that the FX thread only publishes the
+ * coordinates. Nothing runs once the points are stamped, an accumulator which is not stopped is simply collected.
+ */
+@Slf4j
+class HeatMapAccumulator {
+
+    private static final int BACKGROUND_BUFFER_CAPACITY = 4096;
+
+    private static final long BACKGROUND_DELAY_MILLIS = 20;
+
+    private static final ScheduledExecutorService backgroundExecutor = BackgroundExecutors
+            .newScheduledBackgroundExecutor("heatmap-accumulator");
+
+    @Getter
+    private final int rows;
+
+    @Getter
+    private final int columns;
+
+    private final double pixelSize;
+
+    private final HeatMapKernel kernel;
+
+    private final float[] values;
+
+    private final GazeSampleRingBuffer pendingPoints;
+
+    private final GazeSampleRingBuffer.Consumer pendingPointsConsumer;
+
+    /**
+     * true from the first point published until the points are stamped
+     */
+    private final AtomicBoolean stampingScheduled = new AtomicBoolean(false);
+
+    private volatile boolean stopRequested = false;
+
+    private long pointCount = 0;
+
+    HeatMapAccumulator(int rows, int columns, double pixelSize, HeatMapKernel kernel, boolean background) {
+        this.rows = rows;
+        this.columns = columns;
+        this.pixelSize = pixelSize;
+        this.kernel = kernel;
+        this.values = new float[rows * columns];
+
+        if (background) {
+            pendingPoints = new GazeSampleRingBuffer(BACKGROUND_BUFFER_CAPACITY);
+            pendingPointsConsumer = pendingPoints.newConsumer("heatmap");
+        } else {
+            pendingPoints = null;
+            pendingPointsConsumer = null;
+        }
+    }
+
+    /**
+     * Adds a point, in scene coordinates. Must always be called from the same thread.
+     */
+    void add(int x, int y) {
+        if (pendingPoints != null) {
+            if (!stopRequested) {
+                pendingPoints.publish(0, x, y, true);
+                if (stampingScheduled.compareAndSet(false, true)) {
+                    backgroundExecutor.schedule(this::stampPendingPoints, BACKGROUND_DELAY_MILLIS,
+                            TimeUnit.MILLISECONDS);
+                }
+            }
+        } else {
+            stamp(x, y);
+        }
+    }
+
+    private void stamp(int x, int y) {
+        kernel.apply(values, rows, columns, (int) (y / pixelSize), (int) (x / pixelSize));
+        pointCount++;
+    }
+
+    private void stampPendingPoints() {
+        // cleared before draining, so that a point published meanwhile schedules an other stamping
+        stampingScheduled.set(false);
+        while (pendingPointsConsumer.poll()) {
+            stamp((int) pendingPointsConsumer.getX(), (int) pendingPointsConsumer.getY());
+        }
+    }
+
+    /**
+     * Stops accepting points. In background mode, waits until the pending points have been stamped.
+     */
+    void stop() {
+        stopRequested = true;
+        if (pendingPoints != null) {
+            try {
+                backgroundExecutor.submit(this::stampPendingPoints).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                log.error("Failed to stamp the heatmap points", e);
+            }
+            log.info("Heatmap accumulation : {} points, {} lost", pointCount,
+                    pendingPointsConsumer.getOverrunCount());
+        }
+    }
+
+    /**
+     * @return a copy of the grid, indexed by row then column
+     */
+    double[][] toArray() {
+        final double[][] result = new double[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            final int rowOffset = row * columns;
+            for (int column = 0; column < columns; column++) {
+                result[row][column] = values[rowOffset + column];
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,124 @@
+package net.gazeplay.commons.utils.stats;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.commons.configuration.Configuration;
+
+/**
+ * Precomputed stamp added to the heatmap around each gaze point.
+ *
+ * The cells of the stamp are those strictly inside a circle of the given radius. For each row of the stamp, the covered
+ * columns form a single span, so that applying the stamp is a few additions per row, clipped to the grid, with no
+ * distance computation per sample.
+ */
+@Slf4j
+class HeatMapKernel {
+
+    enum Weighting {
+        /**
+         * every covered cell counts 1 (legacy behaviour)
+         */
+        FLAT,
+        /**
+         * the weight decreases with the distance to the center, the standard deviation being half of the radius
+         */
+        GAUSSIAN
+    }
+
+    @Getter
+    private final int radius;
+
+    @Getter
+    private final Weighting weighting;
+
+    /**
+     * column offset, relative to the center, of the first covered cell of each row
+     */
+    private final int[] spanStarts;
+
+    /**
+     * number of covered cells of each row
+     */
+    private final int[] spanLengths;
+
+    /**
+     * index in weights of the first covered cell of each row
+     */
+    private final int[] weightOffsets;
+
+    private final float[] weights;
+
+    HeatMapKernel(int radius, Weighting weighting) {
+        if (radius < 1) {
+            throw new IllegalArgumentException("radius must be positive : " + radius);
+        }
+        this.radius = radius;
+        this.weighting = weighting;
+
+        final int size = 2 * radius + 1;
+        spanStarts = new int[size];
+        spanLengths = new int[size];
+        weightOffsets = new int[size];
+
+        final float[] allWeights = new float[size * size];
+        final double sigma = radius / 2.0;
+        int count = 0;
+        for (int i = -radius; i <= radius; i++) {
+            int halfSpan = -1;
+            while (i * i + (halfSpan + 1) * (halfSpan + 1) < radius * radius) {
+                halfSpan++;
+            }
+            // halfSpan is -1 for the top and bottom rows, which are empty
+            spanStarts[i + radius] = -halfSpan;
+            spanLengths[i + radius] = Math.max(0, 2 * halfSpan + 1);
+            weightOffsets[i + radius] = count;
+            for (int j = -halfSpan; j <= halfSpan; j++) {
+                allWeights[count++] = weighting == Weighting.GAUSSIAN
+                        ? (float) Math.exp(-(i * i + j * j) / (2 * sigma * sigma)) : 1f;
+            }
+        }
+        weights = new float[count];
+        System.arraycopy(allWeights, 0, weights, 0, count);
+    }
+
+    static HeatMapKernel createFromConfiguration(Configuration config) {
+        Weighting weighting;
+        try {
+            weighting = Weighting.valueOf(config.getHeatMapKernel());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            log.warn("Unknown heatmap kernel : {}", config.getHeatMapKernel());
+            weighting = Weighting.FLAT;
+        }
+        return new HeatMapKernel(Math.max(1, config.getHeatMapKernelRadius()), weighting);
+    }
+
+    /**
+     * Adds the stamp centered on the given cell to a row-major grid.
+     */
+    void apply(float[] grid, int rows, int columns, int centerRow, int centerColumn) {
+        final int firstRow = Math.max(0, centerRow - radius);
+        final int lastRow = Math.min(rows - 1, centerRow + radius);
+        for (int row = firstRow; row <= lastRow; row++) {
+            final int k = row - centerRow + radius;
+            final int spanStart = centerColumn + spanStarts[k];
+            final int from = Math.max(0, spanStart);
+            final int to = Math.min(columns, spanStart + spanLengths[k]);
+            if (from >= to) {
+                continue;
+            }
+            final int rowOffset = row * columns;
+            int w = weightOffsets[k] + from - spanStart;
+            for (int column = from; column < to; column++) {
+                grid[rowOffset + column] += weights[w++];
+            }
+        }
+    }
+
+    /**
+     * @return the number of cells of the stamp
+     */
+    int getCellCount() {
+        return weights.length;
+    }
+
+}
@@ -4,6 +4,7 @@ import lombok.Data;
 
 import java.io.File;
 import java.util.Observable;
+import java.util.concurrent.CompletableFuture;
 
 @Data
 public class SavedStatsInfo extends Observable {
@@ -11,8 +12,23 @@ public class SavedStatsInfo extends Observable {
     private final File gazeMetricsFile;
     private final File screenshotFile;
     private final File colorBandsFile;
+    /**
+     * binary recording of the session, see {@link SessionFile}, not written if the session recording is disabled
+     */
+    private final File sessionFile;
+    /**
+     * completed once the files are written. The views load the files from it rather than observing this, since they
+     * may be built after the files are written.
+     */
+    private final CompletableFuture<Void> filesReady = new CompletableFuture<>();
 
+    /**
+     * Called once the files are written, possibly from a background thread.
+     */
     public void notifyFilesReady() {
+        filesReady.complete(null);
+        // without setChanged, notifyObservers does not notify anyone
+        this.setChanged();
         this.notifyObservers();
     }
 
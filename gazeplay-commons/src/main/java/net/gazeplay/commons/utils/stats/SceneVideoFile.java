@@ -0,0 +1,454 @@
+package net.gazeplay.commons.utils.stats;
+
+import lombok.Getter;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Video of a session captured from the game scene by {@link SceneVideoRecorder}, replayed as is by the areas of
+ * interest screen.
+ *
+ * <pre>
+ * file    := magic "GZPV" (int) version (int) width (int) height (int) tile size (int) frame*
+ * frame   := time (long) key frame (byte) gaze x (int) gaze y (int) raw length (int) stored length (int) payload
+ * payload := tile count, tile index*, tile pixels*
+ * </pre>
+ *
+ * The frames are divided into square tiles, and a frame only holds the tiles which changed since the previous frame,
+ * found by comparing the hashes of the tiles. A key frame, written every {@link #KEY_FRAME_INTERVAL} ms, holds all the
+ * tiles, so that a seek only decodes the frames from the last key frame. The tile count and the tile indexes, as the
+ * difference with the previous one, are variable length (7 bits per byte), followed by the int ARGB pixels of the
+ * tiles, row by row. The payload is deflated. The gaze position at the capture of a frame is stored with it, for an
+ * overlay.
+ *
+ * A file cut by the end of the application is read up to its last complete frame.
+ */
+public final class SceneVideoFile {
+
+    public static final String EXTENSION = ".video";
+
+    public static final int VERSION = 1;
+
+    public static final int DEFAULT_TILE_SIZE = 32;
+
+    /**
+     * in milliseconds
+     */
+    public static final long KEY_FRAME_INTERVAL = 5000;
+
+    private static final int MAGIC = 0x475A5056;
+
+    private static final int HEADER_SIZE = 5 * 4;
+
+    private static final int FRAME_HEADER_SIZE = 8 + 1 + 4 * 4;
+
+    private SceneVideoFile() {
+    }
+
+    /**
+     * Writes the frames to the file as they come, a recording cut by the end of the application is then still read
+     * up to its last complete frame. Not thread-safe.
+     */
+    public static class Writer implements Closeable {
+
+        private final DataOutputStream output;
+
+        @Getter
+        private final int width;
+
+        @Getter
+        private final int height;
+
+        private final int tileSize;
+
+        private final int columns;
+
+        private final long[] tileHashes;
+
+        private final int[] changedTiles;
+
+        private final ByteBuffer raw;
+
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+        private byte[] deflated;
+
+        @Getter
+        private int frameCount = 0;
+
+        private long lastKeyFrameTime;
+
+        private int lastGazeX;
+
+        private int lastGazeY;
+
+        public Writer(File file, int width, int height, int tileSize) throws IOException {
+            this.width = width;
+            this.height = height;
+            this.tileSize = tileSize;
+            this.columns = (width + tileSize - 1) / tileSize;
+            final int tileCount = columns * ((height + tileSize - 1) / tileSize);
+            this.tileHashes = new long[tileCount];
+            this.changedTiles = new int[tileCount];
+            this.raw = ByteBuffer.allocate(5 + tileCount * 5 + width * height * 4);
+            this.deflated = new byte[1 << 16];
+
+            output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(width);
+            output.writeInt(height);
+            output.writeInt(tileSize);
+        }
+
+        /**
+         * Writes the tiles of the frame which changed since the previous one, or all of them in a key frame. A frame
+         * where neither the tiles nor the gaze changed is skipped.
+         *
+         * @param time
+         *            in milliseconds, from the start of the video
+         * @param pixels
+         *            int ARGB, row by row
+         * @return true if the frame was written
+         */
+        public boolean writeFrame(long time, int gazeX, int gazeY, int[] pixels) throws IOException {
+            final boolean keyFrame = frameCount == 0 || time - lastKeyFrameTime >= KEY_FRAME_INTERVAL;
+            int changed = 0;
+            for (int tile = 0; tile < tileHashes.length; tile++) {
+                final long hash = hashTile(pixels, tile);
+                if (keyFrame || hash != tileHashes[tile]) {
+                    tileHashes[tile] = hash;
+                    changedTiles[changed++] = tile;
+                }
+            }
+            if (changed == 0 && gazeX == lastGazeX && gazeY == lastGazeY) {
+                return false;
+            }
+
+            raw.clear();
+            writeUnsigned(raw, changed);
+            int previous = 0;
+            for (int i = 0; i < changed; i++) {
+                writeUnsigned(raw, changedTiles[i] - previous);
+                previous = changedTiles[i];
+            }
+            final IntBuffer rawPixels = raw.asIntBuffer();
+            for (int i = 0; i < changed; i++) {
+                final int x = changedTiles[i] % columns * tileSize;
+                final int y = changedTiles[i] / columns * tileSize;
+                final int tileWidth = Math.min(tileSize, width - x);
+                final int tileHeight = Math.min(tileSize, height - y);
+                for (int row = y; row < y + tileHeight; row++) {
+                    rawPixels.put(pixels, row * width + x, tileWidth);
+                }
+            }
+            final int rawLength = raw.position() + rawPixels.position() * 4;
+
+            deflater.reset();
+            deflater.setInput(raw.array(), 0, rawLength);
+            deflater.finish();
+            int storedLength = 0;
+            while (!deflater.finished()) {
+                if (storedLength == deflated.length) {
+                    deflated = Arrays.copyOf(deflated, deflated.length * 2);
+                }
+                storedLength += deflater.deflate(deflated, storedLength, deflated.length - storedLength);
+            }
+
+            output.writeLong(time);
+            output.writeByte(keyFrame ? 1 : 0);
+            output.writeInt(gazeX);
+            output.writeInt(gazeY);
+            output.writeInt(rawLength);
+            output.writeInt(storedLength);
+            output.write(deflated, 0, storedLength);
+
+            if (keyFrame) {
+                lastKeyFrameTime = time;
+            }
+            lastGazeX = gazeX;
+            lastGazeY = gazeY;
+            frameCount++;
+            return true;
+        }
+
+        private long hashTile(int[] pixels, int tile) {
+            final int x = tile % columns * tileSize;
+            final int y = tile / columns * tileSize;
+            final int tileWidth = Math.min(tileSize, width - x);
+            final int tileHeight = Math.min(tileSize, height - y);
+            long hash = 0xcbf29ce484222325L;
+            for (int row = y; row < y + tileHeight; row++) {
+                final int end = row * width + x + tileWidth;
+                for (int i = row * width + x; i < end; i++) {
+                    hash = (hash ^ pixels[i]) * 0x100000001b3L;
+                }
+            }
+            return hash;
+        }
+
+        @Override
+        public void close() throws IOException {
+            deflater.end();
+            output.close();
+        }
+    }
+
+    /**
+     * Indexes the frames of the file, then reads them from it when drawn. The file stays open until the reader is
+     * closed, it is not memory mapped since a mapping would lock the file on Windows until garbage collected. Not
+     * thread-safe.
+     */
+    public static class Reader implements Closeable {
+
+        @Getter
+        private final int width;
+
+        @Getter
+        private final int height;
+
+        private final int tileSize;
+
+        private final int columns;
+
+        private final FileChannel channel;
+
+        @Getter
+        private int frameCount = 0;
+
+        private long[] times = new long[256];
+
+        /**
+         * position of the header of each frame
+         */
+        private long[] positions = new long[256];
+
+        /**
+         * the last key frame up to each frame
+         */
+        private int[] keyFrames = new int[256];
+
+        private int[] gazeXs = new int[256];
+
+        private int[] gazeYs = new int[256];
+
+        private final ByteBuffer header = ByteBuffer.allocate(Math.max(HEADER_SIZE, FRAME_HEADER_SIZE));
+
+        private final Inflater inflater = new Inflater();
+
+        private byte[] raw = new byte[0];
+
+        private byte[] stored = new byte[0];
+
+        public Reader(File file) throws IOException {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            try {
+                final long size = channel.size();
+                if (size < HEADER_SIZE || !read(header, 0, HEADER_SIZE) || header.getInt() != MAGIC) {
+                    throw new IOException("Not a video file : " + file);
+                }
+                final int version = header.getInt();
+                if (version > VERSION) {
+                    throw new IOException("Unsupported video file version " + version + " : " + file);
+                }
+                width = header.getInt();
+                height = header.getInt();
+                tileSize = header.getInt();
+                columns = (width + tileSize - 1) / tileSize;
+
+                int keyFrame = -1;
+                long position = HEADER_SIZE;
+                while (read(header, position, FRAME_HEADER_SIZE)) {
+                    final long time = header.getLong();
+                    final boolean key = header.get() != 0;
+                    final int gazeX = header.getInt();
+                    final int gazeY = header.getInt();
+                    header.getInt();
+                    final int storedLength = header.getInt();
+                    final long framePosition = position;
+                    position += FRAME_HEADER_SIZE + (long) storedLength;
+                    if (storedLength < 0 || position > size) {
+                        break;
+                    }
+                    if (key) {
+                        keyFrame = frameCount;
+                    }
+                    if (keyFrame < 0) {
+                        continue;
+                    }
+                    if (frameCount == times.length) {
+                        times = Arrays.copyOf(times, frameCount * 2);
+                        positions = Arrays.copyOf(positions, frameCount * 2);
+                        keyFrames = Arrays.copyOf(keyFrames, frameCount * 2);
+                        gazeXs = Arrays.copyOf(gazeXs, frameCount * 2);
+                        gazeYs = Arrays.copyOf(gazeYs, frameCount * 2);
+                    }
+                    times[frameCount] = time;
+                    positions[frameCount] = framePosition;
+                    keyFrames[frameCount] = keyFrame;
+                    gazeXs[frameCount] = gazeX;
+                    gazeYs[frameCount] = gazeY;
+                    frameCount++;
+                }
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        /**
+         * Reads length bytes at the position, the buffer is flipped for reading.
+         *
+         * @return false at the end of the file
+         */
+        private boolean read(ByteBuffer buffer, long position, int length) throws IOException {
+            buffer.clear();
+            buffer.limit(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    return false;
+                }
+            }
+            buffer.flip();
+            return true;
+        }
+
+        public long getTime(int frame) {
+            return times[frame];
+        }
+
+        public int getGazeX(int frame) {
+            return gazeXs[frame];
+        }
+
+        public int getGazeY(int frame) {
+            return gazeYs[frame];
+        }
+
+        /**
+         * @return the last frame at or before the given time, or -1 if the video starts later
+         */
+        public int frameAt(long time) {
+            final int index = Arrays.binarySearch(times, 0, frameCount, time);
+            if (index >= 0) {
+                // the last one of the frames captured at the same time
+                int frame = index;
+                while (frame + 1 < frameCount && times[frame + 1] == time) {
+                    frame++;
+                }
+                return frame;
+            }
+            return -(index + 1) - 1;
+        }
+
+        /**
+         * Draws a frame, from the frame already drawn when it is not older and no key frame is between them, from the
+         * last key frame otherwise.
+         *
+         * @param pixels
+         *            int ARGB, row by row, holding the drawn frame
+         * @param drawnFrame
+         *            the frame held by the pixels, or -1
+         */
+        public void draw(int frame, int[] pixels, int drawnFrame) throws IOException {
+            int first = keyFrames[frame];
+            if (drawnFrame >= first && drawnFrame <= frame) {
+                first = drawnFrame + 1;
+            }
+            for (int f = first; f <= frame; f++) {
+                decode(f, pixels);
+            }
+        }
+
+        private void decode(int frame, int[] pixels) throws IOException {
+            final long position = positions[frame];
+            if (!read(header, position, FRAME_HEADER_SIZE)) {
+                throw new IOException("Truncated video frame " + frame);
+            }
+            final int rawLength = header.getInt(FRAME_HEADER_SIZE - 8);
+            final int storedLength = header.getInt(FRAME_HEADER_SIZE - 4);
+            if (raw.length < rawLength) {
+                raw = new byte[rawLength];
+            }
+            if (stored.length < storedLength) {
+                stored = new byte[storedLength];
+            }
+            if (!read(ByteBuffer.wrap(stored), position + FRAME_HEADER_SIZE, storedLength)) {
+                throw new IOException("Truncated video frame " + frame);
+            }
+            inflater.reset();
+            inflater.setInput(stored, 0, storedLength);
+            try {
+                int length = 0;
+                while (length < rawLength && !inflater.finished()) {
+                    final int inflated = inflater.inflate(raw, length, rawLength - length);
+                    if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new IOException("Truncated video frame " + frame);
+                    }
+                    length += inflated;
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupted video frame " + frame, e);
+            }
+
+            final ByteBuffer tiles = ByteBuffer.wrap(raw, 0, rawLength);
+            final int changed = (int) readUnsigned(tiles);
+            final int[] changedTiles = new int[changed];
+            int previous = 0;
+            for (int i = 0; i < changed; i++) {
+                previous += (int) readUnsigned(tiles);
+                changedTiles[i] = previous;
+            }
+            final IntBuffer tilePixels = tiles.slice().asIntBuffer();
+            for (int i = 0; i < changed; i++) {
+                final int x = changedTiles[i] % columns * tileSize;
+                final int y = changedTiles[i] / columns * tileSize;
+                final int tileWidth = Math.min(tileSize, width - x);
+                final int tileHeight = Math.min(tileSize, height - y);
+                for (int row = y; row < y + tileHeight; row++) {
+                    tilePixels.get(pixels, row * width + x, tileWidth);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            inflater.end();
+            channel.close();
+        }
+    }
+
+    private static void writeUnsigned(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static long readUnsigned(ByteBuffer in) {
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return result;
+    }
+
+}
@@ -0,0 +1,176 @@
+package net.gazeplay.commons.utils.stats;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.scene.Scene;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.util.Duration;
+import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.commons.threads.BackgroundExecutors;
+
+import java.io.File;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the game scene, rather than the whole screen, into a {@link SceneVideoFile}.
+ *
+ * The scene is snapshot on the FX thread at the given frame rate, and its pixels are handed to the encoder thread
+ * through a bounded queue of recycled buffers : when the encoder is behind, the frame is dropped rather than queued.
+ * The encoder only writes the tiles which changed, and skips the frames where nothing changed. Each recorder has its
+ * own encoder thread, which ends once the recorder is stopped and its frames are written.
+ *
+ * Started and stopped on the FX thread, a started recorder must be stopped.
+ */
+@Slf4j
+public class SceneVideoRecorder {
+
+    /**
+     * frames waiting for the encoder
+     */
+    private static final int QUEUE_SIZE = 3;
+
+    private static final ThreadFactory encoderThreadFactory = BackgroundExecutors
+            .newThreadFactory("SceneVideoRecorder");
+
+    private static final class Frame {
+
+        private final int[] pixels;
+
+        private long time;
+
+        private int gazeX;
+
+        private int gazeY;
+
+        private Frame(int size) {
+            pixels = new int[size];
+        }
+    }
+
+    private final Scene scene;
+
+    private final File file;
+
+    private final int width;
+
+    private final int height;
+
+    private final Timeline capture;
+
+    private final BlockingQueue<Frame> frames = new ArrayBlockingQueue<>(QUEUE_SIZE);
+
+    /**
+     * the buffers of the frames which are neither queued nor being encoded
+     */
+    private final BlockingQueue<Frame> freeFrames = new ArrayBlockingQueue<>(QUEUE_SIZE + 1);
+
+    /**
+     * completes with the file once it is written
+     */
+    private final CompletableFuture<File> result = new CompletableFuture<>();
+
+    private WritableImage snapshot;
+
+    private long startTime;
+
+    private volatile int droppedFrames = 0;
+
+    private volatile boolean stopped = false;
+
+    private volatile int gazeX = -1;
+
+    private volatile int gazeY = -1;
+
+    public SceneVideoRecorder(Scene scene, File file, int frameRate) {
+        this.scene = scene;
+        this.file = file;
+        this.width = Math.max(1, (int) scene.getWidth());
+        this.height = Math.max(1, (int) scene.getHeight());
+        for (int i = 0; i < QUEUE_SIZE + 1; i++) {
+            freeFrames.add(new Frame(width * height));
+        }
+        capture = new Timeline(new KeyFrame(Duration.millis(1000.0 / Math.max(1, frameRate)), e -> captureFrame()));
+        capture.setCycleCount(Animation.INDEFINITE);
+    }
+
+    public void start() {
+        startTime = System.currentTimeMillis();
+        encoderThreadFactory.newThread(this::encode).start();
+        captureFrame();
+        capture.play();
+    }
+
+    /**
+     * Stops the capture, the frames already captured are still written.
+     *
+     * @return completes with the file once it is written
+     */
+    public CompletableFuture<File> stop() {
+        capture.stop();
+        stopped = true;
+        return result;
+    }
+
+    public void gazeMoved(int x, int y) {
+        gazeX = x;
+        gazeY = y;
+    }
+
+    private void captureFrame() {
+        final Frame frame = freeFrames.poll();
+        if (frame == null) {
+            droppedFrames++;
+            return;
+        }
+        frame.time = System.currentTimeMillis() - startTime;
+        frame.gazeX = gazeX;
+        frame.gazeY = gazeY;
+        snapshot = scene.snapshot(snapshot);
+        // the scene may have been resized, the frames keep the size of the first one
+        snapshot.getPixelReader().getPixels(0, 0, Math.min(width, (int) snapshot.getWidth()),
+                Math.min(height, (int) snapshot.getHeight()), PixelFormat.getIntArgbInstance(), frame.pixels, 0,
+                width);
+        if (!frames.offer(frame)) {
+            // the encoder failed
+            freeFrames.add(frame);
+            droppedFrames++;
+        }
+    }
+
+    private void encode() {
+        int written = 0;
+        int skipped = 0;
+        try (SceneVideoFile.Writer writer = new SceneVideoFile.Writer(file, width, height,
+                SceneVideoFile.DEFAULT_TILE_SIZE)) {
+            while (true) {
+                final Frame frame = frames.poll(100, TimeUnit.MILLISECONDS);
+                if (frame == null) {
+                    if (stopped && frames.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                if (writer.writeFrame(frame.time, frame.gazeX, frame.gazeY, frame.pixels)) {
+                    written++;
+                } else {
+                    skipped++;
+                }
+                freeFrames.add(frame);
+            }
+        } catch (Exception e) {
+            log.error("Failed to record {}", file, e);
+            result.completeExceptionally(e);
+            return;
+        }
+        log.info("{} : {}x{}, {} frames written, {} unchanged frames skipped, {} frames dropped, {} KB", file, width,
+                height, written, skipped, droppedFrames, file.length() / 1024);
+        result.complete(file);
+    }
+
+}
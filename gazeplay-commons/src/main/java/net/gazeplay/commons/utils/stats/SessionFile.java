@@ -0,0 +1,515 @@
+package net.gazeplay.commons.utils.stats;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary session file, holding a {@link SessionRecording}.
+ *
+ * <pre>
+ * file    := magic "GZPS" (int) version (int) section*
+ * section := tag (byte) compressed (byte) raw length (int) stored length (int) payload
+ * </pre>
+ *
+ * The integers of the payloads are variable length (7 bits per byte), the signed ones zigzag encoded. The times,
+ * coordinates and heatmap values are written as the difference with the previous or neighbouring ones, so that most
+ * of them take one byte. A compressed payload is deflated. The file is read at once into the heap rather than memory
+ * mapped, so that it is not kept locked until the mapping is garbage collected. The sections with an unknown tag are
+ * skipped, so that new sections can be added without changing the version.
+ */
+@Slf4j
+public final class SessionFile {
+
+    public static final String EXTENSION = ".session";
+
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x475A5053;
+
+    private static final byte SECTION_META = 1;
+
+    private static final byte SECTION_SAMPLES = 2;
+
+    private static final byte SECTION_FIXATIONS = 3;
+
+    private static final byte SECTION_HEATMAP = 4;
+
+    private static final byte SECTION_ROUNDS = 5;
+
+    private static final byte SECTION_TARGET_AOIS = 6;
+
+    /**
+     * source of each sample, as runs of samples from the same source. Without it, the samples are read as gaze ones.
+     */
+    private static final byte SECTION_SAMPLE_SOURCES = 7;
+
+    /**
+     * the heatmap values which are not all integers are written in fixed point, with this number of bits after the
+     * point
+     */
+    private static final int HEATMAP_FRACTION_BITS = 8;
+
+    private SessionFile() {
+    }
+
+    /**
+     * Writes the recording through a temporary file, moved once complete.
+     */
+    public static void write(SessionRecording recording, File file, boolean compressed) throws IOException {
+        final List<ByteBuffer> buffers = new ArrayList<>();
+        final ByteBuffer header = ByteBuffer.allocate(8);
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        buffers.add(header);
+
+        Encoder meta = new Encoder();
+        meta.writeSigned(recording.getStartTime());
+        meta.writeUnsigned(recording.getSceneWidth());
+        meta.writeUnsigned(recording.getSceneHeight());
+        meta.writeString(recording.getGameName());
+        addSection(buffers, SECTION_META, meta, false);
+
+        if (recording.getSamples() != null) {
+            addSection(buffers, SECTION_SAMPLES, encodeGazeRecording(recording.getSamples(), false), compressed);
+            addSection(buffers, SECTION_SAMPLE_SOURCES, encodeSampleSources(recording.getSamples()), compressed);
+        }
+        if (recording.getFixations() != null) {
+            addSection(buffers, SECTION_FIXATIONS, encodeGazeRecording(recording.getFixations(), true), compressed);
+        }
+        if (recording.getHeatMap() != null) {
+            addSection(buffers, SECTION_HEATMAP, encodeHeatMap(recording.getHeatMap()), compressed);
+        }
+        if (recording.getRoundsDurations() != null) {
+            Encoder rounds = new Encoder();
+            rounds.writeUnsigned(recording.getRoundsDurations().size());
+            for (long duration : recording.getRoundsDurations()) {
+                rounds.writeSigned(duration);
+            }
+            addSection(buffers, SECTION_ROUNDS, rounds, compressed);
+        }
+        if (recording.getTargetAOIs() != null) {
+            addSection(buffers, SECTION_TARGET_AOIS, encodeTargetAOIs(recording.getTargetAOIs()), compressed);
+        }
+
+        final File temporaryFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer[] sources = buffers.toArray(new ByteBuffer[0]);
+            long remaining = 0;
+            for (ByteBuffer source : sources) {
+                remaining += source.remaining();
+            }
+            // the last buffer may be an empty payload
+            while (remaining > 0) {
+                remaining -= channel.write(sources);
+            }
+        }
+        Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static SessionRecording read(File file) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a session file : " + file);
+        }
+        final int version = buffer.getInt();
+        if (version > VERSION) {
+            throw new IOException("Unsupported session file version " + version + " : " + file);
+        }
+
+        String gameName = null;
+        long startTime = 0;
+        int sceneWidth = 0;
+        int sceneHeight = 0;
+        GazeRecording samples = null;
+        GazeRecording fixations = null;
+        double[][] heatMap = null;
+        List<Long> roundsDurations = null;
+        List<TargetAOI> targetAOIs = null;
+        ByteBuffer sampleSources = null;
+
+        while (buffer.hasRemaining()) {
+            final byte tag = buffer.get();
+            final boolean compressed = buffer.get() != 0;
+            final int rawLength = buffer.getInt();
+            final int storedLength = buffer.getInt();
+            final ByteBuffer stored = buffer.slice();
+            stored.limit(storedLength);
+            buffer.position(buffer.position() + storedLength);
+            final ByteBuffer section = compressed ? inflate(stored, rawLength) : stored;
+
+            switch (tag) {
+            case SECTION_META:
+                startTime = readSigned(section);
+                sceneWidth = (int) readUnsigned(section);
+                sceneHeight = (int) readUnsigned(section);
+                gameName = readString(section);
+                break;
+            case SECTION_SAMPLES:
+                samples = decodeGazeRecording(section, false);
+                break;
+            case SECTION_FIXATIONS:
+                fixations = decodeGazeRecording(section, true);
+                break;
+            case SECTION_HEATMAP:
+                heatMap = decodeHeatMap(section);
+                break;
+            case SECTION_ROUNDS:
+                final int roundCount = (int) readUnsigned(section);
+                roundsDurations = new ArrayList<>(roundCount);
+                for (int i = 0; i < roundCount; i++) {
+                    roundsDurations.add(readSigned(section));
+                }
+                break;
+            case SECTION_TARGET_AOIS:
+                targetAOIs = decodeTargetAOIs(section);
+                break;
+            case SECTION_SAMPLE_SOURCES:
+                sampleSources = section;
+                break;
+            default:
+                log.debug("Skipping unknown section {} of {}", tag, file);
+            }
+        }
+        if (samples != null && sampleSources != null) {
+            decodeSampleSources(sampleSources, samples);
+        }
+        return new SessionRecording(gameName, startTime, sceneWidth, sceneHeight, samples, fixations, heatMap,
+                roundsDurations, targetAOIs);
+    }
+
+    /**
+     * Converts the heatmap of a session file to the CSV format of the stats.
+     */
+    public static void exportHeatMapCsv(File sessionFile, File csvFile) throws IOException {
+        final double[][] heatMap = read(sessionFile).getHeatMap();
+        if (heatMap == null) {
+            throw new IOException("No heatmap in " + sessionFile);
+        }
+        writeHeatMapCsv(heatMap, csvFile);
+    }
+
+    /**
+     * Writes the heatmap grid as comma separated integers, a line per row.
+     */
+    public static void writeHeatMapCsv(double[][] heatMap, File csvFile) throws IOException {
+        try (PrintWriter out = new PrintWriter(csvFile, "UTF-8")) {
+            for (int i = 0; i < heatMap.length; i++) {
+                for (int j = 0; j < heatMap[0].length - 1; j++) {
+                    out.print((int) heatMap[i][j]);
+                    out.print(", ");
+                }
+                out.print((int) heatMap[i][heatMap[i].length - 1]);
+                out.println("");
+            }
+        }
+    }
+
+    private static void addSection(List<ByteBuffer> buffers, byte tag, Encoder payload, boolean compressed) {
+        ByteBuffer stored = ByteBuffer.wrap(payload.bytes, 0, payload.size);
+        boolean deflated = false;
+        if (compressed) {
+            final ByteBuffer deflatedPayload = deflate(payload);
+            // incompressible payloads are stored as is
+            if (deflatedPayload.remaining() < payload.size) {
+                stored = deflatedPayload;
+                deflated = true;
+            }
+        }
+        final ByteBuffer sectionHeader = ByteBuffer.allocate(10);
+        sectionHeader.put(tag).put((byte) (deflated ? 1 : 0)).putInt(payload.size).putInt(stored.remaining()).flip();
+        buffers.add(sectionHeader);
+        buffers.add(stored);
+    }
+
+    private static ByteBuffer deflate(Encoder payload) {
+        final Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(payload.bytes, 0, payload.size);
+            deflater.finish();
+            byte[] output = new byte[Math.max(64, payload.size / 4)];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == output.length) {
+                    output = Arrays.copyOf(output, output.length * 2);
+                }
+                length += deflater.deflate(output, length, output.length - length);
+            }
+            return ByteBuffer.wrap(output, 0, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static ByteBuffer inflate(ByteBuffer stored, int rawLength) throws IOException {
+        final byte[] input = new byte[stored.remaining()];
+        stored.get(input);
+        final byte[] output = new byte[rawLength];
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                final int inflated = inflater.inflate(output, length, rawLength - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated session file section");
+                }
+                length += inflated;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted session file section", e);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(output);
+    }
+
+    private static Encoder encodeGazeRecording(GazeRecording recording, boolean withDurations) {
+        Encoder out = new Encoder();
+        out.writeUnsigned(recording.size());
+        long previousTime = 0;
+        int previousX = 0;
+        int previousY = 0;
+        for (int i = 0; i < recording.size(); i++) {
+            out.writeSigned(recording.getTime(i) - previousTime);
+            if (withDurations) {
+                out.writeSigned(recording.getDuration(i));
+            }
+            out.writeSigned(recording.getX(i) - previousX);
+            out.writeSigned(recording.getY(i) - previousY);
+            previousTime = recording.getTime(i);
+            previousX = recording.getX(i);
+            previousY = recording.getY(i);
+        }
+        return out;
+    }
+
+    private static GazeRecording decodeGazeRecording(ByteBuffer in, boolean withDurations) {
+        final int count = (int) readUnsigned(in);
+        GazeRecording recording = new GazeRecording();
+        long time = 0;
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < count; i++) {
+            time += readSigned(in);
+            final long duration = withDurations ? readSigned(in) : 0;
+            x += (int) readSigned(in);
+            y += (int) readSigned(in);
+            recording.add(time, duration, x, y);
+        }
+        return recording;
+    }
+
+    private static Encoder encodeSampleSources(GazeRecording samples) {
+        Encoder out = new Encoder();
+        int runStart = 0;
+        for (int i = 1; i <= samples.size(); i++) {
+            if (i == samples.size() || samples.getDuration(i) != samples.getDuration(runStart)) {
+                out.writeUnsigned(samples.getDuration(runStart));
+                out.writeUnsigned(i - runStart);
+                runStart = i;
+            }
+        }
+        return out;
+    }
+
+    private static void decodeSampleSources(ByteBuffer in, GazeRecording samples) throws IOException {
+        int sample = 0;
+        while (in.hasRemaining()) {
+            final long source = readUnsigned(in);
+            final int runLength = (int) readUnsigned(in);
+            if (runLength > samples.size() - sample) {
+                throw new IOException("Sample sources do not match the samples");
+            }
+            for (int end = sample + runLength; sample < end; sample++) {
+                samples.setDuration(sample, source);
+            }
+        }
+    }
+
+    private static Encoder encodeHeatMap(double[][] heatMap) {
+        // the flat kernel only gives integers, which are written without fraction bits
+        int fractionBits = 0;
+        for (double[] row : heatMap) {
+            for (double value : row) {
+                if (value != Math.rint(value)) {
+                    fractionBits = HEATMAP_FRACTION_BITS;
+                }
+            }
+        }
+        Encoder out = new Encoder();
+        final int rows = heatMap.length;
+        final int columns = rows == 0 ? 0 : heatMap[0].length;
+        out.writeUnsigned(rows);
+        out.writeUnsigned(columns);
+        out.writeUnsigned(fractionBits);
+        long[] previousRow = new long[columns];
+        long[] row = new long[columns];
+        for (double[] values : heatMap) {
+            for (int column = 0; column < columns; column++) {
+                row[column] = Math.round(values[column] * (1 << fractionBits));
+                out.writeSigned(row[column] - predictHeatMapValue(row, previousRow, column));
+            }
+            final long[] swap = previousRow;
+            previousRow = row;
+            row = swap;
+        }
+        return out;
+    }
+
+    private static double[][] decodeHeatMap(ByteBuffer in) {
+        final int rows = (int) readUnsigned(in);
+        final int columns = (int) readUnsigned(in);
+        final int fractionBits = (int) readUnsigned(in);
+        final double[][] heatMap = new double[rows][columns];
+        long[] previousRow = new long[columns];
+        long[] row = new long[columns];
+        for (double[] values : heatMap) {
+            for (int column = 0; column < columns; column++) {
+                row[column] = readSigned(in) + predictHeatMapValue(row, previousRow, column);
+                values[column] = (double) row[column] / (1 << fractionBits);
+            }
+            final long[] swap = previousRow;
+            previousRow = row;
+            row = swap;
+        }
+        return heatMap;
+    }
+
+    /**
+     * The left plus the upper minus the upper left value : the stamps of the gaze points are flat discs, so inside a
+     * disc as well as outside the prediction is exact.
+     */
+    private static long predictHeatMapValue(long[] row, long[] previousRow, int column) {
+        if (column == 0) {
+            return previousRow[0];
+        }
+        return row[column - 1] + previousRow[column] - previousRow[column - 1];
+    }
+
+    private static Encoder encodeTargetAOIs(List<TargetAOI> targetAOIs) {
+        Encoder out = new Encoder();
+        out.writeUnsigned(targetAOIs.size());
+        long previousTime = 0;
+        for (TargetAOI targetAOI : targetAOIs) {
+            out.writeSigned(targetAOI.getTimeStarted() - previousTime);
+            out.writeSigned(targetAOI.getDuration());
+            out.writeDouble(targetAOI.getxValue());
+            out.writeDouble(targetAOI.getyValue());
+            out.writeUnsigned(targetAOI.getAreaRadius());
+            previousTime = targetAOI.getTimeStarted();
+        }
+        return out;
+    }
+
+    private static List<TargetAOI> decodeTargetAOIs(ByteBuffer in) {
+        final int count = (int) readUnsigned(in);
+        final List<TargetAOI> targetAOIs = new ArrayList<>(count);
+        long time = 0;
+        for (int i = 0; i < count; i++) {
+            time += readSigned(in);
+            final long duration = readSigned(in);
+            final double x = in.getDouble();
+            final double y = in.getDouble();
+            final int radius = (int) readUnsigned(in);
+            TargetAOI targetAOI = new TargetAOI(x, y, radius, time);
+            targetAOI.setDuration(duration);
+            targetAOIs.add(targetAOI);
+        }
+        return targetAOIs;
+    }
+
+    private static long readUnsigned(ByteBuffer in) {
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return result;
+    }
+
+    private static long readSigned(ByteBuffer in) {
+        final long zigzag = readUnsigned(in);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    /**
+     * null is written as 0, a string as its UTF-8 length plus one followed by its bytes
+     */
+    private static String readString(ByteBuffer in) {
+        final int length = (int) readUnsigned(in);
+        if (length == 0) {
+            return null;
+        }
+        final byte[] utf8 = new byte[length - 1];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Growable byte array for the payload of a section.
+     */
+    private static final class Encoder {
+
+        private byte[] bytes = new byte[256];
+
+        private int size = 0;
+
+        private void put(byte b) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[size++] = b;
+        }
+
+        void writeUnsigned(long value) {
+            while ((value & ~0x7FL) != 0) {
+                put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            put((byte) value);
+        }
+
+        void writeSigned(long value) {
+            writeUnsigned((value << 1) ^ (value >> 63));
+        }
+
+        void writeDouble(double value) {
+            final long bits = Double.doubleToLongBits(value);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                put((byte) (bits >>> shift));
+            }
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeUnsigned(0);
+                return;
+            }
+            final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeUnsigned(utf8.length + 1);
+            for (byte b : utf8) {
+                put(b);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package net.gazeplay.commons.utils.stats;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Content of a session file, see {@link SessionFile}.
+ *
+ * The times of the samples and fixations are in milliseconds since {@link #startTime}, the target AOIs keep their own
+ * times, since the epoch.
+ */
+@Data
+public class SessionRecording {
+
+    /**
+     * source of a sample recorded from a gaze event or the eye tracker
+     */
+    public static final int SOURCE_GAZE = 0;
+
+    /**
+     * source of a sample recorded from a mouse event
+     */
+    public static final int SOURCE_MOUSE = 1;
+
+    private final String gameName;
+
+    /**
+     * start of the session, in milliseconds since the epoch
+     */
+    private final long startTime;
+
+    private final int sceneWidth;
+
+    private final int sceneHeight;
+
+    /**
+     * raw gaze samples in scene coordinates, the duration column holds the source of each sample, {@link #SOURCE_GAZE}
+     * or {@link #SOURCE_MOUSE}
+     */
+    private final GazeRecording samples;
+
+    /**
+     * fixations detected during the session, with the coordinates swapped as in {@link Stats#getFixationSequence()},
+     * or null
+     */
+    private final GazeRecording fixations;
+
+    /**
+     * heatmap grid indexed by row then column, or null
+     */
+    private final double[][] heatMap;
+
+    private final List<Long> roundsDurations;
+
+    /**
+     * target areas of interest, or null
+     */
+    private final List<TargetAOI> targetAOIs;
+
+}
@@ -1,6 +1,5 @@
 package net.gazeplay.commons.utils.stats;
 
-import javafx.embed.swing.SwingFXUtils;
 import javafx.event.EventHandler;
 import javafx.scene.Scene;
 import javafx.scene.image.WritableImage;
@@ -14,23 +13,8 @@ import net.gazeplay.commons.configuration.Configuration;
 import net.gazeplay.commons.gaze.GazeMotionListener;
 import net.gazeplay.commons.gaze.devicemanager.GazeEvent;
 import net.gazeplay.commons.utils.FixationSequence;
-import net.gazeplay.commons.utils.HeatMap;
-import net.gazeplay.commons.utils.FixationPoint;
 import net.gazeplay.commons.utils.games.Utils;
-import org.monte.media.Format;
-import org.monte.media.FormatKeys;
-import org.monte.media.VideoFormatKeys;
-import org.monte.media.gui.Worker;
-import org.monte.media.math.Rational;
-import org.monte.screenrecorder.ScreenRecorder;
-import org.monte.screenrecorder.ScreenRecorderCompactMain;
-
-import javax.imageio.ImageIO;
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.awt.image.BufferedImageOp;
-import java.awt.image.ConvolveOp;
-import java.awt.image.Kernel;
+
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -38,8 +22,8 @@ import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Created by schwab on 16/08/2017.
@@ -50,7 +34,6 @@ import java.util.List;
 public class Stats implements GazeMotionListener {
 
     private Configuration config;
-    private static final int trail = 10;
     private final double heatMapPixelSize = computeHeatMapPixelSize();
     private EventHandler<MouseEvent> recordMouseMovements;
     private EventHandler<GazeEvent> recordGazeMovements;
@@ -60,14 +43,24 @@ public class Stats implements GazeMotionListener {
     protected String gameName;
     private Instant starts;
     private int counter = 0;
-    private List<CoordinatesTracker> movementHistory = new ArrayList<>();
+    private GazeRecording movementHistory = new GazeRecording();
+    private final FixationDetector movementFixationDetector = AreaOfInterestClustering.createMovementDetector();
+    /**
+     * fixations of the movement history, detected as the movements are recorded, on the FX thread
+     */
+    @Getter
+    private final List<FixationDetector.Fixation> movementFixations = new ArrayList<>();
+    /**
+     * every gaze and mouse sample, tagged with its source, for the session file, or null if the session recording is
+     * disabled
+     */
+    private GazeRecording gazeSamples;
     private long previousTime = 0;
     private int previousX = 0;
     private int previousY = 0;
-    private File movieFolder;
     private int nbShots = 0;
     private boolean convexHULL = true;
-    private ScreenRecorder screenRecorder;
+    private SceneVideoRecorder videoRecorder;
     private ArrayList<TargetAOI> targetAOIList = null;
     long startTime;
     int sceneCounter = 0;
@@ -77,7 +70,7 @@ public class Stats implements GazeMotionListener {
     private long accidentalShotPreventionPeriod = 0;
     @Getter
     private int nbUnCountedShots;
-    private double[][] heatMap;
+    private HeatMapAccumulator heatMap;
     @Getter
     @Setter
     private long currentGazeTime;
@@ -85,7 +78,8 @@ public class Stats implements GazeMotionListener {
     @Setter
     private long lastGazeTime;
     @Getter
-    private LinkedList<FixationPoint> fixationSequence;
+    private GazeRecording fixationSequence;
+    private FixationDetector fixationDetector;
     @Getter
     private SavedStatsInfo savedStatsInfo;
     private WritableImage gameScreenShot;
@@ -93,6 +87,12 @@ public class Stats implements GazeMotionListener {
     private String directoryOfVideo;
 
     private String nameOfVideo;
+    /**
+     * completes with the file of the last video recording once it is written, or null if the video recording is
+     * disabled
+     */
+    @Getter
+    private CompletableFuture<File> videoRecording;
 
     private Long currentRoundStartTime;
 
@@ -103,6 +103,7 @@ public class Stats implements GazeMotionListener {
     public Stats(Scene gameContextScene, String gameName) {
         this.gameContextScene = gameContextScene;
         this.gameName = gameName;
+        movementFixationDetector.addListener(movementFixations::add);
     }
 
     public void setTargetAOIList(ArrayList<TargetAOI> targetAOIList) {
@@ -121,90 +122,44 @@ public class Stats implements GazeMotionListener {
         return this.targetAOIList;
     }
 
-    private static double[][] instanciateHeatMapData(Scene gameContextScene, double heatMapPixelSize) {
+    private static HeatMapAccumulator instanciateHeatMapData(Scene gameContextScene, double heatMapPixelSize,
+            Configuration config) {
         int heatMapWidth = (int) (gameContextScene.getHeight() / heatMapPixelSize);
         int heatMapHeight = (int) (gameContextScene.getWidth() / heatMapPixelSize);
         log.info("heatMapWidth = {}, heatMapHeight = {}", heatMapWidth, heatMapHeight);
-        return new double[heatMapWidth][heatMapHeight];
+        return new HeatMapAccumulator(heatMapWidth, heatMapHeight, heatMapPixelSize,
+                HeatMapKernel.createFromConfiguration(config), config.isHeatMapBackgroundAccumulation());
     }
 
     public void notifyNewRoundReady() {
         currentRoundStartTime = System.currentTimeMillis();
         takeScreenShot();
+        // the video of the rounds played after the stats screen starts with them, while the stats are recorded
+        final boolean recording = lifeCycle.getStartTime() != null && lifeCycle.getStopTime() == null;
+        if (videoRecorder == null && recording && config.isVideoRecordingEnabled()) {
+            startVideoRecording();
+        }
     }
 
     public void startVideoRecording() {
+        endVideoRecording();
         directoryOfVideo = getGameStatsOfTheDayDirectory().toString();
-        this.movieFolder = new File(directoryOfVideo);
-        float quality = 1.0F;
-        byte bitDepth = 24;
-
-        String mimeType;
-        String videoFormatName;
-        String compressorName;
-
-        mimeType = "video/avi";
-        videoFormatName = "tscc";
-        compressorName = "Techsmith Screen Capture";
-        ScreenRecorderCompactMain asi = null;
-        GraphicsConfiguration cfg = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
-                .getDefaultConfiguration();
-        Rectangle areaRect = null;
-        Dimension outputDimension = null;
-        areaRect = cfg.getBounds();
-
-        outputDimension = areaRect.getSize();
-        byte screenRate;
-        screenRate = 30;
-        try {
-            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd 'at' HH.mm.ss");
-            nameOfVideo = this.movieFolder + "/ScreenRecording " + dateFormat.format(new Date());
-            System.out.println("The name of the video is " + nameOfVideo);
-            this.screenRecorder = new ScreenRecorder(cfg, areaRect,
-                    new Format(VideoFormatKeys.MediaTypeKey, FormatKeys.MediaType.FILE, VideoFormatKeys.MimeTypeKey,
-                            mimeType),
-                    new Format(VideoFormatKeys.MediaTypeKey, FormatKeys.MediaType.VIDEO, VideoFormatKeys.EncodingKey,
-                            videoFormatName, VideoFormatKeys.CompressorNameKey, compressorName,
-                            VideoFormatKeys.WidthKey, outputDimension.width, VideoFormatKeys.HeightKey,
-                            outputDimension.height, VideoFormatKeys.DepthKey, (int) bitDepth,
-                            VideoFormatKeys.FrameRateKey, Rational.valueOf((double) screenRate),
-                            VideoFormatKeys.QualityKey, quality, VideoFormatKeys.KeyFrameIntervalKey, screenRate * 60),
-                    null, null, this.movieFolder);
-            this.screenRecorder.start();
-        } catch (IOException | AWTException e) {
-            e.printStackTrace();
-        }
-        this.screenRecorder.setAudioMixer(null);
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd 'at' HH.mm.ss");
+        nameOfVideo = directoryOfVideo + "/ScreenRecording " + dateFormat.format(new Date());
+        log.info("Recording the video {}", nameOfVideo);
+        videoRecorder = new SceneVideoRecorder(gameContextScene, new File(nameOfVideo + SceneVideoFile.EXTENSION),
+                config.getVideoRecordingFrameRate());
+        videoRecorder.start();
     }
 
+    /**
+     * Stops the video recording, which is written in background.
+     */
     public void endVideoRecording() {
-        final ScreenRecorder r = this.screenRecorder;
-        this.screenRecorder = null;
-        (new Worker() {
-            protected Object construct() throws Exception {
-                r.stop();
-                return null;
-            }
-
-            protected void finished() {
-                ScreenRecorder.State state = r.getState();
-                // File source;
-                // File target;
-                // try {
-                // source = new File(nameOfVideo + ".avi");
-                // target = new File(nameOfVideo + ".mp4");
-                // VideoAttributes videoAttributes = new VideoAttributes();
-                // videoAttributes.setCodec("mpeg4");
-                // EncodingAttributes attrs = new EncodingAttributes();
-                // attrs.setFormat("mp4");
-                // attrs.setVideoAttributes(videoAttributes);
-                // Encoder encoder = new Encoder();
-                // encoder.encode(new MultimediaObject(source), target, attrs);
-                // } catch (Exception ex) {
-                // ex.printStackTrace();
-                // }
-            }
-        }).start();
+        if (videoRecorder != null) {
+            videoRecording = videoRecorder.stop();
+            videoRecorder = null;
+        }
     }
 
     public void start() {
@@ -212,15 +167,24 @@ public class Stats implements GazeMotionListener {
         if (config.isVideoRecordingEnabled()) {
             startVideoRecording();
         }
+        startRecording();
+    }
+
+    private void startRecording() {
         lifeCycle.start(() -> {
             if (!config.isHeatMapDisabled())
-                heatMap = instanciateHeatMapData(gameContextScene, heatMapPixelSize);
-            if (!config.isFixationSequenceDisabled())
-                fixationSequence = new LinkedList<FixationPoint>();
+                heatMap = instanciateHeatMapData(gameContextScene, heatMapPixelSize, config);
+            if (!config.isFixationSequenceDisabled()) {
+                fixationSequence = new GazeRecording();
+                fixationDetector = FixationDetector.createFromConfiguration(config);
+                fixationDetector.addListener(this::addFixation);
+            }
+            gazeSamples = config.isSessionRecordingEnabled() ? new GazeRecording() : null;
             startTime = System.currentTimeMillis();
             recordGazeMovements = e -> {
                 int getX = (int) e.getX();
                 int getY = (int) e.getY();
+                incGazeSamples(getX, getY, SessionRecording.SOURCE_GAZE);
                 if (!config.isHeatMapDisabled())
                     incHeatMap(getX, getY);
                 if (!config.isFixationSequenceDisabled()) {
@@ -232,8 +196,7 @@ public class Stats implements GazeMotionListener {
                         previousX = getX;
                         previousY = getY;
                         long timeInterval = (timeToFixation - previousTime);
-                        movementHistory
-                                .add(new CoordinatesTracker(getX, getY, timeInterval, System.currentTimeMillis()));
+                        addMovement(timeInterval, getX, getY);
                         previousTime = timeToFixation;
                     }
                 }
@@ -241,6 +204,7 @@ public class Stats implements GazeMotionListener {
             recordMouseMovements = e -> {
                 int getX = (int) e.getX();
                 int getY = (int) e.getY();
+                incGazeSamples(getX, getY, SessionRecording.SOURCE_MOUSE);
                 if (!config.isHeatMapDisabled())
                     incHeatMap(getX, getY);
                 if (!config.isFixationSequenceDisabled()) {
@@ -252,8 +216,7 @@ public class Stats implements GazeMotionListener {
                         previousX = getX;
                         previousY = getY;
                         long timeInterval = (timeElapsedMillis - previousTime);
-                        movementHistory
-                                .add(new CoordinatesTracker(getX, getY, timeInterval, System.currentTimeMillis()));
+                        addMovement(timeInterval, getX, getY);
                         previousTime = timeElapsedMillis;
                         counter = 0;
                     }
@@ -269,7 +232,11 @@ public class Stats implements GazeMotionListener {
 
     }
 
-    public List<CoordinatesTracker> getMovementHistoryWithTime() {
+    /**
+     * @return the recorded movements : the time column is the time of the movement, the duration column the time
+     *         elapsed since the previous one. They are added on the FX thread.
+     */
+    public GazeRecording getMovementHistoryWithTime() {
         return this.movementHistory;
     }
 
@@ -281,13 +248,12 @@ public class Stats implements GazeMotionListener {
         roundsDurationReport = new RoundsDurationReport();
         lifeCycle = new LifeCycle();
 
-        start();
+        // the stats screen shown meanwhile is not recorded, the video starts again with the next round
+        startRecording();
     }
 
     public void stop() {
-        if (config.isVideoRecordingEnabled()) {
-            endVideoRecording();
-        }
+        endVideoRecording();
         lifeCycle.stop(() -> {
             if (recordGazeMovements != null) {
                 gameContextScene.removeEventFilter(GazeEvent.ANY, recordGazeMovements);
@@ -295,22 +261,31 @@ public class Stats implements GazeMotionListener {
             if (recordMouseMovements != null) {
                 gameContextScene.removeEventFilter(MouseEvent.ANY, recordMouseMovements);
             }
+            if (heatMap != null) {
+                heatMap.stop();
+            }
+            // ends the last fixations, on the FX thread which adds the samples
+            if (fixationDetector != null) {
+                fixationDetector.finish();
+            }
+            movementFixationDetector.finish();
         });
     }
 
     @Override
     public void gazeMoved(javafx.geometry.Point2D position) {
-        final int positionX = (int) position.getX();
-        final int positionY = (int) position.getY();
-        incHeatMap(positionX, positionY);
-        incFixationSequence(positionX, positionY);
+        gazeMoved(position.getX(), position.getY());
     }
 
-    private void saveImageAsPng(BufferedImage bufferedImage, File outputFile) {
-        try {
-            ImageIO.write(bufferedImage, "png", outputFile);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+    @Override
+    public void gazeMoved(double x, double y) {
+        final int positionX = (int) x;
+        final int positionY = (int) y;
+        incGazeSamples(positionX, positionY, SessionRecording.SOURCE_GAZE);
+        incHeatMap(positionX, positionY);
+        incFixationSequence(positionX, positionY);
+        if (videoRecorder != null) {
+            videoRecorder.gazeMoved(positionX, positionY);
         }
     }
 
@@ -321,63 +296,43 @@ public class Stats implements GazeMotionListener {
         final String gazeMetricsFilePrefix = Utils.now() + "-metrics";
         final String screenShotFilePrefix = Utils.now() + "-screenshot";
         final String colorBandsFilePrefix = Utils.now() + "-colorBands";
+        final String sessionFilePrefix = Utils.now() + "-session";
 
         File gazeMetricsFile = new File(todayDirectory, gazeMetricsFilePrefix + ".png");
         File heatMapCsvFile = new File(todayDirectory, heatmapFilePrefix + ".csv");
         File screenShotFile = new File(todayDirectory, screenShotFilePrefix + ".png");
         File colorBandsFile = new File(todayDirectory, colorBandsFilePrefix + "png");
-
-        BufferedImage screenshotImage = SwingFXUtils.fromFXImage(gameScreenShot, null);
-        saveImageAsPng(screenshotImage, screenShotFile);
-
-        BufferedImage bImage = new BufferedImage(
-                screenshotImage.getWidth() + (heatMap != null ? screenshotImage.getWidth() / 20 + 10 : 0),
-                screenshotImage.getHeight(), screenshotImage.getType());
-
-        Graphics g = bImage.getGraphics();
-        g.setColor(Color.BLACK);
-        g.fillRect(0, 0, bImage.getWidth(), bImage.getHeight());
-        g.drawImage(screenshotImage, 0, 0, null);
+        File sessionFile = new File(todayDirectory, sessionFilePrefix + SessionFile.EXTENSION);
 
         SavedStatsInfo savedStatsInfo = new SavedStatsInfo(heatMapCsvFile, gazeMetricsFile, screenShotFile,
-                colorBandsFile);
+                colorBandsFile, sessionFile);
 
         this.savedStatsInfo = savedStatsInfo;
-        if (this.heatMap != null) {
-            HeatMap hm = new HeatMap(heatMap, config.getHeatMapOpacity(), config.getHeatMapColors());
-            BufferedImage heatmapImage = SwingFXUtils.fromFXImage(hm.getImage(), null);
-            Kernel kernel = new Kernel(3, 3,
-                    new float[] { 1 / 16f, 1 / 8f, 1 / 16f, 1 / 8f, 1 / 4f, 1 / 8f, 1 / 16f, 1 / 8f, 1 / 16f });
-            BufferedImageOp op = new ConvolveOp(kernel);
-            heatmapImage = op.filter(heatmapImage, null);
-            g.drawImage(heatmapImage, 0, 0, screenshotImage.getWidth(), screenshotImage.getHeight(), null);
-
-            BufferedImage key = SwingFXUtils.fromFXImage(hm.getColorKey(bImage.getWidth() / 20, bImage.getHeight() / 2),
-                    null);
-            g.drawImage(key, bImage.getWidth() - key.getWidth(), (bImage.getHeight() - key.getHeight()) / 2, null);
-
-            saveHeatMapAsCsv(heatMapCsvFile);
-        }
 
+        final HeatMapAccumulator heatMap = this.heatMap;
+        final double[][] heatMapData = heatMap != null ? heatMap.toArray() : null;
+
+        final GazeRecording fixations = this.fixationSequence;
+        FixationSequence scanpath = null;
         if (this.fixationSequence != null) {
-            // set the gazeDuration of the last Fixation Point
-            fixationSequence.get(fixationSequence.size() - 1)
-                    .setGazeDuration(fixationSequence.get(fixationSequence.size() - 1).getFirstGaze()
-                            - fixationSequence.get(fixationSequence.size() - 2).getFirstGaze());
-            FixationSequence scanpath = new FixationSequence((int) gameContextScene.getWidth(),
-                    (int) gameContextScene.getHeight(), fixationSequence);
+            scanpath = new FixationSequence(fixationSequence);
             fixationSequence = scanpath.getSequence();
-            BufferedImage seqImage = SwingFXUtils.fromFXImage(scanpath.getImage(), null);
-            g.drawImage(seqImage, 0, 0, screenshotImage.getWidth(), screenshotImage.getHeight(), null);
         }
-        // for (FixationPoint p : fixationSequence) {
-        // log.info("x = {}, y = {}, fGaze= {}, gDuration={}",p.getY(), p.getX(), p.getFirstGaze(),
-        // p.getGazeDuration());
-        // }
 
-        saveImageAsPng(bImage, gazeMetricsFile);
+        SessionRecording sessionRecording = null;
+        if (gazeSamples != null) {
+            sessionRecording = new SessionRecording(gameName, startTime, (int) gameContextScene.getWidth(),
+                    (int) gameContextScene.getHeight(), gazeSamples, fixations, heatMapData,
+                    new ArrayList<>(roundsDurationReport.getOriginalDurationsBetweenGoals()),
+                    targetAOIList != null ? new ArrayList<>(targetAOIList) : null);
+        }
+
+        // the files are rendered and written in background, savedStatsInfo.getFilesReady() completes once done
+        StatsImageRenderer renderer = new StatsImageRenderer(gameScreenShot, heatMapData, config.getHeatMapOpacity(),
+                config.getHeatMapColors(), scanpath, (int) gameContextScene.getWidth(),
+                (int) gameContextScene.getHeight(), sessionRecording, config.isSessionRecordingCompressed());
+        renderer.render(savedStatsInfo).whenComplete((result, throwable) -> savedStatsInfo.notifyFilesReady());
 
-        savedStatsInfo.notifyFilesReady();
         return savedStatsInfo;
     }
 
@@ -473,86 +428,35 @@ public class Stats implements GazeMotionListener {
         this.roundsDurationReport.printLengthBetweenGoalsToString(out);
     }
 
-    private void saveHeatMapAsCsv(File file) throws IOException {
-        try (PrintWriter out = new PrintWriter(file, "UTF-8")) {
-            for (int i = 0; i < heatMap.length; i++) {
-                for (int j = 0; j < heatMap[0].length - 1; j++) {
-                    out.print((int) heatMap[i][j]);
-                    out.print(", ");
-                }
-                out.print((int) heatMap[i][heatMap[i].length - 1]);
-                out.println("");
-            }
+    private void incFixationSequence(int X, int Y) {
+        if (fixationDetector != null) {
+            fixationDetector.addSample(System.currentTimeMillis() - startTime, X, Y);
         }
     }
 
-    private void saveFixationSequenceAsPng(File outputPngFile) {
-
-        // log.info(String.format("Fixation-Sequence size: %3d X %3d",
-        // (int) (gameContextScene.getWidth() / heatMapPixelSize),
-        // (int) (gameContextScene.getHeight() / heatMapPixelSize)));
-
-        // FixationSequence sequence = new FixationSequence((int) (gameContextScene.getWidth() / heatMapPixelSize),
-        // (int) (gameContextScene.getHeight() / heatMapPixelSize), fixationSequence);
-        FixationSequence scanpath = new FixationSequence((int) gameContextScene.getWidth(),
-                (int) gameContextScene.getHeight(), fixationSequence);
-        try {
-            scanpath.saveToFile(outputPngFile);
-        } catch (Exception e) {
-            log.error("Exception", e);
-        }
+    /**
+     * Adds a detected fixation to the sequence, with the coordinates swapped
+     */
+    private void addFixation(FixationDetector.Fixation fixation) {
+        fixationSequence.add(fixation.getStartTime(), fixation.getDuration(), fixation.getY(), fixation.getX());
     }
 
-    private void incFixationSequence(int X, int Y) {
-
-        long previousGaze;
-        long gazeDuration;
-
-        // int x = (int) (Y / heatMapPixelSize);
-        // int y = (int) (X / heatMapPixelSize);
-        int x = Y;
-        int y = X;
-        FixationPoint newGazePoint;
+    private void addMovement(long timeInterval, int x, int y) {
+        final long time = System.currentTimeMillis();
+        movementHistory.add(time, timeInterval, x, y);
+        movementFixationDetector.addSample(time, x, y);
+    }
 
-        if (fixationSequence.size() == 0) {
-            newGazePoint = new FixationPoint(0, 0, x, y);
-            fixationSequence.add(newGazePoint);
-        } else {
-            newGazePoint = new FixationPoint(System.currentTimeMillis() - startTime, 0, x, y);
-            gazeDuration = newGazePoint.getFirstGaze()
-                    - (fixationSequence.get(fixationSequence.size() - 1)).getFirstGaze();
-            (fixationSequence.get(fixationSequence.size() - 1)).setGazeDuration(gazeDuration);
-        }
-        // if the new points coordinates are the same as last one's in the list then update the last fixationPoint in
-        // the list
-        // same coordinate points are a result of the eyetracker's frequency of sampling
-        if (fixationSequence.size() > 1
-                && (newGazePoint.getX() == fixationSequence.get(fixationSequence.size() - 1).getX())
-                && (newGazePoint.getY() == fixationSequence.get(fixationSequence.size() - 1).getY())) {
-            long gDuration = fixationSequence.get(fixationSequence.size() - 1).getGazeDuration();
-            fixationSequence.get(fixationSequence.size() - 1)
-                    .setGazeDuration(newGazePoint.getGazeDuration() + gDuration); //
-        } else { // else add the new point in the list
-            fixationSequence.add(newGazePoint);
+    private void incGazeSamples(int X, int Y, int source) {
+        if (gazeSamples != null) {
+            gazeSamples.add(System.currentTimeMillis() - startTime, source, X, Y);
         }
     }
 
     private void incHeatMap(int X, int Y) {
         currentGazeTime = System.currentTimeMillis();
-        // in heatChart, x and y are opposed
-        int x = (int) (Y / heatMapPixelSize);
-        int y = (int) (X / heatMapPixelSize);
-        for (int i = -trail; i <= trail; i++)
-            for (int j = -trail; j <= trail; j++) {
-                if (Math.sqrt(i * i + j * j) < trail) {
-                    inc(x + i, y + j);
-                }
-            }
-    }
-
-    private void inc(int x, int y) {
-        if (heatMap != null && x >= 0 && y >= 0 && x < heatMap.length && y < heatMap[0].length) {
-            heatMap[x][y]++;
+        if (heatMap != null) {
+            heatMap.add(X, Y);
         }
     }
 
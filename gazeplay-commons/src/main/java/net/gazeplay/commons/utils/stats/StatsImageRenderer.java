@@ -0,0 +1,266 @@
+package net.gazeplay.commons.utils.stats;
+
+import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.commons.threads.BackgroundExecutors;
+import net.gazeplay.commons.utils.FixationSequence;
+import net.gazeplay.commons.utils.HeatMap;
+import net.gazeplay.commons.utils.RasterOperations;
+
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.LinearGradientPaint;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.DecimalFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Renders and writes the files of a {@link SavedStatsInfo} outside of the FX thread.
+ *
+ * The images are built with Java2D and int rasters only : the heatmap is colorized through the lookup table of
+ * {@link HeatMap} and blurred by {@link RasterOperations}, both split over the cores, and the PNG and CSV files are
+ * written concurrently, as well as the {@link SessionFile}. The returned future completes once all the files are
+ * written.
+ */
+@Slf4j
+public class StatsImageRenderer {
+
+    private static final int[] HEATMAP_BLUR_WEIGHTS = { 1, 2, 1 };
+
+    private static final int WRITER_THREADS = 4;
+
+    private static final ExecutorService executorService = BackgroundExecutors
+            .newBackgroundExecutor("StatsRenderer", WRITER_THREADS);
+
+    private final Image screenshot;
+
+    private final double[][] heatMapData;
+
+    private final double heatMapOpacity;
+
+    private final List<Color> heatMapColors;
+
+    private final FixationSequence fixationSequence;
+
+    private final int width;
+
+    private final int height;
+
+    private final SessionRecording sessionRecording;
+
+    private final boolean sessionCompressed;
+
+    /**
+     * @param heatMapData
+     *            the heatmap grid, indexed by row then column, or null if there is no heatmap
+     * @param fixationSequence
+     *            the scanpath, or null if there is none
+     * @param width
+     *            the width of the scene
+     * @param height
+     *            the height of the scene
+     * @param sessionRecording
+     *            the content of the session file, or null if it is not written
+     */
+    public StatsImageRenderer(Image screenshot, double[][] heatMapData, double heatMapOpacity,
+            List<Color> heatMapColors, FixationSequence fixationSequence, int width, int height,
+            SessionRecording sessionRecording, boolean sessionCompressed) {
+        this.screenshot = screenshot;
+        this.heatMapData = heatMapData;
+        this.heatMapOpacity = heatMapOpacity;
+        this.heatMapColors = heatMapColors;
+        this.fixationSequence = fixationSequence;
+        this.width = width;
+        this.height = height;
+        this.sessionRecording = sessionRecording;
+        this.sessionCompressed = sessionCompressed;
+    }
+
+    /**
+     * Heatmap image at the resolution of the grid, with the range of values for its color key.
+     */
+    private static final class HeatMapLayer {
+
+        private final BufferedImage image;
+
+        private final double minValue;
+
+        private final double maxValue;
+
+        private HeatMapLayer(BufferedImage image, double minValue, double maxValue) {
+            this.image = image;
+            this.minValue = minValue;
+            this.maxValue = maxValue;
+        }
+    }
+
+    public CompletableFuture<Void> render(SavedStatsInfo savedStatsInfo) {
+        final long start = System.currentTimeMillis();
+
+        final CompletableFuture<BufferedImage> screenshotImage = CompletableFuture
+                .supplyAsync(() -> SwingFXUtils.fromFXImage(screenshot, null), executorService);
+        final CompletableFuture<Void> screenshotWritten = screenshotImage
+                .thenAcceptAsync(image -> writePng(image, savedStatsInfo.getScreenshotFile()), executorService);
+
+        final CompletableFuture<HeatMapLayer> heatMapLayer;
+        final CompletableFuture<Void> heatMapCsvWritten;
+        if (heatMapData != null) {
+            heatMapLayer = CompletableFuture.supplyAsync(this::renderHeatMap, executorService);
+            heatMapCsvWritten = CompletableFuture.runAsync(() -> writeCsv(savedStatsInfo.getHeatMapCsvFile()),
+                    executorService);
+        } else {
+            heatMapLayer = CompletableFuture.completedFuture(null);
+            heatMapCsvWritten = CompletableFuture.completedFuture(null);
+        }
+
+        final CompletableFuture<BufferedImage> fixationSequenceImage = fixationSequence != null
+                ? CompletableFuture.supplyAsync(() -> fixationSequence.render(width, height), executorService)
+                : CompletableFuture.completedFuture(null);
+
+        final CompletableFuture<Void> gazeMetricsWritten = CompletableFuture
+                .allOf(screenshotImage, heatMapLayer, fixationSequenceImage)
+                .thenApplyAsync(v -> composeGazeMetrics(screenshotImage.join(), heatMapLayer.join(),
+                        fixationSequenceImage.join()), executorService)
+                .thenAcceptAsync(image -> writePng(image, savedStatsInfo.getGazeMetricsFile()), executorService);
+
+        final CompletableFuture<Void> sessionWritten = sessionRecording != null
+                ? CompletableFuture.runAsync(() -> writeSession(savedStatsInfo.getSessionFile()), executorService)
+                : CompletableFuture.completedFuture(null);
+
+        return CompletableFuture.allOf(screenshotWritten, heatMapCsvWritten, gazeMetricsWritten, sessionWritten)
+                .whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        log.error("Failed to save the stats images", throwable);
+                    } else {
+                        log.info("Stats images saved in {} ms", System.currentTimeMillis() - start);
+                    }
+                });
+    }
+
+    private BufferedImage composeGazeMetrics(BufferedImage screenshotImage, HeatMapLayer heatMapLayer,
+            BufferedImage fixationSequenceImage) {
+        BufferedImage bImage = new BufferedImage(
+                screenshotImage.getWidth() + (heatMapLayer != null ? screenshotImage.getWidth() / 20 + 10 : 0),
+                screenshotImage.getHeight(), BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D g = bImage.createGraphics();
+        g.setColor(java.awt.Color.BLACK);
+        g.fillRect(0, 0, bImage.getWidth(), bImage.getHeight());
+        g.drawImage(screenshotImage, 0, 0, null);
+
+        if (heatMapLayer != null) {
+            g.drawImage(heatMapLayer.image, 0, 0, screenshotImage.getWidth(), screenshotImage.getHeight(), null);
+
+            BufferedImage key = renderColorKey(bImage.getWidth() / 20, bImage.getHeight() / 2, heatMapLayer);
+            g.drawImage(key, bImage.getWidth() - key.getWidth(), (bImage.getHeight() - key.getHeight()) / 2, null);
+        }
+
+        if (fixationSequenceImage != null) {
+            g.drawImage(fixationSequenceImage, 0, 0, screenshotImage.getWidth(), screenshotImage.getHeight(), null);
+        }
+        g.dispose();
+        return bImage;
+    }
+
+    private HeatMapLayer renderHeatMap() {
+        final HeatMap heatMap = new HeatMap(heatMapData, heatMapOpacity, heatMapColors);
+        final int columns = heatMap.getWidth();
+        final int rows = heatMap.getHeight();
+
+        BufferedImage image = new BufferedImage(columns, rows, BufferedImage.TYPE_INT_ARGB);
+        final int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        System.arraycopy(heatMap.getArgbRaster(), 0, pixels, 0, pixels.length);
+        RasterOperations.convolve(pixels, columns, rows, HEATMAP_BLUR_WEIGHTS, false);
+
+        return new HeatMapLayer(image, heatMap.getMinValue(), heatMap.getMaxValue());
+    }
+
+    private BufferedImage renderColorKey(int width, int height, HeatMapLayer heatMapLayer) {
+        BufferedImage keyImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D gc = keyImage.createGraphics();
+        gc.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        gc.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        final int colorCount = heatMapColors.size();
+        float[] fractions = new float[colorCount];
+        java.awt.Color[] stops = new java.awt.Color[colorCount];
+        for (int i = 0; i < colorCount; i++) {
+            fractions[i] = (float) i / (float) (colorCount - 1);
+            stops[i] = toAwtColor(heatMapColors.get(colorCount - 1 - i));
+        }
+
+        double margin = height / 20;
+        double barHeight = height - 2 * margin;
+        gc.setPaint(new LinearGradientPaint(0, (float) margin, width / 3f, (float) (margin + barHeight), fractions,
+                stops));
+        gc.fillRect(0, (int) margin, width / 3, (int) barHeight);
+
+        gc.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, (int) Math.max(1, margin)));
+        gc.setStroke(new BasicStroke(1));
+        FontMetrics metrics = gc.getFontMetrics();
+
+        DecimalFormat numberFormat = new DecimalFormat("#.00");
+        final double subdivisionValue = (heatMapLayer.maxValue - heatMapLayer.minValue) / (colorCount - 1);
+
+        for (int i = 0; i < colorCount; i++) {
+            int y = (int) (margin + (double) i / (double) (colorCount - 1) * barHeight);
+            gc.setColor(java.awt.Color.BLACK);
+            gc.drawLine(0, y, width / 3, y);
+            gc.setColor(java.awt.Color.WHITE);
+            gc.drawString(numberFormat.format(heatMapLayer.maxValue - (i * subdivisionValue)), width / 3 + 5,
+                    y + (metrics.getAscent() - metrics.getDescent()) / 2);
+        }
+        gc.dispose();
+        return keyImage;
+    }
+
+    private static java.awt.Color toAwtColor(Color color) {
+        return new java.awt.Color((float) color.getRed(), (float) color.getGreen(), (float) color.getBlue(),
+                (float) color.getOpacity());
+    }
+
+    private void writeCsv(File file) {
+        try {
+            SessionFile.writeHeatMapCsv(heatMapData, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeSession(File file) {
+        try {
+            SessionFile.write(sessionRecording, file, sessionCompressed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes to a temporary file first, so that a viewer never loads a partially written image.
+     */
+    private static void writePng(BufferedImage image, File outputFile) {
+        File temporaryFile = new File(outputFile.getParentFile(), outputFile.getName() + ".tmp");
+        try {
+            ImageIO.write(image, "png", temporaryFile);
+            Files.move(temporaryFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+package net.gazeplay.commons.gaze.devicemanager;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Per sample hit-testing cost with 10, 100 and 1000 registered nodes, linear scan versus grid lookup. The lookups
+ * are checked by {@link GazeHitGridTest}.
+ *
+ * Not run by the default build, run it with : mvn -pl gazeplay-commons test -Dtest=GazeHitGridBenchmark
+ */
+@Slf4j
+public class GazeHitGridBenchmark {
+
+    private static final double SCREEN_WIDTH = 1920;
+
+    private static final double SCREEN_HEIGHT = 1080;
+
+    private static final int SAMPLES = 200_000;
+
+    private static final class Box {
+        private final double minX;
+        private final double minY;
+        private final double maxX;
+        private final double maxY;
+
+        private Box(double minX, double minY, double maxX, double maxY) {
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+        }
+
+        private boolean contains(double x, double y) {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY;
+        }
+    }
+
+    @Test
+    public void benchmarkHitTesting() {
+        for (int nodeCount : new int[] { 10, 100, 1000 }) {
+            run(nodeCount);
+        }
+    }
+
+    private void run(int nodeCount) {
+        final Random random = new Random(nodeCount);
+
+        // roughly the layout of a WhereIsIt grid : node size shrinks as node count grows
+        final double side = Math.max(8, Math.sqrt(SCREEN_WIDTH * SCREEN_HEIGHT / nodeCount));
+        final List<Box> boxes = new ArrayList<>();
+        final GazeHitGrid<Box> grid = new GazeHitGrid<>();
+        for (int i = 0; i < nodeCount; i++) {
+            double x = random.nextDouble() * (SCREEN_WIDTH - side);
+            double y = random.nextDouble() * (SCREEN_HEIGHT - side);
+            Box box = new Box(x, y, x + side, y + side);
+            boxes.add(box);
+            grid.put(box, box.minX, box.minY, box.maxX, box.maxY);
+        }
+
+        final double[] xs = new double[SAMPLES];
+        final double[] ys = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            xs[i] = random.nextDouble() * SCREEN_WIDTH;
+            ys[i] = random.nextDouble() * SCREEN_HEIGHT;
+        }
+
+        final List<Box> candidates = new ArrayList<>();
+
+        // warm up both paths before measuring
+        int linearHits = linear(boxes, xs, ys);
+        int gridHits = indexed(grid, candidates, xs, ys);
+        assertEquals(linearHits, gridHits);
+
+        long start = System.nanoTime();
+        linear(boxes, xs, ys);
+        final double linearNanosPerSample = (double) (System.nanoTime() - start) / SAMPLES;
+
+        start = System.nanoTime();
+        indexed(grid, candidates, xs, ys);
+        final double gridNanosPerSample = (double) (System.nanoTime() - start) / SAMPLES;
+
+        log.info("{} nodes : linear scan {} ns/sample, grid {} ns/sample", nodeCount,
+                String.format("%.1f", linearNanosPerSample), String.format("%.1f", gridNanosPerSample));
+    }
+
+    private static int linear(List<Box> boxes, double[] xs, double[] ys) {
+        int hits = 0;
+        for (int i = 0; i < xs.length; i++) {
+            for (Box box : boxes) {
+                if (box.contains(xs[i], ys[i])) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    private static int indexed(GazeHitGrid<Box> grid, List<Box> candidates, double[] xs, double[] ys) {
+        int hits = 0;
+        for (int i = 0; i < xs.length; i++) {
+            candidates.clear();
+            grid.query(xs[i], ys[i], candidates);
+            for (Box box : candidates) {
+                if (box.contains(xs[i], ys[i])) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+}
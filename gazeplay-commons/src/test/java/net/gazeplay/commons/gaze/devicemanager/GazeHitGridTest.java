@@ -0,0 +1,136 @@
+package net.gazeplay.commons.gaze.devicemanager;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GazeHitGridTest {
+
+    private static final double SCREEN_WIDTH = 1920;
+
+    private static final double SCREEN_HEIGHT = 1080;
+
+    private static final class Box {
+        private double minX;
+        private double minY;
+        private double maxX;
+        private double maxY;
+
+        private Box(double minX, double minY, double maxX, double maxY) {
+            moveTo(minX, minY, maxX, maxY);
+        }
+
+        private void moveTo(double minX, double minY, double maxX, double maxY) {
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+        }
+
+        private boolean contains(double x, double y) {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY;
+        }
+    }
+
+    @Test
+    public void queryReturnsEveryBoxContainingThePoint() {
+        for (int nodeCount : new int[] { 10, 100, 1000 }) {
+            final Random random = new Random(nodeCount);
+            final List<Box> boxes = new ArrayList<>();
+            final GazeHitGrid<Box> grid = new GazeHitGrid<>();
+            final double side = Math.max(8, Math.sqrt(SCREEN_WIDTH * SCREEN_HEIGHT / nodeCount));
+            for (int i = 0; i < nodeCount; i++) {
+                final double x = random.nextDouble() * (SCREEN_WIDTH - side);
+                final double y = random.nextDouble() * (SCREEN_HEIGHT - side);
+                final Box box = new Box(x, y, x + side, y + side);
+                boxes.add(box);
+                grid.put(box, box.minX, box.minY, box.maxX, box.maxY);
+            }
+            assertHits(boxes, grid, random);
+
+            // half of the boxes move, some of them across cells
+            for (int i = 0; i < nodeCount; i += 2) {
+                final Box box = boxes.get(i);
+                final double x = random.nextDouble() * (SCREEN_WIDTH - side);
+                final double y = random.nextDouble() * (SCREEN_HEIGHT - side);
+                box.moveTo(x, y, x + side, y + side);
+                grid.put(box, box.minX, box.minY, box.maxX, box.maxY);
+            }
+            assertHits(boxes, grid, random);
+            assertEquals(nodeCount, grid.size());
+        }
+    }
+
+    @Test
+    public void oversizedItemsAreReturnedEverywhere() {
+        final GazeHitGrid<Box> grid = new GazeHitGrid<>();
+        final Box background = new Box(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+        final Box small = new Box(10, 10, 20, 20);
+        grid.put(background, background.minX, background.minY, background.maxX, background.maxY);
+        grid.put(small, small.minX, small.minY, small.maxX, small.maxY);
+
+        final List<Box> candidates = new ArrayList<>();
+        grid.query(15, 15, candidates);
+        assertEquals(2, candidates.size());
+        assertTrue(candidates.contains(background));
+        assertTrue(candidates.contains(small));
+
+        candidates.clear();
+        grid.query(SCREEN_WIDTH - 1, SCREEN_HEIGHT - 1, candidates);
+        assertEquals(1, candidates.size());
+        assertTrue(candidates.contains(background));
+    }
+
+    @Test
+    public void removedAndEmptyItemsAreNotReturned() {
+        final GazeHitGrid<Box> grid = new GazeHitGrid<>();
+        final Box removed = new Box(0, 0, 100, 100);
+        final Box empty = new Box(0, 0, 100, 100);
+        grid.put(removed, 0, 0, 100, 100);
+        grid.put(empty, 0, 0, 100, 100);
+        grid.remove(removed);
+        grid.put(empty, 100, 100, 0, 0);
+
+        final List<Box> candidates = new ArrayList<>();
+        grid.query(50, 50, candidates);
+        assertTrue(candidates.isEmpty());
+        // an empty item stays registered
+        assertEquals(1, grid.size());
+
+        grid.clear();
+        assertEquals(0, grid.size());
+    }
+
+    private static void assertHits(List<Box> boxes, GazeHitGrid<Box> grid, Random random) {
+        final List<Box> candidates = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            final double x = random.nextDouble() * SCREEN_WIDTH;
+            final double y = random.nextDouble() * SCREEN_HEIGHT;
+            final Set<Box> expected = new HashSet<>();
+            for (Box box : boxes) {
+                if (box.contains(x, y)) {
+                    expected.add(box);
+                }
+            }
+            candidates.clear();
+            grid.query(x, y, candidates);
+            // each candidate at most once
+            assertEquals(candidates.size(), new HashSet<>(candidates).size());
+            final Set<Box> hits = new HashSet<>();
+            for (Box box : candidates) {
+                if (box.contains(x, y)) {
+                    hits.add(box);
+                }
+            }
+            assertEquals(expected, hits);
+        }
+    }
+
+}
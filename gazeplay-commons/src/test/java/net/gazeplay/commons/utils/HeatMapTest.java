@@ -0,0 +1,92 @@
+package net.gazeplay.commons.utils;
+
+import javafx.animation.Interpolator;
+import javafx.scene.paint.Color;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class HeatMapTest {
+
+    private static final int ROWS = 45;
+
+    private static final int COLUMNS = 80;
+
+    private static final double OPACITY = 0.7;
+
+    private static final List<Color> COLORS = Arrays.asList(Color.BLUE, Color.LIME, Color.YELLOW, Color.RED);
+
+    /**
+     * The lookup table must give the colors of the former interpolation, within its resolution, with the minimum
+     * shifted to zero since the former one took the position in the subdivision from a modulo on the raw value. The
+     * modulo also wraps the maximum back to the start of the last subdivision, it is not compared.
+     */
+    @Test
+    public void lookupTableGivesTheColorsOfTheFormerInterpolation() {
+        final Random random = new Random(42);
+        final double[][] data = new double[ROWS][COLUMNS];
+        double minValue = Double.MAX_VALUE;
+        double maxValue = Double.MIN_VALUE;
+        for (double[] row : data) {
+            for (int column = 0; column < COLUMNS; column++) {
+                row[column] = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(5000);
+                if (row[column] != 0) {
+                    minValue = Math.min(minValue, row[column]);
+                    maxValue = Math.max(maxValue, row[column]);
+                }
+            }
+        }
+        final double subdivisionValue = (maxValue - minValue) / (COLORS.size() - 1);
+
+        final int[] raster = new HeatMap(data, OPACITY, COLORS).getArgbRaster();
+        assertEquals(ROWS * COLUMNS, raster.length);
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 0; column < COLUMNS; column++) {
+                final double value = data[row][column];
+                if (value == maxValue) {
+                    continue;
+                }
+                final int expected = value == 0 ? 0 : toArgb(legacyColor(value - minValue, 0, subdivisionValue));
+                final int actual = raster[row * COLUMNS + column];
+                for (int shift = 0; shift < 32; shift += 8) {
+                    assertEquals((expected >>> shift) & 0xFF, (actual >>> shift) & 0xFF, 3);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void extremesTakeTheFirstAndLastColors() {
+        final double[][] data = { { 0, 10, 40 } };
+        final int[] raster = new HeatMap(data, 1, COLORS).getArgbRaster();
+        assertEquals(0, raster[0]);
+        assertEquals(toArgb(Color.color(0, 0, 1, 1)), raster[1]);
+        assertEquals(toArgb(Color.color(1, 0, 0, 1)), raster[2]);
+    }
+
+    private static Color legacyColor(double value, double minValue, double subdivisionValue) {
+        double compValue = minValue + subdivisionValue;
+        int i = 0;
+        while (i < COLORS.size() - 2 && value >= compValue) {
+            i++;
+            compValue += subdivisionValue;
+        }
+        double red = Interpolator.LINEAR.interpolate(COLORS.get(i).getRed(), COLORS.get(i + 1).getRed(),
+                (value % subdivisionValue) / subdivisionValue);
+        double green = Interpolator.LINEAR.interpolate(COLORS.get(i).getGreen(), COLORS.get(i + 1).getGreen(),
+                (value % subdivisionValue) / subdivisionValue);
+        double blue = Interpolator.LINEAR.interpolate(COLORS.get(i).getBlue(), COLORS.get(i + 1).getBlue(),
+                (value % subdivisionValue) / subdivisionValue);
+        return Color.color(red, green, blue, OPACITY);
+    }
+
+    private static int toArgb(Color color) {
+        return (int) Math.round(color.getOpacity() * 255) << 24 | (int) Math.round(color.getRed() * 255) << 16
+                | (int) Math.round(color.getGreen() * 255) << 8 | (int) Math.round(color.getBlue() * 255);
+    }
+
+}
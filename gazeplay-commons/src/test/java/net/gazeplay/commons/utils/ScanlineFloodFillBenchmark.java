@@ -0,0 +1,67 @@
+package net.gazeplay.commons.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Flood fill of a 4000 x 3000 colouring image, the span fill versus a fill pixel by pixel through a queue. The fills
+ * and their undo are checked by {@link ScanlineFloodFillTest}.
+ *
+ * Not run by the default build, run it with : mvn -pl gazeplay-commons test -Dtest=ScanlineFloodFillBenchmark
+ */
+@Slf4j
+public class ScanlineFloodFillBenchmark {
+
+    private static final int WIDTH = 4000;
+
+    private static final int HEIGHT = 3000;
+
+    private static final int WHITE = 0xFFFFFFFF;
+
+    private static final int ITERATIONS = 10;
+
+    @Test
+    public void benchmarkLargeImage() {
+        final Random random = new Random(42);
+        final int[] original = ScanlineFloodFillTest.colouringImage(WIDTH, HEIGHT, random, 60);
+        final int[] pixels = original.clone();
+        final ScanlineFloodFill floodFill = new ScanlineFloodFill(pixels, WIDTH, HEIGHT, 0);
+
+        // the whole background, around the drawing, then zones of the drawing
+        final int[] seedsX = new int[ITERATIONS];
+        final int[] seedsY = new int[ITERATIONS];
+        for (int i = 1; i < ITERATIONS; i++) {
+            do {
+                seedsX[i] = random.nextInt(WIDTH);
+                seedsY[i] = random.nextInt(HEIGHT);
+            } while (original[seedsY[i] * WIDTH + seedsX[i]] != WHITE);
+        }
+
+        for (int pass = 0; pass < 3; pass++) {
+            System.arraycopy(original, 0, pixels, 0, pixels.length);
+            long start = System.nanoTime();
+            long filled = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                filled += floodFill.fill(seedsX[i], seedsY[i], 0xFF000000 | (pass * ITERATIONS + i + 1), 0);
+            }
+            final long spanNanos = System.nanoTime() - start;
+
+            final int[] expected = original.clone();
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                ScanlineFloodFillTest.fillPixelByPixel(expected, WIDTH, HEIGHT, seedsX[i], seedsY[i],
+                        0xFF000000 | (pass * ITERATIONS + i + 1), 0);
+            }
+            final long pixelNanos = System.nanoTime() - start;
+
+            assertArrayEquals(expected, pixels);
+            log.info("{} x {}, {} pixels in {} fills : span fill {} ms, pixel by pixel {} ms", WIDTH, HEIGHT, filled,
+                    ITERATIONS, spanNanos / 1_000_000, pixelNanos / 1_000_000);
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+package net.gazeplay.commons.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ScanlineFloodFillTest {
+
+    private static final int WHITE = 0xFFFFFFFF;
+
+    private static final int BLACK = 0xFF000000;
+
+    /**
+     * The span fill must fill the same pixels as a fill pixel by pixel, and undoing the fills must give back the
+     * original image.
+     */
+    @Test
+    public void sameFillAsPixelByPixel() {
+        final Random random = new Random(42);
+        for (int image = 0; image < 20; image++) {
+            final int width = 50 + random.nextInt(100);
+            final int height = 50 + random.nextInt(100);
+            final int[] original = colouringImage(width, height, random, 5 + random.nextInt(20));
+            // a few grey pixels, within the tolerance of the white or not
+            for (int i = 0; i < width * height / 50; i++) {
+                final int grey = 255 - random.nextInt(16);
+                original[random.nextInt(width * height)] = 0xFF000000 | grey << 16 | grey << 8 | grey;
+            }
+            final int tolerance = random.nextInt(10);
+
+            final int[] pixels = original.clone();
+            final int[] expected = original.clone();
+            final ScanlineFloodFill floodFill = new ScanlineFloodFill(pixels, width, height, 100);
+            for (int fill = 0; fill < 30; fill++) {
+                final int x = random.nextInt(width);
+                final int y = random.nextInt(height);
+                final int color = 0xFF000000 | random.nextInt(0x1000000);
+                final int filled = floodFill.fill(x, y, color, tolerance);
+                assertEquals(fillPixelByPixel(expected, width, height, x, y, color, tolerance), filled);
+                assertArrayEquals(expected, pixels);
+                if (filled > 0) {
+                    assertDirtyRegion(floodFill, expected, width);
+                }
+            }
+
+            while (floodFill.canUndo()) {
+                assertTrue(floodFill.undo());
+            }
+            assertFalse(floodFill.undo());
+            assertArrayEquals(original, pixels);
+        }
+    }
+
+    private static void assertDirtyRegion(ScanlineFloodFill floodFill, int[] current, int width) {
+        final ScanlineFloodFill.Region region = floodFill.getDirtyRegion();
+        for (int y = 0; y < region.getHeight(); y++) {
+            for (int x = 0; x < region.getWidth(); x++) {
+                assertEquals(current[(region.getY() + y) * width + region.getX() + x],
+                        region.getPixels()[y * region.getWidth() + x]);
+            }
+        }
+    }
+
+    /**
+     * White image with the black outlines of overlapping circles, one pixel thick, like the drawings of the colors
+     * game.
+     */
+    static int[] colouringImage(int width, int height, Random random, int circles) {
+        final int[] pixels = new int[width * height];
+        Arrays.fill(pixels, WHITE);
+        for (int i = 0; i < circles; i++) {
+            final int centerX = random.nextInt(width);
+            final int centerY = random.nextInt(height);
+            final int radius = 5 + random.nextInt(Math.min(width, height) / 3);
+            final int steps = (int) (2 * Math.PI * radius * 2);
+            for (int step = 0; step < steps; step++) {
+                final double angle = 2 * Math.PI * step / steps;
+                final int x = centerX + (int) Math.round(radius * Math.cos(angle));
+                final int y = centerY + (int) Math.round(radius * Math.sin(angle));
+                if (x >= 0 && x < width && y >= 0 && y < height) {
+                    pixels[y * width + x] = BLACK;
+                    // thick enough to close the outline for the 4-connected fill
+                    if (x + 1 < width) {
+                        pixels[y * width + x + 1] = BLACK;
+                    }
+                }
+            }
+        }
+        return pixels;
+    }
+
+    /**
+     * Reference fill, visiting the 4 neighbours of each pixel.
+     */
+    static int fillPixelByPixel(int[] pixels, int width, int height, int seedX, int seedY, int newColor,
+            int tolerance) {
+        final int seedColor = pixels[seedY * width + seedX];
+        final int squaredTolerance = tolerance * tolerance;
+        if (ScanlineFloodFill.squaredDistance(seedColor, newColor) <= squaredTolerance) {
+            return 0;
+        }
+        final boolean[] visited = new boolean[width * height];
+        final int[] queue = new int[width * height];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = seedY * width + seedX;
+        visited[seedY * width + seedX] = true;
+        while (head < tail) {
+            final int index = queue[head++];
+            pixels[index] = newColor;
+            final int x = index % width;
+            final int y = index / width;
+            final int[] neighbours = { x > 0 ? index - 1 : -1, x < width - 1 ? index + 1 : -1,
+                    y > 0 ? index - width : -1, y < height - 1 ? index + width : -1 };
+            for (int neighbour : neighbours) {
+                if (neighbour >= 0 && !visited[neighbour]
+                        && ScanlineFloodFill.squaredDistance(pixels[neighbour], seedColor) <= squaredTolerance) {
+                    visited[neighbour] = true;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return tail;
+    }
+
+}
@@ -0,0 +1,162 @@
+package net.gazeplay.commons.utils.games;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Soak run of the collision world with the load of the space game : 30 minutes of ticks at 60 frames per second, 15
+ * enemies moving sideways, a bullet of the player every 20 ticks crossing the screen in 3 seconds, and the bullets of
+ * the enemies. The time per tick and the heap are logged for every 5 minutes window, they must stay flat. The pairs
+ * found by the sweep are checked by {@link CollisionWorldTest}.
+ *
+ * Not run by the default build, run it with : mvn -pl gazeplay-commons test -Dtest=CollisionWorldBenchmark
+ */
+@Slf4j
+public class CollisionWorldBenchmark {
+
+    private static final int TICKS_PER_SECOND = 60;
+
+    private static final int TICKS = 30 * 60 * TICKS_PER_SECOND;
+
+    private static final int WINDOW = 5 * 60 * TICKS_PER_SECOND;
+
+    private static final double WIDTH = 1920;
+
+    private static final double HEIGHT = 1080;
+
+    private static final int BULLET_LAYER = 0;
+
+    private static final int ENEMY_LAYER = 1;
+
+    private static final int ENEMY_BULLET_LAYER = 2;
+
+    private static final int SPACESHIP_LAYER = 3;
+
+    private static final class Item {
+
+        private double x;
+        private double y;
+        private final double width;
+        private final double height;
+        private final double speedX;
+        private final double speedY;
+
+        private Item(double x, double y, double width, double height, double speedX, double speedY) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.speedX = speedX;
+            this.speedY = speedY;
+        }
+    }
+
+    @Test
+    public void soak() {
+        final Random random = new Random(42);
+        final CollisionWorld<Item> world = new CollisionWorld<>(null);
+        final List<Item> enemies = new ArrayList<>();
+        final Deque<Item> bullets = new ArrayDeque<>();
+        final Deque<Item> enemyBullets = new ArrayDeque<>();
+        final int[] hits = new int[2];
+
+        world.addListener(BULLET_LAYER, ENEMY_LAYER, (bullet, enemy) -> {
+            hits[0]++;
+            world.remove(bullet);
+            bullets.remove(bullet);
+            world.remove(enemy);
+            enemies.remove(enemy);
+        });
+        world.addListener(ENEMY_BULLET_LAYER, SPACESHIP_LAYER, (bullet, spaceship) -> {
+            hits[1]++;
+            world.remove(bullet);
+            enemyBullets.remove(bullet);
+        });
+
+        final Item spaceship = new Item(WIDTH / 2, 6 * HEIGHT / 7, WIDTH / 8, HEIGHT / 7, 0, 0);
+        world.add(spaceship, SPACESHIP_LAYER);
+
+        final Runtime runtime = Runtime.getRuntime();
+        long windowStart = System.nanoTime();
+        final long[] windowNanos = new long[TICKS / WINDOW];
+        final long[] windowHeap = new long[TICKS / WINDOW];
+
+        for (int tick = 0; tick < TICKS; tick++) {
+            while (enemies.size() < 15) {
+                Item enemy = new Item(random.nextDouble() * WIDTH, random.nextDouble() * HEIGHT / 4, WIDTH / 20,
+                        HEIGHT / 10, (random.nextDouble() - 0.5) * 8, 0);
+                enemies.add(enemy);
+                world.add(enemy, ENEMY_LAYER);
+            }
+            if (tick % 20 == 0) {
+                Item bullet = new Item(spaceship.x + spaceship.width / 2, spaceship.y, 10, 20, 0,
+                        -HEIGHT / (3 * TICKS_PER_SECOND));
+                bullets.add(bullet);
+                world.add(bullet, BULLET_LAYER);
+            }
+            for (Item enemy : enemies) {
+                if (random.nextInt(1200) == 1) {
+                    Item bullet = new Item(enemy.x + enemy.width / 2, enemy.y, 10, 20, 0,
+                            HEIGHT / (15 * TICKS_PER_SECOND));
+                    enemyBullets.add(bullet);
+                    world.add(bullet, ENEMY_BULLET_LAYER);
+                }
+            }
+
+            spaceship.x = WIDTH / 2 + Math.sin(tick / 100.0) * WIDTH / 3;
+            move(world, spaceship);
+            for (Item enemy : enemies) {
+                move(world, enemy);
+            }
+            for (Item bullet : bullets) {
+                move(world, bullet);
+            }
+            for (Item bullet : enemyBullets) {
+                move(world, bullet);
+            }
+            // the bullets leave the screen in the order they were shot
+            while (!bullets.isEmpty() && bullets.peekFirst().y < -20) {
+                world.remove(bullets.pollFirst());
+            }
+            while (!enemyBullets.isEmpty() && enemyBullets.peekFirst().y > HEIGHT) {
+                world.remove(enemyBullets.pollFirst());
+            }
+
+            world.update();
+
+            if ((tick + 1) % WINDOW == 0) {
+                final int window = tick / WINDOW;
+                final long now = System.nanoTime();
+                windowNanos[window] = (now - windowStart) / WINDOW;
+                windowStart = now;
+                System.gc();
+                windowHeap[window] = runtime.totalMemory() - runtime.freeMemory();
+                log.info("minutes {}-{} : {} ns/tick, {} items, heap {} KB", window * 5, window * 5 + 5,
+                        windowNanos[window], world.size(), windowHeap[window] / 1024);
+            }
+        }
+
+        log.info("{} hits on the enemies, {} on the spaceship", hits[0], hits[1]);
+        assertTrue(world.size() < 100);
+        // no growth between the first and the last window, with some margin for the noise of the measures
+        assertTrue(windowHeap[windowHeap.length - 1] < windowHeap[0] + 1024 * 1024);
+    }
+
+    private static void move(CollisionWorld<Item> world, Item item) {
+        item.x += item.speedX;
+        item.y += item.speedY;
+        if (item.x < 0 || item.x + item.width > WIDTH) {
+            item.x = Math.max(0, Math.min(WIDTH - item.width, item.x));
+        }
+        world.setBounds(item, item.x, item.y, item.x + item.width, item.y + item.height);
+    }
+
+}
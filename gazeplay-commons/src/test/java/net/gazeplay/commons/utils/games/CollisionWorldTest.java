@@ -0,0 +1,210 @@
+package net.gazeplay.commons.utils.games;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CollisionWorldTest {
+
+    private static final double WIDTH = 1920;
+
+    private static final double HEIGHT = 1080;
+
+    private static final int BULLET_LAYER = 0;
+
+    private static final int ENEMY_LAYER = 1;
+
+    private static final int WALL_LAYER = 2;
+
+    private static final class Item {
+
+        private double x;
+        private double y;
+        private final double width;
+        private final double height;
+        private final double speedX;
+        private final double speedY;
+
+        private Item(double x, double y, double width, double height, double speedX, double speedY) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.speedX = speedX;
+            this.speedY = speedY;
+        }
+    }
+
+    @Test
+    public void sameCollisionsAsBruteForce() {
+        final Random random = new Random(7);
+        final CollisionWorld<Item> world = new CollisionWorld<>(null);
+        final Set<String> found = new HashSet<>();
+        world.addListener(BULLET_LAYER, ENEMY_LAYER, (bullet, enemy) -> found.add(bullet + "/" + enemy));
+
+        final List<Item> bullets = new ArrayList<>();
+        final List<Item> enemies = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final boolean bullet = i % 2 == 0;
+            final Item item = new Item(random.nextDouble() * WIDTH, random.nextDouble() * HEIGHT,
+                    10 + random.nextDouble() * 100, 10 + random.nextDouble() * 100, (random.nextDouble() - 0.5) * 20,
+                    (random.nextDouble() - 0.5) * 20);
+            (bullet ? bullets : enemies).add(item);
+            world.add(item, bullet ? BULLET_LAYER : ENEMY_LAYER);
+        }
+
+        for (int tick = 0; tick < 100; tick++) {
+            for (Item bullet : bullets) {
+                move(world, bullet);
+            }
+            for (Item enemy : enemies) {
+                move(world, enemy);
+            }
+            found.clear();
+            world.update();
+
+            final Set<String> expected = new HashSet<>();
+            for (Item bullet : bullets) {
+                for (Item enemy : enemies) {
+                    if (bullet.x <= enemy.x + enemy.width && enemy.x <= bullet.x + bullet.width
+                            && bullet.y <= enemy.y + enemy.height && enemy.y <= bullet.y + bullet.height) {
+                        expected.add(bullet + "/" + enemy);
+                    }
+                }
+            }
+            assertEquals(expected, found);
+        }
+    }
+
+    @Test
+    public void listenersGetTheItemOfTheirFirstLayerFirst() {
+        final CollisionWorld<Item> world = new CollisionWorld<>(null);
+        final Item bullet = new Item(0, 0, 10, 10, 0, 0);
+        final Item enemy = new Item(5, 5, 10, 10, 0, 0);
+        final List<Item> calls = new ArrayList<>();
+        world.addListener(ENEMY_LAYER, BULLET_LAYER, (first, second) -> {
+            calls.add(first);
+            calls.add(second);
+        });
+        world.add(bullet, BULLET_LAYER);
+        world.add(enemy, ENEMY_LAYER);
+        move(world, bullet);
+        move(world, enemy);
+
+        world.update();
+        assertEquals(2, calls.size());
+        assertTrue(calls.get(0) == enemy && calls.get(1) == bullet);
+
+        // still overlapping on the next update
+        world.update();
+        assertEquals(4, calls.size());
+    }
+
+    @Test
+    public void itemsRemovedByAListenerAreNotReportedAgain() {
+        final CollisionWorld<Item> world = new CollisionWorld<>(null);
+        final Item bullet = new Item(0, 0, 10, 10, 0, 0);
+        final Item firstEnemy = new Item(5, 0, 10, 10, 0, 0);
+        final Item secondEnemy = new Item(8, 0, 10, 10, 0, 0);
+        final List<Item> hits = new ArrayList<>();
+        world.addListener(BULLET_LAYER, ENEMY_LAYER, (b, enemy) -> {
+            hits.add(enemy);
+            world.remove(b);
+        });
+        // an other listener of the same pair of layers is not called for the removed bullet
+        world.addListener(BULLET_LAYER, ENEMY_LAYER, (b, enemy) -> hits.add(b));
+        for (Item item : new Item[] { bullet, firstEnemy, secondEnemy }) {
+            world.add(item, item == bullet ? BULLET_LAYER : ENEMY_LAYER);
+            move(world, item);
+        }
+
+        world.update();
+        assertEquals(1, hits.size());
+        assertFalse(world.contains(bullet));
+        assertEquals(2, world.size());
+
+        world.update();
+        assertEquals(1, hits.size());
+    }
+
+    @Test
+    public void boundsComeFromTheProvider() {
+        final Map<Item, Bounds> bounds = new IdentityHashMap<>();
+        final CollisionWorld<Item> world = new CollisionWorld<>(bounds::get);
+        final Item bullet = new Item(0, 0, 0, 0, 0, 0);
+        final Item wall = new Item(0, 0, 0, 0, 0, 0);
+        final int[] hits = new int[1];
+        world.addListener(BULLET_LAYER, WALL_LAYER, (b, w) -> hits[0]++);
+        world.add(bullet, BULLET_LAYER);
+        world.add(wall, WALL_LAYER);
+
+        bounds.put(bullet, new BoundingBox(0, 0, 10, 10));
+        bounds.put(wall, new BoundingBox(100, 0, 10, 10));
+        world.update();
+        assertEquals(0, hits[0]);
+
+        bounds.put(bullet, new BoundingBox(95, 0, 10, 10));
+        world.update();
+        assertEquals(1, hits[0]);
+
+        // empty and missing bounds never collide
+        bounds.put(bullet, new BoundingBox(95, 0, -1, 10));
+        world.update();
+        bounds.remove(bullet);
+        world.update();
+        assertEquals(1, hits[0]);
+    }
+
+    @Test
+    public void addingToAnotherLayerMovesTheItem() {
+        final CollisionWorld<Item> world = new CollisionWorld<>(null);
+        final Item item = new Item(0, 0, 10, 10, 0, 0);
+        final Item wall = new Item(0, 0, 10, 10, 0, 0);
+        final int[] hits = new int[1];
+        world.addListener(ENEMY_LAYER, WALL_LAYER, (enemy, w) -> hits[0]++);
+        world.add(item, BULLET_LAYER);
+        world.add(wall, WALL_LAYER);
+        move(world, item);
+        move(world, wall);
+        world.update();
+        assertEquals(0, hits[0]);
+
+        world.add(item, ENEMY_LAYER);
+        move(world, item);
+        world.update();
+        assertEquals(1, hits[0]);
+        assertEquals(2, world.size());
+
+        world.clear();
+        assertEquals(0, world.size());
+        world.update();
+        assertEquals(1, hits[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsALayerOutOfRange() {
+        new CollisionWorld<Item>(null).add(new Item(0, 0, 1, 1, 0, 0), CollisionWorld.MAX_LAYERS);
+    }
+
+    private static void move(CollisionWorld<Item> world, Item item) {
+        item.x += item.speedX;
+        item.y += item.speedY;
+        if (item.x < 0 || item.x + item.width > WIDTH) {
+            item.x = Math.max(0, Math.min(WIDTH - item.width, item.x));
+        }
+        world.setBounds(item, item.x, item.y, item.x + item.width, item.y + item.height);
+    }
+
+}
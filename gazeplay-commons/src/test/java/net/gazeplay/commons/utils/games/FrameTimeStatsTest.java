@@ -0,0 +1,56 @@
+package net.gazeplay.commons.utils.games;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class FrameTimeStatsTest {
+
+    private static final long FRAME_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1) / 60;
+
+    @Test
+    public void percentilesAndDroppedFrames() {
+        final FrameTimeStats frameTimeStats = new FrameTimeStats(FRAME_PERIOD_NANOS);
+        for (int i = 0; i < 98; i++) {
+            frameTimeStats.record(FRAME_PERIOD_NANOS);
+        }
+        // a frame of 2 periods and a frame of 4 periods, 1 + 3 frames dropped
+        frameTimeStats.record(2 * FRAME_PERIOD_NANOS);
+        frameTimeStats.record(4 * FRAME_PERIOD_NANOS);
+
+        assertEquals(100, frameTimeStats.getFrameCount());
+        assertEquals(4, frameTimeStats.getDroppedFrames());
+        assertEquals(16.7, frameTimeStats.getPercentileMillis(50), 0.05);
+        assertEquals(33.4, frameTimeStats.getPercentileMillis(99), 0.05);
+        assertEquals(66.7, frameTimeStats.getPercentileMillis(100), 0.05);
+    }
+
+    @Test
+    public void jitterIsNotADroppedFrame() {
+        final FrameTimeStats frameTimeStats = new FrameTimeStats(FRAME_PERIOD_NANOS);
+        frameTimeStats.record(FRAME_PERIOD_NANOS * 3 / 2 - 1);
+        frameTimeStats.record(FRAME_PERIOD_NANOS / 3);
+        assertEquals(0, frameTimeStats.getDroppedFrames());
+        frameTimeStats.record(FRAME_PERIOD_NANOS * 3 / 2);
+        assertEquals(1, frameTimeStats.getDroppedFrames());
+    }
+
+    @Test
+    public void framesLongerThanTheHistogramGiveTheMaximum() {
+        final FrameTimeStats frameTimeStats = new FrameTimeStats(FRAME_PERIOD_NANOS);
+        assertEquals(0, frameTimeStats.getPercentileMillis(50), 0);
+        frameTimeStats.record(FRAME_PERIOD_NANOS);
+        frameTimeStats.record(TimeUnit.MILLISECONDS.toNanos(250));
+        assertEquals(250, frameTimeStats.getPercentileMillis(100), 0);
+        assertEquals(250, frameTimeStats.getMaxFrameNanos() / 1e6, 0);
+
+        frameTimeStats.reset();
+        assertEquals(0, frameTimeStats.getFrameCount());
+        assertEquals(0, frameTimeStats.getDroppedFrames());
+        assertEquals(0, frameTimeStats.getMaxFrameNanos());
+        assertEquals(0, frameTimeStats.getPercentileMillis(100), 0);
+    }
+
+}
@@ -0,0 +1,82 @@
+package net.gazeplay.commons.utils.games;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the game loop tools do not allocate in steady state : 10 minutes of steps at 60 per second, spawning
+ * and removing bullets through an {@link ObjectPool} at the rate of the space game, and recording the frame times. The
+ * pool and the frame time stats themselves are checked by {@link ObjectPoolTest} and {@link FrameTimeStatsTest}.
+ *
+ * Not run by the default build, run it with : mvn -pl gazeplay-commons test -Dtest=GameLoopBenchmark
+ */
+@Slf4j
+public class GameLoopBenchmark {
+
+    private static final long FRAME_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1) / 60;
+
+    private static final int STEPS = 10 * 60 * 60;
+
+    private static final class Bullet {
+
+        private double y;
+
+        private double speed;
+    }
+
+    @Test
+    public void steadyStateDoesNotAllocate() {
+        final Random random = new Random(42);
+        final ObjectPool<Bullet> pool = new ObjectPool<>(Bullet::new, 16);
+        final List<Bullet> bullets = new ArrayList<>(64);
+        final FrameTimeStats frameTimeStats = new FrameTimeStats(FRAME_PERIOD_NANOS);
+
+        // warm up, so that the pool and the list reach their size and the code is compiled
+        long allocatedBytes = 0;
+        int maxAlive = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            final long start = allocatedBytes();
+            for (int step = 0; step < STEPS; step++) {
+                if (step % 20 == 0 || random.nextInt(80) == 0) {
+                    final Bullet bullet = pool.acquire();
+                    bullet.y = 1000;
+                    bullet.speed = 1 + random.nextInt(5);
+                    bullets.add(bullet);
+                    maxAlive = Math.max(maxAlive, bullets.size());
+                }
+                for (int i = bullets.size() - 1; i >= 0; i--) {
+                    final Bullet bullet = bullets.get(i);
+                    bullet.y -= bullet.speed;
+                    if (bullet.y < 0) {
+                        bullets.remove(i);
+                        pool.release(bullet);
+                    }
+                }
+                frameTimeStats.record(FRAME_PERIOD_NANOS - 500_000 + random.nextInt(1_000_000));
+            }
+            allocatedBytes = allocatedBytes() - start;
+        }
+
+        log.info("{} bullets created by the pool, {} bytes allocated in {} steps of steady state",
+                pool.getCreatedCount(), allocatedBytes, STEPS);
+        // the pool only grows up to the number of bullets alive at the same time
+        assertEquals(Math.max(16, maxAlive), pool.getCreatedCount());
+        // the JVM itself allocates a few hundred bytes on the thread while compiling, but nothing per step
+        assertTrue(allocatedBytes < STEPS / 10);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+}
@@ -0,0 +1,42 @@
+package net.gazeplay.commons.utils.games;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ObjectPoolTest {
+
+    @Test
+    public void reusesTheReleasedObjects() {
+        final ObjectPool<Object> pool = new ObjectPool<>(Object::new, 2);
+        assertEquals(2, pool.getCreatedCount());
+        assertEquals(2, pool.getFreeCount());
+
+        final Object first = pool.acquire();
+        pool.release(first);
+        assertSame(first, pool.acquire());
+        assertEquals(2, pool.getCreatedCount());
+    }
+
+    @Test
+    public void growsToTheObjectsAliveAtTheSameTime() {
+        final ObjectPool<Object> pool = new ObjectPool<>(Object::new, 0);
+        final List<Object> alive = new ArrayList<>();
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 5; i++) {
+                alive.add(pool.acquire());
+            }
+            for (Object item : alive) {
+                pool.release(item);
+            }
+            alive.clear();
+        }
+        assertEquals(5, pool.getCreatedCount());
+        assertEquals(5, pool.getFreeCount());
+    }
+
+}
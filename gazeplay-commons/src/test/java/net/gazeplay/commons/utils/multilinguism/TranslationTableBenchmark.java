@@ -0,0 +1,76 @@
+package net.gazeplay.commons.utils.multilinguism;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads multilinguism.csv of gazeplay-data by parsing it and from its binary form, then translates all its keys. The
+ * translations are checked by {@link TranslationTableTest}.
+ *
+ * Not run by the default build, run it with : mvn -pl gazeplay-commons test -Dtest=TranslationTableBenchmark
+ */
+@Slf4j
+public class TranslationTableBenchmark {
+
+    private static final int RUNS = 50;
+
+    @Test
+    public void loadAndTranslate() throws IOException {
+        final String csv = new String(Files.readAllBytes(TranslationTableTest.CSV), StandardCharsets.UTF_8);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            TranslationTable.readCsv(new StringReader(csv)).writeBinary(output);
+        }
+        final byte[] binary = bytes.toByteArray();
+
+        long csvNanos = Long.MAX_VALUE;
+        long binaryNanos = Long.MAX_VALUE;
+        TranslationTable fromCsv = null;
+        TranslationTable fromBinary = null;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            fromCsv = TranslationTable.readCsv(new StringReader(csv));
+            csvNanos = Math.min(csvNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            fromBinary = TranslationTable.readBinary(new DataInputStream(new ByteArrayInputStream(binary)));
+            binaryNanos = Math.min(binaryNanos, System.nanoTime() - start);
+        }
+
+        final String[] languages = csv.substring(0, csv.indexOf('\n')).split(",");
+        final List<String> keys = new ArrayList<>();
+        for (String line : csv.split("\n")) {
+            keys.add(line.split(",")[0]);
+        }
+
+        long lookups = 0;
+        final long start = System.nanoTime();
+        for (int run = 0; run < RUNS; run++) {
+            for (String key : keys) {
+                for (String language : languages) {
+                    if (fromBinary.translate(key, language) != null) {
+                        lookups++;
+                    }
+                }
+            }
+        }
+        final long lookupNanos = System.nanoTime() - start;
+
+        log.info("{} keys, {} languages : csv parsed in {} ms, binary ({} KB) read in {} ms, {} ns per translation",
+                fromCsv.getKeysCount(), fromCsv.getLanguagesCount(), csvNanos / 1_000_000, binary.length / 1024,
+                binaryNanos / 1_000_000, lookupNanos / Math.max(1, lookups));
+    }
+
+}
@@ -0,0 +1,114 @@
+package net.gazeplay.commons.utils.multilinguism;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TranslationTableTest {
+
+    static final Path CSV = Paths.get("..", "gazeplay-data", "src", "main", "resources", "data", "multilinguism",
+            "multilinguism.csv");
+
+    /**
+     * The translations of multilinguism.csv, parsed and from the binary form, must be the ones of the former parsing
+     * into a map keyed by key and language.
+     */
+    @Test
+    public void sameTranslationsAsTheFormerParsing() throws IOException {
+        final String csv = new String(Files.readAllBytes(CSV), StandardCharsets.UTF_8);
+        final Map<String, String> expected = parseWithSplit(csv);
+        final TranslationTable fromCsv = TranslationTable.readCsv(new StringReader(csv));
+        final TranslationTable fromBinary = toBinaryAndBack(fromCsv);
+
+        final String[] lines = csv.split("\n");
+        final String[] languages = lines[0].split(",");
+        for (int line = 1; line < lines.length; line++) {
+            final String key = lines[line].split(",")[0];
+            for (int language = 1; language < languages.length; language++) {
+                final String translation = expected.get(key + "," + languages[language]);
+                assertEquals(translation, fromCsv.translate(key, languages[language]));
+                assertEquals(translation, fromBinary.translate(key, languages[language]));
+            }
+        }
+        assertEquals(fromCsv.getKeysCount(), fromBinary.getKeysCount());
+        assertEquals(languages.length - 1, fromBinary.getLanguagesCount());
+    }
+
+    @Test
+    public void missingTranslationsAreNull() throws IOException {
+        final TranslationTable table = TranslationTable.readCsv(
+                new StringReader("key,fra,eng,deu\nhello,bonjour,hello,hallo\nbye,,bye\nhello,salut\n"));
+        for (TranslationTable t : new TranslationTable[] { table, toBinaryAndBack(table) }) {
+            assertEquals(2, t.getKeysCount());
+            assertEquals(3, t.getLanguagesCount());
+            // the last line of a key replaces the translations it gives
+            assertEquals("salut", t.translate("hello", "fra"));
+            assertEquals("hallo", t.translate("hello", "deu"));
+            assertEquals("", t.translate("bye", "fra"));
+            assertNull(t.translate("bye", "deu"));
+            assertNull(t.translate("thanks", "eng"));
+            assertNull(t.translate("hello", "ita"));
+        }
+    }
+
+    @Test
+    public void emptyFileHasNoTranslation() throws IOException {
+        final TranslationTable table = TranslationTable.readCsv(new StringReader(""));
+        assertEquals(0, table.getKeysCount());
+        assertNull(table.translate("hello", "eng"));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsAnotherBinary() throws IOException {
+        final byte[] bytes = { 1, 2, 3, 4, 5, 6, 7, 8 };
+        TranslationTable.readBinary(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    public void binaryNameReplacesTheExtension() {
+        assertEquals("multilinguism.bin", TranslationTable.binaryName("multilinguism.csv"));
+        assertEquals("translations.bin", TranslationTable.binaryName("translations"));
+    }
+
+    static TranslationTable toBinaryAndBack(TranslationTable table) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            table.writeBinary(output);
+        }
+        return TranslationTable.readBinary(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    /**
+     * The parsing of I18N before the translation table
+     */
+    private static Map<String, String> parseWithSplit(String csv) {
+        final Map<String, String> translations = new HashMap<>();
+        String[] languages = null;
+        for (String line : csv.split("\n")) {
+            if (languages == null) {
+                languages = line.split(",");
+            } else {
+                final String[] data = line.split(",");
+                for (int i = 1; i < data.length; i++) {
+                    translations.put(data[0] + "," + languages[i], data[i]);
+                }
+            }
+        }
+        return translations;
+    }
+
+}
@@ -0,0 +1,53 @@
+package net.gazeplay.commons.utils.stats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Areas of interest of synthetic sessions of 10 000 and 100 000 movements, fixations around a few spots revisited
+ * along the session, combined through the grid versus by comparing all the pairs of areas. The combined areas and the
+ * convex hulls are checked by {@link AreaOfInterestClusteringTest}.
+ *
+ * Not run by the default build, run it with : mvn -pl gazeplay-commons test -Dtest=AreaOfInterestClusteringBenchmark
+ */
+@Slf4j
+public class AreaOfInterestClusteringBenchmark {
+
+    @Test
+    public void session10k() {
+        benchmark(10_000);
+    }
+
+    @Test
+    public void session100k() {
+        benchmark(100_000);
+    }
+
+    private static void benchmark(int size) {
+        final GazeRecording movements = AreaOfInterestClusteringTest.syntheticSession(size, new Random(size));
+        final List<FixationDetector.Fixation> fixations = AreaOfInterestClusteringTest.detectFixations(movements);
+
+        for (boolean convexHull : new boolean[] { true, false }) {
+            final AreaOfInterestClustering clustering = new AreaOfInterestClustering(convexHull);
+            // warm up
+            clustering.compute(movements, fixations);
+
+            long start = System.nanoTime();
+            final AreaOfInterestClustering.Result result = clustering.compute(movements, fixations);
+            final long indexedNanos = System.nanoTime() - start;
+
+            final List<AreaOfInterestClustering.Area> areas = result.getAreas();
+            start = System.nanoTime();
+            AreaOfInterestClusteringTest.allPairsGroups(clustering, areas);
+            final long allPairsNanos = System.nanoTime() - start;
+
+            log.info("{} movements, {} areas, {} combined areas, {} : indexed {} ms, all pairs comparison {} ms", size,
+                    areas.size(), result.getCombinedAreas().size(), convexHull ? "convex hulls" : "rectangles",
+                    indexedNanos / 1_000_000, allPairsNanos / 1_000_000);
+        }
+    }
+
+}
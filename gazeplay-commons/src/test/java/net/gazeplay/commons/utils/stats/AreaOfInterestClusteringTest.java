@@ -0,0 +1,159 @@
+package net.gazeplay.commons.utils.stats;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AreaOfInterestClusteringTest {
+
+    private static final int SPOTS = 40;
+
+    /**
+     * The areas combined through the grid must be the ones combined by comparing all the pairs of areas, and the
+     * convex hulls must contain their movements.
+     */
+    @Test
+    public void sameCombinedAreasAsAllPairs() {
+        final GazeRecording movements = syntheticSession(5_000, new Random(42));
+        final List<FixationDetector.Fixation> fixations = detectFixations(movements);
+        for (boolean convexHull : new boolean[] { true, false }) {
+            final AreaOfInterestClustering clustering = new AreaOfInterestClustering(convexHull);
+            final AreaOfInterestClustering.Result result = clustering.compute(movements, fixations);
+            final List<AreaOfInterestClustering.Area> areas = result.getAreas();
+            assertTrue(areas.size() > SPOTS);
+            assertTrue(result.getCombinedAreas().size() < areas.size());
+
+            final int[] groups = new int[areas.size()];
+            for (AreaOfInterestClustering.CombinedArea combinedArea : result.getCombinedAreas()) {
+                for (int area : combinedArea.getAreas()) {
+                    groups[area] = combinedArea.getAreas()[0];
+                }
+            }
+            assertArrayEquals(allPairsGroups(clustering, areas), groups);
+            if (convexHull) {
+                checkHulls(movements, areas);
+            }
+        }
+    }
+
+    @Test
+    public void convexHullOfSquare() {
+        final int[] xs = { 0, 10, 5, 10, 0, 5 };
+        final int[] ys = { 0, 0, 5, 10, 10, 0 };
+        assertArrayEquals(new double[] { 0, 0, 10, 0, 10, 10, 0, 10 },
+                AreaOfInterestClustering.convexHull(xs, ys, xs.length), 0);
+    }
+
+    @Test
+    public void intersectionOfSquares() {
+        final double[] first = { 0, 0, 10, 0, 10, 10, 0, 10 };
+        // clockwise
+        final double[] second = { 5, 15, 15, 15, 15, 5, 5, 5 };
+        final double[] intersection = AreaOfInterestClustering.intersectConvex(first, second);
+        assertEquals(8, intersection.length);
+        for (int i = 0; i < intersection.length; i++) {
+            assertTrue(intersection[i] == 5 || intersection[i] == 10);
+        }
+        assertEquals(0, AreaOfInterestClustering.intersectConvex(first, new double[] { 20, 20, 30, 20, 30, 30 })
+                .length);
+    }
+
+    /**
+     * @return the fixations detected during the session
+     */
+    static List<FixationDetector.Fixation> detectFixations(GazeRecording movements) {
+        final List<FixationDetector.Fixation> fixations = new ArrayList<>();
+        final FixationDetector detector = AreaOfInterestClustering.createMovementDetector();
+        detector.addListener(fixations::add);
+        for (int i = 0; i < movements.size(); i++) {
+            detector.addSample(movements.getTime(i), movements.getX(i), movements.getY(i));
+        }
+        detector.finish();
+        return fixations;
+    }
+
+    /**
+     * @return the first area of the group of each area, combining all the pairs of areas which overlap
+     */
+    static int[] allPairsGroups(AreaOfInterestClustering clustering, List<AreaOfInterestClustering.Area> areas) {
+        final int[] groups = new int[areas.size()];
+        for (int i = 0; i < groups.length; i++) {
+            groups[i] = i;
+        }
+        for (int i = 0; i < areas.size(); i++) {
+            for (int j = i + 1; j < areas.size(); j++) {
+                if (clustering.overlaps(areas.get(i), areas.get(j))) {
+                    final int first = groups[i];
+                    final int second = groups[j];
+                    if (first != second) {
+                        final int kept = Math.min(first, second);
+                        final int replaced = Math.max(first, second);
+                        for (int k = 0; k < groups.length; k++) {
+                            if (groups[k] == replaced) {
+                                groups[k] = kept;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return groups;
+    }
+
+    private static void checkHulls(GazeRecording movements, List<AreaOfInterestClustering.Area> areas) {
+        for (AreaOfInterestClustering.Area area : areas) {
+            final double[] hull = area.getOutline();
+            final int first = area.getLastMovement() - area.getFixations() + 1;
+            for (int i = first; i <= area.getLastMovement(); i++) {
+                for (int e = 0; e < hull.length; e += 2) {
+                    final double ax = hull[e];
+                    final double ay = hull[e + 1];
+                    final double bx = hull[(e + 2) % hull.length];
+                    final double by = hull[(e + 3) % hull.length];
+                    // counter-clockwise : every movement is on the left of every edge
+                    final double cross = (bx - ax) * (movements.getY(i) - ay) - (by - ay) * (movements.getX(i) - ax);
+                    assertTrue(Arrays.toString(hull) + " excludes movement " + i, cross >= 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fixations of 5 to 30 movements close to one of a few spots revisited along the session, separated by saccades
+     * out of the screen.
+     */
+    static GazeRecording syntheticSession(int size, Random random) {
+        final int[] spotXs = new int[SPOTS];
+        final int[] spotYs = new int[SPOTS];
+        for (int s = 0; s < SPOTS; s++) {
+            spotXs[s] = 100 + random.nextInt(1720);
+            spotYs[s] = 100 + random.nextInt(880);
+        }
+        final GazeRecording movements = new GazeRecording();
+        long time = 0;
+        while (movements.size() < size) {
+            final int spot = random.nextInt(SPOTS);
+            final int fixationSize = Math.min(size - movements.size(), 5 + random.nextInt(26));
+            final int spread = 10 + random.nextInt(20);
+            for (int i = 0; i < fixationSize; i++) {
+                final long duration = 11 + random.nextInt(40);
+                movements.add(time, duration, spotXs[spot] + random.nextInt(2 * spread + 1) - spread,
+                        spotYs[spot] + random.nextInt(2 * spread + 1) - spread);
+                time += duration;
+            }
+            if (movements.size() < size) {
+                movements.add(time, 5, -500, -500);
+                time += 5;
+            }
+        }
+        return movements;
+    }
+
+}
@@ -0,0 +1,54 @@
+package net.gazeplay.commons.utils.stats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static net.gazeplay.commons.utils.stats.FixationDetectorTest.MAX_DISPERSION;
+import static net.gazeplay.commons.utils.stats.FixationDetectorTest.MAX_VELOCITY;
+import static net.gazeplay.commons.utils.stats.FixationDetectorTest.MIN_DURATION;
+import static net.gazeplay.commons.utils.stats.FixationDetectorTest.MIN_SAMPLES;
+
+/**
+ * Detects the fixations of a synthetic stream of 1 000 000 gaze samples, fixations with noise separated by saccades,
+ * in both modes. The fixations are checked by {@link FixationDetectorTest}.
+ *
+ * Not run by the default build, run it with : mvn -pl gazeplay-commons test -Dtest=FixationDetectorBenchmark
+ */
+@Slf4j
+public class FixationDetectorBenchmark {
+
+    private static final int SAMPLES = 1_000_000;
+
+    @Test
+    public void velocity() {
+        benchmark(() -> FixationDetector.velocity(MAX_VELOCITY, MIN_DURATION, MIN_SAMPLES), new Random(1),
+                "velocity");
+    }
+
+    @Test
+    public void dispersion() {
+        benchmark(() -> FixationDetector.dispersion(MAX_DISPERSION, MIN_DURATION, MIN_SAMPLES), new Random(2),
+                "dispersion");
+    }
+
+    private interface DetectorFactory {
+        FixationDetector create();
+    }
+
+    private static void benchmark(DetectorFactory factory, Random random, String mode) {
+        final FixationDetectorTest.Stream stream = FixationDetectorTest.syntheticStream(SAMPLES, random);
+        List<FixationDetector.Fixation> fixations = null;
+        long bestNanos = Long.MAX_VALUE;
+        for (int run = 0; run < 5; run++) {
+            final long start = System.nanoTime();
+            fixations = FixationDetectorTest.detect(factory.create(), stream);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+        log.info("{} samples, {} fixations in {} mode : {} ns per sample", SAMPLES, fixations.size(), mode,
+                bestNanos / SAMPLES);
+    }
+
+}
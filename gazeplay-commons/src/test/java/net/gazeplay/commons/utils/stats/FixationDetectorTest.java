@@ -0,0 +1,190 @@
+package net.gazeplay.commons.utils.stats;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The fixations detected in a synthetic stream, fixations with noise separated by saccades, must be the ones of
+ * offline detections which recompute the velocity and the dispersion of the whole window at each sample.
+ */
+public class FixationDetectorTest {
+
+    private static final int SAMPLES = 20_000;
+
+    static final double MAX_VELOCITY = 1;
+
+    static final double MAX_DISPERSION = 50;
+
+    static final long MIN_DURATION = 60;
+
+    static final int MIN_SAMPLES = 2;
+
+    @Test
+    public void velocity() {
+        final Stream stream = syntheticStream(SAMPLES, new Random(1));
+        assertFixations(offlineVelocity(stream),
+                detect(FixationDetector.velocity(MAX_VELOCITY, MIN_DURATION, MIN_SAMPLES), stream));
+    }
+
+    @Test
+    public void dispersion() {
+        final Stream stream = syntheticStream(SAMPLES, new Random(2));
+        assertFixations(offlineDispersion(stream),
+                detect(FixationDetector.dispersion(MAX_DISPERSION, MIN_DURATION, MIN_SAMPLES), stream));
+    }
+
+    @Test
+    public void removedListenerIsNotCalled() {
+        final Stream stream = syntheticStream(1_000, new Random(3));
+        final FixationDetector detector = FixationDetector.dispersion(MAX_DISPERSION, MIN_DURATION, MIN_SAMPLES);
+        final List<FixationDetector.Fixation> removed = new ArrayList<>();
+        final FixationDetector.Listener listener = removed::add;
+        detector.addListener(listener);
+        detector.removeListener(listener);
+        assertEquals(offlineDispersion(stream).size(), detect(detector, stream).size());
+        assertEquals(0, removed.size());
+    }
+
+    static List<FixationDetector.Fixation> detect(FixationDetector detector, Stream stream) {
+        final List<FixationDetector.Fixation> detected = new ArrayList<>();
+        detector.addListener(detected::add);
+        for (int i = 0; i < stream.times.length; i++) {
+            detector.addSample(stream.times[i], stream.xs[i], stream.ys[i]);
+        }
+        detector.finish();
+        return detected;
+    }
+
+    static void assertFixations(List<FixationDetector.Fixation> expected,
+            List<FixationDetector.Fixation> fixations) {
+        assertEquals(expected.size(), fixations.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(describe(expected.get(i)), describe(fixations.get(i)));
+        }
+    }
+
+    private static String describe(FixationDetector.Fixation fixation) {
+        return fixation.getFirstSample() + "-" + fixation.getLastSample() + " at " + fixation.getStartTime() + " for "
+                + fixation.getDuration() + " ms (" + fixation.getX() + ", " + fixation.getY() + ")";
+    }
+
+    static List<FixationDetector.Fixation> offlineVelocity(Stream stream) {
+        final List<FixationDetector.Fixation> fixations = new ArrayList<>();
+        int runStart = 0;
+        for (int i = 1; i < stream.times.length; i++) {
+            final double distance = Math.hypot(stream.xs[i] - stream.xs[i - 1], stream.ys[i] - stream.ys[i - 1]);
+            if (distance > MAX_VELOCITY * Math.max(0, stream.times[i] - stream.times[i - 1])) {
+                addIfFixation(fixations, stream, runStart, i - 1, stream.times[i]);
+                runStart = i;
+            }
+        }
+        final int last = stream.times.length - 1;
+        addIfFixation(fixations, stream, runStart, last, stream.times[last]);
+        return fixations;
+    }
+
+    static List<FixationDetector.Fixation> offlineDispersion(Stream stream) {
+        final List<FixationDetector.Fixation> fixations = new ArrayList<>();
+        int windowStart = 0;
+        for (int i = 0; i < stream.times.length; i++) {
+            if (dispersion(stream, windowStart, i) <= MAX_DISPERSION) {
+                continue;
+            }
+            if (isFixation(stream, windowStart, i - 1, stream.times[i])) {
+                addIfFixation(fixations, stream, windowStart, i - 1, stream.times[i]);
+                windowStart = i;
+            } else {
+                while (dispersion(stream, windowStart, i) > MAX_DISPERSION) {
+                    windowStart++;
+                }
+            }
+        }
+        final int last = stream.times.length - 1;
+        addIfFixation(fixations, stream, windowStart, last, stream.times[last]);
+        return fixations;
+    }
+
+    private static double dispersion(Stream stream, int first, int last) {
+        int minX = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        for (int i = first; i <= last; i++) {
+            minX = Math.min(minX, stream.xs[i]);
+            maxX = Math.max(maxX, stream.xs[i]);
+            minY = Math.min(minY, stream.ys[i]);
+            maxY = Math.max(maxY, stream.ys[i]);
+        }
+        return (double) maxX - minX + maxY - minY;
+    }
+
+    private static boolean isFixation(Stream stream, int first, int last, long endTime) {
+        return last - first + 1 >= MIN_SAMPLES && endTime - stream.times[first] >= MIN_DURATION;
+    }
+
+    private static void addIfFixation(List<FixationDetector.Fixation> fixations, Stream stream, int first, int last,
+            long endTime) {
+        if (last < first || !isFixation(stream, first, last, endTime)) {
+            return;
+        }
+        long sumX = 0;
+        long sumY = 0;
+        for (int i = first; i <= last; i++) {
+            sumX += stream.xs[i];
+            sumY += stream.ys[i];
+        }
+        final int count = last - first + 1;
+        fixations.add(new FixationDetector.Fixation(first, last, stream.times[first], endTime - stream.times[first],
+                (int) (sumX / count), (int) (sumY / count)));
+    }
+
+    static class Stream {
+
+        final long[] times;
+
+        final int[] xs;
+
+        final int[] ys;
+
+        Stream(int size) {
+            times = new long[size];
+            xs = new int[size];
+            ys = new int[size];
+        }
+
+    }
+
+    /**
+     * Samples every 8 to 24 ms, fixations of 1 to 60 samples with a noise of up to 20 pixels, and now and then a
+     * sample lost out of the screen.
+     */
+    static Stream syntheticStream(int size, Random random) {
+        final Stream stream = new Stream(size);
+        long time = 0;
+        int i = 0;
+        while (i < size) {
+            final int centerX = random.nextInt(1920);
+            final int centerY = random.nextInt(1080);
+            final int noise = 1 + random.nextInt(20);
+            final int fixationSize = 1 + random.nextInt(60);
+            for (int s = 0; s < fixationSize && i < size; s++, i++) {
+                time += 8 + random.nextInt(17);
+                stream.times[i] = time;
+                if (random.nextInt(100) == 0) {
+                    stream.xs[i] = -1;
+                    stream.ys[i] = -1;
+                } else {
+                    stream.xs[i] = centerX + random.nextInt(2 * noise + 1) - noise;
+                    stream.ys[i] = centerY + random.nextInt(2 * noise + 1) - noise;
+                }
+            }
+        }
+        return stream;
+    }
+
+}
@@ -0,0 +1,106 @@
+package net.gazeplay.commons.utils.stats;
+
+import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.commons.utils.FixationPoint;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Allocated bytes and retained heap of a 30 minutes session at 100 Hz, recorded in the former object lists
+ * (LinkedList of FixationPoint, ArrayList of CoordinatesTracker) versus a {@link GazeRecording}. The recording itself
+ * is checked by {@link GazeRecordingTest}.
+ *
+ * Not run by the default build, run it with : mvn -pl gazeplay-commons test -Dtest=GazeRecordingBenchmark
+ */
+@Slf4j
+public class GazeRecordingBenchmark {
+
+    private static final int SAMPLES = 30 * 60 * 100;
+
+    private static final int ROUNDS = 5;
+
+    private final int[] xs = new int[SAMPLES];
+
+    private final int[] ys = new int[SAMPLES];
+
+    public GazeRecordingBenchmark() {
+        final Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            xs[i] = random.nextInt(1920);
+            ys[i] = random.nextInt(1080);
+        }
+    }
+
+    @Test
+    public void benchmarkRecording() {
+        final long objectBytes = measure("object lists", () -> {
+            LinkedList<FixationPoint> fixationSequence = new LinkedList<>();
+            List<CoordinatesTracker> movementHistory = new ArrayList<>();
+            for (int i = 0; i < SAMPLES; i++) {
+                fixationSequence.add(new FixationPoint(i * 10L, 10, ys[i], xs[i]));
+                movementHistory.add(new CoordinatesTracker(xs[i], ys[i], 10, i * 10L));
+            }
+            assertEquals(SAMPLES, fixationSequence.size());
+            return new Object[] { fixationSequence, movementHistory };
+        });
+
+        final long recordingBytes = measure("gaze recordings", () -> {
+            GazeRecording fixationSequence = new GazeRecording();
+            GazeRecording movementHistory = new GazeRecording();
+            for (int i = 0; i < SAMPLES; i++) {
+                fixationSequence.add(i * 10L, 10, ys[i], xs[i]);
+                movementHistory.add(i * 10L, 10, xs[i], ys[i]);
+            }
+            assertEquals(SAMPLES, fixationSequence.size());
+            return new Object[] { fixationSequence, movementHistory };
+        });
+
+        assertTrue(recordingBytes < objectBytes);
+    }
+
+    /**
+     * @return the bytes allocated by the recording thread for one session
+     */
+    private long measure(String name, Supplier<Object> recording) {
+        final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+
+        long allocated = 0;
+        long retained = 0;
+        long nanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            final long usedBefore = usedHeapAfterGc();
+            final long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+            final long start = System.nanoTime();
+            Object result = recording.get();
+            nanos = System.nanoTime() - start;
+            allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            retained = usedHeapAfterGc() - usedBefore;
+            // keeps the recording reachable until its retained size is measured
+            assertTrue(result != null);
+        }
+
+        log.info("{} : {} samples recorded in {} ms, allocated {} KB ({} bytes/sample), retained {} KB", name,
+                SAMPLES, nanos / 1_000_000, allocated / 1024, allocated / SAMPLES, retained / 1024);
+        return allocated;
+    }
+
+    private static long usedHeapAfterGc() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
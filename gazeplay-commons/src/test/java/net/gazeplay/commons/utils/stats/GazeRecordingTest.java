@@ -0,0 +1,95 @@
+package net.gazeplay.commons.utils.stats;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GazeRecordingTest {
+
+    private static final int POINTS = 3 * GazeRecording.CHUNK_SIZE + 5;
+
+    @Test
+    public void keepsThePointsAcrossChunks() {
+        final GazeRecording recording = new GazeRecording();
+        assertTrue(recording.isEmpty());
+        for (int i = 0; i < POINTS; i++) {
+            recording.add(i * 10L, i % 7, i, -i);
+        }
+        assertEquals(POINTS, recording.size());
+        for (int i = 0; i < POINTS; i++) {
+            assertEquals(i * 10L, recording.getTime(i));
+            assertEquals(i % 7, recording.getDuration(i));
+            assertEquals(i, recording.getX(i));
+            assertEquals(-i, recording.getY(i));
+        }
+
+        recording.setDuration(GazeRecording.CHUNK_SIZE, 1234);
+        assertEquals(1234, recording.getDuration(GazeRecording.CHUNK_SIZE));
+    }
+
+    @Test
+    public void copiesPointsFromAnotherRecording() {
+        final GazeRecording source = new GazeRecording();
+        for (int i = 0; i < 10; i++) {
+            source.add(i, i + 1, i + 2, i + 3);
+        }
+        final GazeRecording copy = new GazeRecording();
+        copy.addFrom(source, 4);
+        copy.addFrom(source, 9);
+        assertEquals(2, copy.size());
+        assertEquals(4, copy.getTime(0));
+        assertEquals(5, copy.getDuration(0));
+        assertEquals(6, copy.getX(0));
+        assertEquals(7, copy.getY(0));
+        assertEquals(12, copy.getY(1));
+    }
+
+    @Test
+    public void copyIsNotChangedByTheNextPoints() {
+        final GazeRecording recording = new GazeRecording();
+        for (int i = 0; i < POINTS; i++) {
+            recording.add(i, i + 1, i + 2, i + 3);
+        }
+        final GazeRecording copy = recording.copy();
+        recording.setDuration(0, 1234);
+        for (int i = 0; i < GazeRecording.CHUNK_SIZE; i++) {
+            recording.add(0, 0, 0, 0);
+        }
+        assertEquals(POINTS, copy.size());
+        assertEquals(1, copy.getDuration(0));
+        for (int i = 0; i < POINTS; i++) {
+            assertEquals(i, copy.getTime(i));
+            assertEquals(i + 3, copy.getY(i));
+        }
+        copy.add(-1, -1, -1, -1);
+        assertEquals(POINTS + 1, copy.size());
+        assertEquals(0, recording.getTime(POINTS));
+        assertTrue(new GazeRecording().copy().isEmpty());
+    }
+
+    @Test
+    public void clearKeepsTheChunks() {
+        final GazeRecording recording = new GazeRecording();
+        for (int i = 0; i < POINTS; i++) {
+            recording.add(i, 0, 0, 0);
+        }
+        final long allocatedBytes = recording.getAllocatedBytes();
+        recording.clear();
+        assertTrue(recording.isEmpty());
+        for (int i = 0; i < POINTS; i++) {
+            recording.add(i, 0, 0, 0);
+        }
+        assertEquals(allocatedBytes, recording.getAllocatedBytes());
+        assertEquals(POINTS - 1, recording.getTime(POINTS - 1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsAnIndexPastTheEnd() {
+        final GazeRecording recording = new GazeRecording();
+        recording.add(0, 0, 0, 0);
+        recording.clear();
+        recording.getX(0);
+    }
+
+}
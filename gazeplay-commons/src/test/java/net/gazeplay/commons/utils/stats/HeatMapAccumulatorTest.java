@@ -0,0 +1,58 @@
+package net.gazeplay.commons.utils.stats;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class HeatMapAccumulatorTest {
+
+    private static final int ROWS = 45;
+
+    private static final int COLUMNS = 80;
+
+    private static final double PIXEL_SIZE = 24;
+
+    /**
+     * The points stamped in background, in several bursts, must give the grid of the points stamped right away.
+     */
+    @Test
+    public void backgroundGivesTheGridOfTheDirectMode() throws InterruptedException {
+        final HeatMapKernel kernel = new HeatMapKernel(3, HeatMapKernel.Weighting.GAUSSIAN);
+        final HeatMapAccumulator direct = new HeatMapAccumulator(ROWS, COLUMNS, PIXEL_SIZE, kernel, false);
+        final HeatMapAccumulator background = new HeatMapAccumulator(ROWS, COLUMNS, PIXEL_SIZE, kernel, true);
+        final Random random = new Random(42);
+        for (int burst = 0; burst < 5; burst++) {
+            for (int i = 0; i < 1_000; i++) {
+                final int x = random.nextInt((int) (COLUMNS * PIXEL_SIZE));
+                final int y = random.nextInt((int) (ROWS * PIXEL_SIZE));
+                direct.add(x, y);
+                background.add(x, y);
+            }
+            Thread.sleep(30);
+        }
+        direct.stop();
+        background.stop();
+
+        final double[][] expected = direct.toArray();
+        final double[][] actual = background.toArray();
+        for (int row = 0; row < ROWS; row++) {
+            assertArrayEquals(expected[row], actual[row], 0);
+        }
+    }
+
+    @Test
+    public void pointsAfterStopAreIgnoredInBackground() {
+        final HeatMapKernel kernel = new HeatMapKernel(1, HeatMapKernel.Weighting.FLAT);
+        final HeatMapAccumulator heatMap = new HeatMapAccumulator(ROWS, COLUMNS, PIXEL_SIZE, kernel, true);
+        heatMap.add(100, 100);
+        heatMap.stop();
+        heatMap.add(200, 200);
+        final double[][] grid = heatMap.toArray();
+        assertEquals(1, grid[(int) (100 / PIXEL_SIZE)][(int) (100 / PIXEL_SIZE)], 0);
+        assertEquals(0, grid[(int) (200 / PIXEL_SIZE)][(int) (200 / PIXEL_SIZE)], 0);
+    }
+
+}
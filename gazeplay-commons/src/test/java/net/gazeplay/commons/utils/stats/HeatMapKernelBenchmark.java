@@ -0,0 +1,95 @@
+package net.gazeplay.commons.utils.stats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Per sample heatmap accumulation cost, former 21x21 loop with a square root per cell versus the precomputed stamp, on
+ * a 400 x 225 grid. The stamps are checked by {@link HeatMapKernelTest}.
+ *
+ * Not run by the default build, run it with : mvn -pl gazeplay-commons test -Dtest=HeatMapKernelBenchmark
+ */
+@Slf4j
+public class HeatMapKernelBenchmark {
+
+    private static final int TRAIL = 10;
+
+    private static final int ROWS = 225;
+
+    private static final int COLUMNS = 400;
+
+    private static final int SAMPLES = 500_000;
+
+    @Test
+    public void benchmarkAccumulation() {
+        final Random random = new Random(42);
+        // some samples near the edges, to exercise the clipping
+        final int[] rows = new int[SAMPLES];
+        final int[] columns = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            rows[i] = random.nextInt(ROWS + 2 * TRAIL) - TRAIL;
+            columns[i] = random.nextInt(COLUMNS + 2 * TRAIL) - TRAIL;
+        }
+
+        final HeatMapKernel flat = new HeatMapKernel(TRAIL, HeatMapKernel.Weighting.FLAT);
+        final HeatMapKernel gaussian = new HeatMapKernel(TRAIL, HeatMapKernel.Weighting.GAUSSIAN);
+
+        double[][] legacyGrid = new double[ROWS][COLUMNS];
+        float[] stampGrid = new float[ROWS * COLUMNS];
+
+        // warm up, and checks the flat stamp against the former loop
+        legacy(legacyGrid, rows, columns);
+        stamp(flat, stampGrid, rows, columns);
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 0; column < COLUMNS; column++) {
+                assertEquals(legacyGrid[row][column], stampGrid[row * COLUMNS + column], 0);
+            }
+        }
+        stamp(gaussian, stampGrid, rows, columns);
+
+        long start = System.nanoTime();
+        legacy(new double[ROWS][COLUMNS], rows, columns);
+        final double legacyNanos = (double) (System.nanoTime() - start) / SAMPLES;
+
+        start = System.nanoTime();
+        stamp(flat, new float[ROWS * COLUMNS], rows, columns);
+        final double flatNanos = (double) (System.nanoTime() - start) / SAMPLES;
+
+        start = System.nanoTime();
+        stamp(gaussian, new float[ROWS * COLUMNS], rows, columns);
+        final double gaussianNanos = (double) (System.nanoTime() - start) / SAMPLES;
+
+        log.info("radius {} ({} cells) : former loop {} ns/sample, flat stamp {} ns/sample, gaussian stamp {} "
+                + "ns/sample", TRAIL, flat.getCellCount(), String.format("%.1f", legacyNanos),
+                String.format("%.1f", flatNanos), String.format("%.1f", gaussianNanos));
+    }
+
+    private static void legacy(double[][] heatMap, int[] rows, int[] columns) {
+        for (int s = 0; s < rows.length; s++) {
+            final int x = rows[s];
+            final int y = columns[s];
+            for (int i = -TRAIL; i <= TRAIL; i++) {
+                for (int j = -TRAIL; j <= TRAIL; j++) {
+                    if (Math.sqrt(i * i + j * j) < TRAIL) {
+                        final int a = x + i;
+                        final int b = y + j;
+                        if (a >= 0 && b >= 0 && a < heatMap.length && b < heatMap[0].length) {
+                            heatMap[a][b]++;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void stamp(HeatMapKernel kernel, float[] grid, int[] rows, int[] columns) {
+        for (int s = 0; s < rows.length; s++) {
+            kernel.apply(grid, ROWS, COLUMNS, rows[s], columns[s]);
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package net.gazeplay.commons.utils.stats;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HeatMapKernelTest {
+
+    private static final int ROWS = 45;
+
+    private static final int COLUMNS = 80;
+
+    @Test
+    public void flatStampGivesTheGridOfTheFormerLoop() {
+        for (int radius : new int[] { 1, 2, 10 }) {
+            final HeatMapKernel kernel = new HeatMapKernel(radius, HeatMapKernel.Weighting.FLAT);
+            final Random random = new Random(radius);
+            final double[][] expected = new double[ROWS][COLUMNS];
+            final float[] grid = new float[ROWS * COLUMNS];
+            for (int s = 0; s < 2_000; s++) {
+                // some points near or past the edges, to exercise the clipping
+                final int row = random.nextInt(ROWS + 2 * radius) - radius;
+                final int column = random.nextInt(COLUMNS + 2 * radius) - radius;
+                legacy(expected, radius, row, column);
+                kernel.apply(grid, ROWS, COLUMNS, row, column);
+            }
+            for (int row = 0; row < ROWS; row++) {
+                for (int column = 0; column < COLUMNS; column++) {
+                    assertEquals(expected[row][column], grid[row * COLUMNS + column], 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void gaussianStampDecreasesFromTheCenter() {
+        final int radius = 10;
+        final HeatMapKernel kernel = new HeatMapKernel(radius, HeatMapKernel.Weighting.GAUSSIAN);
+        final HeatMapKernel flat = new HeatMapKernel(radius, HeatMapKernel.Weighting.FLAT);
+        assertEquals(flat.getCellCount(), kernel.getCellCount());
+
+        final float[] grid = new float[ROWS * COLUMNS];
+        kernel.apply(grid, ROWS, COLUMNS, 20, 40);
+        assertEquals(1, grid[20 * COLUMNS + 40], 1e-6);
+        for (int d = 1; d < radius; d++) {
+            final float weight = grid[20 * COLUMNS + 40 + d];
+            assertTrue(weight > 0 && weight < grid[20 * COLUMNS + 40 + d - 1]);
+            // symmetric
+            assertEquals(weight, grid[20 * COLUMNS + 40 - d], 0);
+            assertEquals(weight, grid[(20 + d) * COLUMNS + 40], 0);
+        }
+        assertEquals(0, grid[20 * COLUMNS + 40 + radius], 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAnEmptyRadius() {
+        new HeatMapKernel(0, HeatMapKernel.Weighting.FLAT);
+    }
+
+    /**
+     * the former accumulation, a square root per cell of the enclosing square
+     */
+    private static void legacy(double[][] heatMap, int radius, int x, int y) {
+        for (int i = -radius; i <= radius; i++) {
+            for (int j = -radius; j <= radius; j++) {
+                if (Math.sqrt(i * i + j * j) < radius) {
+                    final int a = x + i;
+                    final int b = y + j;
+                    if (a >= 0 && b >= 0 && a < heatMap.length && b < heatMap[0].length) {
+                        heatMap[a][b]++;
+                    }
+                }
+            }
+        }
+    }
+
+}
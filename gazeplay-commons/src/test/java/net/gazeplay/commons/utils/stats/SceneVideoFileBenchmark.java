@@ -0,0 +1,92 @@
+package net.gazeplay.commons.utils.stats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Records a synthetic game of one minute at 10 frames per second, a background with a sprite moving half of the time,
+ * then replays it. Compares the size of the file and the encoding time with deflating every whole frame. The replayed
+ * frames are checked by {@link SceneVideoFileTest}.
+ *
+ * Not run by the default build, run it with : mvn -pl gazeplay-commons test -Dtest=SceneVideoFileBenchmark
+ */
+@Slf4j
+public class SceneVideoFileBenchmark {
+
+    private static final int WIDTH = 1280;
+
+    private static final int HEIGHT = 720;
+
+    private static final int FRAMES = 600;
+
+    private static final int FRAME_MILLIS = SceneVideoFileTest.FRAME_MILLIS;
+
+    @Test
+    public void recordAndReplay() throws IOException {
+        final File file = File.createTempFile("scene", SceneVideoFile.EXTENSION);
+        file.deleteOnExit();
+        final int[] pixels = new int[WIDTH * HEIGHT];
+
+        int written = 0;
+        long start = System.nanoTime();
+        try (SceneVideoFile.Writer writer = new SceneVideoFile.Writer(file, WIDTH, HEIGHT,
+                SceneVideoFile.DEFAULT_TILE_SIZE)) {
+            for (int i = 0; i < FRAMES; i++) {
+                SceneVideoFileTest.drawFrame(i, pixels, WIDTH, HEIGHT);
+                if (writer.writeFrame((long) i * FRAME_MILLIS, SceneVideoFileTest.gazeX(i, WIDTH), 300, pixels)) {
+                    written++;
+                }
+            }
+        }
+        final long tilesNanos = System.nanoTime() - start;
+
+        final int[] replayed = new int[WIDTH * HEIGHT];
+        start = System.nanoTime();
+        try (SceneVideoFile.Reader reader = new SceneVideoFile.Reader(file)) {
+            assertEquals(written, reader.getFrameCount());
+            int drawnFrame = -1;
+            for (int i = 0; i < FRAMES; i++) {
+                final int frame = reader.frameAt((long) i * FRAME_MILLIS);
+                reader.draw(frame, replayed, drawnFrame);
+                drawnFrame = frame;
+            }
+        }
+        final long replayNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        final long wholeFramesBytes = deflateWholeFrames(pixels);
+        final long wholeFramesNanos = System.nanoTime() - start;
+
+        log.info("{} frames, {} written : {} KB, {} ms per frame, replayed in {} ms per frame ; whole frames {} KB, "
+                + "{} ms per frame", FRAMES, written, file.length() / 1024, tilesNanos / FRAMES / 1_000_000,
+                replayNanos / FRAMES / 1_000_000, wholeFramesBytes / 1024, wholeFramesNanos / FRAMES / 1_000_000);
+    }
+
+    private static long deflateWholeFrames(int[] pixels) {
+        final ByteBuffer raw = ByteBuffer.allocate(WIDTH * HEIGHT * 4);
+        final byte[] deflated = new byte[WIDTH * HEIGHT * 5];
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        long bytes = 0;
+        for (int i = 0; i < FRAMES; i++) {
+            SceneVideoFileTest.drawFrame(i, pixels, WIDTH, HEIGHT);
+            raw.clear();
+            raw.asIntBuffer().put(pixels);
+            deflater.reset();
+            deflater.setInput(raw.array());
+            deflater.finish();
+            while (!deflater.finished()) {
+                bytes += deflater.deflate(deflated);
+            }
+        }
+        deflater.end();
+        return bytes;
+    }
+
+}
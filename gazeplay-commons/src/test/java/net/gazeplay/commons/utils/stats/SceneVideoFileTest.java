@@ -0,0 +1,177 @@
+package net.gazeplay.commons.utils.stats;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SceneVideoFileTest {
+
+    private static final int WIDTH = 320;
+
+    private static final int HEIGHT = 180;
+
+    private static final int FRAMES = 200;
+
+    static final int FRAME_MILLIS = 100;
+
+    static final int SPRITE_SIZE = 40;
+
+    private static final int GAZE_Y = 60;
+
+    /**
+     * A synthetic game, a background with a sprite moving half of the time, must be replayed as recorded, sequentially
+     * and by seeks across the key frames.
+     */
+    @Test
+    public void replaysWhatWasRecorded() throws IOException {
+        final File file = File.createTempFile("scene", SceneVideoFile.EXTENSION);
+        try {
+            final int written = record(file, FRAMES);
+            assertTrue(written < FRAMES);
+
+            final int[] expected = new int[WIDTH * HEIGHT];
+            final int[] replayed = new int[WIDTH * HEIGHT];
+            try (SceneVideoFile.Reader reader = new SceneVideoFile.Reader(file)) {
+                assertEquals(WIDTH, reader.getWidth());
+                assertEquals(HEIGHT, reader.getHeight());
+                assertEquals(written, reader.getFrameCount());
+                assertEquals(-1, reader.frameAt(-1));
+
+                int drawnFrame = -1;
+                for (int i = 0; i < FRAMES; i++) {
+                    final int frame = reader.frameAt((long) i * FRAME_MILLIS);
+                    reader.draw(frame, replayed, drawnFrame);
+                    drawnFrame = frame;
+                    drawFrame(i, expected, WIDTH, HEIGHT);
+                    assertArrayEquals("frame " + i, expected, replayed);
+                    assertEquals(gazeX(i, WIDTH), reader.getGazeX(frame));
+                    assertEquals(GAZE_Y, reader.getGazeY(frame));
+                }
+
+                final Random random = new Random(0);
+                for (int seek = 0; seek < 50; seek++) {
+                    final int i = random.nextInt(FRAMES);
+                    final int frame = reader.frameAt((long) i * FRAME_MILLIS + FRAME_MILLIS / 2);
+                    reader.draw(frame, replayed, drawnFrame);
+                    drawnFrame = frame;
+                    drawFrame(i, expected, WIDTH, HEIGHT);
+                    assertArrayEquals("seek to frame " + i, expected, replayed);
+                }
+            }
+            // nothing keeps the file open once the reader is closed
+            assertTrue(file.delete());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void readsACutFileUpToItsLastCompleteFrame() throws IOException {
+        final File file = File.createTempFile("scene", SceneVideoFile.EXTENSION);
+        try {
+            final int written = record(file, 20);
+            try (RandomAccessFile cut = new RandomAccessFile(file, "rw")) {
+                cut.setLength(cut.length() - 1);
+            }
+            try (SceneVideoFile.Reader reader = new SceneVideoFile.Reader(file)) {
+                assertEquals(written - 1, reader.getFrameCount());
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void readsTheFileOfARecordingNeverClosed() throws IOException {
+        final File file = File.createTempFile("scene", SceneVideoFile.EXTENSION);
+        final SceneVideoFile.Writer writer = new SceneVideoFile.Writer(file, WIDTH, HEIGHT,
+                SceneVideoFile.DEFAULT_TILE_SIZE);
+        try {
+            final int[] pixels = new int[WIDTH * HEIGHT];
+            int written = 0;
+            for (int i = 0; i < FRAMES; i++) {
+                drawFrame(i, pixels, WIDTH, HEIGHT);
+                if (writer.writeFrame((long) i * FRAME_MILLIS, gazeX(i, WIDTH), GAZE_Y, pixels)) {
+                    written++;
+                }
+            }
+            // as if the application ended while recording, the frames still buffered are lost
+            try (SceneVideoFile.Reader reader = new SceneVideoFile.Reader(file)) {
+                assertTrue(reader.getFrameCount() > 0);
+                assertTrue(reader.getFrameCount() < written);
+            }
+        } finally {
+            writer.close();
+            file.delete();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsAnotherFile() throws IOException {
+        final File file = File.createTempFile("scene", SceneVideoFile.EXTENSION);
+        try {
+            Files.write(file.toPath(), new byte[64]);
+            new SceneVideoFile.Reader(file).close();
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * @return the number of frames written
+     */
+    private static int record(File file, int frames) throws IOException {
+        final int[] pixels = new int[WIDTH * HEIGHT];
+        int written = 0;
+        try (SceneVideoFile.Writer writer = new SceneVideoFile.Writer(file, WIDTH, HEIGHT,
+                SceneVideoFile.DEFAULT_TILE_SIZE)) {
+            for (int i = 0; i < frames; i++) {
+                drawFrame(i, pixels, WIDTH, HEIGHT);
+                if (writer.writeFrame((long) i * FRAME_MILLIS, gazeX(i, WIDTH), GAZE_Y, pixels)) {
+                    written++;
+                }
+            }
+        }
+        return written;
+    }
+
+    /**
+     * the gaze follows the sprite, and stays still with it
+     */
+    static int gazeX(int frame, int width) {
+        return spriteX(frame, width) + SPRITE_SIZE / 2;
+    }
+
+    /**
+     * the sprite moves during the first half of every 4 seconds
+     */
+    private static int spriteX(int frame, int width) {
+        final int cycle = frame / 40;
+        final int step = Math.min(frame % 40, 20);
+        return (cycle * 20 + step) * 7 % (width - SPRITE_SIZE);
+    }
+
+    static void drawFrame(int frame, int[] pixels, int width, int height) {
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                pixels[y * width + x] = 0xFF000000 | (x * 255 / width) << 16 | (y * 255 / height) << 8 | 0x40;
+            }
+        }
+        final int spriteX = spriteX(frame, width);
+        final int spriteY = height / 3;
+        for (int y = spriteY; y < spriteY + SPRITE_SIZE; y++) {
+            for (int x = spriteX; x < spriteX + SPRITE_SIZE; x++) {
+                pixels[y * width + x] = 0xFFFFFF00 ^ (x - spriteX) * (y - spriteY);
+            }
+        }
+    }
+
+}
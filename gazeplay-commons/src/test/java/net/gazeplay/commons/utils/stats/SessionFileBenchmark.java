@@ -0,0 +1,130 @@
+package net.gazeplay.commons.utils.stats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Size and cost of the session file of a 10 minutes session at 60 Hz, compared with the heatmap CSV alone. The file
+ * format is checked by {@link SessionFileTest}.
+ *
+ * Not run by the default build, run it with : mvn -pl gazeplay-commons test -Dtest=SessionFileBenchmark
+ */
+@Slf4j
+public class SessionFileBenchmark {
+
+    private static final int SAMPLES = 10 * 60 * 60;
+
+    private static final int ROWS = 225;
+
+    private static final int COLUMNS = 400;
+
+    private static final double PIXEL_SIZE = 1920.0 / COLUMNS;
+
+    @Test
+    public void benchmarkSessionFile() throws IOException {
+        final Random random = new Random(42);
+        final long startTime = System.currentTimeMillis();
+
+        // fixations of about 300 ms with some jitter, and saccades between them
+        final GazeRecording samples = new GazeRecording();
+        final GazeRecording fixations = new GazeRecording();
+        final HeatMapAccumulator heatMap = new HeatMapAccumulator(ROWS, COLUMNS, PIXEL_SIZE,
+                new HeatMapKernel(10, HeatMapKernel.Weighting.FLAT), false);
+        int fixationX = 960;
+        int fixationY = 540;
+        long time = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            time += 16 + random.nextInt(2);
+            if (random.nextInt(20) == 0) {
+                fixationX = random.nextInt(1920);
+                fixationY = random.nextInt(1080);
+                fixations.add(time, 0, fixationY, fixationX);
+            }
+            final int x = Math.max(0, Math.min(1919, fixationX + random.nextInt(9) - 4));
+            final int y = Math.max(0, Math.min(1079, fixationY + random.nextInt(9) - 4));
+            samples.add(time, 0, x, y);
+            heatMap.add(x, y);
+        }
+        for (int i = 0; i < fixations.size() - 1; i++) {
+            fixations.setDuration(i, fixations.getTime(i + 1) - fixations.getTime(i));
+        }
+        final double[][] heatMapData = heatMap.toArray();
+
+        final List<TargetAOI> targetAOIs = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            TargetAOI targetAOI = new TargetAOI(random.nextDouble() * 1920, random.nextDouble() * 1080, 100,
+                    startTime + i * 12_000);
+            targetAOI.setDuration(12_000);
+            targetAOIs.add(targetAOI);
+        }
+
+        final SessionRecording recording = new SessionRecording("benchmark", startTime, 1920, 1080, samples,
+                fixations, heatMapData, Arrays.asList(1200L, 3400L, 560L), targetAOIs);
+
+        final File directory = Files.createTempDirectory("session").toFile();
+        final File csvFile = new File(directory, "heatmap.csv");
+        final File sessionFile = new File(directory, "session" + SessionFile.EXTENSION);
+        final File uncompressedFile = new File(directory, "uncompressed" + SessionFile.EXTENSION);
+        try {
+            long start = System.nanoTime();
+            SessionFile.writeHeatMapCsv(heatMapData, csvFile);
+            final double csvMillis = (System.nanoTime() - start) / 1e6;
+
+            start = System.nanoTime();
+            SessionFile.write(recording, sessionFile, true);
+            final double writeMillis = (System.nanoTime() - start) / 1e6;
+            SessionFile.write(recording, uncompressedFile, false);
+
+            start = System.nanoTime();
+            final SessionRecording read = SessionFile.read(sessionFile);
+            final double readMillis = (System.nanoTime() - start) / 1e6;
+
+            assertEquals(recording.getGameName(), read.getGameName());
+            assertEquals(recording.getStartTime(), read.getStartTime());
+            assertEquals(recording.getRoundsDurations(), read.getRoundsDurations());
+            assertSameRecording(samples, read.getSamples());
+            assertSameRecording(fixations, read.getFixations());
+            for (int row = 0; row < ROWS; row++) {
+                assertArrayEquals(heatMapData[row], read.getHeatMap()[row], 0);
+            }
+            assertEquals(targetAOIs.size(), read.getTargetAOIs().size());
+            for (int i = 0; i < targetAOIs.size(); i++) {
+                assertEquals(targetAOIs.get(i).getTimeStarted(), read.getTargetAOIs().get(i).getTimeStarted());
+                assertEquals(targetAOIs.get(i).getxValue(), read.getTargetAOIs().get(i).getxValue(), 0);
+            }
+            assertSameRecording(samples, SessionFile.read(uncompressedFile).getSamples());
+
+            log.info("heatmap csv {} bytes in {} ms, session file {} bytes ({} bytes uncompressed) with {} samples "
+                    + "written in {} ms and read in {} ms", csvFile.length(), String.format("%.1f", csvMillis),
+                    sessionFile.length(), uncompressedFile.length(), SAMPLES, String.format("%.1f", writeMillis),
+                    String.format("%.1f", readMillis));
+        } finally {
+            csvFile.delete();
+            sessionFile.delete();
+            uncompressedFile.delete();
+            directory.delete();
+        }
+    }
+
+    private static void assertSameRecording(GazeRecording expected, GazeRecording actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getTime(i), actual.getTime(i));
+            assertEquals(expected.getDuration(i), actual.getDuration(i));
+            assertEquals(expected.getX(i), actual.getX(i));
+            assertEquals(expected.getY(i), actual.getY(i));
+        }
+    }
+
+}
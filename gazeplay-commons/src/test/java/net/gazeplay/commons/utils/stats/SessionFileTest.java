@@ -0,0 +1,138 @@
+package net.gazeplay.commons.utils.stats;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SessionFileTest {
+
+    private static final int SAMPLES = 5_000;
+
+    @Test
+    public void readsBackWhatWasWritten() throws IOException {
+        for (boolean compressed : new boolean[] { true, false }) {
+            final SessionRecording recording = createRecording(new Random(42));
+            final File file = File.createTempFile("session", SessionFile.EXTENSION);
+            try {
+                SessionFile.write(recording, file, compressed);
+                final SessionRecording read = SessionFile.read(file);
+                // nothing keeps the file open once read
+                assertTrue(file.delete());
+
+                assertEquals(recording.getGameName(), read.getGameName());
+                assertEquals(recording.getStartTime(), read.getStartTime());
+                assertEquals(recording.getSceneWidth(), read.getSceneWidth());
+                assertEquals(recording.getSceneHeight(), read.getSceneHeight());
+                assertEquals(recording.getRoundsDurations(), read.getRoundsDurations());
+                // the durations of the samples are their sources
+                assertSameRecording(recording.getSamples(), read.getSamples());
+                assertSameRecording(recording.getFixations(), read.getFixations());
+                for (int row = 0; row < recording.getHeatMap().length; row++) {
+                    assertArrayEquals(recording.getHeatMap()[row], read.getHeatMap()[row], 0);
+                }
+                assertEquals(recording.getTargetAOIs().size(), read.getTargetAOIs().size());
+                for (int i = 0; i < recording.getTargetAOIs().size(); i++) {
+                    final TargetAOI expected = recording.getTargetAOIs().get(i);
+                    final TargetAOI actual = read.getTargetAOIs().get(i);
+                    assertEquals(expected.getTimeStarted(), actual.getTimeStarted());
+                    assertEquals(expected.getDuration(), actual.getDuration());
+                    assertEquals(expected.getxValue(), actual.getxValue(), 0);
+                    assertEquals(expected.getyValue(), actual.getyValue(), 0);
+                }
+            } finally {
+                file.delete();
+            }
+        }
+    }
+
+    @Test
+    public void readsTheMissingSectionsAsNull() throws IOException {
+        final SessionRecording recording = new SessionRecording(null, 1, 2, 3, new GazeRecording(), null, null, null,
+                null);
+        final File file = File.createTempFile("session", SessionFile.EXTENSION);
+        try {
+            SessionFile.write(recording, file, true);
+            final SessionRecording read = SessionFile.read(file);
+            assertNull(read.getGameName());
+            assertEquals(0, read.getSamples().size());
+            assertNull(read.getFixations());
+            assertNull(read.getHeatMap());
+            assertNull(read.getRoundsDurations());
+            assertNull(read.getTargetAOIs());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsAnotherFile() throws IOException {
+        final File file = File.createTempFile("session", SessionFile.EXTENSION);
+        try {
+            Files.write(file.toPath(), "heatmap, 1, 2".getBytes("UTF-8"));
+            SessionFile.read(file);
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * fixations with some jitter, the mouse taking over now and then, and a heatmap with fractions
+     */
+    private static SessionRecording createRecording(Random random) {
+        final GazeRecording samples = new GazeRecording();
+        final GazeRecording fixations = new GazeRecording();
+        int x = 960;
+        int y = 540;
+        int source = SessionRecording.SOURCE_GAZE;
+        long time = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            time += 16 + random.nextInt(2);
+            if (random.nextInt(20) == 0) {
+                x = random.nextInt(1920);
+                y = random.nextInt(1080);
+                fixations.add(time, 100 + random.nextInt(200), y, x);
+            }
+            if (random.nextInt(100) == 0) {
+                source = SessionRecording.SOURCE_GAZE + SessionRecording.SOURCE_MOUSE - source;
+            }
+            samples.add(time, source, x + random.nextInt(9) - 4, y + random.nextInt(9) - 4);
+        }
+        final double[][] heatMap = new double[45][80];
+        for (double[] row : heatMap) {
+            for (int column = 0; column < row.length; column++) {
+                row[column] = random.nextInt(4) == 0 ? random.nextInt(1000) / 4.0 : 0;
+            }
+        }
+        final List<TargetAOI> targetAOIs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final TargetAOI targetAOI = new TargetAOI(random.nextDouble() * 1920, random.nextDouble() * 1080, 100,
+                    1_500_000_000_000L + i * 12_000);
+            targetAOI.setDuration(12_000);
+            targetAOIs.add(targetAOI);
+        }
+        return new SessionRecording("test", 1_500_000_000_000L, 1920, 1080, samples, fixations, heatMap,
+                Arrays.asList(1200L, 3400L, 560L), targetAOIs);
+    }
+
+    private static void assertSameRecording(GazeRecording expected, GazeRecording actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getTime(i), actual.getTime(i));
+            assertEquals(expected.getDuration(i), actual.getDuration(i));
+            assertEquals(expected.getX(i), actual.getX(i));
+            assertEquals(expected.getY(i), actual.getY(i));
+        }
+    }
+
+}
@@ -1,8 +1,5 @@
 package net.gazeplay;
 
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.collections.ObservableList;
 import javafx.event.Event;
@@ -13,12 +10,14 @@ import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.Slider;
 import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.*;
-import javafx.scene.media.Media;
-import javafx.scene.media.MediaPlayer;
-import javafx.scene.media.MediaView;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.*;
 import javafx.scene.shape.Polygon;
@@ -26,31 +25,38 @@ import javafx.scene.shape.Shape;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import javafx.stage.Screen;
-import javafx.util.Duration;
+import lombok.extern.slf4j.Slf4j;
 import net.gazeplay.commons.configuration.Configuration;
+import net.gazeplay.commons.threads.BackgroundExecutors;
 import net.gazeplay.commons.utils.HomeButton;
 import net.gazeplay.commons.utils.multilinguism.Multilinguism;
 import net.gazeplay.commons.utils.stats.*;
-import ws.schild.jave.Encoder;
-import ws.schild.jave.EncodingAttributes;
-import ws.schild.jave.MultimediaObject;
-import ws.schild.jave.VideoAttributes;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.text.DecimalFormat;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
+@Slf4j
 public class AreaOfInterest extends GraphicalContext<BorderPane> {
 
-    private List<CoordinatesTracker> movementHistory;
+    private static final ExecutorService executorService = BackgroundExecutors
+            .newBackgroundExecutor("AreaOfInterestScreen", 1);
+
+    private GazeRecording movementHistory;
+    private double[] movementDistances;
     private Label timeLabel;
     private Label scoreLabel;
-    private Timeline clock;
-    private MediaPlayer player;
+    private SceneVideoFile.Reader video;
+    private int[] videoPixels;
+    private WritableImage videoImage;
+    private int drawnVideoFrame;
+    private boolean exited;
     private List<AreaOfInterestProps> allAOIList;
-    private ArrayList<CoordinatesTracker> areaOfInterestList;
     private Color[] colors;
     private Configuration config;
     private int intereatorAOI;
@@ -61,14 +67,14 @@ public class AreaOfInterest extends GraphicalContext<BorderPane> {
     private int colorIterator;
     private int bias = 15;
     private Pane graphicsPane;
-    private double progressRate = 1;
+    private GazeReplay replay;
+    private Slider progressSlider;
     private Double previousInfoBoxX;
     private Double previousInfoBoxY;
     private int targetAOIIterator = 0;
     private ArrayList<InitialAreaOfInterestProps> combinedAreaList;
     private double combinationThreshHold = 0.70;
     private int[] areaMap;
-    private boolean playing = false;
     private double highestFixationTime = 0;
     private Stats stats;
     private ArrayList<Polygon> targetArea;
@@ -85,69 +91,124 @@ public class AreaOfInterest extends GraphicalContext<BorderPane> {
 
     public void dataTreatment() {
         // treating the data, post processing to take performance constraint of during the data collection
-        movementHistory.get(0).setDistance(0);
+        movementDistances = new double[movementHistory.size()];
         for (int i = 1; i < movementHistory.size(); i++) {
-            double x = Math.pow(movementHistory.get(i).getxValue() - movementHistory.get(i - 1).getxValue(), 2);
-            double y = Math.pow(movementHistory.get(i).getyValue() - movementHistory.get(i - 1).getyValue(), 2);
+            double x = Math.pow(movementHistory.getX(i) - movementHistory.getX(i - 1), 2);
+            double y = Math.pow(movementHistory.getY(i) - movementHistory.getY(i - 1), 2);
             double distance = Math.sqrt(x + y);
-            movementHistory.get(i).setDistance(distance);
+            movementDistances[i] = distance;
         }
     }
 
-    private void plotMovement(int movementIndex, Pane graphicsPane) {
-        new Timer().schedule(new TimerTask() {
+    private GazeReplay.Listener createReplayListener() {
+        return new GazeReplay.Listener() {
             @Override
-            public void run() {
-                CoordinatesTracker coordinatesTracker = movementHistory.get(movementIndex);
-                Circle circle;
-                if (movementHistory.get(movementIndex).getIntervalTime() > 11
-                        && movementHistory.get(movementIndex).getDistance() < 20) {
-                    circle = new Circle(coordinatesTracker.getxValue(), coordinatesTracker.getyValue(), 4);
-                    circle.setStroke(Color.LIGHTYELLOW);
-                    circle.setFill(Color.ORANGERED);
-                } else {
-                    circle = new Circle(coordinatesTracker.getxValue(), coordinatesTracker.getyValue(), 3);
-                    circle.setStroke(Color.LIGHTGREEN);
-                    circle.setFill(Color.GREEN);
+            public void movementReplayed(int movement) {
+                if (intereatorAOI < allAOIList.size() && movement == allAOIList.get(intereatorAOI).getEndingIndex()) {
+                    hideCurrentArea();
+                    intereatorAOI++;
+                }
+                // the next area may start where the previous one ends
+                if (intereatorAOI < allAOIList.size()
+                        && movement == allAOIList.get(intereatorAOI).getStartingIndex()) {
+                    showCurrentArea();
+                }
+                timeLabel.setText(TimeUnit.MILLISECONDS.toSeconds((long) replay.getPosition()) + "");
+                showVideoAt(replay.getPosition());
+                if (!progressSlider.isPressed()) {
+                    progressSlider.setValue(movement);
                 }
-                Platform.runLater(() -> {
-                    if (intereatorAOI < allAOIList.size()) {
-                        if (movementIndex == allAOIList.get(intereatorAOI).getStartingIndex()) {
-                            currentInfoBox = allAOIList.get(intereatorAOI).getInfoBoxProp().getInfoBox();
-                            currentAreaDisplay = allAOIList.get(intereatorAOI).getAreaOfInterest();
-                            currentLineToInfoBox = allAOIList.get(intereatorAOI).getInfoBoxProp().getLineToInfoBox();
-                            graphicsPane.getChildren().add(currentAreaDisplay);
-                            graphicsPane.getChildren().add(currentInfoBox);
-                            graphicsPane.getChildren().add(currentLineToInfoBox);
-                        }
-                        if (movementIndex == allAOIList.get(intereatorAOI).getEndingIndex()) {
-                            graphicsPane.getChildren().remove(currentAreaDisplay);
-                            graphicsPane.getChildren().remove(currentInfoBox);
-                            graphicsPane.getChildren().remove(currentLineToInfoBox);
-                            intereatorAOI++;
-                        }
-                    }
-                    graphicsPane.getChildren().add(circle);
-                    new Timer().schedule(new TimerTask() {
-                        @Override
-                        public void run() {
-                            Platform.runLater(() -> graphicsPane.getChildren().remove(circle));
-                        }
-                    }, 2000);
-                    if (movementIndex != movementHistory.size() - 1 && playing) {
-                        plotMovement(movementIndex + 1, graphicsPane);
-                    } else {
-                        clock.stop();
-                        addAllInitialArea();
-                        playing = false;
-                        // if (config.isVideoRecordingEnabled())
-                        // {
-                        // stats.endVideoRecording();
-                        // }
-                    }
-                });
             }
-        }, (long) (movementHistory.get(movementIndex).getIntervalTime() * progressRate));
+
+            @Override
+            public void replaySought(int movement) {
+                hideCurrentArea();
+                intereatorAOI = 0;
+                while (intereatorAOI < allAOIList.size()
+                        && allAOIList.get(intereatorAOI).getEndingIndex() < movement) {
+                    intereatorAOI++;
+                }
+                if (intereatorAOI < allAOIList.size()
+                        && allAOIList.get(intereatorAOI).getStartingIndex() < movement) {
+                    showCurrentArea();
+                }
+                showVideoAt(replay.getPosition());
+            }
+
+            @Override
+            public void replayEnded() {
+                addAllInitialArea();
+                // if (config.isVideoRecordingEnabled())
+                // {
+                // stats.endVideoRecording();
+                // }
+            }
+        };
+    }
+
+    private void attachVideo(SceneVideoFile.Reader reader, StackPane stackPane) {
+        video = reader;
+        videoPixels = new int[reader.getWidth() * reader.getHeight()];
+        videoImage = new WritableImage(reader.getWidth(), reader.getHeight());
+        drawnVideoFrame = -1;
+        stackPane.getChildren().add(0, new ImageView(videoImage));
+        showVideoAt(isPlaying() ? replay.getPosition() : 0);
+    }
+
+    /**
+     * Draws the frame of the video at the given time of the session, decoded from the frame already drawn or from the
+     * last key frame.
+     */
+    private void showVideoAt(double time) {
+        if (video == null || video.getFrameCount() == 0) {
+            return;
+        }
+        // the first frame until the video starts
+        int frame = Math.max(0, video.frameAt((long) time));
+        if (frame == drawnVideoFrame) {
+            return;
+        }
+        try {
+            video.draw(frame, videoPixels, drawnVideoFrame);
+        } catch (IOException e) {
+            log.warn("Failed to read the video", e);
+            closeVideo(video);
+            video = null;
+            return;
+        }
+        drawnVideoFrame = frame;
+        videoImage.getPixelWriter().setPixels(0, 0, video.getWidth(), video.getHeight(),
+                PixelFormat.getIntArgbInstance(), videoPixels, 0, video.getWidth());
+    }
+
+    /**
+     * The reader keeps the file of the video open, it is closed once the screen is left.
+     */
+    private static void closeVideo(SceneVideoFile.Reader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            log.warn("Failed to close the video", e);
+        }
+    }
+
+    private void showCurrentArea() {
+        currentInfoBox = allAOIList.get(intereatorAOI).getInfoBoxProp().getInfoBox();
+        currentAreaDisplay = allAOIList.get(intereatorAOI).getAreaOfInterest();
+        currentLineToInfoBox = allAOIList.get(intereatorAOI).getInfoBoxProp().getLineToInfoBox();
+        graphicsPane.getChildren().add(currentAreaDisplay);
+        graphicsPane.getChildren().add(currentInfoBox);
+        graphicsPane.getChildren().add(currentLineToInfoBox);
+    }
+
+    private void hideCurrentArea() {
+        graphicsPane.getChildren().remove(currentAreaDisplay);
+        graphicsPane.getChildren().remove(currentInfoBox);
+        graphicsPane.getChildren().remove(currentLineToInfoBox);
+    }
+
+    private boolean isPlaying() {
+        return replay != null && replay.isPlaying();
     }
 
     private void addAllInitialArea() {
@@ -156,64 +217,87 @@ public class AreaOfInterest extends GraphicalContext<BorderPane> {
         }
     }
 
-    private void calculateAreaOfInterest(int index, double startTime) {
-        if (index != 0) {
-            double x1 = movementHistory.get(index).getxValue();
-            double y1 = movementHistory.get(index).getyValue();
-            double x2 = movementHistory.get(index - 1).getxValue();
-            double y2 = movementHistory.get(index - 1).getyValue();
-            double eDistance = Math.sqrt(Math.pow(x2 - x1, 2) + Math.pow(y2 - y1, 2));
-            if (eDistance < 120 && movementHistory.get(index).getIntervalTime() > 10) {
-                if (index == 1)
-                    areaOfInterestList.add(movementHistory.get(0));
-                areaOfInterestList.add(movementHistory.get(index));
-            } else if (areaOfInterestList.size() != 0) {
-                if (areaOfInterestList.size() > 2) {
-                    // System.out.println("End of AOE");
-                    double AreaStartTime = areaOfInterestList.get(0).getTimeStarted();
-                    double AreaEndTime = areaOfInterestList.get(areaOfInterestList.size() - 1).getTimeStarted()
-                            + areaOfInterestList.get(areaOfInterestList.size() - 1).getIntervalTime();
-                    double TTFF = (AreaStartTime - startTime) / 1000.0;
-                    double timeSpent = (AreaEndTime - AreaStartTime) / 1000.0;
-                    if (timeSpent > highestFixationTime)
-                        highestFixationTime = timeSpent;
-                    int centerX = 0;
-                    int centerY = 0;
-                    int movementHistoryEndingIndex = index - 1;
-                    int movementHistoryStartingIndex = movementHistoryEndingIndex - areaOfInterestList.size();
-                    Point2D[] point2DS = new Point2D[areaOfInterestList.size()];
-                    for (int i = 0; i < areaOfInterestList.size(); i++) {
-                        centerX += areaOfInterestList.get(i).getxValue();
-                        centerY += areaOfInterestList.get(i).getyValue();
-                        point2DS[i] = new Point2D(areaOfInterestList.get(i).getxValue(),
-                                areaOfInterestList.get(i).getyValue());
-                    }
-                    Double[] polygonPoints;
-                    if (config.isConvexHullEnabled()) {
-                        polygonPoints = calculateConvexHull(point2DS, areaOfInterestList.size());
-                    } else {
-                        polygonPoints = calculateRectangle(point2DS);
+    /**
+     * Builds the shapes and the information boxes of the areas computed in background.
+     */
+    private void showAreasOfInterest(AreaOfInterestClustering.Result result) {
+        double startTime = stats.getStartTime();
+        for (AreaOfInterestClustering.Area area : result.getAreas()) {
+            double TTFF = (area.getStartTime() - startTime) / 1000.0;
+            double timeSpent = (area.getEndTime() - area.getStartTime()) / 1000.0;
+            if (timeSpent > highestFixationTime)
+                highestFixationTime = timeSpent;
+            Double[] polygonPoints = toPolygonPoints(area.getOutline());
+            Polygon areaOfInterest = new Polygon();
+            areaOfInterest.getPoints().addAll(polygonPoints);
+            colorIterator = (area.getLastMovement() + 1) % 7;
+            areaOfInterest.setStroke(colors[colorIterator]);
+            InfoBoxProps infoBox = calculateInfoBox("AOI number " + (allAOIList.size() + 1), TTFF, timeSpent,
+                    area.getFixations(), area.getCenterX(), area.getCenterY(), areaOfInterest);
+            AreaOfInterestProps areaOfInterestProps = new AreaOfInterestProps(area.getFixations(), area.getCenterX(),
+                    area.getCenterY(), polygonPoints, area.getFirstMovement(), area.getLastMovement(), areaOfInterest,
+                    infoBox, area.getStartTime(), area.getEndTime());
+            allAOIList.add(areaOfInterestProps);
+        }
+
+        combinedAreaList = computeConnectedArea(result.getCombinedAreas());
+        if (highestFixationTime != 0) {
+            for (AreaOfInterestProps areaOfInterestProps : allAOIList) {
+                double priority = areaOfInterestProps.getInfoBoxProp().getTimeSpent() / highestFixationTime * 0.6
+                        + 0.10;
+                areaOfInterestProps.getAreaOfInterest().setFill(Color.rgb(255, 0, 0, priority));
+                areaOfInterestProps.setPriority(priority);
+            }
+        }
+        for (InitialAreaOfInterestProps initialAreaOfInterestProps : combinedAreaList) {
+            graphicsPane.getChildren().add(initialAreaOfInterestProps.getAreaOfInterest());
+        }
+
+        if (stats.getTargetAOIList() != null) {
+            calculateTargetAOI(stats.getTargetAOIList());
+            ArrayList<TargetAOI> targetAOIArrayList = stats.getTargetAOIList();
+
+            long timeTargetAreaStart;
+            long timeTargetAreaEnd;
+            score = 0;
+
+            for (AreaOfInterestProps areaOfInterestProps : allAOIList) {
+                if (targetAOIIterator < targetAOIArrayList.size()) {
+                    timeTargetAreaStart = targetAOIArrayList.get(targetAOIIterator).getTimeStarted();
+                    timeTargetAreaEnd = targetAOIArrayList.get(targetAOIIterator).getTimeStarted()
+                            + targetAOIArrayList.get(targetAOIIterator).getDuration();
+                    long timeAreaStart = areaOfInterestProps.getAreaStartTime();
+                    long timeAreaEnd = areaOfInterestProps.getAreaEndTime();
+
+                    if (timeTargetAreaStart <= timeAreaStart) {
+
+                        Shape intersect = Shape.intersect(targetAOIArrayList.get(targetAOIIterator).getPolygon(),
+                                areaOfInterestProps.getAreaOfInterest());
+                        if (intersect.getBoundsInLocal().getWidth() != -1) {
+
+                            System.out.println("The intersection width is " + intersect.getBoundsInLocal().getWidth());
+                            System.out.println("The width of is "
+                                    + areaOfInterestProps.getAreaOfInterest().getBoundsInLocal().getWidth());
+                            score += (areaOfInterestProps.getAreaOfInterest().getBoundsInLocal().getWidth() - 1)
+                                    / intersect.getBoundsInLocal().getWidth();
+                        }
                     }
-                    Polygon areaOfInterest = new Polygon();
-                    areaOfInterest.getPoints().addAll(polygonPoints);
-                    colorIterator = index % 7;
-                    areaOfInterest.setStroke(colors[colorIterator]);
-                    centerX = centerX / areaOfInterestList.size();
-                    centerY = centerY / areaOfInterestList.size();
-                    InfoBoxProps infoBox = calculateInfoBox("AOI number " + (allAOIList.size() + 1), TTFF, timeSpent,
-                            areaOfInterestList.size(), centerX, centerY, areaOfInterest);
-                    AreaOfInterestProps areaOfInterestProps = new AreaOfInterestProps(areaOfInterestList, centerX,
-                            centerY, polygonPoints, point2DS, movementHistoryStartingIndex, movementHistoryEndingIndex,
-                            areaOfInterest, infoBox, (long) AreaStartTime, (long) AreaEndTime);
-                    allAOIList.add(areaOfInterestProps);
+
+                    if (timeAreaEnd > timeTargetAreaEnd)
+                        targetAOIIterator++;
                 }
-                // else {
-                // System.out.println("Not enough points to make a convex hull" + areaOfInterestList.size());
-                // }
-                areaOfInterestList = new ArrayList<>();
             }
+            score = score / allAOIList.size();
+            scoreLabel.setText("Score: " + score);
         }
+    }
 
+    private static Double[] toPolygonPoints(double[] outline) {
+        Double[] points = new Double[outline.length];
+        for (int i = 0; i < outline.length; i++) {
+            points[i] = outline[i];
+        }
+        return points;
     }
 
     private InfoBoxProps calculateInfoBox(String aoiID, double TTFF, double TimeSpent, int Fixation, int centerX,
@@ -271,45 +355,6 @@ public class AreaOfInterest extends GraphicalContext<BorderPane> {
         return squarePoints;
     }
 
-    private int orientation(Point2D p1, Point2D p2, Point2D p3) {
-
-        int val = (int) ((p2.getY() - p1.getY()) * (p3.getX() - p2.getX())
-                - (p2.getX() - p1.getX()) * (p3.getY() - p2.getY()));
-
-        if (val == 0)
-            return 0;
-
-        return (val > 0) ? 1 : 2;
-    }
-
-    private Double[] calculateConvexHull(Point2D[] points, int n) {
-        ArrayList<Double> convexHullPoints = new ArrayList<>();
-        Vector<Point2D> hull = new Vector<>();
-        int l = 0;
-        for (int i = 1; i < n; i++)
-            if (points[i].getX() < points[l].getX())
-                l = i;
-        int point = l, q;
-        do {
-            hull.add(points[point]);
-            q = (point + 1) % n;
-            for (int i = 0; i < n; i++) {
-                if (orientation(points[point], points[i], points[q]) == 2)
-                    q = i;
-            }
-            point = q;
-        } while (point != l);
-        for (Point2D temp : hull) {
-            convexHullPoints.add(temp.getX());
-            convexHullPoints.add(temp.getY());
-        }
-        Double[] pointsToReturn = new Double[convexHullPoints.size()];
-        for (int i = 0; i < convexHullPoints.size(); i++) {
-            pointsToReturn[i] = convexHullPoints.get(i);
-        }
-        return pointsToReturn;
-    }
-
     private AreaOfInterest(GazePlay gazePlay, BorderPane root, Stats stats) {
         super(gazePlay, root);
         this.stats = stats;
@@ -332,139 +377,111 @@ public class AreaOfInterest extends GraphicalContext<BorderPane> {
         VBox centerPane = new VBox();
         centerPane.setAlignment(Pos.CENTER);
         graphicsPane = new Pane();
-        areaOfInterestList = new ArrayList<>();
-        movementHistory = stats.getMovementHistoryWithTime();
-        this.dataTreatment();
-        for (int i = 0; i < movementHistory.size(); i++)
-            calculateAreaOfInterest(i, stats.getStartTime());
-
-        areaMap = new int[allAOIList.size()];
-        Arrays.fill(areaMap, -1);
-        combinedAreaList = computeConnectedArea();
-        if (highestFixationTime != 0) {
-            for (AreaOfInterestProps areaOfInterestProps : allAOIList) {
-                double priority = areaOfInterestProps.getInfoBoxProp().getTimeSpent() / highestFixationTime * 0.6
-                        + 0.10;
-                areaOfInterestProps.getAreaOfInterest().setFill(Color.rgb(255, 0, 0, priority));
-                areaOfInterestProps.setPriority(priority);
-            }
-        }
-        for (InitialAreaOfInterestProps initialAreaOfInterestProps : combinedAreaList) {
-            graphicsPane.getChildren().add(initialAreaOfInterestProps.getAreaOfInterest());
-        }
-
-        if (stats.getTargetAOIList() != null) {
-            calculateTargetAOI(stats.getTargetAOIList());
-            ArrayList<TargetAOI> targetAOIArrayList = stats.getTargetAOIList();
-
-            long timeTargetAreaStart;
-            long timeTargetAreaEnd;
-            score = 0;
-
-            for (AreaOfInterestProps areaOfInterestProps : allAOIList) {
-                if (targetAOIIterator < targetAOIArrayList.size()) {
-                    timeTargetAreaStart = targetAOIArrayList.get(targetAOIIterator).getTimeStarted();
-                    timeTargetAreaEnd = targetAOIArrayList.get(targetAOIIterator).getTimeStarted()
-                            + targetAOIArrayList.get(targetAOIIterator).getDuration();
-                    long timeAreaStart = areaOfInterestProps.getAreaStartTime();
-                    long timeAreaEnd = areaOfInterestProps.getAreaEndTime();
-
-                    if (timeTargetAreaStart <= timeAreaStart) {
-
-                        Shape intersect = Shape.intersect(targetAOIArrayList.get(targetAOIIterator).getPolygon(),
-                                areaOfInterestProps.getAreaOfInterest());
-                        if (intersect.getBoundsInLocal().getWidth() != -1) {
-
-                            System.out.println("The intersection width is " + intersect.getBoundsInLocal().getWidth());
-                            System.out.println("The width of is "
-                                    + areaOfInterestProps.getAreaOfInterest().getBoundsInLocal().getWidth());
-                            score += (areaOfInterestProps.getAreaOfInterest().getBoundsInLocal().getWidth() - 1)
-                                    / intersect.getBoundsInLocal().getWidth();
-                        }
-                    }
-
-                    if (timeAreaEnd > timeTargetAreaEnd)
-                        targetAOIIterator++;
-                }
-            }
-            score = score / allAOIList.size();
-        }
+        // copied on the FX thread, the next round of the game records more movements while the areas are computed
+        movementHistory = stats.getMovementHistoryWithTime().copy();
+        final List<FixationDetector.Fixation> movementFixations = new ArrayList<>(stats.getMovementFixations());
+        combinedAreaList = new ArrayList<>();
+        // the areas are computed in background, the replay is available once they are shown
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.setMaxSize(100, 100);
 
         Button slowBtn10 = new Button("10X Slow ");
         Button slowBtn8 = new Button("8X Slow ");
         Button slowBtn5 = new Button("5X Slow ");
         Button playBtn = new Button("Play ");
-        Button stopBtn = new Button("Stop ");
+        Button pauseBtn = new Button("Pause ");
         Button cancelBtn = new Button("Cancel ");
 
         playBtn.setPrefSize(100, 20);
         slowBtn5.setPrefSize(100, 20);
         slowBtn8.setPrefSize(100, 20);
         slowBtn10.setPrefSize(100, 20);
-        stopBtn.setPrefSize(100, 20);
+        pauseBtn.setPrefSize(100, 20);
         cancelBtn.setPrefSize(100, 20);
 
         playBtn.setOnAction(e -> {
-            progressRate = 0.60;
             // if (config.isVideoRecordingEnabled())
             // player.setRate(1.0);
-            playButtonPressed();
+            playButtonPressed(0.60);
         });
         slowBtn5.setOnAction(e -> {
             // if (config.isVideoRecordingEnabled())
             // player.setRate(0.5);
 
-            playButtonPressed();
+            playButtonPressed(5);
         });
         slowBtn8.setOnAction(e -> {
             // if (config.isVideoRecordingEnabled())
             // player.setRate(0.2);
 
-            playButtonPressed();
+            playButtonPressed(8);
         });
 
         slowBtn10.setOnAction(e -> {
             // if (config.isVideoRecordingEnabled())
             // player.setRate(0.1);
 
-            playButtonPressed();
+            playButtonPressed(10);
+        });
+        pauseBtn.setOnAction(e -> {
+            if (isPlaying()) {
+                if (replay.isPaused()) {
+                    replay.resume();
+                } else {
+                    replay.pause();
+                }
+            }
         });
         cancelBtn.setOnAction(e -> {
-            if (playing) {
-                playing = false;
-                graphicsPane.getChildren().removeAll();
+            if (isPlaying()) {
+                replay.stop();
+                hideCurrentArea();
                 addAllInitialArea();
             }
         });
+        progressSlider = new Slider(0, Math.max(0, movementHistory.size() - 1), 0);
+        progressSlider.setPrefWidth(300);
+        progressSlider.setOnMouseReleased(e -> {
+            if (!isPlaying()) {
+                playButtonPressed(replay.getProgressRate());
+            }
+            replay.seek((int) progressSlider.getValue());
+        });
+        Label videoLabel = new Label();
+        videoLabel.setTextFill(Color.WHITE);
         if (config.isVideoRecordingEnabled()) {
-            File source;
-            File target;
-            try {
-                System.out.println("The name of the video is " + stats.getDirectoryOfVideo());
-                source = new File(stats.getDirectoryOfVideo() + ".avi");
-                target = new File(stats.getDirectoryOfVideo() + ".mp4");
-                // Audio Attributes
-                VideoAttributes videoAttributes = new VideoAttributes();
-                videoAttributes.setCodec("mpeg4");
-                // Encoding attributes
-                EncodingAttributes attrs = new EncodingAttributes();
-                attrs.setFormat("mp4");
-                attrs.setVideoAttributes(videoAttributes);
-                // Encode
-                Encoder encoder = new Encoder();
-                encoder.encode(new MultimediaObject(source), target, attrs);
-                Media media = new Media(target.toURI().toString());
-                player = new MediaPlayer(media);
-                MediaView mediaView = new MediaView(player);
-                stackPane.getChildren().add(mediaView);
-            } catch (Exception ex) {
-                ex.printStackTrace();
+            // the video is written in background, it is attached under the areas once ready
+            CompletableFuture<File> videoRecording = stats.getVideoRecording();
+            if (videoRecording == null) {
+                videoRecording = CompletableFuture
+                        .completedFuture(new File(stats.getDirectoryOfVideo() + SceneVideoFile.EXTENSION));
             }
+            videoLabel.setText("Loading the video");
+            videoRecording.thenApplyAsync(file -> {
+                try {
+                    return new SceneVideoFile.Reader(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executorService).whenComplete((reader, throwable) -> Platform.runLater(() -> {
+                if (throwable != null) {
+                    log.warn("Failed to read the video", throwable);
+                    videoLabel.setText("Video unavailable");
+                    return;
+                }
+                if (exited) {
+                    closeVideo(reader);
+                    return;
+                }
+                videoLabel.setText("");
+                attachVideo(reader, stackPane);
+            }));
         } else {
             SavedStatsInfo savedStatsInfo = stats.getSavedStatsInfo();
-            javafx.scene.image.ImageView screenshot = new javafx.scene.image.ImageView();
+            ImageView screenshot = new ImageView();
             screenshot.setPreserveRatio(true);
-            screenshot.setImage(new Image(savedStatsInfo.getScreenshotFile().toURI().toString()));
+            savedStatsInfo.getFilesReady().thenRun(() -> Platform.runLater(
+                    () -> screenshot.setImage(new Image(savedStatsInfo.getScreenshotFile().toURI().toString()))));
             // stackPane.getChildren().add(screenshot);
         }
 
@@ -476,8 +493,13 @@ public class AreaOfInterest extends GraphicalContext<BorderPane> {
             } catch (IOException er) {
                 er.printStackTrace();
             }
-            if (config.isVideoRecordingEnabled())
-                player.stop();
+            if (replay != null)
+                replay.stop();
+            exited = true;
+            if (video != null) {
+                closeVideo(video);
+                video = null;
+            }
             this.clear();
             gazePlay.onDisplayStats(statsContext);
         };
@@ -487,10 +509,11 @@ public class AreaOfInterest extends GraphicalContext<BorderPane> {
 
         Region region2 = new Region();
         HBox.setHgrow(region2, Priority.ALWAYS);
-        HBox buttonBox = new HBox(cancelBtn, playBtn, slowBtn5, slowBtn8, slowBtn10);
+        HBox buttonBox = new HBox(cancelBtn, playBtn, pauseBtn, slowBtn5, slowBtn8, slowBtn10, progressSlider);
         buttonBox.setSpacing(10);
         buttonBox.setFillHeight(true);
         buttonBox.setPadding(new Insets(10, 10, 10, 10));
+        buttonBox.setDisable(true);
 
         timeLabel = new Label();
         timeLabel.setTextFill(Color.web("#FFFFFF"));
@@ -502,10 +525,10 @@ public class AreaOfInterest extends GraphicalContext<BorderPane> {
         scoreLabel.setFont(new Font("Arial", 20));
         scoreLabel.setText("Score: " + score);
         if (stats.getTargetAOIList() != null) {
-            topPane = new HBox(scoreLabel, timeLabel, region2, buttonBox);
+            topPane = new HBox(scoreLabel, timeLabel, videoLabel, region2, buttonBox);
 
         } else {
-            topPane = new HBox(timeLabel, region2, buttonBox);
+            topPane = new HBox(timeLabel, videoLabel, region2, buttonBox);
 
         }
         topPane.setPadding(new Insets(15, 15, 0, 15));
@@ -518,6 +541,7 @@ public class AreaOfInterest extends GraphicalContext<BorderPane> {
         homebox.setStyle("-fx-background-color: transparent; -fx-max-height: 100px; -fx-max-width: 100px;");
         homebox.setPadding(new Insets(10, 10, 10, 10));
         stackPane.getChildren().add(graphicsPane);
+        stackPane.getChildren().add(indicator);
         stackPane.getChildren().add(topPane);
         stackPane.getChildren().add(homebox);
         StackPane.setAlignment(homebox, Pos.BOTTOM_RIGHT);
@@ -525,6 +549,22 @@ public class AreaOfInterest extends GraphicalContext<BorderPane> {
         graphicsPane.setPickOnBounds(false);
         graphicsPane.setStyle("-fx-background-color: transparent;");
         root.setCenter(stackPane);
+
+        AreaOfInterestClustering clustering = new AreaOfInterestClustering(config.isConvexHullEnabled(),
+                combinationThreshHold);
+        executorService.execute(() -> {
+            long start = System.currentTimeMillis();
+            dataTreatment();
+            AreaOfInterestClustering.Result result = clustering.compute(movementHistory, movementFixations);
+            log.info("{} areas of interest of {} movements computed in {} ms", result.getAreas().size(),
+                    movementHistory.size(), System.currentTimeMillis() - start);
+            Platform.runLater(() -> {
+                replay = new GazeReplay(movementHistory, movementDistances, graphicsPane, createReplayListener());
+                showAreasOfInterest(result);
+                stackPane.getChildren().remove(indicator);
+                buttonBox.setDisable(false);
+            });
+        });
         root.setStyle(
                 "-fx-background-color: rgba(0, 0, 0, 1); -fx-background-radius: 8px; -fx-border-radius: 8px; -fx-border-width: 5px; -fx-border-color: rgba(60, 63, 65, 0.7); -fx-effect: dropshadow(three-pass-box, rgba(0, 0, 0, 0.8), 10, 0, 0, 0);");
     }
@@ -550,30 +590,18 @@ public class AreaOfInterest extends GraphicalContext<BorderPane> {
         return listOfPolygon;
     }
 
-    private void playButtonPressed() {
-        if (!playing) {
-            playing = true;
+    private void playButtonPressed(double progressRate) {
+        replay.setProgressRate(progressRate);
+        if (replay.isPaused()) {
+            replay.resume();
+        }
+        if (!replay.isPlaying()) {
             for (InitialAreaOfInterestProps areaOfInterestProps : combinedAreaList) {
                 graphicsPane.getChildren().remove(areaOfInterestProps.getAreaOfInterest());
             }
-            graphicsPane.getChildren().remove(currentInfoBox);
-
-            if (config.isVideoRecordingEnabled()) {
-
-                // player.setRate(1);
-                player.stop();
-                player.play();
-                this.stats.startVideoRecording();
-            }
+            hideCurrentArea();
             intereatorAOI = 0;
-            plotMovement(0, graphicsPane);
-            long startTime = System.currentTimeMillis();
-            clock = new Timeline(new KeyFrame(Duration.ZERO, f -> {
-                long theTime = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - startTime);
-                timeLabel.setText(theTime + "");
-            }), new KeyFrame(Duration.seconds(1)));
-            clock.setCycleCount(Animation.INDEFINITE);
-            clock.play();
+            replay.play();
         }
     }
 
@@ -606,100 +634,77 @@ public class AreaOfInterest extends GraphicalContext<BorderPane> {
         return infoBox;
     }
 
-    private ArrayList<InitialAreaOfInterestProps> computeConnectedArea() {
-        for (int index = 0; index < allAOIList.size(); index++) {
-            double areaSize = allAOIList.get(index).getAreaOfInterest().getBoundsInLocal().getWidth()
-                    * allAOIList.get(index).getAreaOfInterest().getBoundsInLocal().getHeight();
-            for (int i = 0; i < allAOIList.size(); i++) {
-                if (allAOIList.get(i).getAreaOfInterest() != allAOIList.get(index).getAreaOfInterest()) {
-                    Shape intersect = Shape.intersect(allAOIList.get(index).getAreaOfInterest(),
-                            allAOIList.get(i).getAreaOfInterest());
-                    if (intersect.getBoundsInLocal().getWidth() != -1) {
-                        double toCompareAreaSize = intersect.getBoundsInLocal().getWidth()
-                                * intersect.getBoundsInLocal().getHeight();
-                        if ((toCompareAreaSize / areaSize) > combinationThreshHold) {
-                            if (areaMap[index] == -1) {
-                                if (areaMap[i] != -1) {
-                                    areaMap[index] = areaMap[i];
-                                } else {
-                                    areaMap[index] = index;
-                                }
-                            }
-                            if (areaMap[i] == -1) {
-                                areaMap[i] = index;
-                            }
-                        }
-                    }
-                }
-            }
-        }
+    private ArrayList<InitialAreaOfInterestProps> computeConnectedArea(
+            List<AreaOfInterestClustering.CombinedArea> combinedAreas) {
+        areaMap = new int[allAOIList.size()];
+        Arrays.fill(areaMap, -1);
         ArrayList<InitialAreaOfInterestProps> listOfCombinedPolygons = new ArrayList<>();
 
-        for (int i = 0; i < allAOIList.size(); i++) {
-            GridPane infoBox = new GridPane();
-            Shape tempPolygon = null;
+        for (AreaOfInterestClustering.CombinedArea combinedArea : combinedAreas) {
+            int[] areas = combinedArea.getAreas();
+            int i = areas[0];
+            GridPane infoBox;
+            Shape tempPolygon;
 
-            if (areaMap[i] == -1) {
+            if (!combinedArea.isCombined()) {
                 tempPolygon = allAOIList.get(i).getAreaOfInterest();
                 infoBox = allAOIList.get(i).getInfoBoxProp().getInfoBox();
-            }
-            if (areaMap[i] == i) {
-                tempPolygon = allAOIList.get(i).getAreaOfInterest();
+            } else {
                 String aoiID = allAOIList.get(i).getInfoBoxProp().getAoiID();
                 double TTFF = allAOIList.get(i).getInfoBoxProp().getTTFF();
                 double TimeSpent = allAOIList.get(i).getInfoBoxProp().getTimeSpent();
                 int Fixation = allAOIList.get(i).getFixations();
                 int revisit = 1;
-                // Double ratioDouble = 0.0;
-                for (int j = i + 1; j < allAOIList.size(); j++) {
-                    if (areaMap[j] == i) {
-                        TTFF += allAOIList.get(j).getInfoBoxProp().getTTFF();
-                        revisit++;
-                        TimeSpent += allAOIList.get(j).getInfoBoxProp().getTimeSpent();
-                        Fixation += allAOIList.get(j).getInfoBoxProp().getTimeSpent();
-                        tempPolygon = Shape.union(tempPolygon, allAOIList.get(j).getAreaOfInterest());
-                        tempPolygon.setFill(Color.rgb(249, 166, 2, 0.15));
-                    }
+                areaMap[i] = i;
+                for (int k = 1; k < areas.length; k++) {
+                    int j = areas[k];
+                    areaMap[j] = i;
+                    TTFF += allAOIList.get(j).getInfoBoxProp().getTTFF();
+                    revisit++;
+                    TimeSpent += allAOIList.get(j).getInfoBoxProp().getTimeSpent();
+                    Fixation += allAOIList.get(j).getFixations();
                 }
+                Polygon combinedPolygon = new Polygon();
+                combinedPolygon.getPoints().addAll(toPolygonPoints(combinedArea.getOutline()));
+                combinedPolygon.setFill(Color.rgb(249, 166, 2, 0.15));
+                tempPolygon = combinedPolygon;
                 infoBox = makeInfoBox(aoiID, new DecimalFormat("##.###s").format(TTFF),
                         new DecimalFormat("##.###s").format(TimeSpent), Fixation + " ", revisit);
             }
-            if (tempPolygon != null) {
-                Shape finalTempPolygon = tempPolygon;
-                GridPane finalInfoBox = infoBox;
-                int finalI = i;
-                tempPolygon.setOnMouseEntered(event -> {
-                    if (!playing) {
-                        if (areaMap[finalI] == -1) {
-                            finalTempPolygon.setFill(Color.rgb(255, 0, 0, allAOIList.get(finalI).getPriority() + 0.15));
-                        } else {
-                            finalTempPolygon
-                                    .setFill(Color.rgb(249, 166, 2, allAOIList.get(finalI).getPriority() + 0.15));
-                        }
-                        previousInfoBoxX = finalInfoBox.getLayoutX();
-                        previousInfoBoxY = finalInfoBox.getLayoutY();
-                        currentInfoBox = new GridPane();
-                        finalInfoBox.setLayoutY(0);
-                        finalInfoBox.setLayoutX(0);
-                        finalInfoBox.setStyle("-fx-background-color: rgba(255,255,153, 0.4);");
-                        currentInfoBox = finalInfoBox;
-                        graphicsPane.getChildren().add(finalInfoBox);
-                    }
-                });
-                tempPolygon.setOnMouseExited(event -> {
-                    graphicsPane.getChildren().remove(currentInfoBox);
-                    finalInfoBox.setLayoutY(previousInfoBoxY);
-                    finalInfoBox.setLayoutX(previousInfoBoxX);
+            Shape finalTempPolygon = tempPolygon;
+            GridPane finalInfoBox = infoBox;
+            int finalI = i;
+            tempPolygon.setOnMouseEntered(event -> {
+                if (!isPlaying()) {
                     if (areaMap[finalI] == -1) {
-                        finalTempPolygon.setFill(Color.rgb(255, 0, 0, allAOIList.get(finalI).getPriority()));
+                        finalTempPolygon.setFill(Color.rgb(255, 0, 0, allAOIList.get(finalI).getPriority() + 0.15));
                     } else {
-                        finalTempPolygon.setFill(Color.rgb(249, 166, 2, allAOIList.get(finalI).getPriority()));
+                        finalTempPolygon
+                                .setFill(Color.rgb(249, 166, 2, allAOIList.get(finalI).getPriority() + 0.15));
                     }
-                });
-                colorIterator = i % 7;
-                tempPolygon.setStroke(colors[colorIterator]);
-                listOfCombinedPolygons.add(new InitialAreaOfInterestProps(tempPolygon, infoBox));
-            }
+                    previousInfoBoxX = finalInfoBox.getLayoutX();
+                    previousInfoBoxY = finalInfoBox.getLayoutY();
+                    currentInfoBox = new GridPane();
+                    finalInfoBox.setLayoutY(0);
+                    finalInfoBox.setLayoutX(0);
+                    finalInfoBox.setStyle("-fx-background-color: rgba(255,255,153, 0.4);");
+                    currentInfoBox = finalInfoBox;
+                    graphicsPane.getChildren().add(finalInfoBox);
+                }
+            });
+            tempPolygon.setOnMouseExited(event -> {
+                graphicsPane.getChildren().remove(currentInfoBox);
+                finalInfoBox.setLayoutY(previousInfoBoxY);
+                finalInfoBox.setLayoutX(previousInfoBoxX);
+                if (areaMap[finalI] == -1) {
+                    finalTempPolygon.setFill(Color.rgb(255, 0, 0, allAOIList.get(finalI).getPriority()));
+                } else {
+                    finalTempPolygon.setFill(Color.rgb(249, 166, 2, allAOIList.get(finalI).getPriority()));
+                }
+            });
+            colorIterator = i % 7;
+            tempPolygon.setStroke(colors[colorIterator]);
+            listOfCombinedPolygons.add(new InitialAreaOfInterestProps(tempPolygon, infoBox));
         }
         return listOfCombinedPolygons;
     }
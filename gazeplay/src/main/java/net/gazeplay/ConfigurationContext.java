@@ -34,6 +34,7 @@ import net.gazeplay.commons.utils.ControlPanelConfigurator;
 import net.gazeplay.commons.utils.CssUtil;
 import net.gazeplay.commons.utils.HomeButton;
 import net.gazeplay.commons.utils.games.BackgroundMusicManager;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.games.Utils;
 import net.gazeplay.commons.utils.multilinguism.Languages;
 
@@ -643,7 +644,7 @@ public class ConfigurationContext extends GraphicalContext<BorderPane> {
 
         String currentLanguage = Languages.getLanguage(currentCodeLanguage);
 
-        Image currentFlag = new Image(Languages.getFlags(currentCodeLanguage).get(0));
+        Image currentFlag = ImageUtils.loadImage(Languages.getFlags(currentCodeLanguage).get(0));
         ImageView currentFlagImageView = new ImageView(currentFlag);
         currentFlagImageView.setPreserveRatio(true);
         currentFlagImageView.setFitHeight(25);
@@ -660,7 +661,7 @@ public class ConfigurationContext extends GraphicalContext<BorderPane> {
 
             for (String flag : flags) {
 
-                Image image = new Image(flag);
+                Image image = ImageUtils.loadImage(flag);
                 ImageView imageView = new ImageView(image);
                 imageView.setPreserveRatio(true);
                 imageView.setFitHeight(25);
@@ -0,0 +1,121 @@
+package net.gazeplay;
+
+import javafx.animation.AnimationTimer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.commons.utils.games.FrameTimeStats;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base of the games driven by a game loop, such as the space game and biboule jump.
+ *
+ * The simulation advances by fixed steps, whatever the frame rate : on each frame, {@link #step(double)} is called as
+ * many times as there are whole steps in the elapsed time, then {@link #render(double)} draws the state between the
+ * last two steps. The movements and the timers of the games are thus the same on a slow or a fast display, and a
+ * long frame only costs a few more steps, up to {@link #MAX_FRAME_MILLIS}.
+ *
+ * The frame times are recorded in {@link #getFrameTimeStats()} and logged each time the loop is stopped.
+ */
+@Slf4j
+public abstract class FixedStepGameLoop extends AnimationTimer implements GameLifeCycle {
+
+    public static final double DEFAULT_STEP_MILLIS = 1000.0 / 60;
+
+    /**
+     * longest time simulated for a single frame, a longer frame (the game was paused, or the computer was busy) slows
+     * the game down rather than running hundreds of steps
+     */
+    public static final double MAX_FRAME_MILLIS = 250;
+
+    /**
+     * JavaFX pulses at 60 frames per second
+     */
+    private static final long FRAME_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1) / 60;
+
+    private final double stepMillis;
+
+    private final long stepNanos;
+
+    private final long maxFrameNanos;
+
+    @Getter
+    private final FrameTimeStats frameTimeStats;
+
+    private long lastFrameTime = 0;
+
+    private long accumulatedNanos = 0;
+
+    private boolean running = false;
+
+    protected FixedStepGameLoop() {
+        this(DEFAULT_STEP_MILLIS);
+    }
+
+    protected FixedStepGameLoop(double stepMillis) {
+        this.stepMillis = stepMillis;
+        this.stepNanos = (long) (stepMillis * 1e6);
+        this.maxFrameNanos = (long) (MAX_FRAME_MILLIS * 1e6);
+        this.frameTimeStats = new FrameTimeStats(FRAME_PERIOD_NANOS);
+    }
+
+    /**
+     * Advances the simulation by one step.
+     *
+     * @param stepMillis
+     *            duration of the step, always the same
+     */
+    protected abstract void step(double stepMillis);
+
+    /**
+     * Draws the current state.
+     *
+     * @param alpha
+     *            fraction of a step elapsed since the last step, between 0 and 1, to interpolate the positions between
+     *            the last two steps
+     */
+    protected abstract void render(double alpha);
+
+    @Override
+    public final void handle(long now) {
+        if (lastFrameTime == 0) {
+            lastFrameTime = now;
+            render(1);
+            return;
+        }
+        final long frameNanos = now - lastFrameTime;
+        lastFrameTime = now;
+        frameTimeStats.record(frameNanos);
+
+        accumulatedNanos += Math.min(frameNanos, maxFrameNanos);
+        // a step may stop the loop, at the end of the game
+        while (accumulatedNanos >= stepNanos && running) {
+            step(stepMillis);
+            accumulatedNanos -= stepNanos;
+        }
+        if (running) {
+            render((double) accumulatedNanos / stepNanos);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!running) {
+            running = true;
+            lastFrameTime = 0;
+            accumulatedNanos = 0;
+            frameTimeStats.reset();
+        }
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        if (running) {
+            running = false;
+            log.info("{} : {}", getClass().getSimpleName(), frameTimeStats);
+        }
+    }
+
+}
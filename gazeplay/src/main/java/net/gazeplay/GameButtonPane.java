@@ -3,10 +3,15 @@ package net.gazeplay;
 import javafx.animation.Timeline;
 import javafx.event.Event;
 import javafx.event.EventHandler;
+import javafx.scene.image.Image;
 import javafx.scene.layout.BorderPane;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
 public class GameButtonPane extends BorderPane {
 
     @Getter
@@ -29,4 +34,22 @@ public class GameButtonPane extends BorderPane {
     @Setter
     private boolean active = false;
 
+    /**
+     * decodes the thumbnails of the card, at the size of the card, once it is laid out and shown
+     */
+    @Setter
+    private Supplier<List<Image>> thumbnailsLoader;
+
+    /**
+     * @return the thumbnails, loading in background, or nothing when they were already loaded
+     */
+    public List<Image> loadThumbnails() {
+        if (thumbnailsLoader == null || getWidth() <= 0 || getHeight() <= 0) {
+            return Collections.emptyList();
+        }
+        final List<Image> thumbnails = thumbnailsLoader.get();
+        thumbnailsLoader = null;
+        return thumbnails;
+    }
+
 }
@@ -16,7 +16,6 @@ import javafx.scene.Cursor;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.*;
@@ -33,6 +32,7 @@ import net.gazeplay.commons.gaze.devicemanager.GazeDeviceManagerFactory;
 import net.gazeplay.commons.ui.I18NButton;
 import net.gazeplay.commons.ui.Translator;
 import net.gazeplay.commons.utils.*;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.games.Utils;
 import net.gazeplay.commons.utils.stats.Stats;
 import java.io.IOException;
@@ -88,7 +88,7 @@ public class GameContext extends GraphicalContext<Pane> {
         double buttonSize = getButtonSize();
 
         // Button bt = new Button();
-        ImageView buttonImg = new ImageView(new Image("data/common/images/configuration-button-alt4.png"));
+        ImageView buttonImg = new ImageView(ImageUtils.loadImage("data/common/images/configuration-button-alt4.png"));
         buttonImg.setFitWidth(buttonSize);
         buttonImg.setFitHeight(buttonSize);
 
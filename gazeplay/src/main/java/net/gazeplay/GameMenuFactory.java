@@ -28,8 +28,10 @@ import net.gazeplay.commons.ui.I18NText;
 import net.gazeplay.commons.ui.Translator;
 import net.gazeplay.commons.utils.CssUtil;
 import net.gazeplay.commons.utils.games.BackgroundMusicManager;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.multilinguism.Multilinguism;
 import net.gazeplay.commons.utils.stats.Stats;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
@@ -56,15 +58,13 @@ public class GameMenuFactory {
         final GameSummary gameSummary = gameSpec.getGameSummary();
         final String gameName = multilinguism.getTrad(gameSummary.getNameCode(), config.getLanguage());
 
-        Image heartIcon;
-        if (isFavourite.getValue())
-            heartIcon = new Image("data/common/images/heart_filled.png");
-        else
-            heartIcon = new Image("data/common/images/heart_empty.png");
+        // the icons are shared through the asset cache
+        final Image heartFilledIcon = ImageUtils.loadImage("data/common/images/heart_filled.png");
+        final Image heartEmptyIcon = ImageUtils.loadImage("data/common/images/heart_empty.png");
 
-        ImageView favGamesIcon = new ImageView(heartIcon);
+        ImageView favGamesIcon = new ImageView(isFavourite.getValue() ? heartFilledIcon : heartEmptyIcon);
         favGamesIcon.imageProperty().addListener((l) -> {
-            isFavourite.setValue(favGamesIcon.getImage().equals(new Image("data/common/images/heart_filled.png")));
+            isFavourite.setValue(favGamesIcon.getImage() == heartFilledIcon);
             config.saveConfigIgnoringExceptions();
         });
 
@@ -111,21 +111,22 @@ public class GameMenuFactory {
                     .setBackground(new Background(new BackgroundFill(Color.WHITE, CornerRadii.EMPTY, Insets.EMPTY)));
         }
 
+        // the thumbnails are decoded in background once the card is shown, the card is displayed without them until
+        // then
+        final ImageView thumbnailView;
         if (gameSummary.getGameThumbnail() != null) {
-            Image buttonGraphics = new Image(gameSummary.getGameThumbnail());
-            ImageView imageView = new ImageView(buttonGraphics);
+            ImageView imageView = new ImageView();
             imageView.getStyleClass().add("gameChooserButtonThumbnail");
             imageView.setPreserveRatio(true);
             thumbnailContainer.setCenter(imageView);
-
-            double imageSizeRatio = buttonGraphics.getWidth() / buttonGraphics.getHeight();
+            thumbnailView = imageView;
 
             switch (orientation) {
             case HORIZONTAL:
                 gameCard.heightProperty().addListener((observableValue, oldValue, newValue) -> {
                     double preferredHeight = newValue.doubleValue() - thumbnailBorderSize;
+                    // the width follows from the ratio of the image
                     imageView.setFitHeight(preferredHeight - 10);
-                    imageView.setFitWidth(preferredHeight * imageSizeRatio);
                 });
                 // gameCard.widthProperty().addListener((observableValue, oldValue, newValue) -> {
                 // imageView.setFitWidth(newValue.doubleValue() / 2);
@@ -141,13 +142,16 @@ public class GameMenuFactory {
                 });
                 break;
             }
+        } else {
+            thumbnailView = null;
         }
 
+        final ImageView categoryView;
         if (gameSummary.getCategory().getThumbnail() != null) {
-            Image buttonGraphics = new Image(gameSummary.getCategory().getThumbnail());
-            ImageView imageView = new ImageView(buttonGraphics);
+            ImageView imageView = new ImageView();
             imageView.getStyleClass().add("gameChooserButtonGameTypeIndicator");
             imageView.setPreserveRatio(true);
+            categoryView = imageView;
 
             final VBox gameCategoryContainer = new VBox();
             switch (orientation) {
@@ -171,8 +175,37 @@ public class GameMenuFactory {
                 gameCard.setTop(gameCategoryContainer);
                 break;
             }
+        } else {
+            categoryView = null;
         }
 
+        gameCard.setThumbnailsLoader(() -> {
+            final List<Image> thumbnails = new ArrayList<>(2);
+            final double cardWidth = Math.ceil(gameCard.getWidth());
+            final double cardHeight = Math.ceil(gameCard.getHeight());
+            if (thumbnailView != null) {
+                final Image image;
+                if (orientation == GameButtonOrientation.HORIZONTAL) {
+                    image = ImageUtils.loadImageInBackground(gameSummary.getGameThumbnail(), 0,
+                            cardHeight - thumbnailBorderSize - 10, true, true);
+                } else {
+                    image = ImageUtils.loadImageInBackground(gameSummary.getGameThumbnail(),
+                            cardWidth * THUMBNAIL_WIDTH_RATIO, cardHeight * THUMBNAIL_HEIGHT_RATIO, true, true);
+                }
+                thumbnailView.setImage(image);
+                thumbnails.add(image);
+            }
+            if (categoryView != null) {
+                final double iconWidth = (orientation == GameButtonOrientation.HORIZONTAL ? cardHeight : cardWidth)
+                        / 10;
+                final Image image = ImageUtils.loadImageInBackground(gameSummary.getCategory().getThumbnail(),
+                        iconWidth, 0, true, true);
+                categoryView.setImage(image);
+                thumbnails.add(image);
+            }
+            return thumbnails;
+        });
+
         final VBox gameTitleContainer = new VBox();
         gameTitleContainer.getChildren().add(gameTitleText);
         gameDescriptionPane.setTop(gameTitleContainer);
@@ -270,14 +303,14 @@ public class GameMenuFactory {
 
                 switch (isFavourite.getValue().toString()) {
                 case "true":
-                    favGamesIcon.setImage(new Image("data/common/images/heart_empty.png"));
+                    favGamesIcon.setImage(heartEmptyIcon);
                     isFavourite.setValue(false);
                     config.saveConfigIgnoringExceptions();
                     log.info("enter-T: " + isFavourite.getName() + " = " + isFavourite.getValue());
 
                     break;
                 case "false":
-                    favGamesIcon.setImage(new Image("data/common/images/heart_filled.png"));
+                    favGamesIcon.setImage(heartFilledIcon);
                     isFavourite.setValue(true);
                     config.saveConfigIgnoringExceptions();
                     log.info("enter-F: " + isFavourite.getName() + " = " + isFavourite.getValue());
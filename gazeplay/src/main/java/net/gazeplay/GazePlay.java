@@ -7,7 +7,6 @@ import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.event.EventHandler;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Scene;
-import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.paint.Color;
@@ -23,6 +22,7 @@ import net.gazeplay.commons.ui.DefaultTranslator;
 import net.gazeplay.commons.ui.Translator;
 import net.gazeplay.commons.utils.CssUtil;
 import net.gazeplay.commons.utils.games.BackgroundMusicManager;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.games.Utils;
 import net.gazeplay.commons.utils.multilinguism.Multilinguism;
 
@@ -66,7 +66,7 @@ public class GazePlay extends Application {
     public void start(Stage primaryStage) {
         this.primaryStage = primaryStage;
 
-        this.primaryStage.getIcons().add(new Image("data/common/images/gazeplayicone.png"));
+        this.primaryStage.getIcons().add(ImageUtils.loadImage("data/common/images/gazeplayicone.png"));
 
         Screen screen = Screen.getPrimary();
 
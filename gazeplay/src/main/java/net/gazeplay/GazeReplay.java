@@ -0,0 +1,239 @@
+package net.gazeplay;
+
+import javafx.animation.AnimationTimer;
+import javafx.collections.ObservableList;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import lombok.Getter;
+import lombok.Setter;
+import net.gazeplay.commons.utils.stats.GazeRecording;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a movement history on a pane, driven by a single animation timer whatever the length of the session : on
+ * each frame, a cursor advances through the movements whose time has come.
+ *
+ * The replayed movements are drawn by a fixed pool of trail circles, each one hidden {@link #TRAIL_NANOS} after it is
+ * shown, or reused by a newer movement when they are all shown.
+ *
+ * The replay can be paused, resumed and sought to any movement, and its progress rate, the duration of a replayed
+ * millisecond of the session, can change while it plays.
+ */
+public class GazeReplay extends AnimationTimer {
+
+    public interface Listener {
+
+        /**
+         * Called for each replayed movement, in order, before it is drawn.
+         */
+        void movementReplayed(int movement);
+
+        /**
+         * Called when the replay is sought, before the movement it restarts from is replayed.
+         */
+        void replaySought(int movement);
+
+        void replayEnded();
+    }
+
+    private static final int TRAIL_SIZE = 256;
+
+    private static final long TRAIL_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    /**
+     * longest time replayed for a single frame, the replay slows down rather than skipping the movements of a long
+     * frame
+     */
+    private static final long MAX_FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final GazeRecording movements;
+
+    private final double[] movementDistances;
+
+    /**
+     * time of each movement in the replay at a progress rate of 1 : the durations of the movements up to it
+     */
+    private final long[] movementTimes;
+
+    private final Pane graphicsPane;
+
+    private final Listener listener;
+
+    private final Group trailLayer = new Group();
+
+    private final Circle[] trail = new Circle[TRAIL_SIZE];
+
+    private final long[] trailHideTimes = new long[TRAIL_SIZE];
+
+    /**
+     * the shown circles of the trail, from the oldest one, in the order they were shown
+     */
+    private int oldestTrailCircle = 0;
+
+    private int shownTrailCircles = 0;
+
+    /**
+     * the next movement to replay
+     */
+    @Getter
+    private int cursor = 0;
+
+    /**
+     * replayed time of the session, in milliseconds
+     */
+    @Getter
+    private double position = 0;
+
+    @Getter
+    @Setter
+    private double progressRate = 1;
+
+    @Getter
+    private boolean playing = false;
+
+    @Getter
+    private boolean paused = false;
+
+    private long lastFrameTime = 0;
+
+    public GazeReplay(GazeRecording movements, double[] movementDistances, Pane graphicsPane, Listener listener) {
+        this.movements = movements;
+        this.movementDistances = movementDistances;
+        this.graphicsPane = graphicsPane;
+        this.listener = listener;
+
+        movementTimes = new long[movements.size()];
+        long time = 0;
+        for (int i = 0; i < movements.size(); i++) {
+            time += movements.getDuration(i);
+            movementTimes[i] = time;
+        }
+        for (int i = 0; i < TRAIL_SIZE; i++) {
+            trail[i] = new Circle();
+            trail[i].setVisible(false);
+        }
+        trailLayer.getChildren().addAll(trail);
+        trailLayer.setMouseTransparent(true);
+    }
+
+    public int getMovementCount() {
+        return movements.size();
+    }
+
+    /**
+     * Replays the movements from the first one.
+     */
+    public void play() {
+        if (!graphicsPane.getChildren().contains(trailLayer)) {
+            graphicsPane.getChildren().add(trailLayer);
+        }
+        hideTrail();
+        cursor = 0;
+        position = 0;
+        playing = true;
+        paused = false;
+        lastFrameTime = 0;
+        start();
+    }
+
+    public void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        paused = false;
+    }
+
+    /**
+     * Restarts the replay from the given movement.
+     */
+    public void seek(int movement) {
+        cursor = Math.max(0, Math.min(movement, movements.size() - 1));
+        position = cursor == 0 ? 0 : movementTimes[cursor - 1];
+        hideTrail();
+        listener.replaySought(cursor);
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        playing = false;
+        paused = false;
+        hideTrail();
+    }
+
+    @Override
+    public void handle(long now) {
+        if (lastFrameTime == 0) {
+            lastFrameTime = now;
+        }
+        final long frameNanos = Math.min(now - lastFrameTime, MAX_FRAME_NANOS);
+        lastFrameTime = now;
+
+        while (shownTrailCircles > 0 && trailHideTimes[oldestTrailCircle] <= now) {
+            hideOldestTrailCircle();
+        }
+        if (playing && !paused) {
+            position += frameNanos / 1e6 / progressRate;
+            // the listener may stop the replay
+            while (playing && cursor < movements.size() && movementTimes[cursor] <= position) {
+                listener.movementReplayed(cursor);
+                showTrailCircle(cursor, now);
+                cursor++;
+            }
+            if (playing && cursor == movements.size()) {
+                playing = false;
+                listener.replayEnded();
+            }
+        }
+        if (!playing && shownTrailCircles == 0) {
+            super.stop();
+        }
+
+        // above the areas shown by the listener
+        final ObservableList<Node> children = graphicsPane.getChildren();
+        if (!children.isEmpty() && children.get(children.size() - 1) != trailLayer) {
+            trailLayer.toFront();
+        }
+    }
+
+    private void showTrailCircle(int movement, long now) {
+        if (shownTrailCircles == TRAIL_SIZE) {
+            hideOldestTrailCircle();
+        }
+        final int index = (oldestTrailCircle + shownTrailCircles) % TRAIL_SIZE;
+        final Circle circle = trail[index];
+        circle.setCenterX(movements.getX(movement));
+        circle.setCenterY(movements.getY(movement));
+        if (movements.getDuration(movement) > 11 && movementDistances[movement] < 20) {
+            circle.setRadius(4);
+            circle.setStroke(Color.LIGHTYELLOW);
+            circle.setFill(Color.ORANGERED);
+        } else {
+            circle.setRadius(3);
+            circle.setStroke(Color.LIGHTGREEN);
+            circle.setFill(Color.GREEN);
+        }
+        circle.setVisible(true);
+        trailHideTimes[index] = now + TRAIL_NANOS;
+        shownTrailCircles++;
+    }
+
+    private void hideOldestTrailCircle() {
+        trail[oldestTrailCircle].setVisible(false);
+        oldestTrailCircle = (oldestTrailCircle + 1) % TRAIL_SIZE;
+        shownTrailCircles--;
+    }
+
+    private void hideTrail() {
+        while (shownTrailCircles > 0) {
+            hideOldestTrailCircle();
+        }
+        oldestTrailCircle = 0;
+    }
+
+}
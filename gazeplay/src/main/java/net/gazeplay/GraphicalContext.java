@@ -31,6 +31,7 @@ import net.gazeplay.commons.ui.I18NTitledPane;
 import net.gazeplay.commons.ui.I18NTooltip;
 import net.gazeplay.commons.utils.MarqueeText;
 import net.gazeplay.commons.utils.games.BackgroundMusicManager;
+import net.gazeplay.commons.utils.games.ImageUtils;
 
 @Data
 @Slf4j
@@ -151,10 +152,10 @@ public abstract class GraphicalContext<T extends Parent> {
 
         final String label;
         if (isFullScreen) {
-            buttonGraphics = new Image("data/common/images/fullscreen-exit.png");
+            buttonGraphics = ImageUtils.loadImage("data/common/images/fullscreen-exit.png");
             label = "Exit FullScreen";
         } else {
-            buttonGraphics = new Image("data/common/images/fullscreen-enter.png");
+            buttonGraphics = ImageUtils.loadImage("data/common/images/fullscreen-enter.png");
             label = "Enter FullScreen";
         }
         ImageView imageView = new ImageView(buttonGraphics);
@@ -203,7 +204,7 @@ public abstract class GraphicalContext<T extends Parent> {
 
         Image buttonImg = null;
         try {
-            buttonImg = new Image(PREVIOUS_ICON, ICON_SIZE, ICON_SIZE, false, true);
+            buttonImg = ImageUtils.loadImage(PREVIOUS_ICON, ICON_SIZE, ICON_SIZE, false, true);
         } catch (IllegalArgumentException e) {
             log.warn(e.toString() + " : " + PREVIOUS_ICON);
         }
@@ -221,7 +222,7 @@ public abstract class GraphicalContext<T extends Parent> {
 
         buttonImg = null;
         try {
-            buttonImg = new Image(PAUSE_ICON, ICON_SIZE, ICON_SIZE, false, true);
+            buttonImg = ImageUtils.loadImage(PAUSE_ICON, ICON_SIZE, ICON_SIZE, false, true);
         } catch (IllegalArgumentException e) {
             log.warn(e.toString() + " : " + PAUSE_ICON);
         }
@@ -237,7 +238,7 @@ public abstract class GraphicalContext<T extends Parent> {
 
         buttonImg = null;
         try {
-            buttonImg = new Image(PLAY_ICON, ICON_SIZE, ICON_SIZE, false, true);
+            buttonImg = ImageUtils.loadImage(PLAY_ICON, ICON_SIZE, ICON_SIZE, false, true);
         } catch (IllegalArgumentException e) {
             log.warn(e.toString() + " : " + PLAY_ICON);
         }
@@ -263,7 +264,7 @@ public abstract class GraphicalContext<T extends Parent> {
 
         buttonImg = null;
         try {
-            buttonImg = new Image(NEXT_ICON, ICON_SIZE, ICON_SIZE, false, true);
+            buttonImg = ImageUtils.loadImage(NEXT_ICON, ICON_SIZE, ICON_SIZE, false, true);
         } catch (IllegalArgumentException e) {
             log.warn(e.toString() + " : " + NEXT_ICON);
         }
@@ -319,7 +320,7 @@ public abstract class GraphicalContext<T extends Parent> {
     private Node createVolumeButton(final Slider volumeSlider) {
         Image buttonImg = null;
         try {
-            buttonImg = new Image(SPEAKER_ICON, ICON_SIZE, ICON_SIZE, false, true);
+            buttonImg = ImageUtils.loadImage(SPEAKER_ICON, ICON_SIZE, ICON_SIZE, false, true);
         } catch (IllegalArgumentException e) {
             log.warn(e.toString() + " : " + SPEAKER_ICON);
         }
@@ -333,7 +334,7 @@ public abstract class GraphicalContext<T extends Parent> {
 
         Image muteImg = null;
         try {
-            muteImg = new Image(MUTE_ICON, ICON_SIZE, ICON_SIZE, false, true);
+            muteImg = ImageUtils.loadImage(MUTE_ICON, ICON_SIZE, ICON_SIZE, false, true);
         } catch (IllegalArgumentException e) {
             log.warn(e.toString() + " : " + MUTE_ICON);
         }
@@ -3,6 +3,8 @@ package net.gazeplay;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.value.ObservableValue;
@@ -10,6 +12,7 @@ import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.event.Event;
 import javafx.event.EventHandler;
+import javafx.geometry.Bounds;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
@@ -37,12 +40,16 @@ import net.gazeplay.commons.ui.Translator;
 import net.gazeplay.commons.utils.ConfigurationButton;
 import net.gazeplay.commons.utils.ControlPanelConfigurator;
 import net.gazeplay.commons.utils.CustomButton;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.games.Utils;
 import net.gazeplay.commons.utils.multilinguism.Multilinguism;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Data
 @Slf4j
@@ -50,6 +57,11 @@ public class HomeMenuScreen extends GraphicalContext<BorderPane> {
 
     private final static String LOGO_PATH = "data/common/images/gazeplay.png";
 
+    /**
+     * cards built in each pulse while the menu is shown
+     */
+    private final static int CARDS_PER_PULSE = 8;
+
     // private static String currentLanguage;
 
     public static HomeMenuScreen newInstance(final GazePlay gazePlay, final Configuration config) {
@@ -74,6 +86,12 @@ public class HomeMenuScreen extends GraphicalContext<BorderPane> {
 
     private final GameMenuFactory gameMenuFactory = new GameMenuFactory();
 
+    private final long creationTime = System.nanoTime();
+
+    private boolean visibleCardsUpdateScheduled = false;
+
+    private boolean firstThumbnailsReported = false;
+
     public HomeMenuScreen(GazePlay gazePlay, List<GameSpec> games, BorderPane root, Configuration config) {
         super(gazePlay, root);
         this.games = games;
@@ -245,166 +263,245 @@ public class HomeMenuScreen extends GraphicalContext<BorderPane> {
         games.removeAll(favGames);
         games.addAll(0, favGames); // favourite Games are in the beginning of the list
 
-        BooleanProperty favouriteGameProperty = null;
+        // the cards are shown as soon as the first ones are built, the next ones are built in the following pulses
+        addGameCards(new ArrayList<>(games).iterator(), config, multilinguism, translator, gameButtonOrientation,
+                indicator);
+
+        // the cards out of the viewport are not rendered, and their thumbnails are decoded once they get close to it.
+        // The cards are updated once laid out, after the pulse.
+        InvalidationListener visibleCardsUpdater = observable -> {
+            if (!visibleCardsUpdateScheduled) {
+                visibleCardsUpdateScheduled = true;
+                Platform.runLater(() -> {
+                    visibleCardsUpdateScheduled = false;
+                    updateVisibleCards(choicePanelScroller);
+                });
+            }
+        };
+        choicePanelScroller.vvalueProperty().addListener(visibleCardsUpdater);
+        choicePanelScroller.viewportBoundsProperty().addListener(visibleCardsUpdater);
+        choicePanel.heightProperty().addListener(visibleCardsUpdater);
+        choicePanel.widthProperty().addListener(visibleCardsUpdater);
 
-        for (GameSpec gameSpec : games) {
+        /*
+         * choicePanel.setBackground(new Background(new BackgroundImage(new Image("data/common/images/back.gif"), null,
+         * null, null, new BackgroundSize(1, 1, true, true, true, true))));
+         */
 
-            for (BooleanProperty p : config.getFavouriteGameProperties()) {
-                if (p.getName().equals(gameSpec.getGameSummary().getNameCode().toUpperCase() + " Game fav"))
-                    favouriteGameProperty = p;
-            }
+        return choicePanelScroller;
+    }
 
-            final GameButtonPane gameCard = gameMenuFactory.createGameButton(getGazePlay(), root, config, multilinguism,
-                    translator, gameSpec, gameButtonOrientation, gazeDeviceManager, favouriteGameProperty);
+    private void addGameCards(Iterator<GameSpec> remainingGames, Configuration config, Multilinguism multilinguism,
+            Translator translator, GameButtonOrientation gameButtonOrientation, ProgressIndicator indicator) {
+        for (int i = 0; i < CARDS_PER_PULSE && remainingGames.hasNext(); i++) {
+            addGameCard(remainingGames.next(), config, multilinguism, translator, gameButtonOrientation, indicator);
+        }
+        if (remainingGames.hasNext()) {
+            Platform.runLater(() -> addGameCards(remainingGames, config, multilinguism, translator,
+                    gameButtonOrientation, indicator));
+        } else {
+            log.info("Home menu : {} game cards built in {} ms", choicePanel.getChildren().size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - creationTime));
+        }
+    }
+
+    private void addGameCard(GameSpec gameSpec, Configuration config, Multilinguism multilinguism,
+            Translator translator, GameButtonOrientation gameButtonOrientation, ProgressIndicator indicator) {
+
+        BooleanProperty favouriteGameProperty = new SimpleBooleanProperty(false);
+        for (BooleanProperty p : config.getFavouriteGameProperties()) {
+            if (p.getName().equals(gameSpec.getGameSummary().getNameCode().toUpperCase() + " Game fav"))
+                favouriteGameProperty = p;
+        }
+
+        final GameButtonPane gameCard = gameMenuFactory.createGameButton(getGazePlay(), root, config, multilinguism,
+                translator, gameSpec, gameButtonOrientation, gazeDeviceManager, favouriteGameProperty);
 
-            /* Game categories */
-            if (config.selectionCategory() && config.memorizationCategory() && config.actionReactionCategory()
-                    && config.logicCategory()) // all games
+        /* Game categories */
+        if (config.selectionCategory() && config.memorizationCategory() && config.actionReactionCategory()
+                && config.logicCategory()) // all games
+            choicePanel.getChildren().add(gameCard);
+        else if (config.selectionCategory() && config.memorizationCategory() && config.actionReactionCategory()
+                && !config.logicCategory()) { // S & M & AR
+            if (gameSpec.getGameSummary().getCategory() != GameCategories.Category.LOGIC)
                 choicePanel.getChildren().add(gameCard);
-            else if (config.selectionCategory() && config.memorizationCategory() && config.actionReactionCategory()
-                    && !config.logicCategory()) { // S & M & AR
-                if (gameSpec.getGameSummary().getCategory() != GameCategories.Category.LOGIC)
-                    choicePanel.getChildren().add(gameCard);
-            } else if (config.selectionCategory() && !config.memorizationCategory() && config.actionReactionCategory()
-                    && config.logicCategory()) { // S & L & AR
-                if (gameSpec.getGameSummary().getCategory() != GameCategories.Category.MEMORIZATION)
-                    choicePanel.getChildren().add(gameCard);
-            } else if (!config.selectionCategory() && config.memorizationCategory() && config.actionReactionCategory()
-                    && config.logicCategory()) { // L & M & AR
-                if (gameSpec.getGameSummary().getCategory() != GameCategories.Category.SELECTION)
-                    choicePanel.getChildren().add(gameCard);
-            } else if (config.selectionCategory() && config.memorizationCategory() && !config.actionReactionCategory()
-                    && config.logicCategory()) { // S & M & L
-                if (gameSpec.getGameSummary().getCategory() != GameCategories.Category.ACTION_REACTION)
-                    choicePanel.getChildren().add(gameCard);
-            } else if (config.selectionCategory() && config.memorizationCategory() && !config.actionReactionCategory()
-                    && !config.logicCategory()) { // S & M
-                if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.SELECTION
-                        || gameSpec.getGameSummary().getCategory() == GameCategories.Category.MEMORIZATION)
-                    choicePanel.getChildren().add(gameCard);
-            } else if (config.selectionCategory() && !config.memorizationCategory() && config.actionReactionCategory()
-                    && !config.logicCategory()) { // AR & S
-                if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.SELECTION
-                        || gameSpec.getGameSummary().getCategory() == GameCategories.Category.ACTION_REACTION)
-                    choicePanel.getChildren().add(gameCard);
-            } else if (!config.selectionCategory() && config.memorizationCategory() && config.actionReactionCategory()
-                    && !config.logicCategory()) { // AR & M
-                if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.ACTION_REACTION
-                        || gameSpec.getGameSummary().getCategory() == GameCategories.Category.MEMORIZATION)
-                    choicePanel.getChildren().add(gameCard);
-            } else if (!config.selectionCategory() && !config.memorizationCategory() && config.actionReactionCategory()
-                    && config.logicCategory()) { // AR & L
-                if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.ACTION_REACTION
-                        || gameSpec.getGameSummary().getCategory() == GameCategories.Category.LOGIC)
-                    choicePanel.getChildren().add(gameCard);
-            } else if (config.selectionCategory() && !config.memorizationCategory() && !config.actionReactionCategory()
-                    && config.logicCategory()) { // S & L
-                if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.SELECTION
-                        || gameSpec.getGameSummary().getCategory() == GameCategories.Category.LOGIC)
-                    choicePanel.getChildren().add(gameCard);
-            } else if (!config.selectionCategory() && config.memorizationCategory() && !config.actionReactionCategory()
-                    && config.logicCategory()) { // M & L
-                if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.MEMORIZATION
-                        || gameSpec.getGameSummary().getCategory() == GameCategories.Category.LOGIC)
-                    choicePanel.getChildren().add(gameCard);
-            } else if (config.selectionCategory() && !config.memorizationCategory() && !config.actionReactionCategory()
-                    && !config.logicCategory()) { // only S
-                if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.SELECTION)
-                    choicePanel.getChildren().add(gameCard);
-            } else if (!config.selectionCategory() && config.memorizationCategory() && !config.actionReactionCategory()
-                    && !config.logicCategory()) { // only M
-                if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.MEMORIZATION)
-                    choicePanel.getChildren().add(gameCard);
-            } else if (!config.selectionCategory() && !config.memorizationCategory() && config.actionReactionCategory()
-                    && !config.logicCategory()) { // only AR
-                if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.ACTION_REACTION)
-                    choicePanel.getChildren().add(gameCard);
-            } else if (!config.selectionCategory() && !config.memorizationCategory() && !config.actionReactionCategory()
-                    && config.logicCategory()) { // only L
-                if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.LOGIC)
-                    choicePanel.getChildren().add(gameCard);
-            }
+        } else if (config.selectionCategory() && !config.memorizationCategory() && config.actionReactionCategory()
+                && config.logicCategory()) { // S & L & AR
+            if (gameSpec.getGameSummary().getCategory() != GameCategories.Category.MEMORIZATION)
+                choicePanel.getChildren().add(gameCard);
+        } else if (!config.selectionCategory() && config.memorizationCategory() && config.actionReactionCategory()
+                && config.logicCategory()) { // L & M & AR
+            if (gameSpec.getGameSummary().getCategory() != GameCategories.Category.SELECTION)
+                choicePanel.getChildren().add(gameCard);
+        } else if (config.selectionCategory() && config.memorizationCategory() && !config.actionReactionCategory()
+                && config.logicCategory()) { // S & M & L
+            if (gameSpec.getGameSummary().getCategory() != GameCategories.Category.ACTION_REACTION)
+                choicePanel.getChildren().add(gameCard);
+        } else if (config.selectionCategory() && config.memorizationCategory() && !config.actionReactionCategory()
+                && !config.logicCategory()) { // S & M
+            if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.SELECTION
+                    || gameSpec.getGameSummary().getCategory() == GameCategories.Category.MEMORIZATION)
+                choicePanel.getChildren().add(gameCard);
+        } else if (config.selectionCategory() && !config.memorizationCategory() && config.actionReactionCategory()
+                && !config.logicCategory()) { // AR & S
+            if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.SELECTION
+                    || gameSpec.getGameSummary().getCategory() == GameCategories.Category.ACTION_REACTION)
+                choicePanel.getChildren().add(gameCard);
+        } else if (!config.selectionCategory() && config.memorizationCategory() && config.actionReactionCategory()
+                && !config.logicCategory()) { // AR & M
+            if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.ACTION_REACTION
+                    || gameSpec.getGameSummary().getCategory() == GameCategories.Category.MEMORIZATION)
+                choicePanel.getChildren().add(gameCard);
+        } else if (!config.selectionCategory() && !config.memorizationCategory() && config.actionReactionCategory()
+                && config.logicCategory()) { // AR & L
+            if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.ACTION_REACTION
+                    || gameSpec.getGameSummary().getCategory() == GameCategories.Category.LOGIC)
+                choicePanel.getChildren().add(gameCard);
+        } else if (config.selectionCategory() && !config.memorizationCategory() && !config.actionReactionCategory()
+                && config.logicCategory()) { // S & L
+            if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.SELECTION
+                    || gameSpec.getGameSummary().getCategory() == GameCategories.Category.LOGIC)
+                choicePanel.getChildren().add(gameCard);
+        } else if (!config.selectionCategory() && config.memorizationCategory() && !config.actionReactionCategory()
+                && config.logicCategory()) { // M & L
+            if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.MEMORIZATION
+                    || gameSpec.getGameSummary().getCategory() == GameCategories.Category.LOGIC)
+                choicePanel.getChildren().add(gameCard);
+        } else if (config.selectionCategory() && !config.memorizationCategory() && !config.actionReactionCategory()
+                && !config.logicCategory()) { // only S
+            if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.SELECTION)
+                choicePanel.getChildren().add(gameCard);
+        } else if (!config.selectionCategory() && config.memorizationCategory() && !config.actionReactionCategory()
+                && !config.logicCategory()) { // only M
+            if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.MEMORIZATION)
+                choicePanel.getChildren().add(gameCard);
+        } else if (!config.selectionCategory() && !config.memorizationCategory() && config.actionReactionCategory()
+                && !config.logicCategory()) { // only AR
+            if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.ACTION_REACTION)
+                choicePanel.getChildren().add(gameCard);
+        } else if (!config.selectionCategory() && !config.memorizationCategory() && !config.actionReactionCategory()
+                && config.logicCategory()) { // only L
+            if (gameSpec.getGameSummary().getCategory() == GameCategories.Category.LOGIC)
+                choicePanel.getChildren().add(gameCard);
+        }
 
-            gameCard.setEnterhandler(new EventHandler<Event>() {
-                @Override
-                public void handle(Event e) {
-                    if (config.isGazeMenuEnable()) {
-                        if (e.getSource() == gameCard /* && !gameCard.isActive() */) {
-                            indicator.setProgress(0);
-                            indicator.setOpacity(1);
-                            indicator.toFront();
-                            switch (gameButtonOrientation) {
-                            case HORIZONTAL:
-                                ((BorderPane) ((GameButtonPane) e.getSource()).getLeft()).setRight(indicator);
-                                break;
-                            case VERTICAL:
-                                ((BorderPane) ((GameButtonPane) e.getSource()).getCenter()).setRight(indicator);
-                                break;
-                            }
-                            ((GameButtonPane) e.getSource()).setTimelineProgressBar(new Timeline());
-
-                            ((GameButtonPane) e.getSource()).getTimelineProgressBar().setDelay(new Duration(500));
-
-                            ((GameButtonPane) e.getSource()).getTimelineProgressBar().getKeyFrames()
-                                    .add(new KeyFrame(new Duration(config.getFixationLength()),
-                                            new KeyValue(indicator.progressProperty(), 1)));
-
-                            ((GameButtonPane) e.getSource()).getTimelineProgressBar().onFinishedProperty()
-                                    .set(new EventHandler<ActionEvent>() {
-                                        @Override
-                                        public void handle(ActionEvent actionEvent) {
-                                            indicator.setOpacity(0);
-                                            for (Node n : choicePanel.getChildren()) {
-                                                if (n instanceof GameButtonPane) {
-                                                    if (((GameButtonPane) n).getTimelineProgressBar() != null) {
-                                                        ((GameButtonPane) n).getTimelineProgressBar().stop();
-                                                    }
+        gameCard.setEnterhandler(new EventHandler<Event>() {
+            @Override
+            public void handle(Event e) {
+                if (config.isGazeMenuEnable()) {
+                    if (e.getSource() == gameCard /* && !gameCard.isActive() */) {
+                        indicator.setProgress(0);
+                        indicator.setOpacity(1);
+                        indicator.toFront();
+                        switch (gameButtonOrientation) {
+                        case HORIZONTAL:
+                            ((BorderPane) ((GameButtonPane) e.getSource()).getLeft()).setRight(indicator);
+                            break;
+                        case VERTICAL:
+                            ((BorderPane) ((GameButtonPane) e.getSource()).getCenter()).setRight(indicator);
+                            break;
+                        }
+                        ((GameButtonPane) e.getSource()).setTimelineProgressBar(new Timeline());
+
+                        ((GameButtonPane) e.getSource()).getTimelineProgressBar().setDelay(new Duration(500));
+
+                        ((GameButtonPane) e.getSource()).getTimelineProgressBar().getKeyFrames()
+                                .add(new KeyFrame(new Duration(config.getFixationLength()),
+                                        new KeyValue(indicator.progressProperty(), 1)));
+
+                        ((GameButtonPane) e.getSource()).getTimelineProgressBar().onFinishedProperty()
+                                .set(new EventHandler<ActionEvent>() {
+                                    @Override
+                                    public void handle(ActionEvent actionEvent) {
+                                        indicator.setOpacity(0);
+                                        for (Node n : choicePanel.getChildren()) {
+                                            if (n instanceof GameButtonPane) {
+                                                if (((GameButtonPane) n).getTimelineProgressBar() != null) {
+                                                    ((GameButtonPane) n).getTimelineProgressBar().stop();
                                                 }
                                             }
-                                            ((GameButtonPane) e.getSource()).getEventhandler().handle(null);
                                         }
-                                    });
-                            ((GameButtonPane) e.getSource()).getTimelineProgressBar().play();
-                        }
+                                        ((GameButtonPane) e.getSource()).getEventhandler().handle(null);
+                                    }
+                                });
+                        ((GameButtonPane) e.getSource()).getTimelineProgressBar().play();
                     }
                 }
-            });
+            }
+        });
 
-            gameCard.setExithandler(new EventHandler<Event>() {
-                @Override
-                public void handle(Event e) {
-                    if (config.isGazeMenuEnable()) {
-                        if (e.getSource() == gameCard /* && gameCard.isActive() */) {
-                            indicator.setProgress(0);
-                            ((GameButtonPane) e.getSource()).getTimelineProgressBar().stop();
-                            indicator.setOpacity(0);
-                            switch (gameButtonOrientation) {
-                            case HORIZONTAL:
-                                ((BorderPane) ((GameButtonPane) e.getSource()).getLeft()).setRight(null);
-                                break;
-                            case VERTICAL:
-                                ((BorderPane) ((GameButtonPane) e.getSource()).getCenter()).setRight(null);
-                                break;
-                            }
+        gameCard.setExithandler(new EventHandler<Event>() {
+            @Override
+            public void handle(Event e) {
+                if (config.isGazeMenuEnable()) {
+                    if (e.getSource() == gameCard /* && gameCard.isActive() */) {
+                        indicator.setProgress(0);
+                        ((GameButtonPane) e.getSource()).getTimelineProgressBar().stop();
+                        indicator.setOpacity(0);
+                        switch (gameButtonOrientation) {
+                        case HORIZONTAL:
+                            ((BorderPane) ((GameButtonPane) e.getSource()).getLeft()).setRight(null);
+                            break;
+                        case VERTICAL:
+                            ((BorderPane) ((GameButtonPane) e.getSource()).getCenter()).setRight(null);
+                            break;
                         }
                     }
                 }
-            });
-
-            if (Configuration.getInstance().isGazeMenuEnable()) {
-                gameCard.addEventFilter(GazeEvent.GAZE_ENTERED, gameCard.getEnterhandler());
-                gameCard.addEventFilter(GazeEvent.GAZE_EXITED, gameCard.getExithandler());
-                gazeDeviceManager.addEventFilter(gameCard);
             }
+        });
 
+        if (Configuration.getInstance().isGazeMenuEnable()) {
+            gameCard.addEventFilter(GazeEvent.GAZE_ENTERED, gameCard.getEnterhandler());
+            gameCard.addEventFilter(GazeEvent.GAZE_EXITED, gameCard.getExithandler());
+            gazeDeviceManager.addEventFilter(gameCard);
         }
+    }
 
-        /*
-         * choicePanel.setBackground(new Background(new BackgroundImage(new Image("data/common/images/back.gif"), null,
-         * null, null, new BackgroundSize(1, 1, true, true, true, true))));
-         */
+    /**
+     * Renders the cards in the viewport or within one viewport of it, and loads their thumbnails.
+     */
+    private void updateVisibleCards(ScrollPane choicePanelScroller) {
+        final Bounds viewport = choicePanelScroller.localToScene(choicePanelScroller.getLayoutBounds());
+        final double margin = viewport.getHeight();
+        final List<Image> loadedThumbnails = new ArrayList<>();
+        for (Node card : choicePanel.getChildren()) {
+            final Bounds bounds = card.localToScene(card.getLayoutBounds());
+            final boolean shown = bounds.getMaxY() >= viewport.getMinY() - margin
+                    && bounds.getMinY() <= viewport.getMaxY() + margin;
+            card.setVisible(shown);
+            if (shown && card instanceof GameButtonPane) {
+                loadedThumbnails.addAll(((GameButtonPane) card).loadThumbnails());
+            }
+        }
+        if (!firstThumbnailsReported && !loadedThumbnails.isEmpty()) {
+            firstThumbnailsReported = true;
+            reportWhenLoaded(loadedThumbnails);
+        }
+    }
 
-        return choicePanelScroller;
+    /**
+     * Logs the time until the thumbnails of the first screen are displayed.
+     */
+    private void reportWhenLoaded(List<Image> thumbnails) {
+        final AtomicInteger pendingThumbnails = new AtomicInteger(thumbnails.size());
+        final Runnable onLoaded = () -> {
+            if (pendingThumbnails.decrementAndGet() == 0) {
+                log.info("Home menu : {} thumbnails of the first screen displayed in {} ms", thumbnails.size(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - creationTime));
+            }
+        };
+        for (Image thumbnail : thumbnails) {
+            if (thumbnail.getProgress() >= 1) {
+                onLoaded.run();
+            } else {
+                thumbnail.progressProperty().addListener((observable, oldValue, newValue) -> {
+                    if (newValue.doubleValue() >= 1) {
+                        onLoaded.run();
+                    }
+                });
+            }
+        }
     }
 
     private CustomButton createExitButton() {
@@ -424,12 +521,12 @@ public class HomeMenuScreen extends GraphicalContext<BorderPane> {
         double height = root.getHeight() * 0.2;
 
         log.info(LOGO_PATH);
-        final Image logoImage = new Image(LOGO_PATH, width, height, true, true);
+        final Image logoImage = ImageUtils.loadImage(LOGO_PATH, width, height, true, true);
         final ImageView logoView = new ImageView(logoImage);
 
         root.heightProperty().addListener((observable, oldValue, newValue) -> {
             final double newHeight = newValue.doubleValue() * 0.2;
-            final Image newLogoImage = new Image(LOGO_PATH, width, newHeight, true, true);
+            final Image newLogoImage = ImageUtils.loadImage(LOGO_PATH, width, newHeight, true, true);
             logoView.setImage(newLogoImage);
         });
 
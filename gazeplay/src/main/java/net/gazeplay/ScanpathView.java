@@ -1,5 +1,6 @@
 package net.gazeplay;
 
+import javafx.application.Platform;
 import javafx.collections.ObservableList;
 import javafx.event.Event;
 import javafx.event.EventHandler;
@@ -14,9 +15,9 @@ import javafx.scene.shape.Ellipse;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import lombok.extern.slf4j.Slf4j;
-import net.gazeplay.commons.utils.FixationPoint;
 import net.gazeplay.commons.utils.FixationSequence;
 import net.gazeplay.commons.utils.HomeButton;
+import net.gazeplay.commons.utils.stats.GazeRecording;
 import net.gazeplay.commons.utils.stats.SavedStatsInfo;
 import net.gazeplay.commons.utils.stats.Stats;
 
@@ -29,7 +30,7 @@ public class ScanpathView extends GraphicalContext<Pane> {
 
     private Stats stats;
     private ImageView scanPathView;
-    private LinkedList<FixationPoint> points;
+    private GazeRecording points;
 
     public static ScanpathView newInstance(GazePlay gazePlay, Stats stats) {
         Pane root = new Pane();
@@ -41,26 +42,31 @@ public class ScanpathView extends GraphicalContext<Pane> {
 
         this.stats = stats;
         SavedStatsInfo savedStatsInfo = stats.getSavedStatsInfo();
-        this.scanPathView = new ImageView(new Image(savedStatsInfo.getGazeMetricsFile().toURI().toString()));
+        this.scanPathView = new ImageView();
+        // the image may still be rendering
+        savedStatsInfo.getFilesReady().thenRun(() -> Platform.runLater(
+                () -> scanPathView.setImage(new Image(savedStatsInfo.getGazeMetricsFile().toURI().toString()))));
         root.getChildren().add(scanPathView);
         // this.points = FixationSequence.getSequence();
         this.points = stats.getFixationSequence();
 
         List<Ellipse> Points = new LinkedList<Ellipse>();
-        for (FixationPoint p : this.points) {
+        for (int i = 0; i < this.points.size(); i++) {
             Ellipse newPoint = new Ellipse();
             // newPoint.setFill(Color.RED); // uncomment and increase opacity for "debug"/ to see if the ellipses are
             // the same as the
             // scanpath image
             newPoint.setOpacity(0);
 
-            newPoint.setCenterX(p.getY());
-            newPoint.setCenterY(p.getX());
-            newPoint.setRadiusX(23 + (int) p.getGazeDuration() / 100);
+            newPoint.setCenterX(points.getY(i));
+            newPoint.setCenterY(points.getX(i));
+            newPoint.setRadiusX(23 + (int) points.getDuration(i) / 100);
             newPoint.setRadiusY(newPoint.getRadiusX());
             Points.add(newPoint);
         }
-        Points.remove(0);
+        if (!Points.isEmpty()) {
+            Points.remove(0);
+        }
         log.info("nb points = " + Points.size());
         root.getChildren().addAll(Points);
 
@@ -73,7 +79,7 @@ public class ScanpathView extends GraphicalContext<Pane> {
             Text label = new Text();
             Points.get(index).setOnMouseEntered(s -> {
 
-                label.setText(stats.getFixationSequence().get(index).getGazeDuration() + " ms");
+                label.setText(stats.getFixationSequence().getDuration(index) + " ms");
                 label.setFont(new Font("Verdana", 20));
                 label.setStrokeWidth(6);
                 label.setFill(Color.BLACK);
@@ -35,6 +35,8 @@ import net.gazeplay.commons.utils.CssUtil;
 import net.gazeplay.commons.utils.CustomButton;
 import net.gazeplay.commons.utils.GamePanelDimensionProvider;
 import net.gazeplay.commons.utils.games.BackgroundMusicManager;
+import net.gazeplay.commons.utils.games.ImageUtils;
+import net.gazeplay.commons.utils.games.ThumbnailCache;
 import net.gazeplay.commons.utils.games.Utils;
 
 import java.io.File;
@@ -165,11 +167,7 @@ public class UserProfilContext extends GraphicalContext<BorderPane> {
             if (s != null) {
                 File f = new File(s);
                 if (f.exists()) {
-                    try {
-                        ip = new ImagePattern(new Image(new FileInputStream(f)));
-                    } catch (FileNotFoundException e) {
-                        e.printStackTrace();
-                    }
+                    ip = new ImagePattern(ThumbnailCache.getInstance().getThumbnail(f, cardWidth, cardHeight));
                 }
             }
             userCard = createUser(choicePanel, gazePlay, nameList[i - 1], ip, i);
@@ -200,11 +198,11 @@ public class UserProfilContext extends GraphicalContext<BorderPane> {
             r.setFill(ip);
         } else {
             if (i == nbUser) {
-                r.setFill(new ImagePattern(new Image("data/common/images/AddUser.png")));
+                r.setFill(ImageUtils.loadImagePattern("data/common/images/AddUser.png"));
             } else if (i == 0) {
-                r.setFill(new ImagePattern(new Image("data/common/images/ConfigUser.png")));
+                r.setFill(ImageUtils.loadImagePattern("data/common/images/ConfigUser.png"));
             } else {
-                r.setFill(new ImagePattern(new Image("data/common/images/DefaultUser.png")));
+                r.setFill(ImageUtils.loadImagePattern("data/common/images/DefaultUser.png"));
             }
 
         }
@@ -366,12 +364,12 @@ public class UserProfilContext extends GraphicalContext<BorderPane> {
         double height = root.getHeight() * 0.2;
 
         log.info(LOGO_PATH);
-        final Image logoImage = new Image(LOGO_PATH, width, height, true, true);
+        final Image logoImage = ImageUtils.loadImage(LOGO_PATH, width, height, true, true);
         final ImageView logoView = new ImageView(logoImage);
 
         root.heightProperty().addListener((observable, oldValue, newValue) -> {
             final double newHeight = newValue.doubleValue() * 0.2;
-            final Image newLogoImage = new Image(LOGO_PATH, width, newHeight, true, true);
+            final Image newLogoImage = ImageUtils.loadImage(LOGO_PATH, width, newHeight, true, true);
             logoView.setImage(newLogoImage);
         });
 
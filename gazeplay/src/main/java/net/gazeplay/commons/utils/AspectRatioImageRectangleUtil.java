@@ -4,12 +4,13 @@ import javafx.geometry.Dimension2D;
 import javafx.scene.image.Image;
 import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Rectangle;
+import net.gazeplay.commons.utils.games.ImageUtils;
 
 public class AspectRatioImageRectangleUtil {
 
     public void setFillImageKeepingAspectRatio(Rectangle rectangle, String imageResourceLocation,
             Dimension2D gamingContextDimension2D) {
-        Image image = new Image(imageResourceLocation);
+        Image image = ImageUtils.loadImage(imageResourceLocation);
         setFillImageKeepingAspectRatio(rectangle, image, gamingContextDimension2D);
     }
 
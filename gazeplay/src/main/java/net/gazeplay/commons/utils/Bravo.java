@@ -17,6 +17,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.gazeplay.AsyncUiTaskExecutor;
 import net.gazeplay.GameContext;
 import net.gazeplay.commons.configuration.Configuration;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.games.Utils;
 
 /**
@@ -200,7 +201,7 @@ public class Bravo extends Rectangle {
     }
 
     private void resetState(Region root) {
-        Image image = new Image(pictureResourceLocation);
+        Image image = ImageUtils.loadImage(pictureResourceLocation);
 
         double imageWidth = image.getWidth();
         double imageHeight = image.getHeight();
@@ -9,7 +9,6 @@ import javafx.event.EventHandler;
 import javafx.geometry.Dimension2D;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
-import javafx.scene.image.Image;
 import javafx.scene.layout.GridPane;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
@@ -18,6 +17,7 @@ import javafx.scene.transform.Rotate;
 import javafx.util.Duration;
 import lombok.extern.slf4j.Slf4j;
 import net.gazeplay.GameContext;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.games.Utils;
 
 import java.util.ArrayList;
@@ -61,9 +61,9 @@ public class DiceRoller extends MeshView {
         setMesh(mesh);
 
         PhongMaterial mat = new PhongMaterial();
-        mat.setSelfIlluminationMap(new Image("data/common/images/dice.png"));
+        mat.setSelfIlluminationMap(ImageUtils.loadImage("data/common/images/dice.png"));
         mat.setDiffuseColor(Color.BLACK);
-        mat.setSpecularMap(new Image("data/common/images/dice.png"));
+        mat.setSpecularMap(ImageUtils.loadImage("data/common/images/dice.png"));
         setMaterial(mat);
 
         rotations.add(new Rotate(0, Rotate.X_AXIS));
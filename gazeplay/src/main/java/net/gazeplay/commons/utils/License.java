@@ -4,15 +4,14 @@ import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.scene.Group;
 import javafx.scene.Scene;
-import javafx.scene.image.Image;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import lombok.extern.slf4j.Slf4j;
 import net.gazeplay.GazePlay;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import org.apache.commons.io.IOUtils;
 
 import java.io.IOException;
@@ -29,7 +28,7 @@ public class License extends Rectangle {
 
         super(X, Y, width, height);
 
-        this.setFill(new ImagePattern(new Image("data/common/images/license.png"), 0, 0, 1, 1, true));
+        this.setFill(ImageUtils.loadImagePattern("data/common/images/license.png"));
 
         EventHandler<Event> homeEvent = new EventHandler<javafx.event.Event>() {
             @Override
@@ -17,12 +17,10 @@ import javafx.scene.paint.Color;
 import lombok.extern.slf4j.Slf4j;
 import net.gazeplay.GazePlay;
 import net.gazeplay.StatsContext;
-import net.gazeplay.commons.utils.FixationPoint;
 import net.gazeplay.commons.utils.HomeButton;
 import net.gazeplay.games.bubbles.BubblesGamesStats;
 
 import javax.xml.bind.annotation.adapters.CollapsedStringAdapter;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -137,7 +135,7 @@ public class StatsDisplay {
         return lineChart;
     }
 
-    public static AreaChart<Number, Number> buildAreaChart(LinkedList<FixationPoint> points, final Region root) {
+    public static AreaChart<Number, Number> buildAreaChart(GazeRecording points, final Region root) {
 
         final NumberAxis xAxis = new NumberAxis();
         final NumberAxis yAxis = new NumberAxis();
@@ -151,14 +149,14 @@ public class StatsDisplay {
 
         XYChart.Series xEyeCoordinates = new XYChart.Series();
         xEyeCoordinates.setName("X coordinate");
-        for (FixationPoint p : points) {
-            xEyeCoordinates.getData().add(new XYChart.Data(p.getFirstGaze(), p.getY()));
+        for (int i = 0; i < points.size(); i++) {
+            xEyeCoordinates.getData().add(new XYChart.Data(points.getTime(i), points.getY(i)));
         }
 
         XYChart.Series yEyeCoordinates = new XYChart.Series();
         yEyeCoordinates.setName("Y coordinate");
-        for (FixationPoint p : points) {
-            yEyeCoordinates.getData().add(new XYChart.Data(p.getFirstGaze(), p.getX()));
+        for (int i = 0; i < points.size(); i++) {
+            yEyeCoordinates.getData().add(new XYChart.Data(points.getTime(i), points.getX(i)));
         }
         xAxis.setTickLabelsVisible(false);
 
@@ -201,12 +199,9 @@ public class StatsDisplay {
         gazeMetrics.setPreserveRatio(true);
 
         SavedStatsInfo savedStatsInfo = stats.getSavedStatsInfo();
-        savedStatsInfo.addObserver((o, arg) -> {
-            Platform.runLater(
-                    () -> gazeMetrics.setImage(new Image(savedStatsInfo.getGazeMetricsFile().toURI().toString())));
-        });
-
-        gazeMetrics.setImage(new Image(savedStatsInfo.getGazeMetricsFile().toURI().toString()));
+        // the image may still be rendering
+        savedStatsInfo.getFilesReady().thenRun(() -> Platform.runLater(
+                () -> gazeMetrics.setImage(new Image(savedStatsInfo.getGazeMetricsFile().toURI().toString()))));
 
         EventHandler<Event> openGazeMetricsEvent = createZoomInGazeMetricsEventHandler(gazeMetrics, root);
         gazeMetrics.addEventHandler(MouseEvent.MOUSE_CLICKED, openGazeMetricsEvent);
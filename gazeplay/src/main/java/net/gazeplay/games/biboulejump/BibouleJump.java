@@ -3,11 +3,11 @@ package net.gazeplay.games.biboulejump;
 import javafx.animation.*;
 import javafx.event.Event;
 import javafx.event.EventHandler;
+import javafx.geometry.Bounds;
 import javafx.geometry.Dimension2D;
 import javafx.geometry.Point2D;
 import javafx.scene.Group;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
@@ -17,13 +17,15 @@ import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.FixedStepGameLoop;
 import net.gazeplay.GameContext;
-import net.gazeplay.GameLifeCycle;
 import net.gazeplay.commons.configuration.Configuration;
 import net.gazeplay.commons.gaze.devicemanager.GazeEvent;
 import net.gazeplay.commons.utils.ProgressButton;
+import net.gazeplay.commons.utils.games.CollisionWorld;
 import net.gazeplay.commons.utils.games.ImageLibrary;
 import net.gazeplay.commons.utils.games.ImageUtils;
+import net.gazeplay.commons.utils.games.ObjectPool;
 import net.gazeplay.commons.utils.games.Utils;
 import net.gazeplay.commons.utils.multilinguism.Multilinguism;
 import net.gazeplay.commons.utils.stats.Stats;
@@ -37,10 +39,19 @@ import java.util.*;
  * still want to tinker with the abominable physics involved, then please come on in, I applaud your bravery.
  */
 @Slf4j
-public class BibouleJump extends AnimationTimer implements GameLifeCycle {
+public class BibouleJump extends FixedStepGameLoop {
 
     private static String DATA_PATH = "data/biboulejump";
 
+    /**
+     * layers of the collision world
+     */
+    private static final int BIBOULE_LAYER = 0;
+    private static final int PLATFORM_LAYER = 1;
+
+    private static final int CLOUD_BOUNCE_FACTOR = 3;
+    private static final int BOUNCEPAD_BOUNCE_FACTOR = 6;
+
     private final GameContext gameContext;
     private final BibouleJumpStats stats;
     private final Dimension2D dimensions;
@@ -57,7 +68,8 @@ public class BibouleJump extends AnimationTimer implements GameLifeCycle {
     private final Rectangle interactionOverlay;
 
     private Point2D gazeTarget;
-    private Point2D velocity;
+    private double velocityX;
+    private double velocityY;
     private final double gravity = 0.005;
     private final double terminalVelocity = 0.8;
     private final double maxSpeed = 0.7;
@@ -66,13 +78,25 @@ public class BibouleJump extends AnimationTimer implements GameLifeCycle {
     private final double platformHeight;
     private Rectangle highestPlatform;
 
-    private long lastTickTime = 0;
-    private long minFPS = 1000;
-
     private Rectangle biboule;
+    /**
+     * simulated position of the biboule, it is drawn between the two
+     */
+    private double bibouleX;
+    private double bibouleY;
+    private double previousBibouleX;
+    private double previousBibouleY;
     private Label onScreenText;
     private Text scoreText;
     private ArrayList<Platform> platforms;
+    private final ObjectPool<Platform> cloudPool;
+    private final ObjectPool<Platform> bouncepadPool;
+
+    private final CollisionWorld<Rectangle> collisionWorld;
+    /**
+     * lower part of the biboule, the part that bounces on the platforms
+     */
+    private final Rectangle bibouleCollider;
 
     private int score;
 
@@ -100,9 +124,32 @@ public class BibouleJump extends AnimationTimer implements GameLifeCycle {
         this.gameContext.getChildren().addAll(backgroundLayer, middleLayer, foregroundLayer);
 
         this.platforms = new ArrayList();
+        this.bibouleCollider = new Rectangle();
+        this.collisionWorld = new CollisionWorld<>(BibouleJump::colliderBounds);
+        collisionWorld.addListener(BIBOULE_LAYER, PLATFORM_LAYER, (collider, platform) -> {
+            // a single bounce even if the biboule lands on several platforms at once
+            if (velocityY > 0) {
+                bounce(((Platform) platform).getBounceFactor(), ((Platform) platform).getSoundFileLocation());
+            }
+        });
         this.platformHeight = dimensions.getHeight() / 10;
         this.platformWidth = dimensions.getWidth() / 7;
 
+        // the platforms scrolled out of the window are reused for the new ones
+        this.cloudPool = new ObjectPool<>(() -> {
+            Platform p = new Platform(0, 0, platformWidth, platformHeight, "bounce.wav", CLOUD_BOUNCE_FACTOR, 0.5, 0,
+                    0, 0);
+            p.setFill(new ImagePattern(cloudImages.pickRandomImage()));
+            return p;
+        }, 16);
+        ImagePattern bouncepadPattern = ImageUtils.loadImagePattern(DATA_PATH + "/bouncepad.png");
+        this.bouncepadPool = new ObjectPool<>(() -> {
+            Platform b = new Platform(0, 0, platformWidth / 5, platformHeight / 3, "boing.wav",
+                    BOUNCEPAD_BOUNCE_FACTOR);
+            b.setFill(bouncepadPattern);
+            return b;
+        }, 4);
+
         this.translate = Multilinguism.getSingleton();
 
         Rectangle backgroundImage = new Rectangle(0, 0, dimensions.getWidth(), dimensions.getHeight());
@@ -164,7 +211,7 @@ public class BibouleJump extends AnimationTimer implements GameLifeCycle {
     }
 
     private void bounce(double intensity, String soundName) {
-        velocity = new Point2D(velocity.getX(), -terminalVelocity * intensity);
+        velocityY = -terminalVelocity * intensity;
 
         try {
             Utils.playSound(DATA_PATH + "/sounds/" + soundName);
@@ -186,18 +233,27 @@ public class BibouleJump extends AnimationTimer implements GameLifeCycle {
 
         interactionOverlay.setDisable(false);
 
-        backgroundLayer.getChildren().removeAll(platforms);
+        for (Platform p : platforms) {
+            backgroundLayer.getChildren().remove(p);
+            releasePlatform(p);
+        }
         platforms.clear();
+        collisionWorld.clear();
+        collisionWorld.add(bibouleCollider, BIBOULE_LAYER);
 
         this.middleLayer.getChildren().clear();
         biboule = new Rectangle(dimensions.getWidth() / 2, dimensions.getHeight() / 2, dimensions.getHeight() / 6,
                 dimensions.getHeight() / 6);
         this.middleLayer.getChildren().add(biboule);
         biboule.setFill(new ImagePattern(bibouleImages.pickRandomImage()));
+        bibouleX = biboule.getX();
+        bibouleY = biboule.getY();
+        previousBibouleX = bibouleX;
+        previousBibouleY = bibouleY;
 
-        velocity = Point2D.ZERO;
+        velocityX = 0;
+        velocityY = 0;
         score = 0;
-        lastTickTime = 0;
         gazeTarget = new Point2D(dimensions.getWidth() / 2, 0);
         createPlatform(biboule.getX() + biboule.getWidth() / 2, biboule.getY() + biboule.getHeight() + platformHeight,
                 false);
@@ -296,12 +352,12 @@ public class BibouleJump extends AnimationTimer implements GameLifeCycle {
      *            The other platform Y position
      */
     private void createBouncepad(double platformX, double platformY) {
-        Platform b = new Platform(
-                platformX + randomGenerator.nextInt((int) (platformWidth * 4 / 5)) - platformWidth / 2,
-                platformY - platformHeight / 3, platformWidth / 5, platformHeight / 3, "boing.wav", 6);
-        b.setFill(new ImagePattern(new Image(DATA_PATH + "/bouncepad.png")));
+        Platform b = bouncepadPool.acquire();
+        b.moveTo(platformX + randomGenerator.nextInt((int) (platformWidth * 4 / 5)) - platformWidth / 2,
+                platformY - platformHeight / 3);
         backgroundLayer.getChildren().add(b);
         platforms.add(b);
+        collisionWorld.add(b, PLATFORM_LAYER);
     }
 
     /**
@@ -317,15 +373,17 @@ public class BibouleJump extends AnimationTimer implements GameLifeCycle {
     private void createPlatform(double centerX, double centerY, boolean moving) {
         Platform p;
         if (!moving) {
-            p = new Platform(centerX - platformWidth / 2, centerY - platformHeight / 2, platformWidth, platformHeight,
-                    "bounce.wav", 3, 0.5, 0, 0, 0);
+            p = cloudPool.acquire();
+            p.moveTo(centerX - platformWidth / 2, centerY - platformHeight / 2);
         } else {
             p = new MovingPlatform(centerX - platformWidth / 2, centerY - platformHeight / 2, platformWidth,
-                    platformHeight, "bounce.wav", 3, dimensions.getWidth(), getGameSpeed(), 0.5, 0, 0, 0);
+                    platformHeight, "bounce.wav", CLOUD_BOUNCE_FACTOR, dimensions.getWidth(), getGameSpeed(), 0.5, 0,
+                    0, 0);
+            p.setFill(new ImagePattern(cloudImages.pickRandomImage()));
         }
         highestPlatform = p;
         platforms.add(p);
-        p.setFill(new ImagePattern(cloudImages.pickRandomImage()));
+        collisionWorld.add(p, PLATFORM_LAYER);
         backgroundLayer.getChildren().add(p);
     }
 
@@ -374,88 +432,98 @@ public class BibouleJump extends AnimationTimer implements GameLifeCycle {
             p.scroll(difference);
             if (p.getY() >= dimensions.getHeight()) {
                 backgroundLayer.getChildren().remove(p);
+                collisionWorld.remove(p);
                 rectIter.remove();
+                releasePlatform(p);
             }
         }
     }
 
     /**
-     * Main game loop This is called over and over, anytime it can be called, but the time between every call is not
-     * equal so we need to compute the elapsed time since the last call, annd move objects on screen according to that
-     * time in order to have smooth looking and consistent movement.
-     * 
-     * @param now
-     *            Time when handle is called
+     * The moving platforms are not reused, their animation is stopped
      */
-    @Override
-    public void handle(long now) {
-
-        if (lastTickTime == 0) {
-            lastTickTime = now;
+    private void releasePlatform(Platform p) {
+        if (p instanceof MovingPlatform) {
+            ((MovingPlatform) p).stopMoving();
+        } else if (p.getBounceFactor() == BOUNCEPAD_BOUNCE_FACTOR) {
+            bouncepadPool.release(p);
+        } else {
+            cloudPool.release(p);
         }
-        double timeElapsed = ((double) now - (double) lastTickTime) / Math.pow(10.0, 6.0); // in ms
-        lastTickTime = now;
+    }
 
-        String logs = "FPS: " + (int) (1000 / timeElapsed) + "\n";
-        if (1000 / timeElapsed < minFPS) {
-            minFPS = 1000 / (int) timeElapsed;
-        }
-        logs += "MinFPS: " + minFPS + "\n";
-        logs += "Time elasped -- Real: " + timeElapsed;
-        timeElapsed /= getGameSpeed();
-        logs += timeElapsed + "\n";
-        logs += "Speed effect: " + config.getSpeedEffects() + "\n";
+    /**
+     * Main game loop, called on every step, so the movements and the jumps are the same whatever the frame rate.
+     *
+     * @param stepMillis
+     *            duration of the step
+     */
+    @Override
+    protected void step(double stepMillis) {
+        double timeElapsed = stepMillis / getGameSpeed();
 
         // Movement
         /// Gravity
-        velocity = velocity.add(0, gravity * timeElapsed);
-        if (velocity.getY() > terminalVelocity) {
-            velocity = new Point2D(velocity.getX(), terminalVelocity);
-        }
+        velocityY = Math.min(velocityY + gravity * timeElapsed, terminalVelocity);
 
         /// Lateral mouvement
-        double distance = Math.abs(gazeTarget.getX() - (biboule.getX() + biboule.getWidth() / 2));
-        double direction = distance == 0 ? 1
-                : (gazeTarget.getX() - (biboule.getX() + biboule.getWidth() / 2)) / distance;
+        double distance = Math.abs(gazeTarget.getX() - (bibouleX + biboule.getWidth() / 2));
+        double direction = distance == 0 ? 1 : (gazeTarget.getX() - (bibouleX + biboule.getWidth() / 2)) / distance;
         if (distance > maxSpeed) {
-            velocity = new Point2D(maxSpeed * direction, velocity.getY());
+            velocityX = maxSpeed * direction;
         } else {
-            velocity = new Point2D(distance * direction, velocity.getY());
+            velocityX = distance * direction;
         }
         /// Apply velocity
-        biboule.setY(biboule.getY() + velocity.getY() * timeElapsed);
-        biboule.setX(biboule.getX() + velocity.getX() * timeElapsed);
+        previousBibouleX = bibouleX;
+        previousBibouleY = bibouleY;
+        bibouleY += velocityY * timeElapsed;
+        bibouleX += velocityX * timeElapsed;
 
         // Collision detection
-        if (velocity.getY() > 0) { // The biboule is falling
-            Rectangle bibouleCollider = new Rectangle(biboule.getX() + biboule.getWidth() / 4,
-                    biboule.getY() + biboule.getHeight() * 2 / 3, biboule.getWidth() / 2, biboule.getHeight() / 3);
-            for (Platform p : platforms) {
-                if (p.isColliding(bibouleCollider)) {
-                    bounce(p.getBounceFactor(), p.getSoundFileLocation());
-                }
-            }
-
+        if (velocityY > 0) { // The biboule is falling
+            bibouleCollider.setX(bibouleX + biboule.getWidth() / 4);
+            bibouleCollider.setY(bibouleY + biboule.getHeight() * 2 / 3);
+            bibouleCollider.setWidth(biboule.getWidth() / 2);
+            bibouleCollider.setHeight(biboule.getHeight() / 3);
+            collisionWorld.update();
         }
 
         // Scrolling
-        if (biboule.getY() <= dimensions.getHeight() / 3) {
-            double difference = dimensions.getHeight() / 3 - biboule.getY();
+        if (bibouleY <= dimensions.getHeight() / 3) {
+            double difference = dimensions.getHeight() / 3 - bibouleY;
             updateScore(difference);
             scrollList(platforms, difference);
-            biboule.setY(biboule.getY() + difference);
+            bibouleY += difference;
+            previousBibouleY += difference;
         }
 
         if (highestPlatform.getY() >= -dimensions.getHeight() / 2)
             generatePlatforms(highestPlatform.getY());
 
         // Fall out of screen
-        if (biboule.getY() >= dimensions.getHeight()) {
+        if (bibouleY >= dimensions.getHeight()) {
             death();
         }
+    }
+
+    @Override
+    protected void render(double alpha) {
+        biboule.setX(previousBibouleX + (bibouleX - previousBibouleX) * alpha);
+        biboule.setY(previousBibouleY + (bibouleY - previousBibouleY) * alpha);
+
+        // Uncomment to show the frame times on screen
+        // onScreenText.setText(getFrameTimeStats().toString());
+    }
 
-        // Uncomment to show on screen logs
-        // onScreenText.setText(logs);
+    /**
+     * The platforms collide through their collider, which is smaller than their image
+     */
+    private static Bounds colliderBounds(Rectangle rectangle) {
+        if (rectangle instanceof Platform) {
+            return ((Platform) rectangle).getColliderBounds();
+        }
+        return rectangle.getBoundsInLocal();
     }
 
     /**
@@ -45,4 +45,12 @@ public class MovingPlatform extends Platform {
 
         leftMovement.playFrom(Duration.seconds((rightLimit % 5) * animationTime / 5));
     }
+
+    /**
+     * Stops the animation, once the platform has left the window
+     */
+    public void stopMoving() {
+        leftMovement.stop();
+        rightMovement.stop();
+    }
 }
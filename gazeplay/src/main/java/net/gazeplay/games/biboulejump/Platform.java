@@ -1,5 +1,6 @@
 package net.gazeplay.games.biboulejump;
 
+import javafx.geometry.Bounds;
 import javafx.scene.shape.Rectangle;
 import lombok.Getter;
 
@@ -29,6 +30,20 @@ public class Platform extends Rectangle {
         collider.setY(collider.getY() + difference);
     }
 
+    /**
+     * Moves the platform and its collider, so that the platform can be reused
+     */
+    public void moveTo(double x, double y) {
+        collider.setX(collider.getX() + x - getX());
+        collider.setY(collider.getY() + y - getY());
+        setX(x);
+        setY(y);
+    }
+
+    public Bounds getColliderBounds() {
+        return collider.getBoundsInLocal();
+    }
+
     public boolean isColliding(Rectangle rect) {
         return collider.getX() < rect.getX() + rect.getWidth() && collider.getX() + collider.getWidth() > rect.getX()
                 && collider.getY() < rect.getY() + rect.getHeight()
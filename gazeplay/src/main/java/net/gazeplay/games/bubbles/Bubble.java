@@ -6,7 +6,6 @@ import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.geometry.Dimension2D;
 import javafx.scene.Parent;
-import javafx.scene.image.Image;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.ImagePattern;
@@ -70,7 +69,7 @@ public class Bubble extends Parent implements GameLifeCycle {
             Rectangle imageRectangle = new Rectangle(0, 0, dimension2D.getWidth(), dimension2D.getHeight());
             int i = (Configuration.getInstance().isBackgroundWhite()) ? 1 : 0;
 
-            imageRectangle.setFill(new ImagePattern(new Image("data/bubble/images/underwater-treasures.jpg")));
+            imageRectangle.setFill(ImageUtils.loadImagePattern("data/bubble/images/underwater-treasures.jpg"));
             imageRectangle.setOpacity(1 - i * 0.9);
 
             gameContext.getChildren().add(imageRectangle);
@@ -24,6 +24,7 @@ import net.gazeplay.GazePlay;
 import net.gazeplay.commons.configuration.Configuration;
 import net.gazeplay.commons.ui.Translator;
 import net.gazeplay.commons.utils.CssUtil;
+import net.gazeplay.commons.utils.games.ImageUtils;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
@@ -168,8 +169,8 @@ public class ColorToolBox extends StackPane {
 
         Image buttonImg = null;
         try {
-            buttonImg = new Image(CUSTOM_BUTTON_IMAGE_PATH, COLORIZE_BUTTONS_SIZE_PX, COLORIZE_BUTTONS_SIZE_PX, false,
-                    true);
+            buttonImg = ImageUtils.loadImage(CUSTOM_BUTTON_IMAGE_PATH, COLORIZE_BUTTONS_SIZE_PX,
+                    COLORIZE_BUTTONS_SIZE_PX, false, true);
         } catch (IllegalArgumentException e) {
             log.warn(e.toString() + " : " + CUSTOM_BUTTON_IMAGE_PATH);
         }
@@ -316,8 +317,15 @@ public class ColorToolBox extends StackPane {
             }
         });
 
+        Button undoButton = new Button(translator.translate("Undo"));
+        undoButton.setOnAction((event) -> {
+
+            colorsGame.undo();
+        });
+
         bottomBox.getChildren().add(imageChooserButton);
         bottomBox.getChildren().add(imageSaverButton);
+        bottomBox.getChildren().add(undoButton);
 
         return bottomBox;
     }
@@ -396,8 +404,8 @@ public class ColorToolBox extends StackPane {
 
         Image buttonImg = null;
         try {
-            buttonImg = new Image(COLORIZE_BUTTON_IMAGE_NAME, COLORIZE_BUTTONS_SIZE_PX, COLORIZE_BUTTONS_SIZE_PX, false,
-                    true);
+            buttonImg = ImageUtils.loadImage(COLORIZE_BUTTON_IMAGE_NAME, COLORIZE_BUTTONS_SIZE_PX,
+                    COLORIZE_BUTTONS_SIZE_PX, false, true);
         } catch (IllegalArgumentException e) {
             log.warn(e.toString() + " : " + COLORIZE_BUTTON_IMAGE_NAME);
         }
@@ -412,8 +420,8 @@ public class ColorToolBox extends StackPane {
 
         buttonImg = null;
         try {
-            buttonImg = new Image(STOP_COLORIZE_BUTTON_IMAGE_PATH, COLORIZE_BUTTONS_SIZE_PX, COLORIZE_BUTTONS_SIZE_PX,
-                    false, true);
+            buttonImg = ImageUtils.loadImage(STOP_COLORIZE_BUTTON_IMAGE_PATH, COLORIZE_BUTTONS_SIZE_PX,
+                    COLORIZE_BUTTONS_SIZE_PX, false, true);
         } catch (IllegalArgumentException e) {
             log.warn(e.toString() + " : " + STOP_COLORIZE_BUTTON_IMAGE_PATH);
         }
@@ -1,5 +1,6 @@
 package net.gazeplay.games.colors;
 
+import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.value.ChangeListener;
@@ -12,6 +13,7 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.TitledPane;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelReader;
 import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
@@ -31,11 +33,12 @@ import net.gazeplay.GameLifeCycle;
 import net.gazeplay.GazePlay;
 import net.gazeplay.commons.configuration.Configuration;
 import net.gazeplay.commons.gaze.devicemanager.GazeEvent;
+import net.gazeplay.commons.threads.BackgroundExecutors;
 import net.gazeplay.commons.ui.Translator;
+import net.gazeplay.commons.utils.ScanlineFloodFill;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Game where you select a color in order to colorize a white and black draw.
@@ -74,6 +77,20 @@ public class ColorsGame implements GameLifeCycle {
      */
     public static final double COLOR_EQUALITY_THRESHOLD = 10 / 255;
 
+    /**
+     * The threshold on the 0 to 255 scale of the pixels.
+     */
+    private static final int COLOR_TOLERANCE = (int) Math.round(COLOR_EQUALITY_THRESHOLD * 255);
+
+    /**
+     * Number of colorizations that can be undone.
+     */
+    public static final int UNDO_LEVELS = 20;
+
+    private static final int BLACK_ARGB = 0xFF000000;
+
+    private static final int WHITE_ARGB = 0xFFFFFFFF;
+
     /**
      * Distance in pixel between two gaze event to consider that the gaze is moving.
      */
@@ -103,9 +120,14 @@ public class ColorsGame implements GameLifeCycle {
     private PixelWriter pixelWriter;
 
     /**
-     * The pixel reader into wich we read pixels
+     * The pixels of the writableImg, filled in background then copied to the writableImg.
+     */
+    private ScanlineFloodFill floodFill;
+
+    /**
+     * Runs the colorizations one after the other, away from the JavaFX thread.
      */
-    private PixelReader pixelReader;
+    private final ExecutorService colorizationExecutor = BackgroundExecutors.newBackgroundExecutor("Colors", 1);
 
     /**
      * The image linked to the pixelReader and pixelWriter
@@ -183,6 +205,7 @@ public class ColorsGame implements GameLifeCycle {
     @Override
     public void dispose() {
 
+        colorizationExecutor.shutdownNow();
     }
 
     private void buildToolBox(double width, double height) {
@@ -312,9 +335,13 @@ public class ColorsGame implements GameLifeCycle {
 
         rectangle.setFill(new ImagePattern(image));
 
-        writableImg = new WritableImage(tmpPixelReader, (int) image.getWidth(), (int) image.getHeight());
+        final int width = (int) image.getWidth();
+        final int height = (int) image.getHeight();
+        final int[] pixels = new int[width * height];
+        tmpPixelReader.getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+
+        writableImg = new WritableImage(tmpPixelReader, width, height);
         pixelWriter = writableImg.getPixelWriter();
-        pixelReader = writableImg.getPixelReader();
 
         final Translator translator = GazePlay.getInstance().getTranslator();
 
@@ -340,22 +367,24 @@ public class ColorsGame implements GameLifeCycle {
         Optional<ButtonType> result = alert.showAndWait();
 
         if (result.get() == yesButton) {
-            toBlackAndWhite();
+            toBlackAndWhite(pixels, width, height);
         }
+
+        floodFill = new ScanlineFloodFill(pixels, width, height, UNDO_LEVELS);
     }
 
-    private void toBlackAndWhite() {
+    private void toBlackAndWhite(final int[] pixels, final int width, final int height) {
 
-        for (int i = 0; i < writableImg.getWidth(); ++i) {
-            for (int j = 0; j < writableImg.getHeight(); ++j) {
+        // sum of the three channels on the 0 to 255 scale
+        final double threshold = AVG_THRESHOLD * 3 * 255;
+        for (int i = 0; i < pixels.length; ++i) {
 
-                Color pixCol = pixelReader.getColor(i, j);
-                double avg = (pixCol.getRed() + pixCol.getGreen() + pixCol.getBlue()) / 3;
+            final int pixel = pixels[i];
+            final int sum = ((pixel >> 16) & 0xFF) + ((pixel >> 8) & 0xFF) + (pixel & 0xFF);
 
-                Color newCol = avg > AVG_THRESHOLD ? Color.WHITE : Color.BLACK;
-                pixelWriter.setColor(i, j, newCol);
-            }
+            pixels[i] = sum > threshold ? WHITE_ARGB : BLACK_ARGB;
         }
+        pixelWriter.setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
 
         updateRectangle();
 
@@ -507,6 +536,8 @@ public class ColorsGame implements GameLifeCycle {
     /**
      * Fill a zone with the current selected color.
      * 
+     * The zone is filled in background, then only the rectangle of the modified pixels is copied to the image.
+     * 
      * @param x
      *            The x coordinates of the point to fill from.
      * @param y
@@ -514,147 +545,78 @@ public class ColorsGame implements GameLifeCycle {
      */
     public void colorize(final double x, final double y) {
 
-        int pixelX = (int) (x * writableImg.getWidth() / rectangle.getWidth());
-        int pixelY = (int) (y * writableImg.getHeight() / rectangle.getHeight());
+        if (floodFill == null || !drawingEnable.getValue()) {
+            return;
+        }
+
+        final int pixelX = (int) (x * writableImg.getWidth() / rectangle.getWidth());
+        final int pixelY = (int) (y * writableImg.getHeight() / rectangle.getHeight());
         // log.info("pixel at x= {}, y = {}", pixelX, pixelY);
 
-        Color color = pixelReader.getColor((int) pixelX, (int) pixelY);
-        // log.info("R = {}, G = {}, B = {}, A = {}", color.getRed(), color.getGreen(), color.getBlue(),
-        // color.getOpacity());
-
-        /*
-         * Don't fill the zone if the pixel selected is already of the same color. Also don't fill black zones
-         */
-        if (!isEqualColors(color, colorToolBox.getSelectedColorBox().getColor()) && !isEqualColors(color, Color.BLACK)
-                && drawingEnable.getValue()) {
-            javaFXFloodFill(pixelWriter, pixelReader, colorToolBox.getSelectedColorBox().getColor(), pixelX, pixelY,
-                    (int) writableImg.getWidth(), (int) writableImg.getHeight());
-            rectangle.setFill(new ImagePattern(writableImg));
-            rectangle.toBack();
-
-            stats.incNbGoals();
-        }
-    }
+        final ScanlineFloodFill fill = floodFill;
+        final int newColor = toArgb(colorToolBox.getSelectedColorBox().getColor());
+
+        colorizationExecutor.execute(() -> {
 
-    private void javaFXFloodFill(final PixelWriter pixelWriter, final PixelReader pixelReader, Color newColor, int x,
-            int y, int width, int height) {
+            if (pixelX < 0 || pixelX >= fill.getWidth() || pixelY < 0 || pixelY >= fill.getHeight()) {
+                return;
+            }
 
-        final Color oldColor = pixelReader.getColor(x, y);
+            /*
+             * Don't fill the zone if the pixel selected is already of the same color (checked by the fill). Also don't
+             * fill black zones
+             */
+            final int color = fill.getPixel(pixelX, pixelY);
+            final int squaredTolerance = COLOR_TOLERANCE * COLOR_TOLERANCE;
+            if (ScanlineFloodFill.squaredDistance(color, BLACK_ARGB) <= squaredTolerance
+                    || fill.fill(pixelX, pixelY, newColor, COLOR_TOLERANCE) == 0) {
+                return;
+            }
 
-        // floodInColumnAndLineRec(pixelWriter, pixelReader, newColor, x, y, width, height, oldColor);
-        floodInColumnAndLine(pixelWriter, pixelReader, newColor, x, y, width, height, oldColor);
+            final ScanlineFloodFill.Region dirtyRegion = fill.getDirtyRegion();
+            Platform.runLater(() -> {
+                writeRegion(fill, dirtyRegion);
+                stats.incNbGoals();
+            });
+        });
     }
 
     /**
-     * Objects used internally that represents a horizontal line of pixels
+     * Restore the image as it was before the last colorization.
      */
-    private class HorizontalZone {
-        public int leftX;
-        public int rightX;
-        public int y;
-
-        public HorizontalZone(int lX, int rX, int y) {
-            this.leftX = lX;
-            this.rightX = rX;
-            this.y = y;
-        }
-
-        @Override
-        public String toString() {
-            return "HorizontalZone{" + "leftX=" + leftX + ", rightX=" + rightX + ", y=" + y + '}';
-        }
-    }
+    public void undo() {
 
-    private final Deque<HorizontalZone> horiZones = new ArrayDeque<HorizontalZone>();
-
-    private void floodInColumnAndLine(final PixelWriter pixelWriter, final PixelReader pixelReader,
-            final Color newColor, final int x, final int y, final int width, final int height, final Color oldColor) {
-
-        int leftX = floodInLine(pixelWriter, pixelReader, newColor, x, y, width, true, oldColor);
-        int rightX = floodInLine(pixelWriter, pixelReader, newColor, x, y, width, false, oldColor);
-
-        HorizontalZone firstZone = new HorizontalZone(leftX, rightX, y);
-        searchZone(firstZone, oldColor, pixelReader, pixelWriter, newColor, width, height);
-
-        while (horiZones.size() > 0) {
-
-            HorizontalZone zone = horiZones.pop();
-            // log.info("zone : {}", zone.toString());
-            searchZone(zone, oldColor, pixelReader, pixelWriter, newColor, width, height);
+        final ScanlineFloodFill fill = floodFill;
+        if (fill == null) {
+            return;
         }
-    }
-
-    private void searchZone(final HorizontalZone zone, final Color oldColor, final PixelReader pixelReader,
-            final PixelWriter pixelWriter, final Color newColor, final int width, final int height) {
-
-        // Search for left and right of the zone
-        int leftX = floodInLine(pixelWriter, pixelReader, newColor, zone.leftX, zone.y, width, true, oldColor);
-        int rightX = floodInLine(pixelWriter, pixelReader, newColor, zone.rightX, zone.y, width, false, oldColor);
-
-        for (int i = leftX; i <= rightX; ++i) {
-
-            // Search for available zone to colorize upward
-            if (zone.y > 0 && isEqualColors(pixelReader.getColor(i, zone.y - 1), oldColor)) {
-
-                int newLeftX = floodInLine(pixelWriter, pixelReader, newColor, i, zone.y - 1, width, true, oldColor);
-                int newRightX = floodInLine(pixelWriter, pixelReader, newColor, i, zone.y - 1, width, false, oldColor);
-
-                horiZones.add(new HorizontalZone(newLeftX, newRightX, zone.y - 1));
-            }
-            // Search for available zone to colorize downward
-            if (zone.y < height - 1 && isEqualColors(pixelReader.getColor(i, zone.y + 1), oldColor)) {
 
-                int newLeftX = floodInLine(pixelWriter, pixelReader, newColor, i, zone.y + 1, width, true, oldColor);
-                int newRightX = floodInLine(pixelWriter, pixelReader, newColor, i, zone.y + 1, width, false, oldColor);
+        colorizationExecutor.execute(() -> {
 
-                horiZones.add(new HorizontalZone(newLeftX, newRightX, zone.y + 1));
+            if (fill.undo()) {
+                final ScanlineFloodFill.Region dirtyRegion = fill.getDirtyRegion();
+                Platform.runLater(() -> writeRegion(fill, dirtyRegion));
             }
-        }
+        });
     }
 
-    private int floodInLine(final PixelWriter pixelWriter, final PixelReader pixelReader, final Color newColor,
-            final int x, final int y, final int width, final boolean isLeftFIll, final Color oldColor) {
-
-        int currentX = x;
-
-        // fill
-        do {
-
-            pixelWriter.setColor(currentX, y, newColor);
-
-            if (isLeftFIll)
-                currentX--;
-            else
-                currentX++;
-        } while (currentX >= 0 && currentX < width - 1 && isEqualColors(pixelReader.getColor(currentX, y), oldColor));
-
-        if (isLeftFIll)
-            currentX++;
-        else {
+    private void writeRegion(final ScanlineFloodFill fill, final ScanlineFloodFill.Region region) {
 
-            currentX--;
+        // the image may have been replaced in the meantime
+        if (fill != floodFill) {
+            return;
         }
 
-        return currentX;
+        pixelWriter.setPixels(region.getX(), region.getY(), region.getWidth(), region.getHeight(),
+                PixelFormat.getIntArgbInstance(), region.getPixels(), 0, region.getWidth());
+        rectangle.setFill(new ImagePattern(writableImg));
+        rectangle.toBack();
     }
 
-    /**
-     * Detect if a color is close enough to another one to be considered the same.
-     * 
-     * @param color1
-     *            The first color to compare
-     * @param color2
-     *            The second color to compare
-     * @return true if considered same, false otherwise.
-     */
-    private static boolean isEqualColors(final Color color1, final Color color2) {
-
-        // Scalar distance calculation
-        double dist = Math.sqrt(
-                Math.pow(color1.getRed() - color2.getRed(), 2) + Math.pow(color1.getGreen() - color2.getGreen(), 2)
-                        + Math.pow(color1.getBlue() - color2.getBlue(), 2));
+    private static int toArgb(final Color color) {
 
-        return dist <= COLOR_EQUALITY_THRESHOLD;
+        return (int) Math.round(color.getOpacity() * 255) << 24 | (int) Math.round(color.getRed() * 255) << 16
+                | (int) Math.round(color.getGreen() * 255) << 8 | (int) Math.round(color.getBlue() * 255);
     }
 
     public void setEnableColorization(boolean enable) {
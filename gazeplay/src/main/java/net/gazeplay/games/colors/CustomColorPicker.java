@@ -16,6 +16,7 @@ import javafx.stage.Stage;
 import javafx.stage.WindowEvent;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.commons.utils.games.ImageUtils;
 
 import static net.gazeplay.games.colors.ColorToolBox.COLORIZE_BUTTONS_SIZE_PX;
 import static net.gazeplay.games.colors.ColorToolBox.COLORS_IMAGES_PATH;
@@ -91,8 +92,8 @@ public class CustomColorPicker extends Pane {
         // Close button
         Image buttonImg = null;
         try {
-            buttonImg = new Image(CLOSE_CURSTOM_PANEL_IMAGE_PATH, COLORIZE_BUTTONS_SIZE_PX, COLORIZE_BUTTONS_SIZE_PX,
-                    false, true);
+            buttonImg = ImageUtils.loadImage(CLOSE_CURSTOM_PANEL_IMAGE_PATH, COLORIZE_BUTTONS_SIZE_PX,
+                    COLORIZE_BUTTONS_SIZE_PX, false, true);
         } catch (IllegalArgumentException e) {
             log.warn(e.toString() + " : " + CLOSE_CURSTOM_PANEL_IMAGE_PATH);
         }
@@ -1,8 +1,6 @@
 package net.gazeplay.games.divisor;
 
 import javafx.geometry.Dimension2D;
-import javafx.scene.image.Image;
-import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Rectangle;
 import lombok.extern.slf4j.Slf4j;
 import net.gazeplay.GameContext;
@@ -41,7 +39,7 @@ public class Divisor implements GameLifeCycle {
             Dimension2D dimension2D = gameContext.getGamePanelDimensionProvider().getDimension2D();
             Rectangle imageRectangle = new Rectangle(0, 0, dimension2D.getWidth(), dimension2D.getHeight());
             try {
-                imageRectangle.setFill(new ImagePattern(new Image("data/divisor/images/Background.png")));
+                imageRectangle.setFill(ImageUtils.loadImagePattern("data/divisor/images/Background.png"));
                 int coef = (Configuration.getInstance().isBackgroundWhite()) ? 1 : 0;
                 imageRectangle.setOpacity(1 - coef * 0.9);
 
@@ -9,7 +9,6 @@ import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
 import javafx.geometry.Dimension2D;
 import javafx.geometry.Pos;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
@@ -28,6 +27,7 @@ import net.gazeplay.commons.configuration.Configuration;
 import net.gazeplay.commons.utils.DiceRoller;
 import net.gazeplay.commons.utils.Position;
 import net.gazeplay.commons.utils.ProgressButton;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.games.Utils;
 import net.gazeplay.commons.utils.multilinguism.Multilinguism;
 import net.gazeplay.commons.utils.stats.Stats;
@@ -298,7 +298,7 @@ public class GooseGame implements GameLifeCycle {
             pawn.reset(firstSquare);
         }
         currentPawn = 0;
-        turnIndicator.setImage(new Image(String.format(BIBOULEPATH, bibouleColors.get(currentPawn))));
+        turnIndicator.setImage(ImageUtils.loadImage(String.format(BIBOULEPATH, bibouleColors.get(currentPawn))));
         rollButton.setLayoutY(dimensions.getHeight() - 1.2 * rollButton.getImage().getFitHeight());
     }
 
@@ -334,7 +334,7 @@ public class GooseGame implements GameLifeCycle {
                 }
             } while (pawn.isSleeping() || pawn.isStuck());
 
-            turnIndicator.setImage(new Image(String.format(BIBOULEPATH, bibouleColors.get(currentPawn))));
+            turnIndicator.setImage(ImageUtils.loadImage(String.format(BIBOULEPATH, bibouleColors.get(currentPawn))));
             showPlayingBiboule.playFromStart();
             showMessage("Player %d's turn", pawn.getNumber());
         }
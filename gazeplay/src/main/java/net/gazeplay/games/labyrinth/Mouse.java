@@ -2,10 +2,9 @@ package net.gazeplay.games.labyrinth;
 
 import javafx.scene.Parent;
 import javafx.scene.control.ProgressIndicator;
-import javafx.scene.image.Image;
-import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Rectangle;
 import net.gazeplay.GameContext;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.stats.Stats;
 
 public abstract class Mouse extends Parent {
@@ -32,7 +31,7 @@ public abstract class Mouse extends Parent {
         this.stats = stats;
 
         this.mouse = new Rectangle(positionX, positionY, width, height);
-        this.mouse.setFill(new ImagePattern(new Image("data/labyrinth/images/mouseFront.png"), 5, 5, 1, 1, true));
+        this.mouse.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/mouseFront.png"));
         this.getChildren().add(mouse);
 
         this.indiceX = 0;
@@ -50,29 +49,25 @@ public abstract class Mouse extends Parent {
 
     public void putInBold() {
         if (orientation.equals("back")) {
-            this.mouse
-                    .setFill(new ImagePattern(new Image("data/labyrinth/images/mouseBackBold.png"), 5, 5, 1, 1, true));
+            this.mouse.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/mouseBackBold.png"));
         } else if (orientation.equals("front")) {
-            this.mouse
-                    .setFill(new ImagePattern(new Image("data/labyrinth/images/mouseFrontBold.png"), 5, 5, 1, 1, true));
+            this.mouse.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/mouseFrontBold.png"));
         } else if (orientation.equals("left")) {
-            this.mouse
-                    .setFill(new ImagePattern(new Image("data/labyrinth/images/mouseLeftBold.png"), 5, 5, 1, 1, true));
+            this.mouse.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/mouseLeftBold.png"));
         } else if (orientation.equals("right")) {
-            this.mouse
-                    .setFill(new ImagePattern(new Image("data/labyrinth/images/mouseRightBold.png"), 5, 5, 1, 1, true));
+            this.mouse.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/mouseRightBold.png"));
         }
     }
 
     public void putInLight() {
         if (orientation.equals("back")) {
-            this.mouse.setFill(new ImagePattern(new Image("data/labyrinth/images/mouseBack.png"), 5, 5, 1, 1, true));
+            this.mouse.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/mouseBack.png"));
         } else if (orientation.equals("front")) {
-            this.mouse.setFill(new ImagePattern(new Image("data/labyrinth/images/mouseFront.png"), 5, 5, 1, 1, true));
+            this.mouse.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/mouseFront.png"));
         } else if (orientation.equals("left")) {
-            this.mouse.setFill(new ImagePattern(new Image("data/labyrinth/images/mouseLeft.png"), 5, 5, 1, 1, true));
+            this.mouse.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/mouseLeft.png"));
         } else if (orientation.equals("right")) {
-            this.mouse.setFill(new ImagePattern(new Image("data/labyrinth/images/mouseRight.png"), 5, 5, 1, 1, true));
+            this.mouse.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/mouseRight.png"));
         }
     }
 
@@ -82,22 +77,18 @@ public abstract class Mouse extends Parent {
         if (oldColumn != newColumn) {
             if (oldColumn < newColumn) { // Move to the right
                 this.orientation = "right";
-                this.mouse
-                        .setFill(new ImagePattern(new Image("data/labyrinth/images/mouseRight.png"), 5, 5, 1, 1, true));
+                this.mouse.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/mouseRight.png"));
             } else { // Move to the Left
                 this.orientation = "left";
-                this.mouse
-                        .setFill(new ImagePattern(new Image("data/labyrinth/images/mouseLeft.png"), 5, 5, 1, 1, true));
+                this.mouse.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/mouseLeft.png"));
             }
         } else {
             if (oldRow < newRow) { // Move to the bottom
                 this.orientation = "front";
-                this.mouse
-                        .setFill(new ImagePattern(new Image("data/labyrinth/images/mouseFront.png"), 5, 5, 1, 1, true));
+                this.mouse.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/mouseFront.png"));
             } else { // Move to the up
                 this.orientation = "back";
-                this.mouse
-                        .setFill(new ImagePattern(new Image("data/labyrinth/images/mouseBack.png"), 5, 5, 1, 1, true));
+                this.mouse.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/mouseBack.png"));
             }
         }
     }
@@ -8,13 +8,12 @@ import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.geometry.Dimension2D;
 import javafx.scene.control.ProgressIndicator;
-import javafx.scene.image.Image;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Rectangle;
 import javafx.util.Duration;
 import net.gazeplay.GameContext;
 import net.gazeplay.commons.gaze.devicemanager.GazeEvent;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.stats.Stats;
 
 /*
@@ -118,12 +117,12 @@ public abstract class MouseArrows extends Mouse {
 
     /* s = "up" / "down" / "right" / Left */
     protected void putInBold(String s, Rectangle b) {
-        b.setFill(new ImagePattern(new Image("data/labyrinth/images/" + s + "Arrow.png"), 5, 5, 1, 1, true));
+        b.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/" + s + "Arrow.png"));
         b.setOpacity(1);
     }
 
     protected void putInLight(String s, Rectangle b) {
-        b.setFill(new ImagePattern(new Image("data/labyrinth/images/" + s + "ArrowLight.png"), 5, 5, 1, 1, true));
+        b.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/" + s + "ArrowLight.png"));
         b.setOpacity(0.5);
     }
 
@@ -302,7 +301,7 @@ public abstract class MouseArrows extends Mouse {
     protected void creationButton(Rectangle b, double x, double y, double width, double height, String s,
             EventHandler<Event> e) {
         b = new Rectangle(x, y, width, height);
-        b.setFill(new ImagePattern(new Image("data/labyrinth/images/" + s + "Arrow.png"), 5, 5, 1, 1, true));
+        b.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/" + s + "Arrow.png"));
         b.addEventHandler(MouseEvent.ANY, e);
         b.addEventHandler(GazeEvent.ANY, e);
     }
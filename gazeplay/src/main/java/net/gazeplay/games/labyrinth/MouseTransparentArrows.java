@@ -1,10 +1,9 @@
 package net.gazeplay.games.labyrinth;
 
 import javafx.scene.control.ProgressIndicator;
-import javafx.scene.image.Image;
-import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Rectangle;
 import net.gazeplay.GameContext;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.stats.Stats;
 
 /*
@@ -39,23 +38,19 @@ public class MouseTransparentArrows extends MouseArrows {
         double dy = gameInstance.caseHeight;
 
         this.buttonUp = new Rectangle(x, y - dy, buttonDimWidth, buttonDimHeight);
-        this.buttonUp
-                .setFill(new ImagePattern(new Image("data/labyrinth/images/TransparentArrow.png"), 5, 5, 1, 1, true));
+        this.buttonUp.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/TransparentArrow.png"));
         this.indicatorUp = createProgressIndicator(x, y - dy, buttonDimWidth, buttonDimHeight);
 
         this.buttonDown = new Rectangle(x, y + dy, buttonDimWidth, buttonDimHeight);
-        this.buttonDown
-                .setFill(new ImagePattern(new Image("data/labyrinth/images/TransparentArrow.png"), 5, 5, 1, 1, true));
+        this.buttonDown.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/TransparentArrow.png"));
         this.indicatorDown = createProgressIndicator(x, y + dy, buttonDimWidth, buttonDimHeight);
 
         this.buttonLeft = new Rectangle(x - dx, y, buttonDimHeight, buttonDimWidth);
-        this.buttonLeft
-                .setFill(new ImagePattern(new Image("data/labyrinth/images/TransparentArrow.png"), 5, 5, 1, 1, true));
+        this.buttonLeft.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/TransparentArrow.png"));
         this.indicatorLeft = createProgressIndicator(x - dx, y, buttonDimWidth, buttonDimHeight);
 
         this.buttonRight = new Rectangle(x + dx, y, buttonDimHeight, buttonDimWidth);
-        this.buttonRight
-                .setFill(new ImagePattern(new Image("data/labyrinth/images/TransparentArrow.png"), 5, 5, 1, 1, true));
+        this.buttonRight.setFill(ImageUtils.loadImagePattern("data/labyrinth/images/TransparentArrow.png"));
         this.indicatorRight = createProgressIndicator(x + dx, y, buttonDimWidth, buttonDimHeight);
     }
 
@@ -7,6 +7,7 @@ import javafx.geometry.Dimension2D;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.gazeplay.commons.configuration.Configuration;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.games.Utils;
 
 /**
@@ -31,7 +32,7 @@ public class Explosion extends Rectangle {
         super(0, 0, 0, 0);
         this.enableRewardSound = Configuration.getInstance().isEnableRewardSound();
 
-        Image img = new Image(defaultPictureResourceLocation);
+        Image img = ImageUtils.loadImage(defaultPictureResourceLocation);
         double imgWidth = img.getWidth();
         double imgHeight = img.getHeight();
 
@@ -19,6 +19,7 @@ import net.gazeplay.GameContext;
 import net.gazeplay.GameLifeCycle;
 import net.gazeplay.commons.configuration.Configuration;
 import net.gazeplay.commons.gaze.devicemanager.GazeEvent;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.stats.Stats;
 import java.util.LinkedList;
 
@@ -80,14 +81,14 @@ public class MagicPotions extends Parent implements GameLifeCycle {
         Rectangle background = new Rectangle(0, 0, (int) gameDimension2D.getWidth(), (int) gameDimension2D.getHeight());
         background.widthProperty().bind(gameContext.getRoot().widthProperty());
         background.heightProperty().bind(gameContext.getRoot().heightProperty());
-        background.setFill(new ImagePattern(new Image(image_PATH + "background-potions.jpg")));
+        background.setFill(ImageUtils.loadImagePattern(image_PATH + "background-potions.jpg"));
 
         int coef = (Configuration.getInstance().isBackgroundWhite()) ? 1 : 0;
         background.setOpacity(1 - coef * 0.9);
 
         gameContext.getChildren().add(background);
         /* BIBOULE - CLIENT */
-        Image bibouleClient = new Image(image_PATH + "Biboule-Client.png");
+        Image bibouleClient = ImageUtils.loadImage(image_PATH + "Biboule-Client.png");
 
         double bibX = gameDimension2D.getWidth() * 2 / 3 - bibouleClient.getWidth() / 2;
         double bibY = 50;//
@@ -108,9 +109,9 @@ public class MagicPotions extends Parent implements GameLifeCycle {
         currentRoundDetails = new MagicPotions.RoundDetails(client.getColorsToMix(), client.getPotionRequest());
 
         // 3 potions
-        Image red = new Image(image_PATH + "potionRed.png");
-        Image yellow = new Image(image_PATH + "potionYellow.png");
-        Image blue = new Image(image_PATH + "potionBlue.png");
+        Image red = ImageUtils.loadImage(image_PATH + "potionRed.png");
+        Image yellow = ImageUtils.loadImage(image_PATH + "potionYellow.png");
+        Image blue = ImageUtils.loadImage(image_PATH + "potionBlue.png");
         potionRed = new Potion(gameDimension2D.getWidth() * 6 / 7 - (red.getWidth() + red.getWidth()) * 1.5,
                 gameDimension2D.getHeight() - red.getHeight() - 10, red.getWidth(), red.getHeight(), red, Color.RED,
                 gameContext, stats, this, Configuration.getInstance().getFixationLength());
@@ -130,7 +131,7 @@ public class MagicPotions extends Parent implements GameLifeCycle {
         gameContext.getChildren().addAll(potionsOnTable);
 
         // mixing Pot
-        Image mixPotImage = new Image(image_PATH + "mixingPot.png");
+        Image mixPotImage = ImageUtils.loadImage(image_PATH + "mixingPot.png");
         mixPot = new Rectangle(gameDimension2D.getWidth() * 2 / 7,
                 gameDimension2D.getHeight() - mixPotImage.getHeight(), mixPotImage.getWidth(), mixPotImage.getHeight());
         mixPot.setFill(new ImagePattern(mixPotImage, 0, 0, 1, 1, true));
@@ -17,6 +17,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.gazeplay.GameContext;
 import net.gazeplay.commons.gaze.devicemanager.GazeEvent;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.stats.Stats;
 
 /**
@@ -67,7 +68,7 @@ public class Card extends Parent {
             GameContext gameContext, Stats stats, MagicCards gameInstance, int fixationlength) {
 
         this.card = new Rectangle(positionX, positionY, width, height);
-        this.card.setFill(new ImagePattern(new Image("data/magiccards/images/red-card-game.png"), 0, 0, 1, 1, true));
+        this.card.setFill(ImageUtils.loadImagePattern("data/magiccards/images/red-card-game.png"));
 
         this.image = image;
         this.winner = winner; // true if it is the good card
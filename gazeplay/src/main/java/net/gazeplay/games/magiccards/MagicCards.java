@@ -132,7 +132,7 @@ public class MagicCards implements GameLifeCycle {
                     image = imageLibrary.pickRandomImage();
                 } else {
                     isWinnerCard = false;
-                    image = new Image("data/common/images/error.png");
+                    image = ImageUtils.loadImage("data/common/images/error.png");
                 }
 
                 double positionX = width / 2 + (width + cardWidth) * currentColumnIndex;
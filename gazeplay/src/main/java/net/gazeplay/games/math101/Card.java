@@ -21,6 +21,7 @@ import javafx.util.Duration;
 import lombok.Getter;
 import net.gazeplay.GameContext;
 import net.gazeplay.commons.gaze.devicemanager.GazeEvent;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.stats.Stats;
 
 public class Card extends Parent {
@@ -71,10 +72,10 @@ public class Card extends Parent {
             GameContext gameContext, Stats stats, Math101 gameInstance, int fixationlength) {
 
         this.card = new Rectangle(positionX, positionY, width, height);
-        this.card.setFill(new ImagePattern(new Image("data/magiccards/images/red-card-game.png"), 0, 0, 1, 1, true));
+        this.card.setFill(ImageUtils.loadImagePattern("data/magiccards/images/red-card-game.png"));
 
         this.card.setFill(Color.BEIGE);
-        this.card.setFill(new ImagePattern(new Image("data/math101/images/note2.png"), 0, 0, 1, 1, true));
+        this.card.setFill(ImageUtils.loadImagePattern("data/math101/images/note2.png"));
 
         // Setting the height and width of the arc
         // this.card.setArcWidth(30.0);
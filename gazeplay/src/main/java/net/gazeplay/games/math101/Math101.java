@@ -7,7 +7,6 @@ import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
@@ -200,7 +199,7 @@ public class Math101 implements GameLifeCycle {
         double bibouleX = gameDimension2D.getWidth() - 50 - bibouleWidth;
         double bibouleY = 50;// gameDimension2D.getHeight() - 50;
         Rectangle bibouleRectangle = new Rectangle(bibouleX, bibouleY, bibouleWidth, bibouleHeight);
-        bibouleRectangle.setFill(new ImagePattern(new Image("data/math101/images/biboule_hand.png"), 0, 0, 1, 1, true));
+        bibouleRectangle.setFill(ImageUtils.loadImagePattern("data/math101/images/biboule_hand.png"));
         gameContext.getChildren().add(bibouleRectangle);
 
         // Stack of blackboard
@@ -216,7 +215,7 @@ public class Math101 implements GameLifeCycle {
         stack.setLayoutX(boardX);
         stack.setLayoutY(boardY);
         Rectangle boardRectangle = new Rectangle(boardX, boardY, boardWidth, boardHeight);
-        boardRectangle.setFill(new ImagePattern(new Image("data/math101/images/blackboard.png"), 0, 0, 1, 1, true));
+        boardRectangle.setFill(ImageUtils.loadImagePattern("data/math101/images/blackboard.png"));
 
         // Creating the cards
         List<Card> cardList = createCards(winnerCardIndex, correctAnswer, config, operatorStr);
@@ -285,7 +284,7 @@ public class Math101 implements GameLifeCycle {
                 if (currentCardIndex == winnerCardIndex) {
                     isWinnerCard = true;
                     currentValue = correctAnswer;
-                    image = new Image("data/math101/images/correct2.png");
+                    image = ImageUtils.loadImage("data/math101/images/correct2.png");
 
                 } else {
                     Random r = new Random();
@@ -304,7 +303,7 @@ public class Math101 implements GameLifeCycle {
                     currentValue = tempCurrent;
 
                     isWinnerCard = false;
-                    image = new Image("data/common/images/error.png");
+                    image = ImageUtils.loadImage("data/common/images/error.png");
                 }
 
                 double positionX = computePositionX(boxWidth, cardWidth, currentColumnIndex);
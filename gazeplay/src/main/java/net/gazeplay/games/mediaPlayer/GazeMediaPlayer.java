@@ -29,7 +29,6 @@ import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 import javafx.scene.media.MediaView;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Text;
 import javafx.scene.web.WebView;
@@ -42,6 +41,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.gazeplay.GameContext;
 import net.gazeplay.GameLifeCycle;
 import net.gazeplay.commons.gaze.devicemanager.GazeEvent;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.stats.Stats;
 
 @Slf4j
@@ -136,7 +136,7 @@ public class GazeMediaPlayer extends Parent implements GameLifeCycle {
         StackPane videoStack = new StackPane();
 
         Rectangle r = new Rectangle(0, 0, dimension2D.getWidth() / 3, dimension2D.getHeight() / 2);
-        r.setFill(new ImagePattern(new Image("data/gazeMediaPlayer/gazeMediaPlayer.png")));
+        r.setFill(ImageUtils.loadImagePattern("data/gazeMediaPlayer/gazeMediaPlayer.png"));
 
         videoStack.getChildren().addAll(r, video);
         video.toFront();
@@ -152,28 +152,28 @@ public class GazeMediaPlayer extends Parent implements GameLifeCycle {
         left = new Button();
         left.setPrefWidth(dimension2D.getWidth() / 12);
         left.setPrefHeight(dimension2D.getHeight() / 8);
-        ImageView leftIv = new ImageView(new Image("data/gazeMediaPlayer/prev.png"));
+        ImageView leftIv = new ImageView(ImageUtils.loadImage("data/gazeMediaPlayer/prev.png"));
         leftIv.setPreserveRatio(true);
         leftIv.setFitHeight((90 * left.getHeight()) / 100);
         left.setGraphic(leftIv);
         playPause = new Button();
         playPause.setPrefWidth(dimension2D.getWidth() / 12);
         playPause.setPrefHeight(dimension2D.getHeight() / 8);
-        ImageView playPauseIv = new ImageView(new Image("data/gazeMediaPlayer/playPause.png"));
+        ImageView playPauseIv = new ImageView(ImageUtils.loadImage("data/gazeMediaPlayer/playPause.png"));
         playPauseIv.setPreserveRatio(true);
         playPauseIv.setFitHeight((90 * playPause.getHeight()) / 100);
         playPause.setGraphic(playPauseIv);
         right = new Button();
         right.setPrefWidth(dimension2D.getWidth() / 12);
         right.setPrefHeight(dimension2D.getHeight() / 8);
-        ImageView rightIv = new ImageView(new Image("data/gazeMediaPlayer/next.png"));
+        ImageView rightIv = new ImageView(ImageUtils.loadImage("data/gazeMediaPlayer/next.png"));
         rightIv.setPreserveRatio(true);
         rightIv.setFitHeight((90 * right.getHeight()) / 100);
         right.setGraphic(rightIv);
         fullScreen = new Button();
         fullScreen.setPrefWidth(dimension2D.getWidth() / 12);
         fullScreen.setPrefHeight(dimension2D.getHeight() / 8);
-        ImageView ScreenIv = new ImageView(new Image("data/gazeMediaPlayer/fullon.png"));
+        ImageView ScreenIv = new ImageView(ImageUtils.loadImage("data/gazeMediaPlayer/fullon.png"));
         ScreenIv.setPreserveRatio(true);
         ScreenIv.setFitHeight((90 * fullScreen.getHeight()) / 100);
         fullScreen.setGraphic(ScreenIv);
@@ -318,7 +318,7 @@ public class GazeMediaPlayer extends Parent implements GameLifeCycle {
                 mediaView.setFitHeight((7 * dimension2D.getHeight()) / 8);
 
                 Rectangle r = new Rectangle(0, 0, (7 * dimension2D.getHeight()) / 8, (7 * dimension2D.getHeight()) / 8);
-                r.setFill(new ImagePattern(new Image("data/gazeMediaPlayer/gazeMediaPlayer.png")));
+                r.setFill(ImageUtils.loadImagePattern("data/gazeMediaPlayer/gazeMediaPlayer.png"));
                 ((StackPane) videoRoot.getCenter()).getChildren().set(0, r);
 
                 gameContext.getChildren().clear();
@@ -338,7 +338,7 @@ public class GazeMediaPlayer extends Parent implements GameLifeCycle {
                 mediaView.setFitHeight(dimension2D.getHeight() / 2);
                 mediaView.setFitWidth(dimension2D.getWidth() / 3);
                 Rectangle r = new Rectangle(0, 0, dimension2D.getWidth() / 3, dimension2D.getHeight() / 2);
-                r.setFill(new ImagePattern(new Image("data/gazeMediaPlayer/gazeMediaPlayer.png")));
+                r.setFill(ImageUtils.loadImagePattern("data/gazeMediaPlayer/gazeMediaPlayer.png"));
                 ((StackPane) videoRoot.getCenter()).getChildren().set(0, r);
             }
 
@@ -723,7 +723,7 @@ public class GazeMediaPlayer extends Parent implements GameLifeCycle {
             }
             double size = (7 * dimension2D.getHeight()) / 8;
             Rectangle r = new Rectangle(0, 0, size, size);
-            r.setFill(new ImagePattern(new Image("data/gazeMediaPlayer/gazeMediaPlayer.png")));
+            r.setFill(ImageUtils.loadImagePattern("data/gazeMediaPlayer/gazeMediaPlayer.png"));
             ((StackPane) videoRoot.getCenter()).getChildren().set(0, r);
 
             gameContext.getChildren().clear();
@@ -756,7 +756,7 @@ public class GazeMediaPlayer extends Parent implements GameLifeCycle {
             mediaView.setFitWidth(dimension2D.getWidth() / 3);
 
             Rectangle r = new Rectangle(0, 0, dimension2D.getWidth() / 3, dimension2D.getHeight() / 2);
-            r.setFill(new ImagePattern(new Image("data/gazeMediaPlayer/gazeMediaPlayer.png")));
+            r.setFill(ImageUtils.loadImagePattern("data/gazeMediaPlayer/gazeMediaPlayer.png"));
             ((StackPane) videoRoot.getCenter()).getChildren().set(0, r);
 
             gameContext.getChildren().clear();
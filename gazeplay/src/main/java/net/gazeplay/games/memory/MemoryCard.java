@@ -18,6 +18,7 @@ import javafx.util.Duration;
 import lombok.extern.slf4j.Slf4j;
 import net.gazeplay.GameContext;
 import net.gazeplay.commons.gaze.devicemanager.GazeEvent;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.stats.Stats;
 
 @Slf4j
@@ -62,8 +63,7 @@ public class MemoryCard extends Parent {
         if (isOpen) {
             this.card.setFill(new ImagePattern(image, 0, 0, 1, 1, true));
         } else {
-            this.card
-                    .setFill(new ImagePattern(new Image("data/magiccards/images/red-card-game.png"), 0, 0, 1, 1, true));
+            this.card.setFill(ImageUtils.loadImagePattern("data/magiccards/images/red-card-game.png"));
         }
 
         this.image = image;
@@ -170,7 +170,7 @@ public class MemoryCard extends Parent {
                 gameInstance.currentRoundDetails.cardList.get(i).progressIndicator.setOpacity(0);
                 if (!isOpen) {
                     gameInstance.currentRoundDetails.cardList.get(i).card.setFill(
-                            new ImagePattern(new Image("data/magiccards/images/red-card-game.png"), 0, 0, 1, 1, true));
+                            ImageUtils.loadImagePattern("data/magiccards/images/red-card-game.png"));
                 }
             }
             gameInstance.currentRoundDetails.cardList.get(i).cardAlreadyTurned = -1;
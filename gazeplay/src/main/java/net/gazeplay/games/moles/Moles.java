@@ -4,9 +4,7 @@ import javafx.geometry.Dimension2D;
 import javafx.scene.Parent;
 import javafx.scene.control.Label;
 import javafx.scene.effect.ColorAdjust;
-import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import lombok.AllArgsConstructor;
@@ -15,6 +13,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.gazeplay.GameContext;
 import net.gazeplay.GameLifeCycle;
 import net.gazeplay.commons.configuration.Configuration;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.stats.Stats;
 
 import java.util.*;
@@ -62,7 +61,7 @@ public class Moles extends Parent implements GameLifeCycle {
         final Configuration config = Configuration.getInstance();
 
         Rectangle imageFond = new Rectangle(0, 0, dimension2D.getWidth(), dimension2D.getHeight());
-        imageFond.setFill(new ImagePattern(new Image("data/whackmole/images/molesGround.jpg")));
+        imageFond.setFill(ImageUtils.loadImagePattern("data/whackmole/images/molesGround.jpg"));
         int coef = (Configuration.getInstance().isBackgroundWhite()) ? 1 : 0;
 
         ColorAdjust colorAdjust = new ColorAdjust();
@@ -78,7 +77,7 @@ public class Moles extends Parent implements GameLifeCycle {
         gameContext.getChildren().add(this);
 
         Rectangle imageFondTrans = new Rectangle(0, 0, dimension2D.getWidth(), dimension2D.getHeight());
-        imageFondTrans.setFill(new ImagePattern(new Image("data/whackmole/images/molesGroundTransparent.png")));
+        imageFondTrans.setFill(ImageUtils.loadImagePattern("data/whackmole/images/molesGroundTransparent.png"));
 
         imageFondTrans.setEffect(colorAdjust);
 
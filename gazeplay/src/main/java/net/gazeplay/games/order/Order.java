@@ -9,14 +9,13 @@ import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
-import javafx.scene.image.Image;
-import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Circle;
 import javafx.util.Duration;
 import lombok.extern.slf4j.Slf4j;
 import net.gazeplay.GameContext;
 import net.gazeplay.GameLifeCycle;
 import net.gazeplay.commons.configuration.Configuration;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.stats.Stats;
 
 /**
@@ -62,9 +61,9 @@ public class Order implements GameLifeCycle {
 
         Circle c = new Circle(t.getPos().getX(), t.getPos().getY(), t.getRadius());
         if (correct == true) {
-            c.setFill(new ImagePattern(new Image("data/order/images/success.png"), 0, 0, 1, 1, true));
+            c.setFill(ImageUtils.loadImagePattern("data/order/images/success.png"));
         } else {
-            c.setFill(new ImagePattern(new Image("data/order/images/fail.png"), 0, 0, 1, 1, true));
+            c.setFill(ImageUtils.loadImagePattern("data/order/images/fail.png"));
         }
         this.gameContext.getChildren().add(c);
 
@@ -8,14 +8,13 @@ import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.scene.Parent;
 import javafx.scene.control.ProgressIndicator;
-import javafx.scene.image.Image;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Circle;
 import javafx.util.Duration;
 import net.gazeplay.GameContext;
 import net.gazeplay.commons.gaze.devicemanager.GazeEvent;
 import net.gazeplay.commons.utils.Position;
+import net.gazeplay.commons.utils.games.ImageUtils;
 
 /**
  *
@@ -39,7 +38,7 @@ public class Target extends Parent {
         this.radius = 75;
 
         Circle cercle = new Circle(pos.getX(), pos.getY(), this.radius);
-        cercle.setFill(new ImagePattern(new Image("data/order/images/target.png"), 0, 0, 1, 1, true));
+        cercle.setFill(ImageUtils.loadImagePattern("data/order/images/target.png"));
         this.getChildren().add(cercle);
 
         this.progressIndicator = createProgressIndicator(100);
@@ -15,6 +15,7 @@ import javafx.util.Duration;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.commons.utils.games.ImageUtils;
 
 @Slf4j
 public class Mypet extends Pane {
@@ -73,7 +74,7 @@ public class Mypet extends Pane {
     private String emotion = "basic";
 
     public Mypet(double height, double width, PetHouse ph) {
-        Image tmp = new Image("data/pet/images/body.png");
+        Image tmp = ImageUtils.loadImage("data/pet/images/body.png");
 
         double old_valueh = tmp.getHeight();
         double new_valueh = height / 4;
@@ -95,7 +96,7 @@ public class Mypet extends Pane {
     }
 
     public void init() {
-        Image corps = new Image("data/pet/images/body.png");
+        Image corps = ImageUtils.loadImage("data/pet/images/body.png");
         setBody(new Rectangle(0, 0, corps.getWidth() * wratio, corps.getHeight() * hratio));
 
         getBody().setFill(new ImagePattern(corps));
@@ -106,7 +107,7 @@ public class Mypet extends Pane {
         getBody().setLayoutX(biboulew / 2 - getBody().getWidth() / 2);
         getBody().setLayoutY(bibouleh - getBody().getHeight());
 
-        Image wings = new Image("data/pet/images/wing.png");
+        Image wings = ImageUtils.loadImage("data/pet/images/wing.png");
 
         setLeftWing((new ImageView(wings)));
         getLeftWing().setPreserveRatio(true);
@@ -120,7 +121,7 @@ public class Mypet extends Pane {
         getRightWing().setLayoutX(biboulew / 2 + getBody().getWidth() / 3);
         getRightWing().setRotate(30);
 
-        Image mouth = new Image("data/pet/images/mouth.png");
+        Image mouth = ImageUtils.loadImage("data/pet/images/mouth.png");
         setMouth(new Rectangle(0, 0, mouth.getWidth() * wratio, mouth.getHeight() * hratio));
         getMouth().setX(biboulew / 2 - getMouth().getWidth() / 2);
         getMouth().setY(3 * bibouleh / 4);
@@ -128,7 +129,7 @@ public class Mypet extends Pane {
         // getMouth().setFHeight(mouth.getHeight() * hratio);
         // getMouth().setFitWidth(mouth.getWidth() * wratio);
 
-        Image eyes = new Image("data/pet/images/eye.png");
+        Image eyes = ImageUtils.loadImage("data/pet/images/eye.png");
 
         setRightEye(new Rectangle(0, 0, eyes.getWidth() * wratio, eyes.getHeight() * hratio));
         getRightEye().setLayoutX(biboulew / 2 - biboulew / 8 - getRightEye().getWidth() / 2);
@@ -144,12 +145,12 @@ public class Mypet extends Pane {
 
     public void setBasic() {
         emotion = "basic";
-        getBody().setFill(new ImagePattern(new Image("data/pet/images/body.png")));
-        getLeftWing().setImage(new Image("data/pet/images/wing.png"));
-        getRightWing().setImage(new Image("data/pet/images/wing.png"));
-        getMouth().setFill(new ImagePattern(new Image("data/pet/images/mouth.png")));
-        getRightEye().setFill(new ImagePattern(new Image("data/pet/images/eye.png")));
-        getLeftEye().setFill(new ImagePattern(new Image("data/pet/images/eye.png")));
+        getBody().setFill(ImageUtils.loadImagePattern("data/pet/images/body.png"));
+        getLeftWing().setImage(ImageUtils.loadImage("data/pet/images/wing.png"));
+        getRightWing().setImage(ImageUtils.loadImage("data/pet/images/wing.png"));
+        getMouth().setFill(ImageUtils.loadImagePattern("data/pet/images/mouth.png"));
+        getRightEye().setFill(ImageUtils.loadImagePattern("data/pet/images/eye.png"));
+        getLeftEye().setFill(ImageUtils.loadImagePattern("data/pet/images/eye.png"));
         eyesAreOpen = true;
 
     }
@@ -157,9 +158,9 @@ public class Mypet extends Pane {
     public void setHappy() {
 
         emotion = "happy";
-        getLeftEye().setFill(new ImagePattern(new Image("data/pet/images/eyeclosed.png")));
-        getRightEye().setFill(new ImagePattern(new Image("data/pet/images/eyeclosed.png")));
-        getMouth().setFill(new ImagePattern(new Image("data/pet/images/smile.png")));
+        getLeftEye().setFill(ImageUtils.loadImagePattern("data/pet/images/eyeclosed.png"));
+        getRightEye().setFill(ImageUtils.loadImagePattern("data/pet/images/eyeclosed.png"));
+        getMouth().setFill(ImageUtils.loadImagePattern("data/pet/images/smile.png"));
         eyesAreOpen = false;
 
     }
@@ -167,9 +168,9 @@ public class Mypet extends Pane {
     public void setSmiling() {
 
         emotion = "smile";
-        getLeftEye().setFill(new ImagePattern(new Image("data/pet/images/eye.png")));
-        getRightEye().setFill(new ImagePattern(new Image("data/pet/images/eye.png")));
-        getMouth().setFill(new ImagePattern(new Image("data/pet/images/smile.png")));
+        getLeftEye().setFill(ImageUtils.loadImagePattern("data/pet/images/eye.png"));
+        getRightEye().setFill(ImageUtils.loadImagePattern("data/pet/images/eye.png"));
+        getMouth().setFill(ImageUtils.loadImagePattern("data/pet/images/smile.png"));
         eyesAreOpen = true;
 
     }
@@ -182,7 +183,7 @@ public class Mypet extends Pane {
         ph.refill(1);
         Timeline eat = new Timeline();
         eat.getKeyFrames().add(new KeyFrame(Duration.millis(200),
-                new KeyValue(getMouth().fillProperty(), new ImagePattern(new Image("data/pet/images/mouth.png")))));
+                new KeyValue(getMouth().fillProperty(), ImageUtils.loadImagePattern("data/pet/images/mouth.png"))));
 
         eat.setOnFinished(new EventHandler<ActionEvent>() {
             @Override
@@ -190,12 +191,12 @@ public class Mypet extends Pane {
                 if ((eatingBool > 0) && (eatingBool % 2 == 0)) {
                     eat.getKeyFrames().clear();
                     eat.getKeyFrames().add(new KeyFrame(Duration.millis(200), new KeyValue(getMouth().fillProperty(),
-                            new ImagePattern(new Image("data/pet/images/smile.png")))));
+                            ImageUtils.loadImagePattern("data/pet/images/smile.png"))));
                     eat.play();
                 } else if ((eatingBool > 0) && (eatingBool % 2 == 1)) {
                     eat.getKeyFrames().clear();
                     eat.getKeyFrames().add(new KeyFrame(Duration.millis(200), new KeyValue(getMouth().fillProperty(),
-                            new ImagePattern(new Image("data/pet/images/mouth.png")))));
+                            ImageUtils.loadImagePattern("data/pet/images/mouth.png"))));
                     eat.play();
                 } else {
                     setBasic();
@@ -243,9 +244,9 @@ public class Mypet extends Pane {
         eyesAreOpen = true;
         t = new Timeline();
         t.getKeyFrames().add(new KeyFrame(Duration.millis(200),
-                new KeyValue(getLeftEye().fillProperty(), new ImagePattern(new Image("data/pet/images/eye.png")))));
+                new KeyValue(getLeftEye().fillProperty(), ImageUtils.loadImagePattern("data/pet/images/eye.png"))));
         t.getKeyFrames().add(new KeyFrame(Duration.millis(200),
-                new KeyValue(getRightEye().fillProperty(), new ImagePattern(new Image("data/pet/images/eye.png")))));
+                new KeyValue(getRightEye().fillProperty(), ImageUtils.loadImagePattern("data/pet/images/eye.png"))));
 
         t.setOnFinished(new EventHandler<ActionEvent>() {
             @Override
@@ -254,14 +255,14 @@ public class Mypet extends Pane {
                 t.getKeyFrames().clear();
                 if (eyesAreOpen) {
                     t.getKeyFrames().add(new KeyFrame(Duration.millis(time), new KeyValue(getLeftEye().fillProperty(),
-                            new ImagePattern(new Image("data/pet/images/eyeclosed.png")))));
+                            ImageUtils.loadImagePattern("data/pet/images/eyeclosed.png"))));
                     t.getKeyFrames().add(new KeyFrame(Duration.millis(time), new KeyValue(getRightEye().fillProperty(),
-                            new ImagePattern(new Image("data/pet/images/eyeclosed.png")))));
+                            ImageUtils.loadImagePattern("data/pet/images/eyeclosed.png"))));
                 } else {
                     t.getKeyFrames().add(new KeyFrame(Duration.millis(200), new KeyValue(getLeftEye().fillProperty(),
-                            new ImagePattern(new Image("data/pet/images/eye.png")))));
+                            ImageUtils.loadImagePattern("data/pet/images/eye.png"))));
                     t.getKeyFrames().add(new KeyFrame(Duration.millis(200), new KeyValue(getRightEye().fillProperty(),
-                            new ImagePattern(new Image("data/pet/images/eye.png")))));
+                            ImageUtils.loadImagePattern("data/pet/images/eye.png"))));
                 }
                 eyesAreOpen = !eyesAreOpen;
                 t.play();
@@ -294,7 +295,7 @@ public class Mypet extends Pane {
                 if ((intersect.getBoundsInLocal().getWidth() != -1) && !mouthTouched) {
                     setBlinkingEnabled(false);
                     setHappy();
-                    ph.hand.setFill(new ImagePattern(new Image("data/pet/images/emptyspoon.png")));
+                    ph.hand.setFill(ImageUtils.loadImagePattern("data/pet/images/emptyspoon.png"));
                     mouthTouched = true;
                 } else if ((intersect.getBoundsInLocal().getWidth() == -1) && mouthTouched && (ph.isSpoonFull())) {
                     setEating();
@@ -435,23 +436,23 @@ public class Mypet extends Pane {
 
                 if ((intersect.getBoundsInLocal().getWidth() == -1) && (intersect2.getBoundsInLocal().getWidth() == -1)
                         && (eyeTouched[0] == true) && (eyeTouched[1] == true)) {
-                    getLeftEye().setFill(new ImagePattern(new Image("data/pet/images/eye.png")));
-                    getRightEye().setFill(new ImagePattern(new Image("data/pet/images/eye.png")));
+                    getLeftEye().setFill(ImageUtils.loadImagePattern("data/pet/images/eye.png"));
+                    getRightEye().setFill(ImageUtils.loadImagePattern("data/pet/images/eye.png"));
                     t.play();
                     eyeTouched[0] = false;
                     eyeTouched[1] = false;
                 } else {
                     if ((intersect.getBoundsInLocal().getWidth() != -1)) {
                         t.stop();
-                        getLeftEye().setFill(new ImagePattern(new Image("data/pet/images/eyeclosed.png")));
-                        getRightEye().setFill(new ImagePattern(new Image("data/pet/images/eye.png")));
+                        getLeftEye().setFill(ImageUtils.loadImagePattern("data/pet/images/eyeclosed.png"));
+                        getRightEye().setFill(ImageUtils.loadImagePattern("data/pet/images/eye.png"));
                         eyeTouched[0] = true;
                     }
 
                     if ((intersect2.getBoundsInLocal().getWidth() != -1)) {
                         t.stop();
-                        getLeftEye().setFill(new ImagePattern(new Image("data/pet/images/eye.png")));
-                        getRightEye().setFill(new ImagePattern(new Image("data/pet/images/eyeclosed.png")));
+                        getLeftEye().setFill(ImageUtils.loadImagePattern("data/pet/images/eye.png"));
+                        getRightEye().setFill(ImageUtils.loadImagePattern("data/pet/images/eyeclosed.png"));
                         eyeTouched[1] = true;
                     }
                 }
@@ -6,7 +6,6 @@ import javafx.event.EventHandler;
 import javafx.geometry.Dimension2D;
 import javafx.scene.Parent;
 import javafx.scene.control.Button;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
@@ -19,6 +18,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.gazeplay.GameContext;
 import net.gazeplay.GameLifeCycle;
 import net.gazeplay.commons.gaze.devicemanager.GazeEvent;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.games.Utils;
 import net.gazeplay.commons.utils.stats.Stats;
 
@@ -89,7 +89,7 @@ public class Piano extends Parent implements GameLifeCycle {
 
             String s = "data/pianosight/images/" + i + ".png";
 
-            ImageView fragment = new ImageView(new Image(s));
+            ImageView fragment = new ImageView(ImageUtils.loadImage(s));
             fragment.setOpacity(0);
             fragment.setPreserveRatio(true);
             fragment.setFitHeight(dimension2D.getHeight() / 10);
@@ -238,7 +238,7 @@ public class Piano extends Parent implements GameLifeCycle {
 
         this.getChildren().addAll(this.TilesTab);
         this.getChildren().get(this.getChildren().indexOf(circleTemp)).toFront();
-        ImageView iv = new ImageView(new Image("data/pianosight/images/1.png"));
+        ImageView iv = new ImageView(ImageUtils.loadImage("data/pianosight/images/1.png"));
         Button b = new Button("Open", iv);
         b.setPrefWidth(dimension2D.getWidth() / 7);
         b.setPrefHeight(dimension2D.getHeight() / 7);
@@ -14,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.gazeplay.GameContext;
 import net.gazeplay.GameLifeCycle;
 import net.gazeplay.commons.gaze.devicemanager.GazeEvent;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.stats.Stats;
 
 @Slf4j
@@ -55,19 +56,19 @@ public class Room implements GameLifeCycle {
         imageWidth = dimension2D.getWidth() / 12;
         imageHeight = dimension2D.getHeight() / 12;
 
-        arrowImNorth = new Image("data/room/arrowNorth.png", imageWidth, imageHeight, true, true);
+        arrowImNorth = ImageUtils.loadImage("data/room/arrowNorth.png", imageWidth, imageHeight, true, true);
         rectangleArrowNorth = new Rectangle(arrowImNorth.getWidth(), arrowImNorth.getHeight());
         rectangleArrowNorth.setFill(new ImagePattern(arrowImNorth));
 
-        arrowImWest = new Image("data/room/arrowWest.png", imageWidth, imageHeight, true, true);
+        arrowImWest = ImageUtils.loadImage("data/room/arrowWest.png", imageWidth, imageHeight, true, true);
         rectangleArrowWest = new Rectangle(arrowImWest.getWidth(), arrowImWest.getHeight());
         rectangleArrowWest.setFill(new ImagePattern(arrowImWest));
 
-        arrowImEast = new Image("data/room/arrowEast.png", imageWidth, imageHeight, true, true);
+        arrowImEast = ImageUtils.loadImage("data/room/arrowEast.png", imageWidth, imageHeight, true, true);
         rectangleArrowEast = new Rectangle(arrowImEast.getWidth(), arrowImEast.getHeight());
         rectangleArrowEast.setFill(new ImagePattern(arrowImEast));
 
-        arrowImSouth = new Image("data/room/arrowSouth.png", imageWidth, imageHeight, true, true);
+        arrowImSouth = ImageUtils.loadImage("data/room/arrowSouth.png", imageWidth, imageHeight, true, true);
         rectangleArrowSouth = new Rectangle(arrowImSouth.getWidth(), arrowImSouth.getHeight());
         rectangleArrowSouth.setFill(new ImagePattern(arrowImSouth));
 
@@ -5,6 +5,7 @@ import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Box;
 import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.commons.utils.games.ImageUtils;
 
 @Slf4j
 public class Wall {
@@ -26,11 +27,11 @@ public class Wall {
             this.box = new Box(wallThickness, yLength, xLength);
             this.positionWall = xLength / 2;
             if (positiveAxisMultiplier == 1) {
-                Image rightImage = new Image("data/room/right.jpg");
+                Image rightImage = ImageUtils.loadImage("data/room/right.jpg");
                 this.box.setMaterial(
                         new PhongMaterial(Color.TRANSPARENT, rightImage, rightImage, rightImage, rightImage));
             } else {
-                Image leftImage = new Image("data/room/left.jpg");
+                Image leftImage = ImageUtils.loadImage("data/room/left.jpg");
                 this.box.setMaterial(new PhongMaterial(Color.TRANSPARENT, leftImage, leftImage, leftImage, leftImage));
             }
             this.box.setTranslateX(positiveAxisMultiplier * positionWall);
@@ -38,7 +39,7 @@ public class Wall {
         case "Y":
             this.box = new Box(xLength, wallThickness, xLength);
             this.positionWall = yLength / 2;
-            Image top_bottomImage = new Image("data/room/top_bottom.jpg");
+            Image top_bottomImage = ImageUtils.loadImage("data/room/top_bottom.jpg");
             this.box.setMaterial(new PhongMaterial(Color.TRANSPARENT, top_bottomImage, top_bottomImage, top_bottomImage,
                     top_bottomImage));
             this.box.setTranslateY(positiveAxisMultiplier * positionWall);
@@ -47,11 +48,11 @@ public class Wall {
             this.box = new Box(xLength, yLength, wallThickness);
             this.positionWall = xLength / 2;
             if (positiveAxisMultiplier == 1) {
-                Image frontImage = new Image("data/room/front.jpg");
+                Image frontImage = ImageUtils.loadImage("data/room/front.jpg");
                 this.box.setMaterial(
                         new PhongMaterial(Color.TRANSPARENT, frontImage, frontImage, frontImage, frontImage));
             } else {
-                Image backImage = new Image("data/room/back.jpg");
+                Image backImage = ImageUtils.loadImage("data/room/back.jpg");
                 this.box.setMaterial(new PhongMaterial(Color.TRANSPARENT, backImage, backImage, backImage, backImage));
             }
             this.box.setTranslateZ(positiveAxisMultiplier * positionWall);
@@ -15,12 +15,10 @@ import javafx.geometry.Point2D;
 import javafx.scene.control.ProgressIndicator;
 import javafx.scene.effect.Light;
 import javafx.scene.effect.Lighting;
-import javafx.scene.image.Image;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Rectangle;
 import javafx.util.Duration;
 import lombok.Getter;
@@ -30,6 +28,7 @@ import net.gazeplay.DefaultGamesLocator;
 import net.gazeplay.GameContext;
 import net.gazeplay.commons.configuration.Configuration;
 import net.gazeplay.commons.gaze.devicemanager.GazeEvent;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import tobii.Tobii;
 
 @Slf4j
@@ -71,9 +70,9 @@ public class Car extends Rectangle {
             GameContext gameContext) {
         super(0, 0, l * size, h * size);
         if (direction) {
-            this.setFill(new ImagePattern(new Image("data/rushHour/carH.png")));
+            this.setFill(ImageUtils.loadImagePattern("data/rushHour/carH.png"));
         } else {
-            this.setFill(new ImagePattern(new Image("data/rushHour/carV.png")));
+            this.setFill(ImageUtils.loadImagePattern("data/rushHour/carV.png"));
         }
 
         Lighting lighting = new Lighting();
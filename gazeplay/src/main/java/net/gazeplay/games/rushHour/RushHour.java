@@ -10,17 +10,16 @@ import javafx.event.EventHandler;
 import javafx.geometry.Dimension2D;
 import javafx.scene.Parent;
 import javafx.scene.control.ProgressIndicator;
-import javafx.scene.image.Image;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.shape.Shape;
 import lombok.extern.slf4j.Slf4j;
 import net.gazeplay.DefaultGamesLocator;
 import net.gazeplay.GameContext;
 import net.gazeplay.GameLifeCycle;
+import net.gazeplay.commons.utils.games.ImageUtils;
 
 @Slf4j
 public class RushHour extends Parent implements GameLifeCycle {
@@ -2425,9 +2424,9 @@ public class RushHour extends Parent implements GameLifeCycle {
         endOfGame = false;
         setLevel(level);
         if (toWin.isDirection()) {
-            toWin.setFill(new ImagePattern(new Image("data/rushHour/taxiH.png")));
+            toWin.setFill(ImageUtils.loadImagePattern("data/rushHour/taxiH.png"));
         } else {
-            toWin.setFill(new ImagePattern(new Image("data/rushHour/taxiV.png")));
+            toWin.setFill(ImageUtils.loadImagePattern("data/rushHour/taxiV.png"));
         }
         toWin.setEffect(null);
         level = (level + 1) % numberLevels;
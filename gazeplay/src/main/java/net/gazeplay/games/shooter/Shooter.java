@@ -13,7 +13,6 @@ import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.util.Duration;
@@ -22,6 +21,7 @@ import net.gazeplay.GameContext;
 import net.gazeplay.GameLifeCycle;
 import net.gazeplay.commons.configuration.Configuration;
 import net.gazeplay.commons.gaze.devicemanager.GazeEvent;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.games.Utils;
 import net.gazeplay.commons.utils.stats.Stats;
 
@@ -85,7 +85,7 @@ public class Shooter extends Parent implements GameLifeCycle {
         imageRectangle.widthProperty().bind(gameContext.getRoot().widthProperty());
         imageRectangle.heightProperty().bind(gameContext.getRoot().heightProperty());
         System.out.println("The game is data/" + gameType + "/images/Background.jpg");
-        imageRectangle.setFill(new ImagePattern(new Image("data/" + gameType + "/images/Background.jpg")));
+        imageRectangle.setFill(ImageUtils.loadImagePattern("data/" + gameType + "/images/Background.jpg"));
 
         int coef = (Configuration.getInstance().isBackgroundWhite()) ? 1 : 0;
         imageRectangle.setOpacity(1 - coef * 0.9);
@@ -115,14 +115,14 @@ public class Shooter extends Parent implements GameLifeCycle {
         imageRectangle.addEventFilter(MouseEvent.ANY, handEvent);
         this.addEventFilter(GazeEvent.ANY, handEventGaze);
 
-        blue = new Image("data/" + gameType + "/images/Blue.png");
-        green = new Image("data/" + gameType + "/images/Green.png");
-        yellow = new Image("data/" + gameType + "/images/Yellow.png");
-        orange = new Image("data/" + gameType + "/images/Orange.png");
-        red = new Image("data/" + gameType + "/images/Red.png");
-        flash = new Image("data/" + gameType + "/images/Flash.png");
+        blue = ImageUtils.loadImage("data/" + gameType + "/images/Blue.png");
+        green = ImageUtils.loadImage("data/" + gameType + "/images/Green.png");
+        yellow = ImageUtils.loadImage("data/" + gameType + "/images/Yellow.png");
+        orange = ImageUtils.loadImage("data/" + gameType + "/images/Orange.png");
+        red = ImageUtils.loadImage("data/" + gameType + "/images/Red.png");
+        flash = ImageUtils.loadImage("data/" + gameType + "/images/Flash.png");
 
-        cage = new ImageView(new Image("data/" + gameType + "/images/Cage.png"));
+        cage = new ImageView(ImageUtils.loadImage("data/" + gameType + "/images/Cage.png"));
 
         Point[] points = new Point[8];
         // init all points
@@ -339,8 +339,8 @@ public class Shooter extends Parent implements GameLifeCycle {
         sc.setText(cst);
         sc.setTextFill(Color.WHITE);
         Dimension2D dimension2D = gameContext.getGamePanelDimensionProvider().getDimension2D();
-        ImageView iv1 = new ImageView(new Image("data/" + gameType + "/images/hand.png"));
-        ImageView iv2 = new ImageView(new Image("data/" + gameType + "/images/handShot.png"));
+        ImageView iv1 = new ImageView(ImageUtils.loadImage("data/" + gameType + "/images/hand.png"));
+        ImageView iv2 = new ImageView(ImageUtils.loadImage("data/" + gameType + "/images/handShot.png"));
 
         StackPane iv = new StackPane();
         double x = dimension2D.getHeight();
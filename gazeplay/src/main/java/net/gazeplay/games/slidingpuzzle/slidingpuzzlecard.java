@@ -19,9 +19,7 @@ import javafx.event.EventHandler;
 import javafx.geometry.Dimension2D;
 import javafx.scene.Parent;
 import javafx.scene.control.ProgressIndicator;
-import javafx.scene.image.Image;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Text;
 import javafx.util.Duration;
@@ -30,6 +28,7 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.gazeplay.GameContext;
 import net.gazeplay.commons.gaze.devicemanager.GazeEvent;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.stats.Stats;
 import net.gazeplay.games.math101.Math101;
 
@@ -46,7 +45,7 @@ public class slidingpuzzlecard extends Parent {
         this.fixationlength = fixationlength;
         this.CardId = id;
         this.card = new Rectangle(positionX, positionY, width, height);
-        this.card.setFill(new ImagePattern(new Image(fileName), 0, 0, 1, 1, true));
+        this.card.setFill(ImageUtils.loadImagePattern(fileName));
         this.gameContext = gameContext;
         this.initWidth = (int) width;
         this.initHeight = (int) height;
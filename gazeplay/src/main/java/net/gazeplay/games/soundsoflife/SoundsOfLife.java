@@ -12,6 +12,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.gazeplay.GameContext;
 import net.gazeplay.GameLifeCycle;
 import net.gazeplay.commons.configuration.Configuration;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.stats.Stats;
 
 import java.io.InputStreamReader;
@@ -57,7 +58,7 @@ public class SoundsOfLife implements GameLifeCycle {
         }
 
         String backgroundPath = path + jsonRoot.get("background").getAsString();
-        Image backgroundImage = new Image(backgroundPath);
+        Image backgroundImage = ImageUtils.loadImage(backgroundPath);
         ImageView background = new ImageView(backgroundImage);
         double scaleRatio = Math.min(dimensions.getWidth() / backgroundImage.getWidth(),
                 dimensions.getHeight() / backgroundImage.getHeight());
@@ -75,7 +76,7 @@ public class SoundsOfLife implements GameLifeCycle {
             JsonObject elementObj = (JsonObject) element;
             // Creating image
             String imagePath = path + elementObj.get("image").getAsString();
-            Image image = new Image(imagePath);
+            Image image = ImageUtils.loadImage(imagePath);
             ImageView imageView = new ImageView(image);
             // Scaling image
             double scale = elementObj.get("scale").getAsDouble();
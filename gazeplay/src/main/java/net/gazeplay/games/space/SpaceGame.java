@@ -1,12 +1,6 @@
 package net.gazeplay.games.space;
 
 import javafx.animation.*;
-import javafx.application.Platform;
-import javafx.beans.binding.Bindings;
-import javafx.beans.value.ChangeListener;
-import javafx.beans.value.ObservableBooleanValue;
-import javafx.beans.value.ObservableValue;
-import javafx.event.ActionEvent;
 import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.geometry.Dimension2D;
@@ -25,27 +19,36 @@ import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 import javafx.util.Duration;
 import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.FixedStepGameLoop;
 import net.gazeplay.GameContext;
-import net.gazeplay.GameLifeCycle;
 import net.gazeplay.commons.configuration.Configuration;
 import net.gazeplay.commons.gaze.devicemanager.GazeEvent;
 import net.gazeplay.commons.utils.ProgressButton;
+import net.gazeplay.commons.utils.games.CollisionWorld;
 import net.gazeplay.commons.utils.games.ImageLibrary;
 import net.gazeplay.commons.utils.games.ImageUtils;
+import net.gazeplay.commons.utils.games.ObjectPool;
+import net.gazeplay.commons.utils.games.Projectile;
 import net.gazeplay.commons.utils.games.Utils;
 import net.gazeplay.commons.utils.multilinguism.Multilinguism;
 import net.gazeplay.commons.utils.stats.Stats;
 
 import java.io.*;
 import java.util.*;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 @Slf4j
-public class SpaceGame extends AnimationTimer implements GameLifeCycle {
+public class SpaceGame extends FixedStepGameLoop {
     private static String DATA_PATH = "data/space";
 
+    /**
+     * layers of the collision world
+     */
+    private static final int PLAYER_BULLET_LAYER = 0;
+    private static final int BIBOULE_LAYER = 1;
+    private static final int BIBOULE_BULLET_LAYER = 2;
+    private static final int SPACESHIP_LAYER = 3;
+    private static final int BOSS_LAYER = 4;
+
     private final GameContext gameContext;
     private final SpaceGameStats spaceGameStats;
     private final Dimension2D dimension2D;
@@ -62,17 +65,20 @@ public class SpaceGame extends AnimationTimer implements GameLifeCycle {
     private final StackPane sp;
 
     private Point2D gazeTarget;
-    private Point2D velocity;
+    private double velocityX;
     private final double maxSpeed = 0.7;
 
+    /**
+     * simulated position of the spaceship, it is drawn between the two
+     */
+    private double spaceshipX;
+    private double previousSpaceshipX;
+
     private final double bibouleWidth;
     private final double bibouleHeight;
     private final double bossWidth;
     private final double bossHeight;
 
-    private long lastTickTime = 0;
-    private long minFPS = 1000;
-
     private Rectangle spaceship;
     private Label onScreenText;
     private Text scoreText;
@@ -91,7 +97,6 @@ public class SpaceGame extends AnimationTimer implements GameLifeCycle {
 
     private final Multilinguism translate;
 
-    private TranslateTransition bulletTransition;
     private ParallelTransition parallelTransition;
     private ParallelTransition parallelTransition2;
     private ParallelTransition parallelTransition3;
@@ -114,16 +119,20 @@ public class SpaceGame extends AnimationTimer implements GameLifeCycle {
     private int bibouleBulletValue;
     private int bossBulletValue;
     private int bossValue;
-    private ArrayList<Rectangle> bulletListRec;
-    private ArrayList<Rectangle> bulletBibouleListRec;
+    private ArrayList<Projectile> bulletListRec;
+    private ArrayList<Projectile> bulletBibouleListRec;
     private ArrayList<Rectangle> bulletBossListRec;
     private ArrayList<Rectangle> spaceshipDestroyed;
-    private ArrayList<Timeline> timelineList;
-    private HashMap<Rectangle, TranslateTransition> hashMap;
-
-    private ExecutorService ex;
     private int bossHit;
 
+    private final CollisionWorld<Rectangle> collisionWorld;
+    /**
+     * lower middle part of the spaceship, the part that the bullets of the biboules can hit
+     */
+    private final Rectangle spaceshipCollider;
+    private final ObjectPool<Projectile> playerBulletPool;
+    private final ObjectPool<Projectile> bibouleBulletPool;
+
     public SpaceGame(GameContext gameContext, Stats stats) {
         this.gameContext = gameContext;
         this.spaceGameStats = (SpaceGameStats) stats;
@@ -151,17 +160,17 @@ public class SpaceGame extends AnimationTimer implements GameLifeCycle {
         Rectangle backgroundImage = new Rectangle(0, 0, dimension2D.getWidth(), dimension2D.getHeight());
         backgroundImage.widthProperty().bind(gameContext.getRoot().widthProperty());
         backgroundImage.heightProperty().bind(gameContext.getRoot().heightProperty());
-        backgroundImage.setFill(new ImagePattern(new Image("data/space/background/space_img.png")));
+        backgroundImage.setFill(ImageUtils.loadImagePattern("data/space/background/space_img.png"));
 
         Rectangle backgroundImage2 = new Rectangle(0, 0, dimension2D.getWidth(), dimension2D.getHeight());
         backgroundImage2.widthProperty().bind(gameContext.getRoot().widthProperty());
         backgroundImage2.heightProperty().bind(gameContext.getRoot().heightProperty());
-        backgroundImage2.setFill(new ImagePattern(new Image("data/space/background/space_img.png")));
+        backgroundImage2.setFill(ImageUtils.loadImagePattern("data/space/background/space_img.png"));
 
         Rectangle backgroundImage3 = new Rectangle(0, 0, dimension2D.getWidth(), dimension2D.getHeight());
         backgroundImage3.widthProperty().bind(gameContext.getRoot().widthProperty());
         backgroundImage3.heightProperty().bind(gameContext.getRoot().heightProperty());
-        backgroundImage3.setFill(new ImagePattern(new Image("data/space/background/space_img.png")));
+        backgroundImage3.setFill(ImageUtils.loadImagePattern("data/space/background/space_img.png"));
 
         backgroundImage.setOpacity(0.08);
         backgroundImage2.setOpacity(0.08);
@@ -261,12 +270,20 @@ public class SpaceGame extends AnimationTimer implements GameLifeCycle {
         this.bosses = new ArrayList<>();
         this.bossKilled = new ArrayList<>();
         this.bulletBossListRec = new ArrayList<>();
-        this.timelineList = new ArrayList<>();
-        this.hashMap = new HashMap<>();
 
-        this.ex = Executors.newWorkStealingPool();
-        // this.ex = Executors.newFixedThreadPool(10);
-        // this.ex = Executors.newCachedThreadPool();
+        // about 10 bullets of the player and 10 bullets of the biboules are on screen at the same time
+        ImagePattern playerBulletPattern = ImageUtils.loadImagePattern("data/space/bullet/laserBlue01.png");
+        this.playerBulletPool = new ObjectPool<>(() -> createBullet(playerBulletPattern), 16);
+        ImagePattern bibouleBulletPattern = ImageUtils.loadImagePattern("data/space/bullet/laserRed01.png");
+        this.bibouleBulletPool = new ObjectPool<>(() -> createBullet(bibouleBulletPattern), 16);
+        this.spaceshipCollider = new Rectangle();
+        this.collisionWorld = new CollisionWorld<>(Rectangle::getBoundsInParent);
+        collisionWorld.addListener(PLAYER_BULLET_LAYER, BIBOULE_LAYER,
+                (bullet, biboule) -> bibouleHit((Projectile) bullet, (Biboule) biboule));
+        collisionWorld.addListener(BIBOULE_BULLET_LAYER, SPACESHIP_LAYER,
+                (bullet, collider) -> spaceshipHit((Projectile) bullet));
+        collisionWorld.addListener(PLAYER_BULLET_LAYER, BOSS_LAYER,
+                (bullet, boss) -> bossHit((Projectile) bullet, (Boss) boss));
     }
 
     @Override
@@ -280,29 +297,33 @@ public class SpaceGame extends AnimationTimer implements GameLifeCycle {
 
         this.backgroundLayer.getChildren().clear();
         this.middleLayer.getChildren().clear();
-        bulletListRec.clear();
+        for (int i = bulletListRec.size() - 1; i >= 0; i--) {
+            removePlayerBullet(bulletListRec.get(i));
+        }
+        for (int i = bulletBibouleListRec.size() - 1; i >= 0; i--) {
+            removeBibouleBullet(bulletBibouleListRec.get(i));
+        }
         biboulesKilled.clear();
         biboulesPos.clear();
-        bulletBibouleListRec.clear();
         spaceshipDestroyed.clear();
         bulletBossListRec.clear();
         bosses.clear();
         bossKilled.clear();
-        timelineList.clear();
-        hashMap.clear();
-        // for (Timeline t : timelineList){
-        // t.stop();
-        // }
+        // the biboules of the previous game are not on screen anymore
+        biboules.clear();
+        collisionWorld.clear();
 
         spaceship = new Rectangle(dimension2D.getWidth() / 2, 6 * dimension2D.getHeight() / 7,
                 dimension2D.getWidth() / 8, dimension2D.getHeight() / 7);
         this.middleLayer.getChildren().add(spaceship);
         // spaceship.setFill(new ImagePattern(new Image("data/space/spaceship/spaceship.gif")));
         spaceship.setFill(new ImagePattern(spaceshipImage.pickRandomImage()));
+        collisionWorld.add(spaceshipCollider, SPACESHIP_LAYER);
+        spaceshipX = spaceship.getX();
+        previousSpaceshipX = spaceshipX;
 
-        velocity = Point2D.ZERO;
+        velocityX = 0;
         score = 0;
-        lastTickTime = 0;
         gazeTarget = new Point2D(dimension2D.getWidth() / 2, 0);
         bossHit = 0;
 
@@ -320,43 +341,21 @@ public class SpaceGame extends AnimationTimer implements GameLifeCycle {
     }
 
     @Override
-    public void handle(long now) {
-
-        if (lastTickTime == 0) {
-            lastTickTime = now;
-        }
-
-        double timeElapsed = ((double) now - (double) lastTickTime) / Math.pow(10, 6); // in ms
-        lastTickTime = now;
-
-        // log.info("FPS: " + (int) (1000 / timeElapsed));
-        if (1000 / timeElapsed < minFPS) {
-            minFPS = 1000 / (int) timeElapsed;
-        }
-        timeElapsed /= getGameSpeed();
-        // log.info("Speed effect: " + configuration.getSpeedEffects());
-        // log.info("MinFPS: " + minFPS);
-        // log.info("Time elapsed: " + timeElapsed);
+    protected void step(double stepMillis) {
+        double timeElapsed = stepMillis / getGameSpeed();
 
         // Movement
         /// Lateral movement: Mouse Moved
-        double distance = Math.abs(gazeTarget.getX() - (spaceship.getX() + spaceship.getWidth() / 2));
-        double direction = distance == 0 ? 1
-                : (gazeTarget.getX() - (spaceship.getX() + spaceship.getWidth() / 2)) / distance;
+        double distance = Math.abs(gazeTarget.getX() - (spaceshipX + spaceship.getWidth() / 2));
+        double direction = distance == 0 ? 1 : (gazeTarget.getX() - (spaceshipX + spaceship.getWidth() / 2)) / distance;
         if (distance > maxSpeed) {
-            velocity = new Point2D(maxSpeed * direction, velocity.getY());
+            velocityX = maxSpeed * direction;
         } else {
-            velocity = new Point2D(0 * direction, velocity.getY());
+            velocityX = 0;
         }
 
-        spaceship.setX(spaceship.getX() + velocity.getX() * timeElapsed);
-        // log.info("velocity x: " + velocity.getX());
-        spaceship.setY(6 * dimension2D.getHeight() / 7);
-        // log.info("Number of bullets: " + bulletListRec.size());
-        // log.info("Number of biboules: " + biboules.size());
-        // log.info("Number of biboule bullets: " + bulletBibouleListRec.size());
-        // log.info("Number of timeline biboule bullets: " + timelineList.size());
-        // log.info("Number of bullet - transition pair: " + hashMap.size());
+        previousSpaceshipX = spaceshipX;
+        spaceshipX += velocityX * timeElapsed;
 
         /// Lateral movement: Mouse Pressed
         // spaceship.setX(gazeTarget.getX() - spaceship.getWidth() / 2);
@@ -381,193 +380,48 @@ public class SpaceGame extends AnimationTimer implements GameLifeCycle {
 
         bulletValue += 1;
         if (bulletValue == 20) {
-            Rectangle bulletRec = new Rectangle(spaceship.getX() + spaceship.getWidth() / 2,
-                    spaceship.getY() - spaceship.getHeight() / 3, 10, 20);
-            bulletRec.setFill(new ImagePattern(new Image("data/space/bullet/laserBlue01.png")));
-            middleLayer.getChildren().add(bulletRec);
+            Projectile bulletRec = acquireBullet(playerBulletPool, middleLayer);
+            bulletRec.fire(spaceshipX + spaceship.getWidth() / 2, spaceship.getY() - spaceship.getHeight() / 3, 0,
+                    -dimension2D.getHeight() / 3000);
             bulletListRec.add(bulletRec);
-
-            bulletTransition = new TranslateTransition(Duration.seconds(3), bulletRec);
-            bulletTransition.setToY(-1 * dimension2D.getHeight());
-            bulletTransition.setCycleCount(1);
-            bulletTransition.setInterpolator(Interpolator.LINEAR);
-            // bulletTransition.setOnFinished(event -> bulletListRec.remove(bulletRec));
-            bulletTransition.setOnFinished(new EventHandler<ActionEvent>() {
-                @Override
-                public void handle(ActionEvent event) {
-                    bulletListRec.remove(bulletRec);
-                    middleLayer.getChildren().remove(bulletRec);
-                    hashMap.remove(bulletRec);
-                }
-            });
-
-            hashMap.put(bulletRec, bulletTransition);
-            bulletTransition.play();
+            collisionWorld.add(bulletRec, PLAYER_BULLET_LAYER);
             bulletValue = 0;
         }
-        // bulletValue = 0;
-
-        for (Rectangle r : bulletListRec) {
-            // r.setY(r.getY() - 4);
-            // Rectangle realBullet = new Rectangle(r.getX() + r.getWidth()/3, r.getY() + r.getHeight()/3,
-            // r.getWidth()/3,r.getHeight()/3);
-            for (Biboule b : biboules) {
-                // for (Rectangle r : bulletListRec) {
-                ObservableBooleanValue colliding = Bindings.createBooleanBinding(new Callable<Boolean>() {
-
-                    @Override
-                    public Boolean call() throws Exception {
-                        return r.getBoundsInParent().intersects(b.getBoundsInParent());
-                        // return realBullet.getBoundsInParent().intersects(b.getBoundsInParent());
-                    }
-
-                }, r.boundsInParentProperty(), b.boundsInParentProperty());
-
-                colliding.addListener(new ChangeListener<Boolean>() {
-                    @Override
-                    public void changed(ObservableValue<? extends Boolean> obs, Boolean oldValue, Boolean newValue) {
-                        if (newValue) {
-                            // log.info("Colliding");
-
-                            boolean bibouleBoolean = false;
-
-                            if (!biboulesKilled.contains(b)) {
-                                biboulesKilled.add(b);
-                                bibouleBoolean = true;
-                            }
-                            // bulletListRec.remove(r);
-                            // biboules.remove(b);
-                            if (bibouleBoolean == true) {
-                                // bibouleDisappear = new FadeTransition(Duration.millis(1000), b);
-                                // bibouleDisappear.setFromValue(1);
-                                // bibouleDisappear.setToValue(0);
-                                // bibouleDisappear.setCycleCount(1);
-                                // bibouleDisappear.setInterpolator(Interpolator.LINEAR);
-                                //
-                                // bulletDisappear = new FadeTransition(Duration.millis(100), r);
-                                // bulletDisappear.setFromValue(1);
-                                // bulletDisappear.setToValue(0);
-                                // bulletDisappear.setCycleCount(1);
-                                // bulletDisappear.setInterpolator(Interpolator.LINEAR);
-                                //
-                                // parallelTransition = new ParallelTransition(bibouleDisappear, bulletDisappear);
-                                // parallelTransition.play();
-
-                                bulletListRec.remove(r);
-                                biboules.remove(b);
-                                hashMap.remove(r);
-                                backgroundLayer.getChildren().remove(b);
-                                middleLayer.getChildren().remove(r);
-                                updateScore();
-                            }
-
-                        }
-                        // else {
-                        // log.info("Not colliding");
-                        // }
-                    }
-                });
-                // }
-            }
-            // updateScore();
-        }
-        // }
 
-        // bibouleBulletValue += 1;
-        // if (bibouleBulletValue == 120) {
-        Rectangle spaceshipCollider = new Rectangle(spaceship.getX() + spaceship.getWidth() / 3,
-                spaceship.getY() + spaceship.getHeight() * 2 / 3, spaceship.getWidth() / 3, spaceship.getHeight() / 3);
-        backgroundLayer.getChildren().add(spaceshipCollider);
-        spaceshipCollider.setFill(Color.TRANSPARENT);
+        spaceshipCollider.setX(spaceshipX + spaceship.getWidth() / 3);
+        spaceshipCollider.setY(spaceship.getY() + spaceship.getHeight() * 2 / 3);
+        spaceshipCollider.setWidth(spaceship.getWidth() / 3);
+        spaceshipCollider.setHeight(spaceship.getHeight() / 3);
 
         for (Rectangle b : biboules) {
             int bibouleShoot = random.nextInt(1200);
 
-            Rectangle bulletBibouleRec = new Rectangle(b.getX() + b.getWidth() / 2, b.getY(), 10, 20);
-            bulletBibouleRec.setFill(new ImagePattern(new Image("data/space/bullet/laserRed01.png")));
-
             if (bibouleShoot == 1) {
-                backgroundLayer.getChildren().add(bulletBibouleRec);
+                Projectile bulletBibouleRec = acquireBullet(bibouleBulletPool, backgroundLayer);
+                bulletBibouleRec.fire(b.getX() + b.getWidth() / 2, b.getY(), 0, dimension2D.getHeight() / 15000);
                 bulletBibouleListRec.add(bulletBibouleRec);
-
-                Timeline timeline = new Timeline();
-                timeline.setCycleCount(1);
-                timeline.getKeyFrames()
-                        .add(new KeyFrame(Duration.seconds(15), new KeyValue(bulletBibouleRec.translateYProperty(),
-                                dimension2D.getHeight(), Interpolator.LINEAR)));
-                // timeline.setOnFinished(event -> bulletBibouleListRec.remove(bulletBibouleRec));
-                timeline.setOnFinished(new EventHandler<ActionEvent>() {
-                    @Override
-                    public void handle(ActionEvent event) {
-                        bulletBibouleListRec.remove(bulletBibouleRec);
-                        backgroundLayer.getChildren().remove(bulletBibouleRec);
-                        timelineList.remove(timeline);
-                    }
-                });
-                timelineList.add(timeline);
-                timeline.play();
-
+                collisionWorld.add(bulletBibouleRec, BIBOULE_BULLET_LAYER);
             }
+        }
 
-            for (Rectangle rb : bulletBibouleListRec) {
-                ObservableBooleanValue collidingBulletBibSpaceship = Bindings
-                        .createBooleanBinding(new Callable<Boolean>() {
-
-                            @Override
-                            public Boolean call() throws Exception {
-                                return rb.getBoundsInParent().intersects(spaceshipCollider.getBoundsInParent());
-                            }
-
-                        }, rb.boundsInParentProperty(), spaceshipCollider.boundsInParentProperty());
-
-                collidingBulletBibSpaceship.addListener(new ChangeListener<Boolean>() {
-                    @Override
-                    public void changed(ObservableValue<? extends Boolean> obs, Boolean oldValue, Boolean newValue) {
-                        if (newValue) {
-                            log.info("die");
-
-                            boolean deathBoolean = false;
-
-                            if (!spaceshipDestroyed.contains(spaceship)) {
-                                spaceshipDestroyed.add(spaceship);
-                                deathBoolean = true;
-                            }
-
-                            if (deathBoolean == true) {
-                                bulletBibouleListRec.remove(rb);
-
-                                // spaceshipDisappear = new FadeTransition(Duration.millis(1000), spaceship);
-                                // spaceshipDisappear.setFromValue(1);
-                                // spaceshipDisappear.setToValue(0);
-                                // spaceshipDisappear.setCycleCount(1);
-                                // spaceshipDisappear.setInterpolator(Interpolator.LINEAR);
-                                //
-                                // bulletBibouleDisappear = new FadeTransition(Duration.millis(100), rb);
-                                // bulletBibouleDisappear.setFromValue(1);
-                                // bulletBibouleDisappear.setToValue(0);
-                                // bulletBibouleDisappear.setCycleCount(1);
-                                // bulletBibouleDisappear.setInterpolator(Interpolator.LINEAR);
-                                //
-                                // parallelTransition2 = new ParallelTransition(spaceshipDisappear,
-                                // bulletBibouleDisappear);
-                                //
-                                // parallelTransition2.play();
-                                middleLayer.getChildren().remove(spaceship);
-                                backgroundLayer.getChildren().remove(rb);
-                                death();
-                                timelineList.clear();
-                            }
-
-                        } else {
-                            log.info("Not die");
-                        }
-                    }
-                });
+        // the bullets are removed once they have crossed the screen
+        for (int i = bulletListRec.size() - 1; i >= 0; i--) {
+            Projectile bullet = bulletListRec.get(i);
+            bullet.step(stepMillis);
+            if (bullet.getSimulatedY() + bullet.getHeight() < 0) {
+                removePlayerBullet(bullet);
+            }
+        }
+        for (int i = bulletBibouleListRec.size() - 1; i >= 0; i--) {
+            Projectile bullet = bulletBibouleListRec.get(i);
+            bullet.step(stepMillis);
+            if (bullet.getSimulatedY() > dimension2D.getHeight()) {
+                removeBibouleBullet(bullet);
             }
         }
 
-        // bibouleBulletValue = 0;
-        // }
+        // the listeners registered in the constructor handle the hits
+        collisionWorld.update();
 
         if (biboules.size() < 5) {
             while (biboules.size() != 15) {
@@ -575,20 +429,6 @@ public class SpaceGame extends AnimationTimer implements GameLifeCycle {
             }
         }
 
-        // ex.execute(new Runnable() {
-        // @Override
-        // public void run() {
-        // computeBulletPlayer();
-        // }
-        // });
-
-        // ex.execute((new Runnable() {
-        // @Override
-        // public void run() {
-        // computeBulletBiboule();
-        // }
-        // }));
-
         // bossValue += 1;
         // if (bossValue == 3000) {
         // if (bosses.size() < 1) {
@@ -598,6 +438,17 @@ public class SpaceGame extends AnimationTimer implements GameLifeCycle {
         // }
     }
 
+    @Override
+    protected void render(double alpha) {
+        spaceship.setX(previousSpaceshipX + (spaceshipX - previousSpaceshipX) * alpha);
+        for (int i = 0; i < bulletListRec.size(); i++) {
+            bulletListRec.get(i).render(alpha);
+        }
+        for (int i = 0; i < bulletBibouleListRec.size(); i++) {
+            bulletBibouleListRec.get(i).render(alpha);
+        }
+    }
+
     @Override
     public void dispose() {
 
@@ -670,6 +521,7 @@ public class SpaceGame extends AnimationTimer implements GameLifeCycle {
         b = new Biboule(x, y, bibouleWidth, bibouleHeight, null, dimension2D.getWidth(), getGameSpeed(), 0, 0, 0, 0);
 
         biboules.add(b);
+        collisionWorld.add(b, BIBOULE_LAYER);
         b.setFill(new ImagePattern(bibouleImage.pickRandomImage()));
         // b.setFill(new ImagePattern(new Image("data/space/enemy/boss.gif")));
         backgroundLayer.getChildren().add(b);
@@ -684,8 +536,9 @@ public class SpaceGame extends AnimationTimer implements GameLifeCycle {
     private void createBoss(double x, double y) {
         Boss boss;
         boss = new Boss(x, y, bossWidth, bossHeight, null, dimension2D.getWidth(), getGameSpeed(), 0, 0, 0, 0);
-        boss.setFill(new ImagePattern(new Image("data/space/enemy/boss.gif")));
+        boss.setFill(ImageUtils.loadImagePattern("data/space/enemy/boss.gif"));
         bosses.add(boss);
+        collisionWorld.add(boss, BOSS_LAYER);
         backgroundLayer.getChildren().add(boss);
         bossAppear = new FadeTransition(Duration.seconds(1), boss);
         bossAppear.setInterpolator(Interpolator.LINEAR);
@@ -718,411 +571,108 @@ public class SpaceGame extends AnimationTimer implements GameLifeCycle {
         biboulesPos.add(p2);
     }
 
-    private void computeBulletPlayer() {
-        Platform.runLater(new Runnable() {
-            @Override
-            public void run() {
-                bulletValue += 1;
-                if (bulletValue == 30) {
-                    Rectangle bulletRec = new Rectangle(spaceship.getX() + spaceship.getWidth() / 2,
-                            spaceship.getY() - spaceship.getHeight() / 3, 10, 20);
-                    bulletRec.setFill(new ImagePattern(new Image("data/space/bullet/laserBlue01.png")));
-
-                    bulletTransition = new TranslateTransition(Duration.seconds(3), bulletRec);
-                    bulletTransition.setToY(-1 * dimension2D.getHeight());
-                    bulletTransition.setCycleCount(1);
-                    bulletTransition.setInterpolator(Interpolator.LINEAR);
-
-                    middleLayer.getChildren().add(bulletRec);
-                    bulletListRec.add(bulletRec);
-                    bulletTransition.play();
-                    bulletValue = 0;
-
-                    for (Biboule b : biboules) {
-                        for (Rectangle r : bulletListRec) {
-                            ObservableBooleanValue colliding = Bindings.createBooleanBinding(new Callable<Boolean>() {
-
-                                @Override
-                                public Boolean call() throws Exception {
-                                    return r.getBoundsInParent().intersects(b.getBoundsInParent());
-                                }
-
-                            }, r.boundsInParentProperty(), b.boundsInParentProperty());
-
-                            colliding.addListener(new ChangeListener<Boolean>() {
-                                @Override
-                                public void changed(ObservableValue<? extends Boolean> obs, Boolean oldValue,
-                                        Boolean newValue) {
-                                    if (newValue) {
-                                        log.info("Colliding");
-
-                                        boolean bibouleBoolean = false;
-
-                                        if (!biboulesKilled.contains(b)) {
-                                            biboulesKilled.add(b);
-                                            bibouleBoolean = true;
-                                        }
-                                        bulletListRec.remove(r);
-                                        biboules.remove(b);
-                                        if (bibouleBoolean == true) {
-                                            bibouleDisappear = new FadeTransition(Duration.millis(1000), b);
-                                            bibouleDisappear.setFromValue(1);
-                                            bibouleDisappear.setToValue(0);
-                                            bibouleDisappear.setCycleCount(1);
-                                            bibouleDisappear.setInterpolator(Interpolator.LINEAR);
-
-                                            bulletDisappear = new FadeTransition(Duration.millis(100), r);
-                                            bulletDisappear.setFromValue(1);
-                                            bulletDisappear.setToValue(0);
-                                            bulletDisappear.setCycleCount(1);
-                                            bulletDisappear.setInterpolator(Interpolator.LINEAR);
-
-                                            parallelTransition = new ParallelTransition(bibouleDisappear,
-                                                    bulletDisappear);
-                                            parallelTransition.play();
-
-                                            backgroundLayer.getChildren().remove(b);
-                                            middleLayer.getChildren().remove(r);
-                                        }
-
-                                    } else {
-                                        log.info("Not colliding");
-                                    }
-                                }
-                            });
-
-                            if (r.getY() < 0) {
-                                bulletListRec.remove(r);
-                                backgroundLayer.getChildren().remove(r);
-                            }
-                        }
-                    }
+    /**
+     * A bullet of the player hits a biboule
+     */
+    private void bibouleHit(Projectile bullet, Biboule biboule) {
+        if (biboulesKilled.contains(biboule)) {
+            return;
+        }
+        biboulesKilled.add(biboule);
+        removePlayerBullet(bullet);
+        biboules.remove(biboule);
+        collisionWorld.remove(biboule);
+        backgroundLayer.getChildren().remove(biboule);
+        updateScore();
+    }
 
-                    updateScore();
-                }
-            }
-        });
+    /**
+     * A bullet of a biboule hits the spaceship
+     */
+    private void spaceshipHit(Projectile bullet) {
+        log.info("die");
+        if (spaceshipDestroyed.contains(spaceship)) {
+            return;
+        }
+        spaceshipDestroyed.add(spaceship);
+        removeBibouleBullet(bullet);
+        collisionWorld.remove(spaceshipCollider);
+        middleLayer.getChildren().remove(spaceship);
+        death();
     }
 
-    private void computeBulletBiboule() {
-        Platform.runLater(new Runnable() {
-            @Override
-            public void run() {
-                bibouleBulletValue += 1;
-                if (bibouleBulletValue == 120) {
-                    Rectangle spaceshipCollider = new Rectangle(spaceship.getX() + spaceship.getWidth() / 3,
-                            spaceship.getY() + spaceship.getHeight() * 2 / 3, spaceship.getWidth() / 3,
-                            spaceship.getHeight() / 3);
-                    backgroundLayer.getChildren().add(spaceshipCollider);
-                    spaceshipCollider.setFill(Color.TRANSPARENT);
-
-                    for (Rectangle b : biboules) {
-                        int bibouleShoot = random.nextInt(20);
-
-                        Rectangle bulletBibouleRec = new Rectangle(b.getX() + b.getWidth() / 2, b.getY(), 10, 20);
-                        bulletBibouleRec.setFill(new ImagePattern(new Image("data/space/bullet/laserRed01.png")));
-
-                        if (bibouleShoot == 1) {
-                            backgroundLayer.getChildren().add(bulletBibouleRec);
-                            bulletBibouleListRec.add(bulletBibouleRec);
-
-                            Timeline timeline = new Timeline();
-                            timeline.setCycleCount(1);
-                            timeline.getKeyFrames()
-                                    .add(new KeyFrame(Duration.seconds(15),
-                                            new KeyValue(bulletBibouleRec.translateYProperty(), dimension2D.getHeight(),
-                                                    Interpolator.LINEAR)));
-                            timeline.play();
-
-                        }
-
-                        for (Rectangle rb : bulletBibouleListRec) {
-                            ObservableBooleanValue collidingBulletBibSpaceship = Bindings
-                                    .createBooleanBinding(new Callable<Boolean>() {
-
-                                        @Override
-                                        public Boolean call() throws Exception {
-                                            return rb.getBoundsInParent()
-                                                    .intersects(spaceshipCollider.getBoundsInParent());
-                                        }
-
-                                    }, rb.boundsInParentProperty(), spaceshipCollider.boundsInParentProperty());
-
-                            collidingBulletBibSpaceship.addListener(new ChangeListener<Boolean>() {
-                                @Override
-                                public void changed(ObservableValue<? extends Boolean> obs, Boolean oldValue,
-                                        Boolean newValue) {
-                                    if (newValue) {
-                                        log.info("die");
-
-                                        boolean deathBoolean = false;
-
-                                        if (!spaceshipDestroyed.contains(spaceship)) {
-                                            spaceshipDestroyed.add(spaceship);
-                                            deathBoolean = true;
-                                        }
-
-                                        if (deathBoolean == true) {
-                                            bulletBibouleListRec.remove(rb);
-
-                                            spaceshipDisappear = new FadeTransition(Duration.millis(1000), spaceship);
-                                            spaceshipDisappear.setFromValue(1);
-                                            spaceshipDisappear.setToValue(0);
-                                            spaceshipDisappear.setCycleCount(1);
-                                            spaceshipDisappear.setInterpolator(Interpolator.LINEAR);
-
-                                            bulletBibouleDisappear = new FadeTransition(Duration.millis(100), rb);
-                                            bulletBibouleDisappear.setFromValue(1);
-                                            bulletBibouleDisappear.setToValue(0);
-                                            bulletBibouleDisappear.setCycleCount(1);
-                                            bulletBibouleDisappear.setInterpolator(Interpolator.LINEAR);
-
-                                            parallelTransition2 = new ParallelTransition(spaceshipDisappear,
-                                                    bulletBibouleDisappear);
-
-                                            parallelTransition2.play();
-                                            backgroundLayer.getChildren().remove(rb);
-                                            death();
-                                        }
-
-                                    } else {
-                                        log.info("Not die");
-                                    }
-                                }
-                            });
-
-                            if (rb.getY() >= dimension2D.getHeight()) {
-                                bulletBibouleListRec.remove(rb);
-                                backgroundLayer.getChildren().remove(rb);
-                            }
-                        }
-                    }
-                    bibouleBulletValue = 0;
-                }
+    /**
+     * A bullet of the player hits a boss
+     */
+    private void bossHit(Projectile bullet, Boss boss) {
+        log.info("Hit the boss");
+        removePlayerBullet(bullet);
+
+        if (bossHit < boss.getHealthPoint()) {
+            if (!bossKilled.contains(boss)) {
+                bossHit += 1;
+                bossFade = new FadeTransition(Duration.millis(250), boss);
+                bossFade.setFromValue(1);
+                bossFade.setToValue(0.5);
+                bossFade.setCycleCount(1);
+                bossFade.setInterpolator(Interpolator.LINEAR);
+
+                bossFade2 = new FadeTransition(Duration.millis(250), boss);
+                bossFade2.setFromValue(0.5);
+                bossFade2.setToValue(1);
+                bossFade2.setCycleCount(1);
+                bossFade2.setInterpolator(Interpolator.LINEAR);
+
+                sequentialTransition2 = new SequentialTransition(bossFade, bossFade2);
+                sequentialTransition2.play();
             }
-        });
+        } else if (!bossKilled.contains(boss)) {
+            bossKilled.add(boss);
+            bosses.remove(boss);
+            collisionWorld.remove(boss);
+
+            bossDisappear = new FadeTransition(Duration.millis(1000), boss);
+            bossDisappear.setFromValue(1);
+            bossDisappear.setToValue(0);
+            bossDisappear.setCycleCount(1);
+            bossDisappear.setInterpolator(Interpolator.LINEAR);
+            bossDisappear.setOnFinished(event -> backgroundLayer.getChildren().remove(boss));
+            bossDisappear.play();
+
+            bossHit = 0;
+            updateScore();
+        }
     }
 
-    private void computeBulletBoss() {
-        Platform.runLater(new Runnable() {
-            @Override
-            public void run() {
-                bossBulletValue += 1;
-                if (bossBulletValue == 120) {
-                    Rectangle spaceshipCollider = new Rectangle(spaceship.getX() + spaceship.getWidth() / 3,
-                            spaceship.getY() + spaceship.getHeight() * 2 / 3, spaceship.getWidth() / 3,
-                            spaceship.getHeight() / 3);
-                    backgroundLayer.getChildren().add(spaceshipCollider);
-                    spaceshipCollider.setFill(Color.TRANSPARENT);
-
-                    for (Rectangle b : bosses) {
-                        int bossShoot = random.nextInt(2);
-
-                        Rectangle bulletBossRec = new Rectangle(b.getX() + b.getWidth() / 2, b.getY(), 15, 30);
-                        bulletBossRec.setFill(new ImagePattern(new Image("data/space/bullet/laserRed01.png")));
-
-                        if (bossShoot == 1) {
-                            backgroundLayer.getChildren().add(bulletBossRec);
-                            bulletBossListRec.add(bulletBossRec);
-
-                            Timeline timeline = new Timeline();
-                            timeline.setCycleCount(1);
-                            timeline.getKeyFrames().add(new KeyFrame(Duration.seconds(15), new KeyValue(
-                                    bulletBossRec.translateYProperty(), dimension2D.getHeight(), Interpolator.LINEAR)));
-                            timeline.play();
-
-                        }
-
-                        for (Rectangle rboss : bulletBossListRec) {
-                            ObservableBooleanValue collidingBulletBibSpaceship = Bindings
-                                    .createBooleanBinding(new Callable<Boolean>() {
-
-                                        @Override
-                                        public Boolean call() throws Exception {
-                                            return rboss.getBoundsInParent()
-                                                    .intersects(spaceshipCollider.getBoundsInParent());
-                                        }
-
-                                    }, rboss.boundsInParentProperty(), spaceshipCollider.boundsInParentProperty());
-
-                            collidingBulletBibSpaceship.addListener(new ChangeListener<Boolean>() {
-                                @Override
-                                public void changed(ObservableValue<? extends Boolean> obs, Boolean oldValue,
-                                        Boolean newValue) {
-                                    if (newValue) {
-                                        log.info("die");
-
-                                        boolean deathBoolean = false;
-
-                                        if (!spaceshipDestroyed.contains(spaceship)) {
-                                            spaceshipDestroyed.add(spaceship);
-                                            deathBoolean = true;
-                                        }
-
-                                        if (deathBoolean == true) {
-                                            bulletBossListRec.remove(rboss);
-
-                                            spaceshipDisappear = new FadeTransition(Duration.millis(1000), spaceship);
-                                            spaceshipDisappear.setFromValue(1);
-                                            spaceshipDisappear.setToValue(0);
-                                            spaceshipDisappear.setCycleCount(1);
-                                            spaceshipDisappear.setInterpolator(Interpolator.LINEAR);
-
-                                            bulletBossDisappear = new FadeTransition(Duration.millis(100), rboss);
-                                            bulletBossDisappear.setFromValue(1);
-                                            bulletBossDisappear.setToValue(0);
-                                            bulletBossDisappear.setCycleCount(1);
-                                            bulletBossDisappear.setInterpolator(Interpolator.LINEAR);
-
-                                            parallelTransition3 = new ParallelTransition(spaceshipDisappear,
-                                                    bulletBossDisappear);
-
-                                            parallelTransition3.play();
-                                            backgroundLayer.getChildren().remove(rboss);
-
-                                            death();
-                                        }
-                                        // }
-
-                                    } else {
-                                        log.info("Not die");
-                                    }
-                                }
-                            });
-
-                            if (rboss.getY() >= dimension2D.getHeight()) {
-                                bulletBibouleListRec.remove(rboss);
-                                backgroundLayer.getChildren().remove(rboss);
-                            }
-                        }
-                    }
-                    bossBulletValue = 0;
+    private Projectile createBullet(ImagePattern pattern) {
+        Projectile bullet = new Projectile(10, 20);
+        bullet.setFill(pattern);
+        return bullet;
+    }
 
-                }
-            }
-        });
+    /**
+     * The bullets stay in their layer when they are back in the pool, hidden, until the layer is cleared
+     */
+    private Projectile acquireBullet(ObjectPool<Projectile> pool, Group layer) {
+        Projectile bullet = pool.acquire();
+        if (bullet.getParent() != layer) {
+            layer.getChildren().add(bullet);
+        }
+        bullet.setVisible(true);
+        return bullet;
     }
 
-    private void computeBulletPlayerBoss() {
-        Platform.runLater(new Runnable() {
-            @Override
-            public void run() {
-                bulletValue += 1;
-                if (bulletValue == 30) {
-                    Rectangle bulletRec = new Rectangle(spaceship.getX() + spaceship.getWidth() / 2,
-                            spaceship.getY() - spaceship.getHeight() / 3, 10, 20);
-                    bulletRec.setFill(new ImagePattern(new Image("data/space/bullet/laserBlue01.png")));
-
-                    bulletTransition = new TranslateTransition(Duration.seconds(3), bulletRec);
-                    bulletTransition.setToY(-1 * dimension2D.getHeight());
-                    bulletTransition.setCycleCount(1);
-                    bulletTransition.setInterpolator(Interpolator.LINEAR);
-
-                    middleLayer.getChildren().add(bulletRec);
-                    bulletListRec.add(bulletRec);
-
-                    bulletTransition.play();
-                    bulletValue = 0;
-
-                    for (Boss b : bosses) {
-                        for (Rectangle r : bulletListRec) {
-                            ObservableBooleanValue colliding2 = Bindings.createBooleanBinding(new Callable<Boolean>() {
-
-                                @Override
-                                public Boolean call() throws Exception {
-                                    return r.getBoundsInParent().intersects(b.getBoundsInParent());
-                                }
-
-                            }, r.boundsInParentProperty(), b.boundsInParentProperty());
-
-                            colliding2.addListener(new ChangeListener<Boolean>() {
-                                @Override
-                                public void changed(ObservableValue<? extends Boolean> obs, Boolean oldValue,
-                                        Boolean newValue) {
-                                    if (newValue) {
-                                        log.info("Hit the boss");
-
-                                        bulletListRec.remove(r);
-
-                                        boolean bossHitBoolean = false;
-                                        boolean bossKilledBoolean = false;
-
-                                        if (bossHit < b.getHealthPoint()) {
-
-                                            if (!bossKilled.contains(b)) {
-                                                bossHitBoolean = true;
-                                            }
-
-                                            if (bossHitBoolean == true) {
-                                                bossHit += 1;
-                                                bossFade = new FadeTransition(Duration.millis(250), b);
-                                                bossFade.setFromValue(1);
-                                                bossFade.setToValue(0.5);
-                                                bossFade.setCycleCount(1);
-                                                bossFade.setInterpolator(Interpolator.LINEAR);
-
-                                                bossFade2 = new FadeTransition(Duration.millis(250), b);
-                                                bossFade2.setFromValue(0.5);
-                                                bossFade2.setToValue(1);
-                                                bossFade2.setCycleCount(1);
-                                                bossFade.setInterpolator(Interpolator.LINEAR);
-
-                                                sequentialTransition2 = new SequentialTransition(bossFade, bossFade2);
-
-                                                bulletDisappear = new FadeTransition(Duration.millis(100), r);
-                                                bulletDisappear.setFromValue(1);
-                                                bulletDisappear.setToValue(0);
-                                                bulletDisappear.setCycleCount(1);
-                                                bulletDisappear.setInterpolator(Interpolator.LINEAR);
-
-                                                parallelTransition4 = new ParallelTransition(sequentialTransition2,
-                                                        bulletDisappear);
-                                                parallelTransition4.play();
-                                            }
-                                        } else {
-                                            if (!bossKilled.contains(b)) {
-                                                bossKilled.add(b);
-                                                bossKilledBoolean = true;
-                                            }
-                                            bosses.remove(b);
-
-                                            if (bossKilledBoolean == true) {
-                                                bossDisappear = new FadeTransition(Duration.millis(1000), b);
-                                                bossDisappear.setFromValue(1);
-                                                bossDisappear.setToValue(0);
-                                                bossDisappear.setCycleCount(1);
-                                                bossDisappear.setInterpolator(Interpolator.LINEAR);
-
-                                                bulletDisappear = new FadeTransition(Duration.millis(100), r);
-                                                bulletDisappear.setFromValue(1);
-                                                bulletDisappear.setToValue(0);
-                                                bulletDisappear.setCycleCount(1);
-                                                bulletDisappear.setInterpolator(Interpolator.LINEAR);
-
-                                                parallelTransition4 = new ParallelTransition(bossDisappear,
-                                                        bulletDisappear);
-                                                parallelTransition4.play();
-                                                middleLayer.getChildren().remove(r);
-                                                backgroundLayer.getChildren().remove(b);
-                                                bossHit = 0;
-                                                updateScore();
-                                            }
-                                        }
-
-                                    } else {
-                                        log.info("Not hit the boss");
-                                    }
-                                }
-                            });
-
-                            if (r.getY() < 0) {
-                                bulletListRec.remove(r);
-                                backgroundLayer.getChildren().remove(r);
-                            }
-                        }
-                    }
-                }
-            }
-        });
+    private void removePlayerBullet(Projectile bullet) {
+        bulletListRec.remove(bullet);
+        collisionWorld.remove(bullet);
+        bullet.setVisible(false);
+        playerBulletPool.release(bullet);
+    }
+
+    private void removeBibouleBullet(Projectile bullet) {
+        bulletBibouleListRec.remove(bullet);
+        collisionWorld.remove(bullet);
+        bullet.setVisible(false);
+        bibouleBulletPool.release(bullet);
     }
-}
\ No newline at end of file
+}
@@ -6,7 +6,6 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import javafx.geometry.Dimension2D;
 import javafx.geometry.Pos;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.GridPane;
@@ -20,6 +19,7 @@ import net.gazeplay.GameContext;
 import net.gazeplay.GameLifeCycle;
 import net.gazeplay.commons.configuration.Configuration;
 import net.gazeplay.commons.utils.ProgressButton;
+import net.gazeplay.commons.utils.games.ImageUtils;
 import net.gazeplay.commons.utils.games.Utils;
 import net.gazeplay.commons.utils.multilinguism.Multilinguism;
 import net.gazeplay.commons.utils.stats.Stats;
@@ -157,8 +157,8 @@ public class SpotTheDifferences implements GameLifeCycle {
         JsonObject instance = (JsonObject) instances.get(currentInstance);// random.nextInt(instances.size()));
         currentInstance = (currentInstance + 1) % instances.size();
 
-        leftImage.setImage(new Image("data/spotthedifferences/" + instance.get("image1").getAsString()));
-        rightImage.setImage(new Image("data/spotthedifferences/" + instance.get("image2").getAsString()));
+        leftImage.setImage(ImageUtils.loadImage("data/spotthedifferences/" + instance.get("image1").getAsString()));
+        rightImage.setImage(ImageUtils.loadImage("data/spotthedifferences/" + instance.get("image2").getAsString()));
 
         if (leftImage.getImage().getWidth() > leftImage.getImage().getHeight()) {
             leftImage.setFitWidth(dimensions.getWidth() / 2);
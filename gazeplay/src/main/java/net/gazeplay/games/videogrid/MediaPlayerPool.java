@@ -0,0 +1,143 @@
+package net.gazeplay.games.videogrid;
+
+import javafx.beans.value.ObservableDoubleValue;
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+import javafx.util.Duration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Media players of the video grid. Each player holds a native video decoder, so there are at most maxPlayers of them :
+ * a player is leased to one cell at a time, it is kept once released and leased again when its video is played again,
+ * and the least recently released player is disposed to make room for a new one. The cells showing the same video
+ * have a player each, so that they don't share the handlers and the state of their player.
+ *
+ * To be used from the JavaFX thread.
+ */
+@Slf4j
+class MediaPlayerPool {
+
+    private final int maxPlayers;
+
+    private final ObservableDoubleValue volume;
+
+    /**
+     * players leased to no cell, with their video, the least recently released first
+     */
+    private final LinkedHashMap<MediaPlayer, String> idlePlayers = new LinkedHashMap<>();
+
+    /**
+     * players leased to a cell, with their video
+     */
+    private final Map<MediaPlayer, String> leasedPlayers = new HashMap<>();
+
+    MediaPlayerPool(int maxPlayers, ObservableDoubleValue volume) {
+        this.maxPlayers = Math.max(1, maxPlayers);
+        this.volume = volume;
+    }
+
+    /**
+     * @return a player of the video, created if none is idle, leased to the caller until it is released
+     * @throws javafx.scene.media.MediaException
+     *             when the file cannot be played
+     */
+    MediaPlayer acquire(String uri) {
+        MediaPlayer player = takeIdlePlayer(uri);
+        if (player == null) {
+            disposeIdlePlayers(maxPlayers - 1);
+            player = new MediaPlayer(new Media(uri));
+            player.volumeProperty().bind(volume);
+            // Loop when the video is over
+            final MediaPlayer createdPlayer = player;
+            player.setOnEndOfMedia(() -> createdPlayer.seek(Duration.ZERO));
+            log.debug("{} players, created for {}", idlePlayers.size() + leasedPlayers.size() + 1, uri);
+        }
+        leasedPlayers.put(player, uri);
+        return player;
+    }
+
+    /**
+     * Pauses the player, it is kept for the next time its video is played, as long as there is room.
+     */
+    void release(MediaPlayer player) {
+        final String uri = leasedPlayers.remove(player);
+        if (uri == null) {
+            return;
+        }
+        player.pause();
+        player.setMute(false);
+        idlePlayers.put(player, uri);
+        disposeIdlePlayers(maxPlayers);
+    }
+
+    /**
+     * Disposes a leased player, for instance after an error, and the idle players of its video.
+     */
+    void remove(MediaPlayer player) {
+        final String uri = leasedPlayers.remove(player);
+        dispose(player);
+        final Iterator<Map.Entry<MediaPlayer, String>> iterator = idlePlayers.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<MediaPlayer, String> entry = iterator.next();
+            if (entry.getValue().equals(uri)) {
+                iterator.remove();
+                dispose(entry.getKey());
+            }
+        }
+    }
+
+    void disposeAll() {
+        for (MediaPlayer player : idlePlayers.keySet()) {
+            dispose(player);
+        }
+        for (MediaPlayer player : leasedPlayers.keySet()) {
+            dispose(player);
+        }
+        idlePlayers.clear();
+        leasedPlayers.clear();
+    }
+
+    /**
+     * @return the most recently released player of the video, or null, the players which failed are disposed
+     */
+    private MediaPlayer takeIdlePlayer(String uri) {
+        MediaPlayer result = null;
+        for (Map.Entry<MediaPlayer, String> entry : idlePlayers.entrySet()) {
+            if (entry.getValue().equals(uri)) {
+                result = entry.getKey();
+            }
+        }
+        if (result == null) {
+            return null;
+        }
+        idlePlayers.remove(result);
+        if (result.getError() != null) {
+            dispose(result);
+            return null;
+        }
+        return result;
+    }
+
+    private void disposeIdlePlayers(int maxRemainingPlayers) {
+        final Iterator<MediaPlayer> iterator = idlePlayers.keySet().iterator();
+        while (idlePlayers.size() + leasedPlayers.size() > maxRemainingPlayers && iterator.hasNext()) {
+            final MediaPlayer player = iterator.next();
+            iterator.remove();
+            dispose(player);
+        }
+    }
+
+    private static void dispose(MediaPlayer player) {
+        player.volumeProperty().unbind();
+        player.setOnEndOfMedia(null);
+        player.setOnError(null);
+        player.setOnReady(null);
+        player.dispose();
+    }
+
+}
@@ -1,5 +1,9 @@
 package net.gazeplay.games.videogrid;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.beans.InvalidationListener;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableDoubleValue;
@@ -8,10 +12,12 @@ import javafx.event.EventHandler;
 import javafx.geometry.Dimension2D;
 import javafx.geometry.Pos;
 import javafx.scene.effect.ColorAdjust;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.StackPane;
-import javafx.scene.media.Media;
+import javafx.scene.media.MediaException;
 import javafx.scene.media.MediaPlayer;
 import javafx.scene.media.MediaView;
 import javafx.scene.paint.Color;
@@ -25,19 +31,35 @@ import net.gazeplay.GameContext;
 import net.gazeplay.GameLifeCycle;
 import net.gazeplay.commons.configuration.Configuration;
 import net.gazeplay.commons.gaze.devicemanager.GazeEvent;
+import net.gazeplay.commons.utils.games.ThumbnailCache;
 import net.gazeplay.commons.utils.multilinguism.Multilinguism;
 import net.gazeplay.commons.utils.stats.Stats;
 import org.apache.commons.io.FilenameUtils;
 
 import java.io.File;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
 import java.util.Random;
 
 @Slf4j
 public class VideoGrid implements GameLifeCycle {
 
     private final static int GAP = 3;
+
+    /**
+     * a video which displays no frame within this delay gets no poster, so that the next posters are still captured
+     */
+    private static final Duration POSTER_CAPTURE_TIMEOUT = Duration.seconds(5);
+
+    /**
+     * Last frame displayed by each video, by URI and size of the cells, kept across the launches of the game, and on
+     * disk across the launches of GazePlay
+     */
+    private static final Cache<String, Image> posters = CacheBuilder.newBuilder().maximumSize(64).build();
+
     private final GameContext gameContext;
     private final Stats stats;
     private final Dimension2D dimensions;
@@ -53,6 +75,15 @@ public class VideoGrid implements GameLifeCycle {
 
     private final ColorAdjust greyscale;
 
+    private final MediaPlayerPool mediaPlayerPool;
+
+    private final List<VideoCell> cells = new ArrayList<>();
+
+    /**
+     * Cells whose first frame is still to be captured, one at a time
+     */
+    private final Deque<VideoCell> cellsWithoutPoster = new ArrayDeque<>();
+
     public VideoGrid(GameContext gameContext, Stats stats, int nbColumns, int nbLines) {
         this.gameContext = gameContext;
         this.stats = stats;
@@ -72,6 +103,8 @@ public class VideoGrid implements GameLifeCycle {
         // Greyscale effect for out of focus videos
         greyscale = new ColorAdjust();
         greyscale.setSaturation(-1);
+
+        mediaPlayerPool = new MediaPlayerPool(config.getVideoGridMaxPlayers(), config.getEffectsVolumeProperty());
     }
 
     @Override
@@ -98,57 +131,20 @@ public class VideoGrid implements GameLifeCycle {
                     // Picking a random file from the array, and removing it
                     int index = random.nextInt(filesChooseFrom.size());
                     File file = filesChooseFrom.remove(index);
-                    // Creating the mediaplayer
-                    Media media = new Media(file.toURI().toString());
-                    MediaPlayer mediaPlayer = new MediaPlayer(media);
-                    mediaPlayer.volumeProperty().bind(config.getEffectsVolumeProperty());
-                    // Loop when the video is over
-                    mediaPlayer.setOnEndOfMedia(() -> mediaPlayer.seek(Duration.ZERO));
-                    // Creating mediaview, the graphic container which plays the mediaplayer's content
-                    MediaView mediaView = new MediaView();
-                    mediaView.setMediaPlayer(mediaPlayer);
-                    mediaView.setFitHeight(dimensions.getHeight() / nbLines - GAP);
-                    mediaView.setFitWidth(dimensions.getWidth() / nbColumns - GAP);
-                    mediaView.setEffect(greyscale);
-
-                    // Play only when the mouse or gaze is on the video, otherwise add a greyscale effect to the video
-                    EventHandler<Event> enterEvent = (Event event) -> {
-                        mediaPlayer.play();
-                        mediaView.setEffect(null);
-                    };
-                    EventHandler<Event> exitEvent = (Event event) -> {
-                        mediaPlayer.pause();
-                        mediaView.setEffect(greyscale);
-                    };
-
-                    mediaView.addEventFilter(MouseEvent.MOUSE_ENTERED, enterEvent);
-                    mediaView.addEventFilter(GazeEvent.GAZE_ENTERED, enterEvent);
-
-                    mediaView.addEventFilter(MouseEvent.MOUSE_EXITED, exitEvent);
-                    mediaView.addEventFilter(GazeEvent.GAZE_EXITED, exitEvent);
-
-                    gameContext.getGazeDeviceManager().addEventFilter(mediaView);
-
-                    // Adding the video to a stack pane with a grey background, this helps centering the video inside
-                    // the grid square
-                    StackPane pane = new StackPane();
-                    pane.setAlignment(Pos.CENTER);// j == 0?Pos.BOTTOM_CENTER:j==nbLines-1?Pos.TOP_CENTER:Pos.CENTER);
-                    pane.getChildren().addAll(new Rectangle(dimensions.getWidth() / nbColumns - GAP,
-                            dimensions.getHeight() / nbLines - GAP, Color.grayRgb(50)), mediaView);
-                    grid.add(pane, i, j);
-
-                    // When a video is larger than 1920x1080, it won't work, and sends an error
-                    mediaPlayer.setOnError(() -> {
-                        Text errorText = new Text((String.format(
-                                translate.getTrad("File %s is not supported", config.getLanguage()), file.getName())));
-                        errorText.setFill(Color.WHITE);
-                        errorText.setTextAlignment(TextAlignment.CENTER);
-                        errorText.setWrappingWidth(dimensions.getWidth() / nbColumns);
-                        pane.getChildren().add(errorText);
-                    });
+                    // The media player is only created while the video is played, the cells display a poster of
+                    // the video otherwise
+                    VideoCell cell = new VideoCell(file, dimensions.getWidth() / nbColumns - GAP,
+                            dimensions.getHeight() / nbLines - GAP);
+                    cells.add(cell);
+                    grid.add(cell, i, j);
+
+                    if (!cell.hasPoster()) {
+                        cellsWithoutPoster.add(cell);
+                    }
                 }
             }
             gameContext.getChildren().add(grid);
+            captureNextPoster();
         } else {
             noVideosFound();
         }
@@ -165,9 +161,243 @@ public class VideoGrid implements GameLifeCycle {
         gameContext.getChildren().add(errorText);
     }
 
+    private void captureNextPoster() {
+        final VideoCell cell = cellsWithoutPoster.poll();
+        if (cell != null) {
+            cell.capturePoster(this::captureNextPoster);
+        }
+    }
+
     @Override
     public void dispose() {
+        cellsWithoutPoster.clear();
+        for (VideoCell cell : cells) {
+            cell.releasePlayer();
+        }
+        cells.clear();
+        mediaPlayerPool.disposeAll();
         grid.getChildren().clear();
         gameContext.getChildren().clear();
     }
+
+    /**
+     * Square of the grid, displaying the poster of its video, greyed, and the video itself while the mouse or the gaze
+     * is on it.
+     */
+    private class VideoCell extends StackPane {
+
+        private final File file;
+
+        private final String uri;
+
+        private final String posterKey;
+
+        private final ImageView poster;
+
+        private final MediaView mediaView;
+
+        private MediaPlayer mediaPlayer;
+
+        private boolean focused = false;
+
+        /**
+         * listens for the first frame while capturing the poster
+         */
+        private ChangeListener<Duration> firstFrameListener;
+
+        /**
+         * goes on with the next poster once the capture ends
+         */
+        private Runnable onPosterCaptured;
+
+        /**
+         * ends the capture of the poster when no frame is displayed
+         */
+        private PauseTransition captureTimeout;
+
+        VideoCell(File file, double width, double height) {
+            this.file = file;
+            this.uri = file.toURI().toString();
+            this.posterKey = uri + "@" + (int) width + "x" + (int) height;
+
+            Image posterImage = posters.getIfPresent(posterKey);
+            if (posterImage == null) {
+                posterImage = ThumbnailCache.getInstance().getPoster(file, (int) width, (int) height);
+                if (posterImage != null) {
+                    posters.put(posterKey, posterImage);
+                }
+            }
+            poster = new ImageView(posterImage);
+            poster.setFitWidth(width);
+            poster.setFitHeight(height);
+            poster.setPreserveRatio(true);
+
+            // Creating mediaview, the graphic container which plays the mediaplayer's content
+            mediaView = new MediaView();
+            mediaView.setFitHeight(height);
+            mediaView.setFitWidth(width);
+            mediaView.setEffect(greyscale);
+            mediaView.setVisible(false);
+
+            // Play only when the mouse or gaze is on the video, otherwise add a greyscale effect to the video
+            EventHandler<Event> enterEvent = (Event event) -> showVideo();
+            EventHandler<Event> exitEvent = (Event event) -> showPoster();
+
+            this.addEventFilter(MouseEvent.MOUSE_ENTERED, enterEvent);
+            this.addEventFilter(GazeEvent.GAZE_ENTERED, enterEvent);
+
+            this.addEventFilter(MouseEvent.MOUSE_EXITED, exitEvent);
+            this.addEventFilter(GazeEvent.GAZE_EXITED, exitEvent);
+
+            gameContext.getGazeDeviceManager().addEventFilter(this);
+
+            // Adding the video to a stack pane with a grey background, this helps centering the video inside
+            // the grid square
+            this.setAlignment(Pos.CENTER);
+            this.getChildren().addAll(new Rectangle(width, height, Color.grayRgb(50)), poster, mediaView);
+        }
+
+        boolean hasPoster() {
+            return poster.getImage() != null;
+        }
+
+        private boolean acquirePlayer() {
+            if (mediaPlayer == null) {
+                try {
+                    mediaPlayer = mediaPlayerPool.acquire(uri);
+                } catch (MediaException e) {
+                    log.warn("Failed to play {}", file, e);
+                    showError();
+                    return false;
+                }
+                final MediaPlayer player = mediaPlayer;
+                player.setOnError(() -> {
+                    log.warn("Failed to play {}", file, player.getError());
+                    if (mediaPlayer == player) {
+                        stopCapture();
+                        mediaView.setVisible(false);
+                        mediaView.setMediaPlayer(null);
+                        mediaPlayer = null;
+                        showError();
+                    }
+                    mediaPlayerPool.remove(player);
+                });
+                mediaView.setMediaPlayer(mediaPlayer);
+                mediaView.setVisible(true);
+            }
+            return true;
+        }
+
+        void releasePlayer() {
+            if (mediaPlayer == null) {
+                return;
+            }
+            stopCapture();
+            mediaView.setVisible(false);
+            mediaView.setMediaPlayer(null);
+            mediaPlayer.setOnError(null);
+            mediaPlayerPool.release(mediaPlayer);
+            mediaPlayer = null;
+        }
+
+        private void showVideo() {
+            focused = true;
+            if (!acquirePlayer()) {
+                return;
+            }
+            stopCapture();
+            mediaView.setEffect(null);
+            mediaPlayer.play();
+        }
+
+        private void showPoster() {
+            focused = false;
+            if (mediaPlayer == null) {
+                return;
+            }
+            mediaPlayer.pause();
+            mediaView.setEffect(greyscale);
+            updatePoster();
+            releasePlayer();
+        }
+
+        /**
+         * Plays the video, muted, until its first frame is displayed, then keeps this frame as poster.
+         */
+        void capturePoster(Runnable onCaptured) {
+            if (hasPoster() || mediaPlayer != null || !acquirePlayer()) {
+                onCaptured.run();
+                return;
+            }
+            onPosterCaptured = onCaptured;
+            final MediaPlayer player = mediaPlayer;
+            firstFrameListener = (observable, oldValue, newValue) -> {
+                if (newValue.greaterThan(Duration.ZERO)) {
+                    player.currentTimeProperty().removeListener(firstFrameListener);
+                    firstFrameListener = null;
+                    player.pause();
+                    // the frame is rendered on the next pulse
+                    Platform.runLater(() -> {
+                        if (mediaPlayer == player && !focused) {
+                            updatePoster();
+                            releasePlayer();
+                        }
+                        stopCapture();
+                    });
+                }
+            };
+            player.setMute(true);
+            player.currentTimeProperty().addListener(firstFrameListener);
+            captureTimeout = new PauseTransition(POSTER_CAPTURE_TIMEOUT);
+            captureTimeout.setOnFinished(event -> {
+                log.warn("No frame of {} displayed within {}", file, POSTER_CAPTURE_TIMEOUT);
+                if (mediaPlayer == player && !focused) {
+                    releasePlayer();
+                }
+                stopCapture();
+            });
+            captureTimeout.play();
+            player.play();
+        }
+
+        /**
+         * Ends the capture of the poster, if any, and goes on with the next one.
+         */
+        private void stopCapture() {
+            if (captureTimeout != null) {
+                captureTimeout.stop();
+                captureTimeout = null;
+            }
+            if (firstFrameListener != null) {
+                mediaPlayer.currentTimeProperty().removeListener(firstFrameListener);
+                firstFrameListener = null;
+            }
+            if (onPosterCaptured != null) {
+                if (mediaPlayer != null) {
+                    mediaPlayer.setMute(false);
+                }
+                final Runnable onCaptured = onPosterCaptured;
+                onPosterCaptured = null;
+                onCaptured.run();
+            }
+        }
+
+        private void updatePoster() {
+            final Image image = mediaView.snapshot(null, null);
+            poster.setImage(image);
+            posters.put(posterKey, image);
+            ThumbnailCache.getInstance().putPoster(file, (int) poster.getFitWidth(), (int) poster.getFitHeight(),
+                    image);
+        }
+
+        // When a video is larger than 1920x1080, it won't work, and sends an error
+        private void showError() {
+            Text errorText = new Text((String.format(
+                    translate.getTrad("File %s is not supported", config.getLanguage()), file.getName())));
+            errorText.setFill(Color.WHITE);
+            errorText.setTextAlignment(TextAlignment.CENTER);
+            errorText.setWrappingWidth(dimensions.getWidth() / nbColumns);
+            this.getChildren().add(errorText);
+        }
+    }
 }
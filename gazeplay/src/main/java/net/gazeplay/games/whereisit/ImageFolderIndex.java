@@ -0,0 +1,115 @@
+package net.gazeplay.games.whereisit;
+
+import lombok.extern.slf4j.Slf4j;
+import net.gazeplay.commons.utils.games.ThumbnailCache;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory listing of a directory of images and of its folders, so that the directories are not listed again on each
+ * round. A directory is listed again when its modification date changes, that is when files are added, removed or
+ * renamed in it. The listings are read from the index of the {@link ThumbnailCache} at the first round.
+ *
+ * The indexes are kept for the whole application, one per directory, and can be used from any thread.
+ */
+@Slf4j
+class ImageFolderIndex {
+
+    private static final File[] NO_FILES = new File[0];
+
+    private static final Map<File, ImageFolderIndex> indexes = new ConcurrentHashMap<>();
+
+    private static class Listing {
+
+        private final long lastModified;
+
+        private final File[] files;
+
+        private Listing(long lastModified, File[] files) {
+            this.lastModified = lastModified;
+            this.files = files;
+        }
+    }
+
+    private final File directory;
+
+    private Listing folders;
+
+    private final Map<File, Listing> listings = new HashMap<>();
+
+    private ImageFolderIndex(File directory) {
+        this.directory = directory;
+    }
+
+    public static ImageFolderIndex forDirectory(File directory) {
+        return indexes.computeIfAbsent(directory, ImageFolderIndex::new);
+    }
+
+    /**
+     * @return all the entries of the directory, as File.listFiles, or null when the directory does not exist
+     */
+    public synchronized File[] getFolders() {
+        final long lastModified = directory.lastModified();
+        if (folders == null || folders.lastModified != lastModified) {
+            folders = new Listing(lastModified, ThumbnailCache.getInstance().listFiles(directory));
+            log.debug("Listed {}", directory);
+        }
+        return folders.files;
+    }
+
+    /**
+     * @return the files of a folder which don't start with a point
+     */
+    public synchronized File[] getFiles(File folder) {
+        final long lastModified = folder.lastModified();
+        Listing listing = listings.get(folder);
+        if (listing == null || listing.lastModified != lastModified) {
+            final File[] files = ThumbnailCache.getInstance().listFiles(folder);
+            listing = new Listing(lastModified, files == null ? NO_FILES : removeHiddenFiles(files));
+            listings.put(folder, listing);
+            log.debug("Listed {}", folder);
+        }
+        return listing.files;
+    }
+
+    /**
+     * @return whether the folder has a file of this name, which doesn't start with a point
+     */
+    public boolean contains(File folder, String fileName) {
+        for (File file : getFiles(folder)) {
+            if (file.getName().equals(fileName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static File[] removeHiddenFiles(File[] files) {
+
+        int nbElementsToKeep = 0;
+
+        for (File file : files) {
+            if (!file.getName().startsWith(".")) {
+
+                nbElementsToKeep++;
+            }
+        }
+
+        File[] list = new File[nbElementsToKeep];
+
+        int i = 0;
+
+        for (File file : files) {
+            if (!file.getName().startsWith(".")) {
+
+                list[i++] = file;
+            }
+        }
+
+        return list;
+    }
+
+}
@@ -3,6 +3,7 @@ package net.gazeplay.games.whereisit;
 //It is repeated always, it works like a charm :)
 
 import javafx.animation.*;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.event.Event;
 import javafx.event.EventHandler;
@@ -27,7 +28,10 @@ import net.gazeplay.GameContext;
 import net.gazeplay.GameLifeCycle;
 import net.gazeplay.commons.configuration.Configuration;
 import net.gazeplay.commons.gaze.devicemanager.GazeEvent;
+import net.gazeplay.commons.threads.BackgroundExecutors;
 import net.gazeplay.commons.utils.games.ImageDirectoryLocator;
+import net.gazeplay.commons.utils.games.ImageUtils;
+import net.gazeplay.commons.utils.games.ThumbnailCache;
 import net.gazeplay.commons.utils.games.Utils;
 import net.gazeplay.commons.utils.multilinguism.Multilinguism;
 import net.gazeplay.commons.utils.stats.Stats;
@@ -37,6 +41,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import static net.gazeplay.games.whereisit.WhereIsIt.WhereIsItGameType.*;
 
@@ -49,6 +56,12 @@ public class WhereIsIt implements GameLifeCycle {
     private static final int NBMAXPICTO = 10;
     private static final double MAXSIZEPICTO = 250;
 
+    /**
+     * Chooses and decodes the pictures of the next round while the current one is played.
+     */
+    private static final ExecutorService roundPreparationExecutor = BackgroundExecutors
+            .newBackgroundExecutor("WhereIsIt", 1);
+
     public enum WhereIsItGameType {
         ANIMALNAME("where-is-the-animal", "where-is-the-animal"), COLORNAME("where-is-the-color",
                 "where-is-the-color"), LETTERS("where-is-the-letter", "where-is-the-letter"), NUMBERS(
@@ -83,6 +96,7 @@ public class WhereIsIt implements GameLifeCycle {
     private final GameContext gameContext;
     private final Stats stats;
     private RoundDetails currentRoundDetails;
+    private Future<PreparedRound> nextRound;
 
     public WhereIsIt(final WhereIsItGameType gameType, final int nbLines, final int nbColumns, final boolean fourThree,
             final GameContext gameContext, final Stats stats) {
@@ -97,6 +111,54 @@ public class WhereIsIt implements GameLifeCycle {
     @Override
     public void launch() {
 
+        final Dimension2D gamePanelDimension2D = gameContext.getGamePanelDimensionProvider().getDimension2D();
+        final GameSizing gameSizing = new GameSizingComputer(nbLines, nbColumns, fourThree)
+                .computeGameSizing(gamePanelDimension2D);
+        log.debug("gameSizing = {}", gameSizing);
+
+        PreparedRound preparedRound = takeNextRound(gameSizing);
+        if (preparedRound == null) {
+            // first round, the pictures are decoded in background by JavaFX while the question is displayed
+            preparedRound = prepareRound(gameSizing, gamePanelDimension2D, true);
+        }
+
+        if (preparedRound != null) {
+            nextRound = roundPreparationExecutor.submit(() -> prepareRound(gameSizing, gamePanelDimension2D, false));
+
+            currentRoundDetails = buildRound(preparedRound);
+
+            Transition animation = createQuestionTransition(currentRoundDetails.question, currentRoundDetails.pictos);
+            animation.play();
+            if (currentRoundDetails.questionSoundPath != null)
+                playQuestionSound();
+        }
+
+    }
+
+    /**
+     * @return the round prepared in background, or null when there is none or when the size of the game panel changed
+     *         since
+     */
+    private PreparedRound takeNextRound(final GameSizing gameSizing) {
+        if (nextRound == null) {
+            return null;
+        }
+        try {
+            final PreparedRound result = nextRound.get();
+            if (result != null && result.getGameSizing().equals(gameSizing)) {
+                return result;
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            log.warn("Failed to prepare the next round", e);
+        } finally {
+            nextRound = null;
+        }
+        return null;
+    }
+
+    private PreparedRound prepareRound(final GameSizing gameSizing, final Dimension2D gamePanelDimension2D,
+            final boolean backgroundLoading) {
+
         final int numberOfImagesToDisplayPerRound = nbLines * nbColumns;
         log.debug("numberOfImagesToDisplayPerRound = {}", numberOfImagesToDisplayPerRound);
 
@@ -106,17 +168,23 @@ public class WhereIsIt implements GameLifeCycle {
 
         final Configuration config = Configuration.getInstance();
 
-        currentRoundDetails = pickAndBuildRandomPictures(config, numberOfImagesToDisplayPerRound, random,
-                winnerImageIndexAmongDisplayedImages);
+        return pickRandomPictures(config, numberOfImagesToDisplayPerRound, random,
+                winnerImageIndexAmongDisplayedImages, gameSizing, gamePanelDimension2D, backgroundLoading);
+    }
 
-        if (currentRoundDetails != null) {
+    private RoundDetails buildRound(final PreparedRound preparedRound) {
 
-            Transition animation = createQuestionTransition(currentRoundDetails.question, currentRoundDetails.pictos);
-            animation.play();
-            if (currentRoundDetails.questionSoundPath != null)
-                playQuestionSound();
+        final GameSizing gameSizing = preparedRound.getGameSizing();
+
+        final List<PictureCard> pictureCardList = new ArrayList<>();
+        for (PreparedPicture picture : preparedRound.getPictures()) {
+            pictureCardList.add(new PictureCard(picture.getPosX(), picture.getPosY(), gameSizing.width,
+                    gameSizing.height, gameContext, picture.isWinner(), picture.getImagePath(), picture.getImage(),
+                    stats, this));
         }
 
+        return new RoundDetails(pictureCardList, preparedRound.getWinnerImageIndexAmongDisplayedImages(),
+                preparedRound.getQuestionSoundPath(), preparedRound.getQuestion(), preparedRound.getPictos());
     }
 
     private Transition createQuestionTransition(String question, List<Image> Pictos) {
@@ -261,15 +329,41 @@ public class WhereIsIt implements GameLifeCycle {
         private final List<Image> pictos;
     }
 
-    private RoundDetails pickAndBuildRandomPictures(final Configuration config,
-            final int numberOfImagesToDisplayPerRound, final Random random,
-            final int winnerImageIndexAmongDisplayedImages) {
+    /**
+     * The pictures of a round, chosen and decoded, before the cards are built on the JavaFX thread
+     */
+    @Data
+    @AllArgsConstructor
+    private static class PreparedRound {
+        private final GameSizing gameSizing;
+        private final List<PreparedPicture> pictures;
+        private final int winnerImageIndexAmongDisplayedImages;
+        private final String questionSoundPath;
+        private final String question;
+        private final List<Image> pictos;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class PreparedPicture {
+        private final double posX;
+        private final double posY;
+        private final boolean winner;
+        private final String imagePath;
+        private final Image image;
+    }
+
+    private PreparedRound pickRandomPictures(final Configuration config, final int numberOfImagesToDisplayPerRound,
+            final Random random, final int winnerImageIndexAmongDisplayedImages, final GameSizing gameSizing,
+            final Dimension2D gamePanelDimension2D, final boolean backgroundLoading) {
 
         final File imagesDirectory = locateImagesDirectory(config);
 
         final String language = config.getLanguage();
 
-        final File[] imagesFolders = imagesDirectory.listFiles();
+        final ImageFolderIndex imageFolderIndex = ImageFolderIndex.forDirectory(imagesDirectory);
+
+        final File[] imagesFolders = imageFolderIndex.getFolders();
 
         log.debug("imagesFolders " + imagesFolders);
 
@@ -289,11 +383,7 @@ public class WhereIsIt implements GameLifeCycle {
         int posX = 0;
         int posY = 0;
 
-        final GameSizing gameSizing = new GameSizingComputer(nbLines, nbColumns, fourThree)
-                .computeGameSizing(gameContext.getGamePanelDimensionProvider().getDimension2D());
-        log.debug("gameSizing = {}", gameSizing);
-
-        final List<PictureCard> pictureCardList = new ArrayList<>();
+        final List<PreparedPicture> pictures = new ArrayList<>();
         String questionSoundPath = null;
         String question = null;
         List<Image> pictograms = null;
@@ -310,8 +400,7 @@ public class WhereIsIt implements GameLifeCycle {
                 if (!folder.isDirectory())
                     continue;
 
-                // final File[] files = folder.listFiles();
-                final File[] files = getFiles(folder);
+                final File[] files = imageFolderIndex.getFiles(folder);
 
                 log.info("files = {}", (Object[]) files);
 
@@ -335,11 +424,8 @@ public class WhereIsIt implements GameLifeCycle {
                     log.info("question = {}", question);
                 }
 
-                PictureCard pictureCard = new PictureCard(gameSizing.width * posX + gameSizing.shift,
-                        gameSizing.height * posY, gameSizing.width, gameSizing.height, gameContext, false,
-                        randomImageFile + "", stats, this);
-
-                pictureCardList.add(pictureCard);
+                pictures.add(preparePicture(gameSizing.width * posX + gameSizing.shift, gameSizing.height * posY,
+                        gameSizing, false, randomImageFile + "", gamePanelDimension2D, backgroundLoading));
 
                 log.info("posX " + posX);
                 log.info("posY " + posY);
@@ -359,8 +445,7 @@ public class WhereIsIt implements GameLifeCycle {
 
             log.debug("folder = {}", folder);
 
-            // final File[] files = folder.listFiles();
-            final File[] files = getFiles(folder);
+            final File[] files = imageFolderIndex.getFiles(folder);
 
             log.debug("files = {}", (Object[]) files);
 
@@ -384,11 +469,8 @@ public class WhereIsIt implements GameLifeCycle {
                 log.info("question = {}", question);
             }
 
-            PictureCard pictureCard = new PictureCard(gameSizing.width * posX + gameSizing.shift,
-                    gameSizing.height * posY, gameSizing.width, gameSizing.height, gameContext, true,
-                    randomImageFile + "", stats, this);
-
-            pictureCardList.add(pictureCard);
+            pictures.add(preparePicture(gameSizing.width * posX + gameSizing.shift, gameSizing.height * posY,
+                    gameSizing, true, randomImageFile + "", gamePanelDimension2D, backgroundLoading));
 
             log.info("posX " + posX);
             log.info("posY " + posY);
@@ -409,8 +491,7 @@ public class WhereIsIt implements GameLifeCycle {
                 if (!folder2.isDirectory())
                     continue;
 
-                // final File[] files = folder.listFiles();
-                final File[] files2 = getFiles(folder2);
+                final File[] files2 = imageFolderIndex.getFiles(folder2);
 
                 log.info("files2 = {}", (Object[]) files2);
 
@@ -434,11 +515,8 @@ public class WhereIsIt implements GameLifeCycle {
                     log.info("question = {}", question);
                 }
 
-                PictureCard pictureCard2 = new PictureCard(gameSizing.width * posX + gameSizing.shift,
-                        gameSizing.height * posY, gameSizing.width, gameSizing.height, gameContext, false,
-                        randomImageFile2 + "", stats, this);
-
-                pictureCardList.add(pictureCard2);
+                pictures.add(preparePicture(gameSizing.width * posX + gameSizing.shift, gameSizing.height * posY,
+                        gameSizing, false, randomImageFile2 + "", gamePanelDimension2D, backgroundLoading));
 
                 log.info("posX " + posX);
                 log.info("posY " + posY);
@@ -462,8 +540,7 @@ public class WhereIsIt implements GameLifeCycle {
                 if (!folder.isDirectory())
                     continue;
 
-                // final File[] files = folder.listFiles();
-                final File[] files = getFiles(folder);
+                final File[] files = imageFolderIndex.getFiles(folder);
 
                 log.debug("files = {}", (Object[]) files);
 
@@ -487,11 +564,9 @@ public class WhereIsIt implements GameLifeCycle {
                     log.debug("question = {}", question);
                 }
 
-                PictureCard pictureCard = new PictureCard(gameSizing.width * posX + gameSizing.shift,
-                        gameSizing.height * posY, gameSizing.width, gameSizing.height, gameContext,
-                        winnerImageIndexAmongDisplayedImages == i, randomImageFile + "", stats, this);
-
-                pictureCardList.add(pictureCard);
+                pictures.add(preparePicture(gameSizing.width * posX + gameSizing.shift, gameSizing.height * posY,
+                        gameSizing, winnerImageIndexAmongDisplayedImages == i, randomImageFile + "",
+                        gamePanelDimension2D, backgroundLoading));
 
                 log.debug("posX " + posX);
                 log.debug("posY " + posY);
@@ -504,44 +579,38 @@ public class WhereIsIt implements GameLifeCycle {
                 }
             }
         }
-        return new RoundDetails(pictureCardList, winnerImageIndexAmongDisplayedImages, questionSoundPath, question,
-                pictograms);
+        return new PreparedRound(gameSizing, pictures, winnerImageIndexAmongDisplayedImages, questionSoundPath,
+                question, pictograms);
     }
 
     /**
-     * Return all files which don't start with a point
+     * Decode the picture at the size of its card, from its thumbnail. The winner is decoded at the size of the game
+     * panel since it is zoomed to the whole panel once found.
      */
-    private File[] getFiles(File folder) {
-
-        File[] files = folder.listFiles();
-
-        int nbElementsToKeep = 0;
-
-        for (File file : files) {
-            log.debug("{}", file.getName());
-            if (!file.getName().startsWith(".")) {
-
-                nbElementsToKeep++;
-            }
-        }
-
-        File[] list = new File[nbElementsToKeep];
+    private PreparedPicture preparePicture(final double posX, final double posY, final GameSizing gameSizing,
+            final boolean winner, final String imagePath, final Dimension2D gamePanelDimension2D,
+            final boolean backgroundLoading) {
 
-        int i = 0;
+        final double width = winner ? gamePanelDimension2D.getWidth() : gameSizing.width;
+        final double height = winner ? gamePanelDimension2D.getHeight() : gameSizing.height;
 
-        for (File file : files) {
-            log.debug("{}", file.getName());
-            if (!file.getName().startsWith(".")) {
-
-                list[i++] = file;
-            }
+        final Image image = ThumbnailCache.getInstance().getThumbnail(new File(imagePath), width, height,
+                backgroundLoading);
+        if (image.isError()) {
+            log.warn("Failed to load image {}", imagePath, image.getException());
         }
 
-        return list;
+        return new PreparedPicture(posX, posY, winner, imagePath, image);
     }
 
     private void error(String language) {
 
+        // while preparing the next round in background, the current round goes on. The next round is prepared again
+        // on the JavaFX thread, which displays the error.
+        if (!Platform.isFxApplicationThread()) {
+            return;
+        }
+
         gameContext.clear();
         // HomeUtils.home(scene, group, choiceBox, null);
 
@@ -685,15 +754,19 @@ public class WhereIsIt implements GameLifeCycle {
 
         List<Image> L = new ArrayList<>(20);
 
+        final File pictosDirectory = new File(config.getWhereIsItDir() + "pictos/");
+        final ImageFolderIndex pictosIndex = ImageFolderIndex.forDirectory(pictosDirectory);
+
         while (st.hasMoreTokens()) {
 
             token = config.getWhereIsItDir() + "pictos/" + st.nextToken().replace('\u00A0', ' ').trim();
             log.debug("token \"{}\"", token);
             File Ftoken = new File(token);
-            log.debug("Exists {}", Ftoken.exists());
-            if (Ftoken.exists()) {
+            final boolean exists = pictosIndex.contains(Ftoken.getParentFile(), Ftoken.getName());
+            log.debug("Exists {}", exists);
+            if (exists) {
 
-                L.add(new Image(Ftoken.toURI().toString()));
+                L.add(ThumbnailCache.getInstance().getThumbnail(Ftoken, MAXSIZEPICTO, MAXSIZEPICTO));
             }
         }
 
@@ -731,7 +804,8 @@ public class WhereIsIt implements GameLifeCycle {
         private final WhereIsIt gameInstance;
 
         public PictureCard(double posX, double posY, double width, double height, @NonNull GameContext gameContext,
-                boolean winner, @NonNull String imagePath, @NonNull Stats stats, WhereIsIt gameInstance) {
+                boolean winner, @NonNull String imagePath, @NonNull Image image, @NonNull Stats stats,
+                WhereIsIt gameInstance) {
 
             log.info("imagePath = {}", imagePath);
 
@@ -750,7 +824,7 @@ public class WhereIsIt implements GameLifeCycle {
 
             this.imagePath = imagePath;
 
-            this.imageRectangle = createImageView(posX, posY, width, height, imagePath);
+            this.imageRectangle = createImageView(posX, posY, width, height, image);
             this.progressIndicator = buildProgressIndicator(width, height);
 
             this.progressIndicatorAnimationTimeLine = createProgressIndicatorTimeLine(gameInstance);
@@ -895,8 +969,7 @@ public class WhereIsIt implements GameLifeCycle {
         }
 
         private ImageView createImageView(double posX, double posY, double width, double height,
-                @NonNull String imagePath) {
-            final Image image = new Image("file:" + imagePath);
+                @NonNull Image image) {
 
             ImageView result = new ImageView(image);
             result.setX(posX);
@@ -908,7 +981,7 @@ public class WhereIsIt implements GameLifeCycle {
         }
 
         private Rectangle createErrorImageRectangle() {
-            final Image image = new Image("data/common/images/error.png");
+            final Image image = ImageUtils.loadImage("data/common/images/error.png");
 
             double imageWidth = image.getWidth();
             double imageHeight = image.getHeight();